@@ -0,0 +1,51 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.model.RolSistema;
+import com.example.sigelic.model.Usuario;
+import com.example.sigelic.service.CustomUserDetailsService.CustomUserDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolución de authorities del usuario autenticado (se invoca en cada
+ * verificación de permisos de las vistas)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CustomUserDetailsBenchmark {
+
+    @Param({"ADMINISTRADOR", "SUPERVISOR"})
+    public RolSistema rol;
+
+    private CustomUserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("benchmark");
+        usuario.setRol(rol);
+        userDetails = new CustomUserDetails(usuario);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userDetails.getAuthorities();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.Inhabilitacion;
+import com.example.sigelic.model.Licencia;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.model.Turno;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fábrica de entidades en memoria para los benchmarks (sin base de datos)
+ */
+final class DatosBenchmark {
+
+    private DatosBenchmark() {
+    }
+
+    static Titular titular(long id) {
+        Titular titular = new Titular();
+        titular.setId(id);
+        titular.setNombre("Nombre" + id);
+        titular.setApellido("Apellido" + id);
+        titular.setDni(String.format("%08d", 30_000_000 + id));
+        titular.setFechaNacimiento(LocalDate.of(1980, 1, 1).plusDays(id % 10_000));
+        titular.setDomicilio("Calle " + id);
+        titular.setEmail("titular" + id + "@example.com");
+
+        Inhabilitacion inhabilitacion = new Inhabilitacion();
+        inhabilitacion.setId(id);
+        inhabilitacion.setTitular(titular);
+        inhabilitacion.setMotivo("Infracción grave");
+        inhabilitacion.setFechaInicio(LocalDate.now().minusMonths(1));
+        inhabilitacion.setAutoridad("Juzgado de Faltas");
+        titular.getInhabilitaciones().add(inhabilitacion);
+
+        Licencia licencia = new Licencia();
+        licencia.setId(id);
+        licencia.setTitular(titular);
+        licencia.setClase(ClaseLicencia.B);
+        licencia.setEstado(EstadoLicencia.VIGENTE);
+        licencia.setFechaEmision(LocalDate.now().minusYears(1));
+        licencia.setFechaVencimiento(LocalDate.now().plusYears(4));
+        licencia.setNumeroLicencia("LIC" + id);
+        titular.getLicencias().add(licencia);
+        return titular;
+    }
+
+    static Tramite tramite(long id, Titular titular) {
+        Tramite tramite = new Tramite();
+        tramite.setId(id);
+        tramite.setTitular(titular);
+        tramite.setTipo(TipoTramite.EMISION);
+        tramite.setClaseSolicitada(ClaseLicencia.B);
+        tramite.setEstado(EstadoTramite.EX_TEO_OK);
+        tramite.setDocumentacionValidada(true);
+        tramite.setAptoMedicoVigente(true);
+        tramite.setExamenTeoricoAprobado(true);
+        tramite.setFechaCreacion(LocalDateTime.now().minusDays(3));
+        return tramite;
+    }
+
+    static Turno turno(long id, Titular titular) {
+        LocalDateTime inicio = LocalDateTime.now().plusDays(1).withHour(9).plusMinutes(id % 480);
+        Turno turno = new Turno();
+        turno.setId(id);
+        turno.setTitular(titular);
+        turno.setTipo(TipoTurno.EXAMEN_TEORICO);
+        turno.setInicio(inicio);
+        turno.setFin(inicio.plusMinutes(30));
+        turno.setFechaReserva(LocalDateTime.now());
+        return turno;
+    }
+
+    static List<List<String>> filas(int cantidad) {
+        List<List<String>> filas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            filas.add(List.of(String.valueOf(i), "Apellido" + i + ", Nombre" + i,
+                    String.format("%08d", 30_000_000 + i), "EMISION", "PAGO_OK", "5000.00"));
+        }
+        return filas;
+    }
+}
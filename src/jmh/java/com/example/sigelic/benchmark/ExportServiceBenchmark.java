@@ -0,0 +1,58 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.service.ExportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación de reportes exportados a CSV, Excel y PDF
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportServiceBenchmark {
+
+    private static final String TITULO = "Reporte de Trámites";
+    private static final List<String> ENCABEZADOS = List.of("ID", "Titular", "DNI", "Tipo", "Estado", "Monto");
+
+    @Param({"100", "1000", "10000"})
+    public int filas;
+
+    private final ExportService exportService = new ExportService();
+    private List<List<String>> datos;
+
+    @Setup
+    public void setUp() {
+        datos = DatosBenchmark.filas(filas);
+    }
+
+    @Benchmark
+    public byte[] exportToCsv() {
+        return exportService.exportToCsv(TITULO, ENCABEZADOS, datos);
+    }
+
+    @Benchmark
+    public byte[] exportToExcel() {
+        return exportService.exportToExcel(TITULO, ENCABEZADOS, datos);
+    }
+
+    @Benchmark
+    public byte[] exportToPdf() {
+        return exportService.exportToPdf(TITULO, ENCABEZADOS, datos);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.model.Licencia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de vigencia y vencimiento de licencias
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LicenciaBenchmark {
+
+    @Param({"19", "35", "65", "75"})
+    public int edad;
+
+    private final LocalDate fechaEmision = LocalDate.of(2026, 3, 15);
+
+    @Benchmark
+    public int calcularVigenciaEnAnios() {
+        return Licencia.calcularVigenciaEnAnios(edad, true);
+    }
+
+    @Benchmark
+    public LocalDate calcularFechaVencimiento() {
+        LocalDate fechaNacimiento = fechaEmision.minusYears(edad).withDayOfMonth(1);
+        return Licencia.calcularFechaVencimiento(fechaNacimiento, fechaEmision,
+                Licencia.calcularVigenciaEnAnios(edad, false));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.dto.response.TitularResponseDTO;
+import com.example.sigelic.dto.response.TramiteResponseDTO;
+import com.example.sigelic.dto.response.TurnoResponseDTO;
+import com.example.sigelic.mapper.TitularMapper;
+import com.example.sigelic.mapper.TramiteMapper;
+import com.example.sigelic.mapper.TurnoMapper;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.model.Turno;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de listados de entidades a DTOs de respuesta
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int cantidad;
+
+    private final TitularMapper titularMapper = new TitularMapper();
+    private final TramiteMapper tramiteMapper = new TramiteMapper();
+    private final TurnoMapper turnoMapper = new TurnoMapper();
+
+    private List<Titular> titulares;
+    private List<Tramite> tramites;
+    private List<Turno> turnos;
+
+    @Setup
+    public void setUp() {
+        titulares = new ArrayList<>(cantidad);
+        tramites = new ArrayList<>(cantidad);
+        turnos = new ArrayList<>(cantidad);
+        for (long i = 1; i <= cantidad; i++) {
+            Titular titular = DatosBenchmark.titular(i);
+            titulares.add(titular);
+            tramites.add(DatosBenchmark.tramite(i, titular));
+            turnos.add(DatosBenchmark.turno(i, titular));
+        }
+    }
+
+    @Benchmark
+    public List<TitularResponseDTO> titularToResponseDTOList() {
+        return titularMapper.toResponseDTOList(titulares);
+    }
+
+    @Benchmark
+    public TitularResponseDTO titularToResponseDTOWithDetails() {
+        return titularMapper.toResponseDTOWithDetails(titulares.get(0));
+    }
+
+    @Benchmark
+    public List<TramiteResponseDTO> tramiteToResponseDTOList() {
+        return tramiteMapper.toResponseDTOList(tramites);
+    }
+
+    @Benchmark
+    public TramiteResponseDTO tramiteToResponseDTOWithDetails() {
+        return tramiteMapper.toResponseDTOWithDetails(tramites.get(0));
+    }
+
+    @Benchmark
+    public List<TurnoResponseDTO> turnoToResponseDTOList() {
+        return turnoMapper.toResponseDTOList(turnos);
+    }
+}
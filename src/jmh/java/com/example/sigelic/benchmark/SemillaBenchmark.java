@@ -0,0 +1,122 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.service.BloqueoTareaService;
+import com.example.sigelic.service.SemillaService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la siembra de configuraciones en un reinicio, con todas las claves ya
+ * presentes (el caso de cada nodo durante un despliegue), sobre H2 en memoria.
+ * Contra MySQL cada sentencia suma además una ida y vuelta de red
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SemillaBenchmark {
+
+    private static final String SEMILLA = "configuracion";
+
+    @Param({"10", "100"})
+    public int claves;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SemillaService semillaService;
+    private List<String> definiciones;
+    private String checksum;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:semillas;DB_CLOSE_DELAY=-1", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE configuracion (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "clave VARCHAR(100) NOT NULL UNIQUE, valor VARCHAR(500) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE semillas_aplicadas (nombre VARCHAR(100) PRIMARY KEY, "
+                + "checksum VARCHAR(64) NOT NULL, fecha_aplicacion TIMESTAMP NOT NULL)");
+
+        definiciones = new ArrayList<>();
+        for (int i = 0; i < claves; i++) {
+            String clave = "benchmark.clave_" + i;
+            definiciones.add(clave);
+            jdbcTemplate.update("INSERT INTO configuracion (clave, valor) VALUES (?, ?)", clave, "valor " + i);
+        }
+        checksum = SemillaService.checksum(definiciones);
+
+        semillaService = new SemillaService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                Mockito.mock(BloqueoTareaService.class));
+        jdbcTemplate.update("INSERT INTO semillas_aplicadas (nombre, checksum, fecha_aplicacion) "
+                + "VALUES (?, ?, CURRENT_TIMESTAMP)", SEMILLA, checksum);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    /**
+     * Siembra anterior: una consulta de existencia por clave
+     */
+    @Benchmark
+    public int existenciaPorClave() {
+        int faltantes = 0;
+        for (String clave : definiciones) {
+            Integer existentes = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM configuracion WHERE clave = ?", Integer.class, clave);
+            if (existentes == null || existentes == 0) {
+                faltantes++;
+            }
+        }
+        return faltantes;
+    }
+
+    /**
+     * Claves existentes leídas de una vez y diferencia en memoria
+     */
+    @Benchmark
+    public int diferenciaEnUnaConsulta() {
+        Set<String> existentes = new HashSet<>(jdbcTemplate.queryForList("SELECT clave FROM configuracion", String.class));
+        int faltantes = 0;
+        for (String clave : definiciones) {
+            if (!existentes.contains(clave)) {
+                faltantes++;
+            }
+        }
+        return faltantes;
+    }
+
+    /**
+     * Checksum de la semilla sin cambios: la siembra se omite
+     */
+    @Benchmark
+    public boolean checksumSinCambios() {
+        return semillaService.aplicar(SEMILLA, SemillaService.checksum(definiciones), () -> {
+            throw new IllegalStateException("La semilla no cambió");
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.Tramite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reglas de avance del circuito de un trámite
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TramiteBenchmark {
+
+    private Tramite tramite;
+
+    @Setup
+    public void setUp() {
+        tramite = DatosBenchmark.tramite(1L, DatosBenchmark.titular(1L));
+    }
+
+    @Benchmark
+    public boolean todosLosRequisitosCumplidos() {
+        return tramite.todosLosRequisitosCumplidos();
+    }
+
+    @Benchmark
+    public EstadoTramite actualizarEstado() {
+        tramite.setEstado(EstadoTramite.DOCS_OK);
+        tramite.actualizarEstado();
+        return tramite.getEstado();
+    }
+}
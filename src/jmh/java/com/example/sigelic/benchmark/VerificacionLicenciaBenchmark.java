@@ -0,0 +1,69 @@
+package com.example.sigelic.benchmark;
+
+import com.example.sigelic.dto.response.VerificacionLicenciaDTO;
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.repository.LicenciaRepository;
+import com.example.sigelic.service.VerificacionLicenciaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Verificación pública de licencias con la caché caliente, desde varios hilos.
+ * El objetivo es sostener más de 10.000 consultas por segundo por nodo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class VerificacionLicenciaBenchmark {
+
+    private static final int LICENCIAS = 10_000;
+
+    private VerificacionLicenciaService verificacionLicenciaService;
+    private String[] numeros;
+
+    @Setup
+    public void setUp() {
+        LicenciaRepository licenciaRepository = Mockito.mock(LicenciaRepository.class);
+        Mockito.when(licenciaRepository.findVerificacionByNumeroLicencia(anyString()))
+                .thenAnswer(invocation -> Optional.of(new VerificacionLicenciaDTO(invocation.getArgument(0),
+                        ClaseLicencia.B, EstadoLicencia.VIGENTE, LocalDate.now().plusYears(3))));
+        verificacionLicenciaService = new VerificacionLicenciaService(licenciaRepository, new SimpleMeterRegistry(),
+                200_000, Duration.ofMinutes(2), Duration.ofSeconds(30));
+
+        numeros = new String[LICENCIAS];
+        for (int i = 0; i < LICENCIAS; i++) {
+            numeros[i] = String.format("20261019-%06d", i);
+            verificacionLicenciaService.verificar(numeros[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean verificarConCacheCaliente() {
+        String numero = numeros[ThreadLocalRandom.current().nextInt(LICENCIAS)];
+        return verificacionLicenciaService.verificar(numero).map(VerificacionLicenciaDTO::isVigente).orElse(false);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.sigelic.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Cadena de seguridad exclusiva de la prueba de carga para /api/**.
+ *
+ * Las peticiones anónimas reciben las authorities que exigen los @PreAuthorize
+ * del circuito de trámites. No lleva @Configuration a propósito: se registra
+ * explícitamente desde {@link PruebaCarga} para que el escaneo de componentes
+ * de los tests nunca la levante.
+ */
+public class CargaSecurityConfig {
+
+    static final String[] AUTORIDADES = {
+        "TRAMITES_LEER", "TRAMITES_ESCRIBIR", "MEDICO", "EXAMENES_LEER", "EXAMENES_CREAR",
+        "PAGOS_LEER", "PAGOS_PROCESAR", "LICENCIAS_LEER", "LICENCIAS_CREAR"
+    };
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain cargaApiFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher("/api/**")
+                .authorizeHttpRequests(authz -> authz.anyRequest().permitAll())
+                .anonymous(anonymous -> anonymous.principal("prueba-carga").authorities(AUTORIDADES))
+                .csrf(csrf -> csrf.disable())
+                .build();
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.sigelic.loadtest;
+
+import com.example.sigelic.model.ExamenPractico;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.service.TramiteService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Flujo completo de emisión de una licencia, tal como lo recorre
+ * tests/api-tests.http: titular → trámite → documentación → turnos y
+ * exámenes → pago → emisión.
+ *
+ * Los pasos que todavía no tienen endpoint REST (examen práctico y registro
+ * en el trámite del pago acreditado por caja) se invocan sobre {@link TramiteService}
+ * en el mismo proceso y se reportan con el prefijo "servicio".
+ */
+class EscenarioTramite {
+
+    private static final Map<TipoTurno, TipoRecurso> RECURSO_POR_TURNO = Map.of(
+        TipoTurno.APTO_MEDICO, TipoRecurso.CONSULTORIO_MEDICO,
+        TipoTurno.EXAMEN_TEORICO, TipoRecurso.AULA_TEORICO,
+        TipoTurno.EXAMEN_PRACTICO, TipoRecurso.PISTA
+    );
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final MetricasCarga metricas;
+    private final TramiteService tramiteService;
+    private final Map<TipoRecurso, List<Long>> recursos;
+    private final Map<TipoRecurso, AtomicLong> horariosAsignados = new EnumMap<>(TipoRecurso.class);
+    private final LocalDateTime primerHorario = LocalDate.now().plusDays(1).atStartOfDay();
+
+    EscenarioTramite(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, MetricasCarga metricas,
+                     TramiteService tramiteService, Map<TipoRecurso, List<Long>> recursos) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.metricas = metricas;
+        this.tramiteService = tramiteService;
+        this.recursos = recursos;
+        for (TipoRecurso tipo : TipoRecurso.values()) {
+            horariosAsignados.put(tipo, new AtomicLong());
+        }
+    }
+
+    /**
+     * Ejecuta el flujo para el usuario virtual indicado.
+     *
+     * @return true si el trámite terminó con la licencia emitida
+     */
+    boolean ejecutar(int indice) {
+        try {
+            Map<String, Object> titular = new LinkedHashMap<>();
+            titular.put("nombre", "Carga" + indice);
+            titular.put("apellido", "Virtual");
+            titular.put("dni", String.valueOf(20_000_000 + indice));
+            titular.put("fechaNacimiento", LocalDate.of(1970, 1, 1).plusDays(indice % 10_000));
+            titular.put("domicilio", "Bv. Gálvez " + indice + ", Santa Fe");
+            titular.put("email", "carga" + indice + "@carga.sigelic");
+            long titularId = llamar("POST", "POST /api/titulares", "/api/titulares", titular).get("id").asLong();
+
+            long tramiteId = llamar("POST", "POST /api/tramites", "/api/tramites", Map.of(
+                    "titularId", titularId, "tipo", "EMISION", "claseSolicitada", "B")).get("id").asLong();
+
+            llamar("PATCH", "PATCH /api/tramites/{id}/validar-documentacion",
+                    "/api/tramites/" + tramiteId + "/validar-documentacion?agente=CARGA", null);
+
+            reservarTurno(titularId, tramiteId, TipoTurno.APTO_MEDICO);
+            llamar("POST", "POST /api/tramites/{id}/apto-medico", "/api/tramites/" + tramiteId + "/apto-medico",
+                    aptoMedico());
+
+            reservarTurno(titularId, tramiteId, TipoTurno.EXAMEN_TEORICO);
+            llamar("POST", "POST /api/examenes-teoricos/tramite/{id}", "/api/examenes-teoricos/tramite/" + tramiteId,
+                    Map.of("tramiteId", tramiteId, "fecha", LocalDateTime.now(), "cantidadPreguntas", 20,
+                            "respuestasCorrectas", 18, "examinador", "Examinador Carga"));
+
+            reservarTurno(titularId, tramiteId, TipoTurno.EXAMEN_PRACTICO);
+            enProceso("servicio registrarExamenPractico",
+                    () -> tramiteService.registrarExamenPractico(tramiteId, examenPractico()));
+
+            long pagoId = llamar("POST", "POST /api/pagos", "/api/pagos",
+                    Map.of("tramiteId", tramiteId, "medio", "CAJA")).get("id").asLong();
+            llamar("PATCH", "PATCH /api/pagos/{id}/acreditar",
+                    "/api/pagos/" + pagoId + "/acreditar?numeroComprobante=CARGA-" + indice + "&cajero=CARGA", null);
+            enProceso("servicio registrarPagoAcreditado", () -> tramiteService.registrarPagoAcreditado(tramiteId, pagoId));
+
+            llamar("POST", "POST /api/tramites/{id}/emitir-licencia", "/api/tramites/" + tramiteId + "/emitir-licencia", null);
+            llamar("GET", "GET /api/tramites/{id}", "/api/tramites/" + tramiteId, null);
+            return true;
+        } catch (PasoFallido e) {
+            return false;
+        }
+    }
+
+    private void reservarTurno(long titularId, long tramiteId, TipoTurno tipo) {
+        TipoRecurso tipoRecurso = RECURSO_POR_TURNO.get(tipo);
+        List<Long> disponibles = recursos.get(tipoRecurso);
+        // Cada reserva toma un horario libre: se reparten en ronda entre los recursos
+        // del tipo y avanzan de a 30 minutos cuando se completa la ronda
+        long turno = horariosAsignados.get(tipoRecurso).getAndIncrement();
+        long recursoId = disponibles.get((int) (turno % disponibles.size()));
+        LocalDateTime inicio = primerHorario.plusMinutes(30 * (turno / disponibles.size()));
+
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("titularId", titularId);
+        cuerpo.put("tipo", tipo.name());
+        cuerpo.put("inicio", inicio);
+        cuerpo.put("fin", inicio.plusMinutes(30));
+        cuerpo.put("recursoId", recursoId);
+        cuerpo.put("tramiteId", tramiteId);
+        llamar("POST", "POST /api/turnos", "/api/turnos", cuerpo);
+    }
+
+    private JsonNode llamar(String metodo, String endpoint, String ruta, Object cuerpo) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            HttpRequest.BodyPublisher publisher = cuerpo == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .method(metodo, publisher)
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            exito = response.statusCode() < 400;
+            if (!exito) {
+                throw new PasoFallido(endpoint + " respondió " + response.statusCode());
+            }
+            return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new PasoFallido(endpoint + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasoFallido(endpoint + " interrumpido");
+        } finally {
+            metricas.registrar(endpoint, System.nanoTime() - inicio, exito);
+        }
+    }
+
+    private <T> T enProceso(String etiqueta, Supplier<T> paso) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            T resultado = paso.get();
+            exito = true;
+            return resultado;
+        } catch (RuntimeException e) {
+            throw new PasoFallido(etiqueta + ": " + e.getMessage());
+        } finally {
+            metricas.registrar(etiqueta, System.nanoTime() - inicio, exito);
+        }
+    }
+
+    private static Map<String, Object> aptoMedico() {
+        Map<String, Object> apto = new LinkedHashMap<>();
+        apto.put("medicoExaminador", "Dra. Carga");
+        apto.put("fechaExamen", LocalDateTime.now());
+        apto.put("apto", true);
+        apto.put("presionSistolica", 120.0);
+        apto.put("presionDiastolica", 80.0);
+        apto.put("agudezaVisualOjoDerecho", 1.0);
+        apto.put("agudezaVisualOjoIzquierdo", 1.0);
+        apto.put("campoVisualNormal", true);
+        apto.put("visionCromaticaNormal", true);
+        apto.put("audicionNormal", true);
+        apto.put("reflejosNormales", true);
+        apto.put("coordinacionNormal", true);
+        apto.put("equilibrioNormal", true);
+        apto.put("cardiovascularNormal", true);
+        apto.put("sistemaLocomotorNormal", true);
+        apto.put("mesesValidez", 12);
+        return apto;
+    }
+
+    private static ExamenPractico examenPractico() {
+        ExamenPractico examen = new ExamenPractico();
+        examen.setFaltasLeves(1);
+        examen.setFaltasGraves(0);
+        examen.setExaminador("Examinador Carga");
+        return examen;
+    }
+
+    /**
+     * Corta el flujo del usuario virtual cuando un paso falla (ya registrado como error)
+     */
+    static final class PasoFallido extends RuntimeException {
+        PasoFallido(String mensaje) {
+            super(mensaje, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.sigelic.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Acumula latencias y errores por endpoint durante la prueba de carga
+ */
+class MetricasCarga {
+
+    private final Map<String, Serie> series = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, long nanos, boolean exito) {
+        series.computeIfAbsent(endpoint, clave -> new Serie()).agregar(nanos, exito);
+    }
+
+    /**
+     * Resumen por endpoint (ordenado por nombre) para la duración total de la prueba
+     */
+    Map<String, Map<String, Object>> resumen(Duration duracion) {
+        double segundos = Math.max(duracion.toNanos() / 1e9, 1e-9);
+        Map<String, Map<String, Object>> resumen = new TreeMap<>();
+        series.forEach((endpoint, serie) -> resumen.put(endpoint, serie.resumen(segundos)));
+        return resumen;
+    }
+
+    /**
+     * Serie de latencias de un endpoint. Se sincroniza por instancia: la contención
+     * es despreciable frente al costo de una petición HTTP
+     */
+    private static final class Serie {
+
+        private long[] latencias = new long[1_024];
+        private int cantidad;
+        private int errores;
+
+        synchronized void agregar(long nanos, boolean exito) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = nanos;
+            if (!exito) {
+                errores++;
+            }
+        }
+
+        synchronized Map<String, Object> resumen(double segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(ordenadas);
+            Map<String, Object> resumen = new LinkedHashMap<>();
+            resumen.put("peticiones", cantidad);
+            resumen.put("errores", errores);
+            resumen.put("tasaError", cantidad == 0 ? 0.0 : (double) errores / cantidad);
+            resumen.put("throughputPorSegundo", cantidad / segundos);
+            resumen.put("p50Ms", percentil(ordenadas, 0.50));
+            resumen.put("p95Ms", percentil(ordenadas, 0.95));
+            resumen.put("p99Ms", percentil(ordenadas, 0.99));
+            resumen.put("maxMs", cantidad == 0 ? 0.0 : ordenadas[cantidad - 1] / 1e6);
+            return resumen;
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            if (ordenadas.length == 0) {
+                return 0.0;
+            }
+            int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+            return ordenadas[Math.max(indice, 0)] / 1e6;
+        }
+    }
+}
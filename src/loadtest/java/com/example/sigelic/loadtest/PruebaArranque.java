@@ -0,0 +1,201 @@
+package com.example.sigelic.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo hasta estar lista (time-to-ready) de la aplicación empaquetada.
+ *
+ * Lanza el jar extraído en una JVM nueva por corrida y mide desde el inicio del
+ * proceso hasta que /actuator/health/readiness responde 200, es decir, hasta
+ * que terminó el arranque completo (contexto, migraciones, datos iniciales y
+ * runners) y el nodo puede recibir tráfico. Cada modo se corre varias veces y se
+ * informan mínimo, mediana y máximo.
+ *
+ * Modos:
+ * <ul>
+ *   <li>base: sin optimizaciones de arranque y sin el perfil de las corridas, con la
+ *   configuración de producción (valida Flyway completo)</li>
+ *   <li>jar: sin optimizaciones de la JVM, con el perfil de las corridas</li>
+ *   <li>cds: con el archivo de clases compartidas generado en el build</li>
+ *   <li>cds-aot: archivo CDS más el código AOT de Spring (-Dspring.aot.enabled=true)</li>
+ * </ul>
+ *
+ * Parámetros (propiedades de sistema):
+ * <ul>
+ *   <li>arranque.jar: jar extraído a medir (target/arranque/sigelic-0.0.1-SNAPSHOT.jar)</li>
+ *   <li>arranque.cds: archivo CDS (target/arranque/sigelic.jsa)</li>
+ *   <li>arranque.modos: modos separados por coma (base,jar,cds,cds-aot)</li>
+ *   <li>arranque.perfil: perfil de Spring de las corridas (arranque-rapido); test arranca sobre H2</li>
+ *   <li>arranque.repeticiones: corridas por modo (5)</li>
+ *   <li>arranque.limite: segundos máximos de espera por corrida (180)</li>
+ *   <li>arranque.resultado: archivo JSON de salida (target/arranque-result.json)</li>
+ * </ul>
+ */
+public final class PruebaArranque {
+
+    private static final Duration INTERVALO_SONDEO = Duration.ofMillis(20);
+
+    private PruebaArranque() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("arranque.jar", "target/arranque/sigelic-0.0.1-SNAPSHOT.jar"));
+        Path cds = Path.of(System.getProperty("arranque.cds", "target/arranque/sigelic.jsa"));
+        List<String> modos = Arrays.stream(System.getProperty("arranque.modos", "base,jar,cds,cds-aot").split(","))
+                .map(String::trim)
+                .toList();
+        String perfil = System.getProperty("arranque.perfil", "arranque-rapido");
+        int repeticiones = Integer.getInteger("arranque.repeticiones", 5);
+        Duration limite = Duration.ofSeconds(Long.getLong("arranque.limite", 180L));
+        Path resultado = Path.of(System.getProperty("arranque.resultado", "target/arranque-result.json"));
+
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("No existe el jar extraído " + jar.toAbsolutePath()
+                    + " (generarlo con mvn -Pproduction,arranque-rapido verify)");
+        }
+        Path registros = resultado.toAbsolutePath().getParent().resolve("arranque-logs");
+        Files.createDirectories(registros);
+
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("jar", jar.toAbsolutePath().toString());
+        reporte.put("perfil", perfil);
+        reporte.put("repeticiones", repeticiones);
+        Map<String, Object> porModo = new LinkedHashMap<>();
+        reporte.put("modos", porModo);
+
+        try (HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            for (String modo : modos) {
+                List<String> opciones = opcionesJvm(modo, cds);
+                List<Long> tiempos = new ArrayList<>(repeticiones);
+                for (int i = 1; i <= repeticiones; i++) {
+                    Path registro = registros.resolve(modo + "-" + i + ".log");
+                    tiempos.add(medir(httpClient, jar, opciones, perfilDe(modo, perfil), limite, registro).toMillis());
+                }
+                porModo.put(modo, resumen(opciones, perfilDe(modo, perfil), tiempos));
+            }
+        }
+
+        publicar(resultado, reporte);
+    }
+
+    private static List<String> opcionesJvm(String modo, Path cds) {
+        return switch (modo) {
+            case "base", "jar" -> List.of();
+            case "cds" -> List.of("-XX:SharedArchiveFile=" + archivoCds(cds));
+            case "cds-aot" -> List.of("-XX:SharedArchiveFile=" + archivoCds(cds), "-Dspring.aot.enabled=true");
+            default -> throw new IllegalArgumentException("arranque.modos admite base, jar, cds y cds-aot: " + modo);
+        };
+    }
+
+    /**
+     * Perfil de Spring de la corrida: base arranca sin perfil, con la configuración de producción
+     */
+    private static String perfilDe(String modo, String perfil) {
+        return "base".equals(modo) ? null : perfil;
+    }
+
+    private static Path archivoCds(Path cds) {
+        if (!Files.isRegularFile(cds)) {
+            throw new IllegalStateException("No existe el archivo CDS " + cds.toAbsolutePath());
+        }
+        return cds.toAbsolutePath();
+    }
+
+    /**
+     * Lanza una JVM y espera a que la sonda de disponibilidad responda 200
+     */
+    private static Duration medir(HttpClient httpClient, Path jar, List<String> opciones, String perfil,
+                                  Duration limite, Path registro) throws Exception {
+        int puerto = puertoLibre();
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opciones);
+        comando.addAll(List.of("-jar", jar.toAbsolutePath().toString(),
+                "--server.port=" + puerto,
+                "--spring.jpa.show-sql=false"));
+        if (perfil != null) {
+            comando.add("--spring.profiles.active=" + perfil);
+        }
+        HttpRequest sonda = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(registro.toFile())
+                .start();
+        try {
+            while (System.nanoTime() - inicio < limite.toNanos()) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + proceso.exitValue()
+                            + " antes de estar lista; ver " + registro);
+                }
+                try {
+                    if (httpClient.send(sonda, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - inicio);
+                    }
+                } catch (IOException e) {
+                    // Puerto todavía cerrado
+                }
+                Thread.sleep(INTERVALO_SONDEO);
+            }
+            throw new IllegalStateException("La aplicación no estuvo lista en " + limite + "; ver " + registro);
+        } finally {
+            proceso.destroy();
+            if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, Object> resumen(List<String> opciones, String perfil, List<Long> tiempos) {
+        List<Long> ordenados = tiempos.stream().sorted().toList();
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("opcionesJvm", opciones);
+        resumen.put("perfil", perfil != null ? perfil : "(ninguno)");
+        resumen.put("tiemposMs", tiempos);
+        resumen.put("minimoMs", ordenados.get(0));
+        resumen.put("medianaMs", ordenados.get(ordenados.size() / 2));
+        resumen.put("maximoMs", ordenados.get(ordenados.size() - 1));
+        return resumen;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void publicar(Path resultado, Map<String, Object> reporte) throws Exception {
+        System.out.printf("%nTiempo hasta estar lista (perfil %s, %d corridas por modo)%n",
+                reporte.get("perfil"), reporte.get("repeticiones"));
+        System.out.printf("%-10s %10s %10s %10s%n", "Modo", "mín. ms", "mediana ms", "máx. ms");
+        ((Map<String, Map<String, Object>>) reporte.get("modos")).forEach((modo, valores) -> System.out.printf(
+                "%-10s %10d %10d %10d%n",
+                modo, valores.get("minimoMs"), valores.get("medianaMs"), valores.get("maximoMs")));
+
+        Files.createDirectories(resultado.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultado.toFile(), reporte);
+        System.out.println("Resultados en " + resultado.toAbsolutePath());
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.sigelic.loadtest;
+
+import com.example.sigelic.SigelicApplication;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.repository.CostoTramiteRepository;
+import com.example.sigelic.repository.RecursoRepository;
+import com.example.sigelic.service.TramiteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Prueba de carga de punta a punta sobre el perfil "test" (H2 en memoria).
+ *
+ * Levanta la aplicación en un puerto aleatorio, carga el volumen de referencia
+ * y lanza el flujo de emisión de licencias con usuarios virtuales sobre hilos
+ * virtuales. Al terminar imprime y guarda en JSON el throughput, los percentiles
+ * de latencia y la tasa de error por endpoint.
+ *
+ * Parámetros (propiedades de sistema):
+ * <ul>
+ *   <li>carga.usuarios: usuarios virtuales concurrentes (32)</li>
+ *   <li>carga.flujos: trámites completos a ejecutar (500)</li>
+ *   <li>carga.titulares: titulares precargados (10000)</li>
+ *   <li>carga.recursos: recursos por tipo (20)</li>
+ *   <li>carga.semilla: semilla de los datos generados (42)</li>
+ *   <li>carga.modo: hilos de Tomcat "plataforma", "virtual" o "ambos" para compararlos (plataforma)</li>
+ *   <li>carga.hilos-tomcat: máximo de hilos de plataforma de Tomcat (200)</li>
+ *   <li>carga.pool: tamaño del pool de conexiones Hikari (20)</li>
+ *   <li>carga.resultado: archivo JSON de salida (target/loadtest-result.json)</li>
+ * </ul>
+ */
+public final class PruebaCarga {
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int usuarios = Integer.getInteger("carga.usuarios", 32);
+        int flujos = Integer.getInteger("carga.flujos", 500);
+        int titulares = Integer.getInteger("carga.titulares", 10_000);
+        int recursosPorTipo = Integer.getInteger("carga.recursos", 20);
+        long semilla = Long.getLong("carga.semilla", 42L);
+        String modo = System.getProperty("carga.modo", "plataforma");
+        int hilosTomcat = Integer.getInteger("carga.hilos-tomcat", 200);
+        int poolConexiones = Integer.getInteger("carga.pool", 20);
+        Path resultado = Path.of(System.getProperty("carga.resultado", "target/loadtest-result.json"));
+
+        List<Boolean> modos = switch (modo) {
+            case "plataforma" -> List.of(false);
+            case "virtual" -> List.of(true);
+            case "ambos" -> List.of(false, true);
+            default -> throw new IllegalArgumentException("carga.modo debe ser plataforma, virtual o ambos: " + modo);
+        };
+
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("usuarios", usuarios);
+        reporte.put("flujos", flujos);
+        reporte.put("hilosTomcat", hilosTomcat);
+        reporte.put("poolConexiones", poolConexiones);
+        Map<String, Object> porModo = new LinkedHashMap<>();
+        reporte.put("modos", porModo);
+
+        ObjectMapper objectMapper = null;
+        for (boolean virtuales : modos) {
+            // Cada modo levanta un contexto propio: H2 en memoria con create-drop
+            // arranca vacío y los resultados no se contaminan entre corridas
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(SigelicApplication.class, CargaSecurityConfig.class)
+                    .profiles("test")
+                    .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtuales,
+                        "server.tomcat.threads.max=" + hilosTomcat,
+                        "spring.datasource.hikari.maximum-pool-size=" + poolConexiones,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.com.example.sigelic=WARN")
+                    .run(args);
+            try {
+                objectMapper = context.getBean(ObjectMapper.class);
+                porModo.put(virtuales ? "virtual" : "plataforma",
+                        ejecutar(context, usuarios, flujos, titulares, recursosPorTipo, semilla));
+            } finally {
+                context.close();
+            }
+        }
+
+        publicar(resultado, objectMapper, reporte);
+    }
+
+    /**
+     * Precarga los datos y ejecuta los flujos contra un contexto ya levantado
+     */
+    private static Map<String, Object> ejecutar(ConfigurableApplicationContext context, int usuarios, int flujos,
+                                                int titulares, int recursosPorTipo, long semilla) throws Exception {
+        SemillaCarga semillaCarga = new SemillaCarga(context.getBean(JdbcTemplate.class),
+                context.getBean(RecursoRepository.class), context.getBean(CostoTramiteRepository.class));
+        semillaCarga.cargarTitulares(titulares, semilla);
+        semillaCarga.cargarCostos();
+        Map<TipoRecurso, List<Long>> recursos = semillaCarga.cargarRecursos(recursosPorTipo);
+
+        int puerto = ((WebServerApplicationContext) context).getWebServer().getPort();
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        MetricasCarga metricas = new MetricasCarga();
+        AtomicReference<Double> maximoEsperaConexion = new AtomicReference<>(0.0);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(executor).build()) {
+            EscenarioTramite escenario = new EscenarioTramite(httpClient, objectMapper,
+                    "http://localhost:" + puerto, metricas, context.getBean(TramiteService.class), recursos);
+
+            // Muestreo de hilos esperando conexión en Hikari: indica si el pool es el cuello de botella
+            AtomicBoolean muestreando = new AtomicBoolean(true);
+            Future<?> muestreo = executor.submit(() -> {
+                while (muestreando.get()) {
+                    Gauge pendientes = meterRegistry.find("hikaricp.connections.pending").gauge();
+                    if (pendientes != null) {
+                        maximoEsperaConexion.accumulateAndGet(pendientes.value(), Math::max);
+                    }
+                    Thread.sleep(100);
+                }
+                return null;
+            });
+
+            Semaphore concurrencia = new Semaphore(usuarios);
+            AtomicInteger completos = new AtomicInteger();
+            List<Future<?>> tareas = new ArrayList<>(flujos);
+            long inicio = System.nanoTime();
+            for (int i = 0; i < flujos; i++) {
+                int indice = i;
+                concurrencia.acquire();
+                tareas.add(executor.submit(() -> {
+                    try {
+                        if (escenario.ejecutar(indice)) {
+                            completos.incrementAndGet();
+                        }
+                    } finally {
+                        concurrencia.release();
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+            Duration duracion = Duration.ofNanos(System.nanoTime() - inicio);
+            muestreando.set(false);
+            muestreo.get();
+
+            double segundos = duracion.toNanos() / 1e9;
+            Map<String, Object> resultado = new LinkedHashMap<>();
+            resultado.put("flujosCompletos", completos.get());
+            resultado.put("duracionSegundos", segundos);
+            resultado.put("tramitesPorHora", completos.get() / segundos * 3_600);
+            resultado.put("maximoEsperandoConexion", maximoEsperaConexion.get());
+            resultado.put("anclajes", anclajes(meterRegistry));
+            resultado.put("endpoints", metricas.resumen(duracion));
+            return resultado;
+        }
+    }
+
+    /**
+     * Anclajes de hilos virtuales registrados por el diagnóstico JFR, por origen
+     */
+    private static Map<String, Object> anclajes(MeterRegistry meterRegistry) {
+        Map<String, Object> anclajes = new TreeMap<>();
+        for (Timer timer : meterRegistry.find("sigelic.hilos.virtuales.anclados").timers()) {
+            anclajes.put(timer.getId().getTag("origen"), Map.of(
+                "cantidad", timer.count(),
+                "totalMs", timer.totalTime(TimeUnit.MILLISECONDS)));
+        }
+        return anclajes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void publicar(Path resultado, ObjectMapper objectMapper, Map<String, Object> reporte) throws Exception {
+        Map<String, Map<String, Object>> modos = (Map<String, Map<String, Object>>) reporte.get("modos");
+        modos.forEach((modo, valores) -> {
+            double segundos = (double) valores.get("duracionSegundos");
+            System.out.printf("%nPrueba de carga [%s]: %d usuarios, %d/%d trámites completos en %.1f s (%.0f trámites/hora)%n",
+                    modo, reporte.get("usuarios"), valores.get("flujosCompletos"), reporte.get("flujos"), segundos,
+                    valores.get("tramitesPorHora"));
+            System.out.printf("Máximo de hilos esperando conexión: %.0f de un pool de %d - anclajes: %s%n",
+                    valores.get("maximoEsperandoConexion"), reporte.get("poolConexiones"), valores.get("anclajes"));
+            System.out.printf("%-52s %8s %7s %9s %9s %9s %9s%n", "Endpoint", "Pet.", "Error%", "Pet./s", "p50 ms", "p95 ms", "p99 ms");
+            ((Map<String, Map<String, Object>>) valores.get("endpoints")).forEach((endpoint, serie) -> System.out.printf(
+                    "%-52s %8d %6.2f%% %9.1f %9.2f %9.2f %9.2f%n",
+                    endpoint, serie.get("peticiones"), (double) serie.get("tasaError") * 100,
+                    serie.get("throughputPorSegundo"), serie.get("p50Ms"), serie.get("p95Ms"), serie.get("p99Ms")));
+        });
+
+        Files.createDirectories(resultado.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultado.toFile(), reporte);
+        System.out.println("Resultados en " + resultado.toAbsolutePath());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.sigelic.loadtest;
+
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.CostoTramite;
+import com.example.sigelic.model.Recurso;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.repository.CostoTramiteRepository;
+import com.example.sigelic.repository.RecursoRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Carga el volumen de datos de referencia sobre el que corre la prueba:
+ * titulares preexistentes, recursos para turnos y costos vigentes
+ */
+class SemillaCarga {
+
+    private static final int LOTE = 1_000;
+    private static final String[] APELLIDOS = {
+        "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Martínez", "Pérez", "García", "Sánchez"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecursoRepository recursoRepository;
+    private final CostoTramiteRepository costoTramiteRepository;
+
+    SemillaCarga(JdbcTemplate jdbcTemplate, RecursoRepository recursoRepository,
+                 CostoTramiteRepository costoTramiteRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recursoRepository = recursoRepository;
+        this.costoTramiteRepository = costoTramiteRepository;
+    }
+
+    /**
+     * Inserta titulares en lotes JDBC con datos deterministas a partir de la semilla.
+     * Usan DNIs del rango 10.000.000 para no chocar con los del escenario
+     */
+    void cargarTitulares(int cantidad, long semilla) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        String sql = "INSERT INTO titulares (nombre, apellido, dni, fecha_nacimiento, domicilio, email) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < cantidad; i++) {
+            LocalDate nacimiento = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 55));
+            lote.add(new Object[] {
+                "Titular" + i,
+                APELLIDOS[random.nextInt(APELLIDOS.length)],
+                String.valueOf(10_000_000 + i),
+                Date.valueOf(nacimiento),
+                "Calle " + random.nextInt(1, 5_000) + ", Santa Fe",
+                "semilla" + i + "@carga.sigelic"
+            });
+            if (lote.size() == LOTE) {
+                jdbcTemplate.batchUpdate(sql, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, lote);
+        }
+    }
+
+    /**
+     * Crea recursos de cada tipo disponibles todo el día para que los turnos
+     * generados por los usuarios virtuales no queden fuera de horario
+     */
+    Map<TipoRecurso, List<Long>> cargarRecursos(int porTipo) {
+        Map<TipoRecurso, List<Long>> recursos = new EnumMap<>(TipoRecurso.class);
+        for (TipoRecurso tipo : TipoRecurso.values()) {
+            List<Recurso> nuevos = new ArrayList<>(porTipo);
+            for (int i = 0; i < porTipo; i++) {
+                Recurso recurso = new Recurso();
+                recurso.setNombre(tipo.name() + " " + (i + 1));
+                recurso.setTipo(tipo);
+                recurso.setDescripcion("Recurso de prueba de carga");
+                recurso.setCapacidad(1);
+                recurso.setHoraInicio(LocalTime.MIN);
+                recurso.setHoraFin(LocalTime.of(23, 59));
+                recurso.setDuracionTurnoMinutos(30);
+                nuevos.add(recurso);
+            }
+            recursos.put(tipo, recursoRepository.saveAll(nuevos).stream().map(Recurso::getId).toList());
+        }
+        return recursos;
+    }
+
+    /**
+     * Registra un costo vigente para cada combinación de trámite y clase
+     */
+    void cargarCostos() {
+        List<CostoTramite> costos = new ArrayList<>();
+        for (TipoTramite tipo : TipoTramite.values()) {
+            for (ClaseLicencia clase : ClaseLicencia.values()) {
+                CostoTramite costo = new CostoTramite();
+                costo.setTipoTramite(tipo);
+                costo.setClaseLicencia(clase);
+                costo.setCosto(new BigDecimal("15000.00"));
+                costo.setFechaVigenciaDesde(LocalDate.now().minusYears(1));
+                costo.setDescripcion("Costo de prueba de carga");
+                costos.add(costo);
+            }
+        }
+        costoTramiteRepository.saveAll(costos);
+    }
+}
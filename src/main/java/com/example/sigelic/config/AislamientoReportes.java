@@ -0,0 +1,97 @@
+package com.example.sigelic.config;
+
+import com.example.sigelic.exception.CapacidadExcedidaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compartimento estanco para la carga de reportes ({@link CargaReportes}).
+ *
+ * Limita cuántos reportes y exportaciones corren a la vez; el resto espera hasta
+ * espera-maxima y luego se rechaza con {@link CapacidadExcedidaException}. Mientras
+ * un reporte está en curso, {@link RuteoDataSource} toma sus conexiones del pool de
+ * reportes, de modo que nunca compiten con reservas de turnos o acreditaciones de pago.
+ * Se ejecuta antes que la transacción para no retener conexiones mientras espera.
+ *
+ * Métricas (clase=reportes): sigelic.carga.espera, sigelic.carga.activas y
+ * sigelic.carga.rechazos. La espera de la carga transaccional se ve en
+ * hikaricp.connections.pending del pool sigelic-transaccional.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AislamientoReportes {
+
+    static final String CLASE = "reportes";
+
+    private static final ThreadLocal<Boolean> EN_CURSO = new ThreadLocal<>();
+
+    private final Semaphore permisos;
+    private final Duration esperaMaxima;
+    private final Timer espera;
+    private final Counter rechazos;
+
+    public AislamientoReportes(MeterRegistry meterRegistry,
+                               @Value("${sigelic.reportes.concurrencia-maxima:4}") int concurrenciaMaxima,
+                               @Value("${sigelic.reportes.espera-maxima:PT10S}") Duration esperaMaxima) {
+        this.permisos = new Semaphore(concurrenciaMaxima, true);
+        this.esperaMaxima = esperaMaxima;
+        this.espera = Timer.builder("sigelic.carga.espera")
+                .description("Espera para obtener un cupo de ejecución por clase de carga")
+                .tag("clase", CLASE)
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("sigelic.carga.rechazos")
+                .description("Ejecuciones rechazadas por falta de cupo")
+                .tag("clase", CLASE)
+                .register(meterRegistry);
+        Gauge.builder("sigelic.carga.activas", permisos, s -> concurrenciaMaxima - s.availablePermits())
+                .description("Ejecuciones en curso por clase de carga")
+                .tag("clase", CLASE)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si el hilo actual está ejecutando carga de reportes
+     */
+    public static boolean enCurso() {
+        return EN_CURSO.get() != null;
+    }
+
+    @Around("@within(com.example.sigelic.config.CargaReportes) || @annotation(com.example.sigelic.config.CargaReportes)")
+    public Object limitar(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (enCurso()) {
+            // Llamada anidada (reporte que exporta): ya tiene su cupo
+            return joinPoint.proceed();
+        }
+
+        long inicio = System.nanoTime();
+        boolean adquirido = permisos.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (!adquirido) {
+            rechazos.increment();
+            throw new CapacidadExcedidaException(
+                    "Hay demasiados reportes en ejecución. Intente nuevamente en unos instantes.");
+        }
+
+        EN_CURSO.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            EN_CURSO.remove();
+            permisos.release();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sigelic.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca clases o métodos que pertenecen a la clase de carga de reportes y
+ * exportaciones: se ejecutan con concurrencia limitada y, si el pool de
+ * reportes está habilitado, con conexiones separadas de las transaccionales
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CargaReportes {
+}
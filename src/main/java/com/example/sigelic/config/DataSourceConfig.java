@@ -0,0 +1,110 @@
+package com.example.sigelic.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Pools de conexiones por clase de carga.
+ *
+ * Con sigelic.datasource.reportes.habilitado=true, los reportes y exportaciones
+ * usan un pool propio y acotado (sigelic.datasource.reportes.hikari.*) contra la
+ * primaria; con sigelic.datasource.replicas.habilitado=true, las transacciones
+ * @Transactional(readOnly = true) se atienden en una réplica. El resto de la
+ * aplicación usa el pool transaccional configurado en spring.datasource.*
+ */
+@Configuration
+@ConditionalOnExpression("${sigelic.datasource.reportes.habilitado:false} or ${sigelic.datasource.replicas.habilitado:false}")
+@EnableConfigurationProperties(ReplicasProperties.class)
+public class DataSourceConfig {
+
+    /**
+     * Pool transaccional de la base primaria, configurado con spring.datasource.hikari.*.
+     * No es candidato a inyección: el resto de la aplicación usa el DataSource de ruteo
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties properties) {
+        HikariDataSource primaria = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaria.setPoolName("sigelic-transaccional");
+        return primaria;
+    }
+
+    /**
+     * Pool de reportes contra la primaria, configurado con sigelic.datasource.reportes.hikari.*
+     */
+    @Bean(defaultCandidate = false)
+    @ConditionalOnProperty(name = "sigelic.datasource.reportes.habilitado", havingValue = "true")
+    @ConfigurationProperties("sigelic.datasource.reportes.hikari")
+    public HikariDataSource dataSourceReportes(DataSourceProperties properties) {
+        HikariDataSource reportes = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        reportes.setPoolName("sigelic-reportes");
+        return reportes;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sigelic.datasource.replicas.habilitado", havingValue = "true")
+    public MonitorReplicas monitorReplicas(ReplicasProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<MonitorReplicas.Replica> replicas = properties.getNodos().stream()
+                .map(nodo -> new MonitorReplicas.Replica(nodo.getNombre(), crearPool(nodo)))
+                .toList();
+        MonitorReplicas monitor = new MonitorReplicas(replicas,
+                properties.isMedirRetraso() ? MedidorRetrasoReplica.MYSQL : MedidorRetrasoReplica.SIN_RETRASO,
+                properties.getRetrasoMaximo());
+
+        meterRegistry.ifAvailable(registry -> replicas.forEach(replica -> {
+            Gauge.builder("sigelic.datasource.replica.disponible", replica, r -> r.isDisponible() ? 1 : 0)
+                    .description("Réplica habilitada para recibir lecturas")
+                    .tag("replica", replica.getNombre())
+                    .register(registry);
+            Gauge.builder("sigelic.datasource.replica.retraso", replica, r -> segundos(r.getRetraso()))
+                    .description("Último retraso de replicación medido")
+                    .tag("replica", replica.getNombre())
+                    .baseUnit("seconds")
+                    .register(registry);
+        }));
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") HikariDataSource dataSourcePrimaria,
+                                 @Qualifier("dataSourceReportes") ObjectProvider<HikariDataSource> dataSourceReportes,
+                                 ObjectProvider<MonitorReplicas> monitorReplicas) {
+        return new LazyConnectionDataSourceProxy(new RuteoDataSource(dataSourcePrimaria,
+                dataSourceReportes.getIfAvailable(), monitorReplicas.getIfAvailable()));
+    }
+
+    private static HikariDataSource crearPool(ReplicasProperties.Nodo nodo) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(nodo.getUrl())
+                .username(nodo.getUsername())
+                .password(nodo.getPassword())
+                .build();
+        pool.setPoolName("sigelic-replica-" + nodo.getNombre());
+        pool.setMaximumPoolSize(nodo.getMaximoConexiones());
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    private static double segundos(Duration retraso) {
+        return retraso != null ? retraso.toMillis() / 1_000.0 : Double.NaN;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.sigelic.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico de anclaje de hilos virtuales.
+ *
+ * Con spring.threads.virtual.enabled=true, un hilo virtual que bloquea dentro de
+ * un bloque synchronized (o en código nativo) queda anclado a su hilo portador y
+ * deja de liberar CPU. Este componente escucha el evento JFR jdk.VirtualThreadPinned
+ * y lo publica como timer "sigelic.hilos.virtuales.anclados", etiquetado con el
+ * primer método de la aplicación (o de la librería) que aparece en la pila.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "sigelic.hilos-virtuales.diagnostico.habilitado", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DiagnosticoHilosVirtuales implements SmartLifecycle {
+
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+    static final String ANCLAJES = "sigelic.hilos.virtuales.anclados";
+    private static final String PAQUETE_APLICACION = "com.example.sigelic.";
+    private static final int FRAMES_EN_LOG = 15;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sigelic.hilos-virtuales.diagnostico.umbral:PT0.02S}")
+    private Duration umbral;
+
+    private final Set<String> origenesReportados = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    @Override
+    public void start() {
+        RecordingStream nuevo = new RecordingStream();
+        nuevo.enable(EVENTO).withThreshold(umbral).withStackTrace();
+        nuevo.onEvent(EVENTO, this::registrar);
+        nuevo.startAsync();
+        stream = nuevo;
+        log.info("Diagnóstico de anclaje de hilos virtuales activo (umbral {} ms)", umbral.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream actual = stream;
+        stream = null;
+        if (actual != null) {
+            actual.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void registrar(RecordedEvent evento) {
+        RecordedStackTrace pila = evento.getStackTrace();
+        String origen = origen(pila);
+        Timer.builder(ANCLAJES)
+                .description("Tiempo que un hilo virtual quedó anclado a su hilo portador")
+                .tag("origen", origen)
+                .register(meterRegistry)
+                .record(evento.getDuration());
+
+        // La pila completa se informa una vez por origen; las repeticiones quedan en la métrica
+        if (origenesReportados.add(origen)) {
+            log.warn("Hilo virtual anclado {} ms en {}:\n{}", evento.getDuration().toMillis(), origen, describir(pila));
+        } else if (log.isDebugEnabled()) {
+            log.debug("Hilo virtual anclado {} ms en {}", evento.getDuration().toMillis(), origen);
+        }
+    }
+
+    /**
+     * Primer método de la aplicación en la pila o, si no hay ninguno, el primero
+     * fuera del JDK (driver JDBC, pool, etc.)
+     */
+    static String origen(RecordedStackTrace pila) {
+        if (pila == null) {
+            return "desconocido";
+        }
+        RecordedFrame primeroFueraDelJdk = null;
+        for (RecordedFrame frame : pila.getFrames()) {
+            String tipo = frame.getMethod().getType().getName();
+            if (tipo.startsWith(PAQUETE_APLICACION)) {
+                return nombre(frame);
+            }
+            if (primeroFueraDelJdk == null && !tipo.startsWith("java.") && !tipo.startsWith("jdk.")
+                    && !tipo.startsWith("sun.")) {
+                primeroFueraDelJdk = frame;
+            }
+        }
+        return primeroFueraDelJdk != null ? nombre(primeroFueraDelJdk) : "jdk";
+    }
+
+    private static String nombre(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String describir(RecordedStackTrace pila) {
+        if (pila == null) {
+            return "\t(sin pila)";
+        }
+        return pila.getFrames().stream()
+                .limit(FRAMES_EN_LOG)
+                .map(frame -> "\tat " + nombre(frame) + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
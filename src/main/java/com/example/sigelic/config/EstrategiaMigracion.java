@@ -0,0 +1,127 @@
+package com.example.sigelic.config;
+
+import com.example.sigelic.service.SemillaService;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Migración del esquema al arrancar, omitida cuando las migraciones no cambiaron.
+ *
+ * Flyway valida en cada arranque todas las migraciones contra el historial de la
+ * base. Con sigelic.flyway.omitir-si-sin-cambios=true se calcula el checksum de
+ * los scripts del classpath y, si coincide con el registrado en
+ * semillas_aplicadas después de la última migración exitosa, Flyway no se
+ * ejecuta. Si no coincide (o la base todavía no tiene la tabla) se migra como
+ * siempre y se registra el checksum nuevo.
+ *
+ * La propiedad se lee en tiempo de ejecución y no como condición del bean, así
+ * que el comportamiento no queda fijado en el procesamiento AOT.
+ */
+@Component
+@Slf4j
+public class EstrategiaMigracion implements FlywayMigrationStrategy {
+
+    static final String ESQUEMA = "esquema";
+
+    private final boolean omitirSiSinCambios;
+    private final ResourcePatternResolver recursos = new PathMatchingResourcePatternResolver();
+
+    public EstrategiaMigracion(@Value("${sigelic.flyway.omitir-si-sin-cambios:false}") boolean omitirSiSinCambios) {
+        this.omitirSiSinCambios = omitirSiSinCambios;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        if (!omitirSiSinCambios) {
+            flyway.migrate();
+            return;
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+        String checksum = checksum(flyway.getConfiguration().getLocations());
+        if (checksum != null && checksum.equals(checksumRegistrado(jdbcTemplate))) {
+            log.info("Migraciones sin cambios, se omite la validación de Flyway");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        flyway.migrate();
+        if (checksum != null) {
+            registrar(jdbcTemplate, checksum);
+        }
+        log.info("Esquema migrado y validado en {} ms", Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+    }
+
+    /**
+     * Checksum de los scripts SQL de las ubicaciones de Flyway, por nombre y contenido.
+     * null si alguna ubicación está fuera del classpath (sus scripts pueden cambiar
+     * sin nueva versión de la aplicación)
+     */
+    String checksum(Location[] ubicaciones) {
+        List<String> scripts = new ArrayList<>();
+        try {
+            for (Location ubicacion : ubicaciones) {
+                if (!ubicacion.isClassPath()) {
+                    return null;
+                }
+                Resource[] encontrados = recursos.getResources("classpath*:" + ubicacion.getRootPath() + "/**/*.sql");
+                List<Resource> ordenados = new ArrayList<>(List.of(encontrados));
+                ordenados.sort(Comparator.comparing(Resource::getFilename));
+                for (Resource script : ordenados) {
+                    scripts.add(script.getFilename() + "\n" + script.getContentAsString(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron leer las migraciones", e);
+        }
+        return SemillaService.checksum(scripts);
+    }
+
+    private String checksumRegistrado(JdbcTemplate jdbcTemplate) {
+        try {
+            List<String> checksums = jdbcTemplate.queryForList(
+                "SELECT checksum FROM semillas_aplicadas WHERE nombre = ?", String.class, ESQUEMA);
+            return checksums.isEmpty() ? null : checksums.get(0);
+        } catch (DataAccessException e) {
+            // Base sin migrar todavía
+            return null;
+        }
+    }
+
+    private void registrar(JdbcTemplate jdbcTemplate, String checksum) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        int actualizados = jdbcTemplate.update(
+            "UPDATE semillas_aplicadas SET checksum = ?, fecha_aplicacion = ? WHERE nombre = ?",
+            checksum, ahora, ESQUEMA);
+        if (actualizados == 0) {
+            try {
+                jdbcTemplate.update(
+                    "INSERT INTO semillas_aplicadas (nombre, checksum, fecha_aplicacion) VALUES (?, ?, ?)",
+                    ESQUEMA, checksum, ahora);
+            } catch (DuplicateKeyException e) {
+                // Otro nodo migró y lo registró al mismo tiempo
+                log.debug("Checksum del esquema ya registrado por otro nodo");
+            }
+        }
+    }
+}
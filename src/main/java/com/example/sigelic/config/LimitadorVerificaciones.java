@@ -0,0 +1,77 @@
+package com.example.sigelic.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de tasa por cliente para la verificación pública de licencias.
+ *
+ * Cada cliente (dirección IP) puede hacer una ráfaga de hasta "rafaga" consultas
+ * y luego "por-segundo" consultas sostenidas. Se implementa como GCRA: por cliente
+ * se guarda solo el instante teórico de la próxima consulta y se actualiza con CAS,
+ * sin bloqueos. Los clientes inactivos se descartan de la tabla.
+ */
+@Component
+public class LimitadorVerificaciones {
+
+    private final Cache<String, AtomicLong> clientes;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final LongSupplier reloj;
+    private final Counter rechazos;
+
+    @Autowired
+    public LimitadorVerificaciones(MeterRegistry meterRegistry,
+                                   @Value("${sigelic.verificacion.limite.por-segundo:20}") int porSegundo,
+                                   @Value("${sigelic.verificacion.limite.rafaga:40}") int rafaga,
+                                   @Value("${sigelic.verificacion.limite.clientes:100000}") long maximoClientes) {
+        this(meterRegistry, porSegundo, rafaga, maximoClientes, System::nanoTime);
+    }
+
+    LimitadorVerificaciones(MeterRegistry meterRegistry, int porSegundo, int rafaga, long maximoClientes,
+                            LongSupplier reloj) {
+        if (porSegundo <= 0 || rafaga <= 0) {
+            throw new IllegalArgumentException("La tasa y la ráfaga deben ser positivas");
+        }
+        this.intervaloNanos = Duration.ofSeconds(1).toNanos() / porSegundo;
+        this.toleranciaNanos = intervaloNanos * (rafaga - 1L);
+        this.reloj = reloj;
+        this.clientes = Caffeine.newBuilder()
+                .maximumSize(maximoClientes)
+                .expireAfterAccess(Duration.ofNanos(Math.max(toleranciaNanos + intervaloNanos, Duration.ofSeconds(1).toNanos())))
+                .build();
+        this.rechazos = Counter.builder("sigelic.verificacion.rechazos")
+                .description("Verificaciones de licencia rechazadas por límite de tasa")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra una consulta del cliente
+     *
+     * @return false si el cliente superó su límite y la consulta debe rechazarse
+     */
+    public boolean permitir(String cliente) {
+        AtomicLong proxima = clientes.get(cliente, clave -> new AtomicLong(Long.MIN_VALUE));
+        long ahora = reloj.getAsLong();
+        while (true) {
+            long actual = proxima.get();
+            long base = actual == Long.MIN_VALUE || actual - ahora < 0 ? ahora : actual;
+            if (base - ahora > toleranciaNanos) {
+                rechazos.increment();
+                return false;
+            }
+            if (proxima.compareAndSet(actual, base + intervaloNanos)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sigelic.config;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Mide el retraso de replicación de una réplica de lectura
+ */
+@FunctionalInterface
+public interface MedidorRetrasoReplica {
+
+    /**
+     * Retraso informado por MySQL (Seconds_Behind_Source de SHOW REPLICA STATUS)
+     */
+    MedidorRetrasoReplica MYSQL = replica -> {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long segundos = resultSet.getLong("Seconds_Behind_Source");
+            return resultSet.wasNull() ? null : Duration.ofSeconds(segundos);
+        }
+    };
+
+    /**
+     * Para réplicas sin información de replicación: solo verifica que respondan
+     */
+    MedidorRetrasoReplica SIN_RETRASO = replica -> {
+        try (Connection connection = replica.getConnection()) {
+            return connection.isValid(2) ? Duration.ZERO : null;
+        }
+    };
+
+    /**
+     * @return retraso actual, o null si la replicación está detenida
+     * @throws SQLException si la réplica no responde
+     */
+    Duration medir(DataSource replica) throws SQLException;
+}
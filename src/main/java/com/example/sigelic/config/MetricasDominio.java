@@ -0,0 +1,67 @@
+package com.example.sigelic.config;
+
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
+import com.example.sigelic.event.TramiteEstadoCambiadoEvent;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.service.DashboardSnapshotService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas de dominio de SIGELIC publicadas en Micrometer.
+ *
+ * Los gauges de colas se leen de la instantánea compartida del dashboard, por lo
+ * que cada lectura de /actuator/prometheus no genera consultas a la base de datos.
+ * Todas las etiquetas toman valores de enums (cardinalidad acotada).
+ */
+@Component
+public class MetricasDominio {
+
+    static final String TRANSICIONES = "sigelic.tramite.transiciones";
+    static final String TRAMITES_POR_ESTADO = "sigelic.tramites.estado";
+    static final String SIN_ESTADO = "NINGUNO";
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasDominio(MeterRegistry meterRegistry, DashboardSnapshotService dashboardSnapshotService) {
+        this.meterRegistry = meterRegistry;
+
+        for (EstadoTramite estado : EstadoTramite.values()) {
+            construirGauge(TRAMITES_POR_ESTADO, "Trámites en cada estado del circuito", dashboardSnapshotService,
+                    snapshot -> snapshot.getTramitesPorEstado().getOrDefault(estado, 0L))
+                    .tag("estado", estado.name())
+                    .register(meterRegistry);
+        }
+        construirGauge("sigelic.tramites.activos", "Trámites en curso", dashboardSnapshotService,
+                DashboardSnapshotDTO::getTramitesActivos).register(meterRegistry);
+        construirGauge("sigelic.pagos.pendientes", "Pagos pendientes de acreditación", dashboardSnapshotService,
+                DashboardSnapshotDTO::getPagosPendientes).register(meterRegistry);
+        construirGauge("sigelic.examenes.pendientes", "Exámenes pendientes de rendir", dashboardSnapshotService,
+                DashboardSnapshotDTO::getExamenesPendientes).register(meterRegistry);
+    }
+
+    /**
+     * Cuenta las transiciones de estado de trámites confirmadas
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTramiteEstadoCambiado(TramiteEstadoCambiadoEvent event) {
+        Counter.builder(TRANSICIONES)
+                .description("Transiciones de estado de trámites")
+                .tag("desde", event.estadoAnterior() != null ? event.estadoAnterior().name() : SIN_ESTADO)
+                .tag("hacia", event.estadoNuevo().name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Gauge.Builder<DashboardSnapshotService> construirGauge(String nombre, String descripcion,
+            DashboardSnapshotService service, ToDoubleFunction<DashboardSnapshotDTO> valor) {
+        return Gauge.builder(nombre, service, s -> valor.applyAsDouble(s.getSnapshot()))
+                .description(descripcion)
+                .strongReference(true);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.sigelic.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifica periódicamente el estado y el retraso de las réplicas de lectura.
+ *
+ * Una réplica recibe lecturas solo mientras responde y su retraso no supera el
+ * máximo configurado. Hasta la primera verificación ninguna réplica está
+ * disponible, por lo que las lecturas van a la base primaria.
+ */
+@Slf4j
+public class MonitorReplicas implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final MedidorRetrasoReplica medidor;
+    private final Duration retrasoMaximo;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    public MonitorReplicas(List<Replica> replicas, MedidorRetrasoReplica medidor, Duration retrasoMaximo) {
+        this.replicas = List.copyOf(replicas);
+        this.medidor = medidor;
+        this.retrasoMaximo = retrasoMaximo;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Elige una réplica disponible en forma rotativa
+     *
+     * @return nombre de la réplica, o null si no hay ninguna disponible
+     */
+    public String elegirReplica() {
+        int cantidad = replicas.size();
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), Math.max(cantidad, 1));
+        for (int i = 0; i < cantidad; i++) {
+            Replica replica = replicas.get((inicio + i) % cantidad);
+            if (replica.isDisponible()) {
+                return replica.getNombre();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mide el retraso de cada réplica y actualiza su disponibilidad
+     */
+    @Scheduled(fixedDelayString = "${sigelic.datasource.replicas.intervalo-verificacion:PT2S}")
+    public void verificar() {
+        for (Replica replica : replicas) {
+            Duration retraso;
+            try {
+                retraso = medidor.medir(replica.getDataSource());
+            } catch (Exception e) {
+                log.debug("Error midiendo retraso de la réplica {}: {}", replica.getNombre(), e.getMessage());
+                retraso = null;
+            }
+            boolean disponible = retraso != null && retraso.compareTo(retrasoMaximo) <= 0;
+            replica.retraso = retraso;
+            if (replica.disponible != disponible) {
+                replica.disponible = disponible;
+                if (disponible) {
+                    log.info("Réplica {} disponible para lecturas (retraso {} ms)", replica.getNombre(), retraso.toMillis());
+                } else {
+                    log.warn("Réplica {} fuera de servicio para lecturas (retraso {}), se usa la base primaria",
+                            replica.getNombre(), retraso != null ? retraso.toMillis() + " ms" : "desconocido");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Réplica de lectura con su último estado conocido
+     */
+    @Getter
+    public static class Replica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean disponible;
+        private volatile Duration retraso;
+
+        public Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.sigelic.config;
+
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Resuelve los parámetros "cursor" y "tamanio" de los listados paginados en un
+ * {@link PaginaSolicitada}. El tamaño pedido se limita a
+ * sigelic.paginacion.tamanio-maximo
+ */
+@Configuration
+public class PaginacionConfig implements WebMvcConfigurer {
+
+    @Value("${sigelic.paginacion.tamanio-por-defecto:50}")
+    private int tamanioPorDefecto = 50;
+
+    @Value("${sigelic.paginacion.tamanio-maximo:500}")
+    private int tamanioMaximo = 500;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new HandlerMethodArgumentResolver() {
+            @Override
+            public boolean supportsParameter(MethodParameter parameter) {
+                return PaginaSolicitada.class.equals(parameter.getParameterType());
+            }
+
+            @Override
+            public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                          NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+                return PaginaSolicitada.desde(webRequest.getParameter("cursor"),
+                        tamanio(webRequest.getParameter("tamanio")));
+            }
+        });
+    }
+
+    int tamanio(String solicitado) {
+        if (solicitado == null || solicitado.isBlank()) {
+            return Math.min(tamanioPorDefecto, tamanioMaximo);
+        }
+        int tamanio;
+        try {
+            tamanio = Integer.parseInt(solicitado.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El tamaño de página debe ser un número");
+        }
+        if (tamanio < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+        }
+        return Math.min(tamanio, tamanioMaximo);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.sigelic.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de las réplicas de lectura (sigelic.datasource.replicas.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "sigelic.datasource.replicas")
+public class ReplicasProperties {
+
+    /**
+     * Envía las transacciones de solo lectura a las réplicas
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Retraso de replicación a partir del cual una réplica deja de recibir lecturas
+     */
+    private Duration retrasoMaximo = Duration.ofSeconds(5);
+
+    /**
+     * Consulta el retraso con SHOW REPLICA STATUS; con false solo se verifica la conexión
+     */
+    private boolean medirRetraso = true;
+
+    private List<Nodo> nodos = new ArrayList<>();
+
+    @Data
+    public static class Nodo {
+        private String nombre;
+        private String url;
+        private String username;
+        private String password;
+        private int maximoConexiones = 10;
+    }
+}
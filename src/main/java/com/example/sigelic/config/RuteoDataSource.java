@@ -0,0 +1,68 @@
+package com.example.sigelic.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource que reparte las conexiones por clase de carga:
+ * <ul>
+ *   <li>transacciones de solo lectura: una réplica disponible, si hay réplicas configuradas</li>
+ *   <li>reportes y exportaciones ({@link CargaReportes}): el pool de reportes, si está habilitado</li>
+ *   <li>todo lo demás (escrituras, código sin transacción): el pool transaccional de la primaria</li>
+ * </ul>
+ *
+ * Debe envolverse en un LazyConnectionDataSourceProxy: la conexión física se pide
+ * recién en la primera sentencia, cuando el indicador readOnly de la transacción
+ * ya está publicado en TransactionSynchronizationManager.
+ */
+public class RuteoDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIA = "primaria";
+    static final String REPORTES = "reportes";
+
+    private final DataSource reportes;
+    private final MonitorReplicas monitorReplicas;
+
+    public RuteoDataSource(DataSource primaria, MonitorReplicas monitorReplicas) {
+        this(primaria, null, monitorReplicas);
+    }
+
+    /**
+     * @param reportes pool de reportes, o null para usar la primaria
+     * @param monitorReplicas réplicas de lectura, o null si no hay
+     */
+    public RuteoDataSource(DataSource primaria, DataSource reportes, MonitorReplicas monitorReplicas) {
+        this.reportes = reportes;
+        this.monitorReplicas = monitorReplicas;
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIA, primaria);
+        if (reportes != null) {
+            destinos.put(REPORTES, reportes);
+        }
+        if (monitorReplicas != null) {
+            monitorReplicas.getReplicas().forEach(replica -> destinos.put(replica.getNombre(), replica.getDataSource()));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (monitorReplicas != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            String replica = monitorReplicas.elegirReplica();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        if (reportes != null && AislamientoReportes.enCurso()) {
+            return REPORTES;
+        }
+        return PRIMARIA;
+    }
+}
@@ -73,12 +73,16 @@ public class SecurityConfig extends VaadinWebSecurity {
             
             // Endpoints de pagos
             .requestMatchers("/api/pagos/procesar").hasAuthority("PAGOS_PROCESAR")
+            .requestMatchers("/api/pagos/conciliacion").hasAuthority("PAGOS_PROCESAR")
             .requestMatchers("/api/pagos/reembolsar/**").hasAuthority("PAGOS_REEMBOLSAR")
             .requestMatchers("/api/pagos/**").hasAnyAuthority("PAGOS_LEER", "PAGOS_PROCESAR")
             
             // Endpoints de reportes
             .requestMatchers("/api/reportes/**").hasAuthority("REPORTES_GENERAR")
             
+            // Sondas de vida y disponibilidad (solo estado, sin detalles) para el orquestador
+            .requestMatchers("/actuator/health/liveness", "/actuator/health/readiness").permitAll()
+
             // Actuator para monitoreo (solo administradores)
             .requestMatchers("/actuator/**").hasAuthority("SISTEMA_CONFIGURAR")
             
@@ -86,6 +90,9 @@ public class SecurityConfig extends VaadinWebSecurity {
             .requestMatchers("/h2-console/**").hasAuthority("SISTEMA_CONFIGURAR")
         );
 
+        // La pasarela de pagos no tiene sesión ni token CSRF: se autentica con su propio token
+        http.csrf(csrf -> csrf.ignoringRequestMatchers("/api/public/pasarela/**"));
+
         // Configuración de headers de seguridad
         http.headers(headers -> headers
             .frameOptions(frameOptions -> frameOptions.sameOrigin())
@@ -0,0 +1,32 @@
+package com.example.sigelic.controller;
+
+import com.example.sigelic.dto.response.Versionado;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Respuesta de los GET condicionales: la versión del recurso viaja como ETag y,
+ * si el cliente la envió en If-None-Match, se responde 304 sin cuerpo. El
+ * cliente debe revalidar siempre antes de reutilizar su copia
+ */
+final class Condicional {
+
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private Condicional() {
+    }
+
+    static <T> ResponseEntity<T> ok(Versionado<T> versionado) {
+        if (!versionado.modificado()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(versionado.version())
+                    .cacheControl(REVALIDAR)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(versionado.version())
+                .cacheControl(REVALIDAR)
+                .body(versionado.valor());
+    }
+}
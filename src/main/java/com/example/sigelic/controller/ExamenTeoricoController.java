@@ -17,7 +17,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.sigelic.dto.request.ExamenTeoricoRequestDTO;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.response.ExamenTeoricoResponseDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TramiteResponseDTO;
 import com.example.sigelic.mapper.ExamenTeoricoMapper;
 import com.example.sigelic.mapper.TramiteMapper;
@@ -33,7 +35,7 @@ import jakarta.validation.Valid;
  */
 @RestController
 @RequestMapping("/api/examenes-teoricos")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = Paginacion.ENCABEZADO_CURSOR)
 public class ExamenTeoricoController {
 
     @Autowired
@@ -87,10 +89,10 @@ public class ExamenTeoricoController {
      * Obtiene todos los exámenes teóricos
      */
     @GetMapping
-    public ResponseEntity<List<ExamenTeoricoResponseDTO>> obtenerTodosLosExamenes() {
-        List<ExamenTeorico> examenes = examenService.findAllTeoricos();
-        List<ExamenTeoricoResponseDTO> dtos = examenTeoricoMapper.toResponseDTOList(examenes);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<ExamenTeoricoResponseDTO>> obtenerTodosLosExamenes(PaginaSolicitada solicitud) {
+        Pagina<ExamenTeorico> pagina = examenService.findPaginaTeoricos(solicitud);
+        List<ExamenTeoricoResponseDTO> dtos = examenTeoricoMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
@@ -129,9 +131,10 @@ public class ExamenTeoricoController {
      * Obtiene exámenes teóricos por examinador
      */
     @GetMapping("/examinador/{examinador}")
-    public ResponseEntity<List<ExamenTeoricoResponseDTO>> obtenerExamenesPorExaminador(@PathVariable String examinador) {
-        List<ExamenTeorico> examenes = examenService.findTeoricosByExaminador(examinador);
-        List<ExamenTeoricoResponseDTO> dtos = examenTeoricoMapper.toResponseDTOList(examenes);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<ExamenTeoricoResponseDTO>> obtenerExamenesPorExaminador(@PathVariable String examinador,
+                                                                                       PaginaSolicitada solicitud) {
+        Pagina<ExamenTeorico> pagina = examenService.findPaginaTeoricosByExaminador(examinador, solicitud);
+        List<ExamenTeoricoResponseDTO> dtos = examenTeoricoMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 }
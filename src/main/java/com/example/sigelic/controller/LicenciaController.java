@@ -1,14 +1,22 @@
 package com.example.sigelic.controller;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.response.LicenciaResponseDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.mapper.LicenciaMapper;
+import com.example.sigelic.model.EstadoLicencia;
 import com.example.sigelic.model.Licencia;
 import com.example.sigelic.model.Titular;
+import com.example.sigelic.service.DescargaMasivaService;
 import com.example.sigelic.service.LicenciaService;
 import com.example.sigelic.service.TitularService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,7 +27,7 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/licencias")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {Paginacion.ENCABEZADO_CURSOR, HttpHeaders.ETAG})
 public class LicenciaController {
 
     @Autowired
@@ -31,6 +39,9 @@ public class LicenciaController {
     @Autowired
     private LicenciaMapper licenciaMapper;
 
+    @Autowired
+    private DescargaMasivaService descargaMasivaService;
+
     /**
      * Obtiene una licencia por ID
      */
@@ -61,14 +72,12 @@ public class LicenciaController {
      * Obtiene licencias de un titular
      */
     @GetMapping("/titular/{titularId}")
-    public ResponseEntity<List<LicenciaResponseDTO>> obtenerLicenciasPorTitular(@PathVariable Long titularId) {
-        Optional<Titular> titularOpt = titularService.findById(titularId);
-        if (titularOpt.isPresent()) {
-            List<Licencia> licencias = licenciaService.findByTitular(titularOpt.get());
-            List<LicenciaResponseDTO> dtos = licenciaMapper.toResponseDTOList(licencias);
-            return ResponseEntity.ok(dtos);
-        }
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<List<LicenciaResponseDTO>> obtenerLicenciasPorTitular(@PathVariable Long titularId,
+                                                                                WebRequest request) {
+        return titularService.findVersionado(titularId, request::checkNotModified,
+                        titular -> licenciaMapper.toResponseDTOList(titular.getLicencias()))
+                .map(Condicional::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -90,21 +99,34 @@ public class LicenciaController {
      */
     @GetMapping("/proximas-vencer")
     public ResponseEntity<List<LicenciaResponseDTO>> obtenerLicenciasProximasAVencer(
-            @RequestParam(defaultValue = "30") int dias) {
+            @RequestParam(defaultValue = "30") int dias,
+            PaginaSolicitada solicitud) {
         
-        List<Licencia> licencias = licenciaService.getLicenciasProximasAVencer(dias);
-        List<LicenciaResponseDTO> dtos = licenciaMapper.toResponseDTOList(licencias);
-        return ResponseEntity.ok(dtos);
+        Pagina<Licencia> pagina = licenciaService.getPaginaLicenciasProximasAVencer(dias, solicitud);
+        List<LicenciaResponseDTO> dtos = licenciaMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
      * Obtiene licencias vencidas
      */
     @GetMapping("/vencidas")
-    public ResponseEntity<List<LicenciaResponseDTO>> obtenerLicenciasVencidas() {
-        List<Licencia> licencias = licenciaService.getLicenciasVencidas();
-        List<LicenciaResponseDTO> dtos = licenciaMapper.toResponseDTOList(licencias);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<LicenciaResponseDTO>> obtenerLicenciasVencidas(PaginaSolicitada solicitud) {
+        Pagina<Licencia> pagina = licenciaService.getPaginaLicenciasVencidas(solicitud);
+        List<LicenciaResponseDTO> dtos = licenciaMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
+    }
+
+    /**
+     * Descarga todas las licencias, o las de un estado, en NDJSON (una licencia por línea)
+     */
+    @GetMapping(value = "/descarga", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> descargarLicencias(
+            @RequestParam(required = false) EstadoLicencia estado) {
+        StreamingResponseBody cuerpo = salida -> descargaMasivaService.escribirLicencias(estado, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
     }
 
     /**
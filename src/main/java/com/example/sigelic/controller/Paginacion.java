@@ -0,0 +1,27 @@
+package com.example.sigelic.controller;
+
+import com.example.sigelic.dto.response.Pagina;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Respuesta de los listados paginados: el cuerpo sigue siendo la lista de
+ * elementos y el cursor de la siguiente página viaja en X-Siguiente-Cursor
+ * (ausente en la última página)
+ */
+final class Paginacion {
+
+    static final String ENCABEZADO_CURSOR = "X-Siguiente-Cursor";
+
+    private Paginacion() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Pagina<?> pagina, List<T> elementos) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.siguienteCursor() != null) {
+            respuesta.header(ENCABEZADO_CURSOR, pagina.siguienteCursor());
+        }
+        return respuesta.body(elementos);
+    }
+}
@@ -1,19 +1,30 @@
 package com.example.sigelic.controller;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.PagoRequestDTO;
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.PagoResponseDTO;
 import com.example.sigelic.mapper.PagoMapper;
 import com.example.sigelic.model.Pago;
 import com.example.sigelic.model.Tramite;
 import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.service.ConciliacionService;
 import com.example.sigelic.service.PagoService;
 import com.example.sigelic.service.TramiteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +34,7 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/pagos")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = Paginacion.ENCABEZADO_CURSOR)
 public class PagoController {
 
     @Autowired
@@ -35,6 +46,9 @@ public class PagoController {
     @Autowired
     private PagoMapper pagoMapper;
 
+    @Autowired
+    private ConciliacionService conciliacionService;
+
     /**
      * Obtiene un pago por ID
      */
@@ -134,10 +148,11 @@ public class PagoController {
      * Obtiene pagos por estado
      */
     @GetMapping("/estado/{estado}")
-    public ResponseEntity<List<PagoResponseDTO>> obtenerPagosPorEstado(@PathVariable EstadoPago estado) {
-        List<Pago> pagos = pagoService.findByEstado(estado);
-        List<PagoResponseDTO> dtos = pagoMapper.toResponseDTOList(pagos);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<PagoResponseDTO>> obtenerPagosPorEstado(@PathVariable EstadoPago estado,
+                                                                       PaginaSolicitada solicitud) {
+        Pagina<Pago> pagina = pagoService.findPaginaByEstado(estado, solicitud);
+        List<PagoResponseDTO> dtos = pagoMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
@@ -146,21 +161,22 @@ public class PagoController {
     @GetMapping("/fecha")
     public ResponseEntity<List<PagoResponseDTO>> obtenerPagosPorFecha(
             @RequestParam LocalDateTime fechaDesde,
-            @RequestParam LocalDateTime fechaHasta) {
+            @RequestParam LocalDateTime fechaHasta,
+            PaginaSolicitada solicitud) {
         
-        List<Pago> pagos = pagoService.getPagosAcreditadosEnPeriodo(fechaDesde, fechaHasta);
-        List<PagoResponseDTO> dtos = pagoMapper.toResponseDTOList(pagos);
-        return ResponseEntity.ok(dtos);
+        Pagina<Pago> pagina = pagoService.getPaginaPagosAcreditadosEnPeriodo(fechaDesde, fechaHasta, solicitud);
+        List<PagoResponseDTO> dtos = pagoMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
      * Obtiene pagos vencidos
      */
     @GetMapping("/vencidos")
-    public ResponseEntity<List<PagoResponseDTO>> obtenerPagosVencidos() {
-        List<Pago> pagos = pagoService.findByEstado(EstadoPago.VENCIDO);
-        List<PagoResponseDTO> dtos = pagoMapper.toResponseDTOList(pagos);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<PagoResponseDTO>> obtenerPagosVencidos(PaginaSolicitada solicitud) {
+        Pagina<Pago> pagina = pagoService.findPaginaByEstado(EstadoPago.VENCIDO, solicitud);
+        List<PagoResponseDTO> dtos = pagoMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
@@ -172,6 +188,25 @@ public class PagoController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Concilia un archivo de liquidación bancaria contra los pagos pendientes
+     */
+    @PostMapping(value = "/conciliacion", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ConciliacionResultadoDTO> conciliarPagos(
+            @RequestParam("archivo") MultipartFile archivo,
+            @RequestParam(defaultValue = "CSV") ConciliacionService.Formato formato,
+            Principal principal) throws IOException {
+        
+        if (archivo.isEmpty()) {
+            throw new IllegalArgumentException("El archivo de conciliación está vacío");
+        }
+        
+        String operador = principal != null ? principal.getName() : "conciliacion";
+        try (Reader lector = new InputStreamReader(archivo.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(conciliacionService.conciliar(lector, formato, operador));
+        }
+    }
+
     /**
      * Procesa pagos vencidos masivamente
      */
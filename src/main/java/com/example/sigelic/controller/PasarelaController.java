@@ -0,0 +1,57 @@
+package com.example.sigelic.controller;
+
+import com.example.sigelic.dto.request.CallbackPasarelaRequestDTO;
+import com.example.sigelic.service.CallbackPasarelaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * Controlador REST que recibe los avisos de la pasarela de pagos.
+ *
+ * Es público para Spring Security (la pasarela no tiene sesión) y se autentica
+ * con el token compartido del encabezado X-Pasarela-Token. Responde 200 tanto al
+ * primer aviso como a sus reintentos, sin esperar a que el pago se procese.
+ */
+@RestController
+@RequestMapping("/api/public/pasarela")
+public class PasarelaController {
+
+    static final String ENCABEZADO_TOKEN = "X-Pasarela-Token";
+
+    @Autowired
+    private CallbackPasarelaService callbackPasarelaService;
+
+    @Value("${sigelic.pasarela.token:}")
+    private String token;
+
+    /**
+     * Recibe el resultado de un pago online
+     */
+    @PostMapping("/callback")
+    public ResponseEntity<Map<String, String>> recibirCallback(
+            @RequestHeader(value = ENCABEZADO_TOKEN, required = false) String tokenRecibido,
+            @Valid @RequestBody CallbackPasarelaRequestDTO request) {
+        if (!tokenValido(tokenRecibido)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        CallbackPasarelaService.Recepcion recepcion = callbackPasarelaService.recibir(
+                request.getNumeroTransaccion(), request.getPagoId(), request.getExitoso());
+        return ResponseEntity.ok(Map.of("resultado", recepcion.name()));
+    }
+
+    private boolean tokenValido(String tokenRecibido) {
+        if (token == null || token.isBlank() || tokenRecibido == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), tokenRecibido.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.sigelic.controller;
 
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
+import com.example.sigelic.dto.response.Versionado;
+import com.example.sigelic.service.DashboardSnapshotService;
 import com.example.sigelic.service.ReporteService;
+import com.example.sigelic.service.ReporteService.AgrupacionTemporal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,13 +25,27 @@ import java.util.Map;
 public class ReporteController {
 
     private final ReporteService reporteService;
+    private final DashboardSnapshotService dashboardSnapshotService;
 
     /**
-     * Obtiene el dashboard principal con estadísticas generales
+     * Obtiene el dashboard principal con estadísticas generales.
+     *
+     * El cuerpo y la versión salen de la misma instantánea compartida del dashboard,
+     * que cambia con los cambios de trámites, licencias, pagos y exámenes y al menos
+     * una vez por intervalo de refresco; mientras no cambie, el cliente que revalida
+     * recibe 304 y ninguna respuesta vuelve a consultar los indicadores. La hora de
+     * generación distingue las instantáneas de distintos nodos, que numeran sus
+     * secuencias por separado
      */
     @GetMapping("/dashboard")
-    public ResponseEntity<Map<String, Object>> getDashboard() {
-        return ResponseEntity.ok(reporteService.getDashboard());
+    public ResponseEntity<Map<String, Object>> getDashboard(WebRequest request) {
+        DashboardSnapshotDTO snapshot = dashboardSnapshotService.getSnapshot();
+        String version = snapshot.getSecuencia() + "-"
+                + snapshot.getGeneradoEn().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSSSSS"));
+        if (request.checkNotModified(version)) {
+            return Condicional.ok(Versionado.sinCambios(version));
+        }
+        return Condicional.ok(new Versionado<>(version, reporteService.getDashboard(snapshot)));
     }
 
     /**
@@ -68,6 +88,20 @@ public class ReporteController {
         return ResponseEntity.ok(reporteService.getReporteTramitesPorPeriodo(fechaDesde, fechaHasta));
     }
 
+    /**
+     * Obtiene el rendimiento de los examinadores en el período, opcionalmente
+     * separado por día o por semana
+     */
+    @GetMapping("/rendimiento-examinadores")
+    public ResponseEntity<Map<String, Object>> getReporteRendimientoExaminadores(
+            @RequestParam("desde") String desde,
+            @RequestParam("hasta") String hasta,
+            @RequestParam(value = "agrupacion", defaultValue = "NINGUNA") AgrupacionTemporal agrupacion) {
+        LocalDateTime fechaDesde = LocalDateTime.parse(desde);
+        LocalDateTime fechaHasta = LocalDateTime.parse(hasta);
+        return ResponseEntity.ok(reporteService.getReporteRendimientoExaminadores(fechaDesde, fechaHasta, agrupacion));
+    }
+
     /**
      * Obtiene resumen comparativo de licencias
      * Útil para entender la diferencia entre licencias emitidas vs vigentes
@@ -1,14 +1,18 @@
 package com.example.sigelic.controller;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.TitularRequestDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TitularResponseDTO;
 import com.example.sigelic.mapper.TitularMapper;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.service.TitularService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -19,7 +23,7 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/titulares")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {Paginacion.ENCABEZADO_CURSOR, HttpHeaders.ETAG})
 public class TitularController {
 
     @Autowired
@@ -32,10 +36,10 @@ public class TitularController {
      * Obtiene todos los titulares
      */
     @GetMapping
-    public ResponseEntity<List<TitularResponseDTO>> obtenerTitulares() {
-        List<Titular> titulares = titularService.findAll();
-        List<TitularResponseDTO> dtos = titularMapper.toResponseDTOList(titulares);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<TitularResponseDTO>> obtenerTitulares(PaginaSolicitada solicitud) {
+        Pagina<Titular> pagina = titularService.findPagina(solicitud);
+        List<TitularResponseDTO> dtos = titularMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
@@ -62,13 +66,10 @@ public class TitularController {
      * Obtiene un titular por ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TitularResponseDTO> obtenerTitularPorId(@PathVariable Long id) {
-        Optional<Titular> titularOpt = titularService.findById(id);
-        if (titularOpt.isPresent()) {
-            TitularResponseDTO dto = titularMapper.toResponseDTOWithDetails(titularOpt.get());
-            return ResponseEntity.ok(dto);
-        }
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<TitularResponseDTO> obtenerTitularPorId(@PathVariable Long id, WebRequest request) {
+        return titularService.findVersionado(id, request::checkNotModified, titularMapper::toResponseDTOWithDetails)
+                .map(Condicional::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -131,10 +132,10 @@ public class TitularController {
      * Obtiene titulares con inhabilitaciones activas
      */
     @GetMapping("/inhabilitados")
-    public ResponseEntity<List<TitularResponseDTO>> obtenerTitularesInhabilitados() {
-        List<Titular> titulares = titularService.getTitularesConInhabilitacionesActivas();
-        List<TitularResponseDTO> dtos = titularMapper.toResponseDTOList(titulares);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<TitularResponseDTO>> obtenerTitularesInhabilitados(PaginaSolicitada solicitud) {
+        Pagina<Titular> pagina = titularService.getPaginaTitularesConInhabilitacionesActivas(solicitud);
+        List<TitularResponseDTO> dtos = titularMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
@@ -6,6 +6,7 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,13 +17,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.TramiteRequestDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TramiteResponseDTO;
 import com.example.sigelic.mapper.TramiteMapper;
 import com.example.sigelic.model.EstadoTramite;
 import com.example.sigelic.model.TipoTramite;
 import com.example.sigelic.model.Tramite;
+import com.example.sigelic.service.DescargaMasivaService;
 import com.example.sigelic.service.TramiteService;
 
 import jakarta.validation.Valid;
@@ -32,7 +37,7 @@ import jakarta.validation.Valid;
  */
 @RestController
 @RequestMapping("/api/tramites")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = Paginacion.ENCABEZADO_CURSOR)
 public class TramiteController {
 
     @Autowired
@@ -41,6 +46,9 @@ public class TramiteController {
     @Autowired
     private TramiteMapper tramiteMapper;
 
+    @Autowired
+    private DescargaMasivaService descargaMasivaService;
+
     /**
      * Obtiene un trámite por ID
      */
@@ -138,10 +146,23 @@ public class TramiteController {
      * Obtiene trámites por estado
      */
     @GetMapping("/estado/{estado}")
-    public ResponseEntity<List<TramiteResponseDTO>> obtenerTramitesPorEstado(@PathVariable EstadoTramite estado) {
-        List<Tramite> tramites = tramiteService.findByEstado(estado);
-        List<TramiteResponseDTO> dtos = tramiteMapper.toResponseDTOList(tramites);
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<TramiteResponseDTO>> obtenerTramitesPorEstado(@PathVariable EstadoTramite estado,
+                                                                             PaginaSolicitada solicitud) {
+        Pagina<Tramite> pagina = tramiteService.findPaginaByEstado(estado, solicitud);
+        List<TramiteResponseDTO> dtos = tramiteMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
+    }
+
+    /**
+     * Descarga todos los trámites, o los de un estado, en NDJSON (un trámite por línea)
+     */
+    @GetMapping(value = "/descarga", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> descargarTramites(
+            @RequestParam(required = false) EstadoTramite estado) {
+        StreamingResponseBody cuerpo = salida -> descargaMasivaService.escribirTramites(estado, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
     }
 
     /**
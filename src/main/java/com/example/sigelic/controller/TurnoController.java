@@ -1,11 +1,19 @@
 package com.example.sigelic.controller;
 
+import com.example.sigelic.dto.request.ListaEsperaRequestDTO;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.TurnoRequestDTO;
+import com.example.sigelic.dto.response.AsignacionAgendaDTO;
+import com.example.sigelic.dto.response.ListaEsperaResponseDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TurnoResponseDTO;
 import com.example.sigelic.mapper.TurnoMapper;
+import com.example.sigelic.model.ListaEspera;
 import com.example.sigelic.model.Turno;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.model.Tramite;
+import com.example.sigelic.service.AgendaExamenesService;
+import com.example.sigelic.service.ListaEsperaService;
 import com.example.sigelic.service.TurnoService;
 import com.example.sigelic.service.TitularService;
 import com.example.sigelic.service.TramiteService;
@@ -15,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +33,7 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/turnos")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = Paginacion.ENCABEZADO_CURSOR)
 public class TurnoController {
 
     @Autowired
@@ -39,6 +48,12 @@ public class TurnoController {
     @Autowired
     private TurnoMapper turnoMapper;
 
+    @Autowired
+    private AgendaExamenesService agendaExamenesService;
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
     /**
      * Obtiene un turno por ID
      */
@@ -167,11 +182,12 @@ public class TurnoController {
     @GetMapping("/fecha")
     public ResponseEntity<List<TurnoResponseDTO>> obtenerTurnosPorFecha(
             @RequestParam LocalDateTime fechaDesde,
-            @RequestParam LocalDateTime fechaHasta) {
+            @RequestParam LocalDateTime fechaHasta,
+            PaginaSolicitada solicitud) {
         
-        List<Turno> turnos = turnoService.findTurnosEnPeriodo(fechaDesde, fechaHasta);
-        List<TurnoResponseDTO> dtos = turnoMapper.toResponseDTOList(turnos);
-        return ResponseEntity.ok(dtos);
+        Pagina<Turno> pagina = turnoService.findPaginaEnPeriodo(fechaDesde, fechaHasta, solicitud);
+        List<TurnoResponseDTO> dtos = turnoMapper.toResponseDTOList(pagina.elementos());
+        return Paginacion.ok(pagina, dtos);
     }
 
     /**
@@ -203,6 +219,54 @@ public class TurnoController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * Asigna pistas, aulas y examinadores a los exámenes confirmados de un día
+     */
+    @PostMapping("/agenda/asignacion")
+    public ResponseEntity<AsignacionAgendaDTO> asignarAgenda(@RequestParam LocalDate fecha) {
+        return ResponseEntity.ok(agendaExamenesService.asignar(fecha));
+    }
+
+    /**
+     * Inscribe a un titular en la lista de espera de turnos liberados
+     */
+    @PostMapping("/lista-espera")
+    public ResponseEntity<ListaEsperaResponseDTO> inscribirListaEspera(@Valid @RequestBody ListaEsperaRequestDTO request) {
+        ListaEspera listaEspera = listaEsperaService.inscribir(request.getTitularId(), request.getTipo(),
+                request.getTipoRecurso(), request.getTurnoActualId(), request.getDesde(), request.getHasta(),
+                request.getPrioridad());
+        return ResponseEntity.status(HttpStatus.CREATED).body(turnoMapper.toListaEsperaResponseDTO(listaEspera));
+    }
+
+    /**
+     * Obtiene las inscripciones de un titular en la lista de espera
+     */
+    @GetMapping("/lista-espera/titular/{titularId}")
+    public ResponseEntity<List<ListaEsperaResponseDTO>> obtenerListaEsperaDeTitular(@PathVariable Long titularId) {
+        List<ListaEsperaResponseDTO> dtos = listaEsperaService.findByTitular(titularId).stream()
+                .map(turnoMapper::toListaEsperaResponseDTO)
+                .toList();
+        return ResponseEntity.ok(dtos);
+    }
+
+    /**
+     * Acepta el turno ofrecido a una inscripción de la lista de espera
+     */
+    @PostMapping("/lista-espera/{id}/aceptar")
+    public ResponseEntity<TurnoResponseDTO> aceptarOfertaListaEspera(@PathVariable Long id) {
+        Turno turno = listaEsperaService.aceptarOferta(id);
+        return ResponseEntity.ok(turnoMapper.toResponseDTO(turno));
+    }
+
+    /**
+     * Da de baja una inscripción de la lista de espera
+     */
+    @DeleteMapping("/lista-espera/{id}")
+    public ResponseEntity<Void> cancelarListaEspera(@PathVariable Long id) {
+        listaEsperaService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Elimina un turno
      */
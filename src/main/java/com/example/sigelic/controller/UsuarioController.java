@@ -1,5 +1,7 @@
 package com.example.sigelic.controller;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.usuario.*;
 import com.example.sigelic.model.Permiso;
 import com.example.sigelic.model.RolSistema;
@@ -275,14 +277,15 @@ public class UsuarioController {
     @GetMapping("/inactivos")
     @PreAuthorize("hasAuthority('AUDITORIA_ACCEDER_LOGS')")
     public ResponseEntity<List<UsuarioDTO>> obtenerUsuariosInactivos(
-            @RequestParam(defaultValue = "90") int diasInactividad) {
+            @RequestParam(defaultValue = "90") int diasInactividad,
+            PaginaSolicitada solicitud) {
         
-        List<Usuario> usuarios = usuarioService.obtenerUsuariosInactivos(diasInactividad);
-        List<UsuarioDTO> usuariosDTO = usuarios.stream()
+        Pagina<Usuario> pagina = usuarioService.obtenerPaginaUsuariosInactivos(diasInactividad, solicitud);
+        List<UsuarioDTO> usuariosDTO = pagina.elementos().stream()
                 .map(this::convertirADTO)
                 .collect(Collectors.toList());
         
-        return ResponseEntity.ok(usuariosDTO);
+        return Paginacion.ok(pagina, usuariosDTO);
     }
 
     /**
@@ -0,0 +1,46 @@
+package com.example.sigelic.controller;
+
+import com.example.sigelic.config.LimitadorVerificaciones;
+import com.example.sigelic.dto.response.VerificacionLicenciaDTO;
+import com.example.sigelic.exception.LimiteSolicitudesExcedidoException;
+import com.example.sigelic.service.VerificacionLicenciaService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * Controlador REST público para verificar una licencia por número (controles de
+ * tránsito, aseguradoras, empleadores). No requiere autenticación y está limitado
+ * por dirección IP; solo expone número, clase, estado y vencimiento.
+ */
+@RestController
+@RequestMapping("/api/public/licencias")
+public class VerificacionLicenciaController {
+
+    @Autowired
+    private VerificacionLicenciaService verificacionLicenciaService;
+
+    @Autowired
+    private LimitadorVerificaciones limitadorVerificaciones;
+
+    /**
+     * Verifica el estado de una licencia
+     */
+    @GetMapping("/verificar/{numero}")
+    public ResponseEntity<VerificacionLicenciaDTO> verificar(@PathVariable String numero,
+                                                             HttpServletRequest request) {
+        if (!limitadorVerificaciones.permitir(request.getRemoteAddr())) {
+            throw new LimiteSolicitudesExcedidoException("Demasiadas verificaciones, intente nuevamente en unos segundos");
+        }
+
+        return verificacionLicenciaService.verificar(numero)
+                .map(verificacion -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                        .body(verificacion))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
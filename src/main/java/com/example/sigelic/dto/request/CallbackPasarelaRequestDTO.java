@@ -0,0 +1,25 @@
+package com.example.sigelic.dto.request;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.*;
+
+/**
+ * DTO de request para el aviso de resultado de la pasarela de pagos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CallbackPasarelaRequestDTO {
+
+    @NotBlank(message = "El número de transacción es obligatorio")
+    @Size(max = 100, message = "El número de transacción no puede exceder 100 caracteres")
+    private String numeroTransaccion;
+
+    @NotNull(message = "El pago es obligatorio")
+    private Long pagoId;
+
+    @NotNull(message = "El resultado es obligatorio")
+    private Boolean exitoso;
+}
@@ -0,0 +1,40 @@
+package com.example.sigelic.dto.request;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.*;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de request para inscribirse en la lista de espera de turnos
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ListaEsperaRequestDTO {
+
+    @NotNull(message = "El titular es obligatorio")
+    private Long titularId;
+
+    @NotNull(message = "El tipo de turno es obligatorio")
+    private TipoTurno tipo;
+
+    @NotNull(message = "El tipo de recurso es obligatorio")
+    private TipoRecurso tipoRecurso;
+
+    /** Turno que se quiere adelantar */
+    private Long turnoActualId;
+
+    /** Inicio más temprano aceptable */
+    private LocalDateTime desde;
+
+    /** Inicio más tardío aceptable */
+    private LocalDateTime hasta;
+
+    @Min(value = 0, message = "La prioridad no puede ser negativa")
+    private int prioridad;
+}
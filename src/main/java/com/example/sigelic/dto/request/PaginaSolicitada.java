@@ -0,0 +1,107 @@
+package com.example.sigelic.dto.request;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Página solicitada en un listado paginado por cursor (keyset).
+ *
+ * El cursor es opaco para el cliente: codifica la clave de orden (una fecha) y el
+ * id del último elemento de la página anterior. Cada página se lee desde el índice
+ * a partir de esa posición, por lo que las páginas profundas cuestan lo mismo que
+ * la primera.
+ */
+public record PaginaSolicitada(String clave, long ultimoId, int tamanio) {
+
+    private static final char SEPARADOR = '|';
+
+    /** Clave inicial de los listados sin cota inferior, anterior a cualquier registro */
+    private static final LocalDate FECHA_INICIAL = LocalDate.of(1900, 1, 1);
+
+    /**
+     * Primera página del listado
+     */
+    public static PaginaSolicitada primera(int tamanio) {
+        return new PaginaSolicitada(null, 0L, tamanio);
+    }
+
+    /**
+     * Página que sigue a la del cursor recibido; sin cursor, la primera
+     *
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static PaginaSolicitada desde(String cursor, int tamanio) {
+        if (cursor == null || cursor.isBlank()) {
+            return primera(tamanio);
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.lastIndexOf(SEPARADOR);
+            return new PaginaSolicitada(texto.substring(0, separador),
+                    Long.parseLong(texto.substring(separador + 1)), tamanio);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Codifica el cursor que apunta después del elemento con la clave e id dados
+     */
+    public static String codificarCursor(Object clave, Long id) {
+        String texto = (clave != null ? clave.toString() : "") + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean esPrimera() {
+        return clave == null;
+    }
+
+    /**
+     * Clave del cursor como fecha y hora; en la primera página, el valor inicial dado
+     */
+    public LocalDateTime fechaHora(LocalDateTime inicial) {
+        try {
+            return esPrimera() ? inicial : LocalDateTime.parse(clave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Clave del cursor como fecha y hora; en la primera página, anterior a cualquier registro
+     */
+    public LocalDateTime fechaHora() {
+        return fechaHora(FECHA_INICIAL.atStartOfDay());
+    }
+
+    /**
+     * Clave del cursor como fecha; en la primera página, el valor inicial dado
+     */
+    public LocalDate fecha(LocalDate inicial) {
+        try {
+            return esPrimera() ? inicial : LocalDate.parse(clave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Clave del cursor como fecha; en la primera página, anterior a cualquier registro
+     */
+    public LocalDate fecha() {
+        return fecha(FECHA_INICIAL);
+    }
+
+    /**
+     * Límite de la consulta: una fila más que la página para saber si hay siguiente
+     */
+    public Pageable limite() {
+        return PageRequest.ofSize(tamanio + 1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.sigelic.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de la asignación automática de pistas, aulas y examinadores de un día
+ */
+@Value
+@Builder
+public class AsignacionAgendaDTO {
+
+    LocalDate fecha;
+    /** Turnos de examen confirmados del día */
+    int turnosConsiderados;
+    int turnosAsignados;
+    /** Turnos cuyo recurso o examinador cambió */
+    int turnosModificados;
+    /** Turnos para los que no hubo sala o examinador libre; conservan su asignación anterior */
+    List<Long> turnosSinAsignar;
+    /** Porcentaje del horario de cada recurso (por capacidad) ocupado por exámenes, por id de recurso */
+    Map<Long, Double> ocupacionPorRecurso;
+    Map<String, Long> minutosPorExaminador;
+    long duracionMs;
+}
@@ -0,0 +1,58 @@
+package com.example.sigelic.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resultado de la conciliación de un archivo de liquidación bancaria
+ */
+@Value
+@Builder
+public class ConciliacionResultadoDTO {
+
+    long lineasLeidas;
+    long pagosAcreditados;
+    BigDecimal montoAcreditado;
+    long tramitesActualizados;
+    long duracionMs;
+    List<Discrepancia> discrepancias;
+
+    /**
+     * Línea del archivo que no pudo conciliarse automáticamente
+     */
+    @Value
+    @Builder
+    public static class Discrepancia {
+        long linea;
+        TipoDiscrepancia tipo;
+        String referencia;
+        BigDecimal montoInformado;
+        BigDecimal montoEsperado;
+        LocalDate fecha;
+        Long pagoId;
+        String detalle;
+    }
+
+    public enum TipoDiscrepancia {
+        LINEA_INVALIDA("Línea con formato inválido"),
+        SIN_PAGO_PENDIENTE("No hay un pago pendiente con esa referencia"),
+        MONTO_DISTINTO("El monto no coincide con el pago pendiente"),
+        PAGO_VENCIDO("Pago informado después del vencimiento de la orden"),
+        REFERENCIA_DUPLICADA("Referencia repetida en el archivo"),
+        MODIFICADO_CONCURRENTEMENTE("El pago dejó de estar pendiente durante la conciliación");
+
+        private final String descripcion;
+
+        TipoDiscrepancia(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+}
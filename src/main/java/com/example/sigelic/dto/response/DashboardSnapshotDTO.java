@@ -0,0 +1,34 @@
+package com.example.sigelic.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+import com.example.sigelic.model.EstadoTramite;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Instantánea inmutable de los indicadores del dashboard, compartida por
+ * todas las vistas abiertas
+ */
+@Value
+@Builder
+public class DashboardSnapshotDTO {
+
+    /**
+     * Número de secuencia creciente de la instantánea
+     */
+    long secuencia;
+    LocalDateTime generadoEn;
+    Map<EstadoTramite, Long> tramitesPorEstado;
+    long tramitesActivos;
+    long licenciasVigentes;
+    long licenciasProximasAVencer;
+    long licenciasVencidas;
+    long examenesPendientes;
+    long pagosPendientes;
+    double pagosDelDia;
+    long inhabilitacionesActivas;
+    BigDecimal recaudacionMesActual;
+}
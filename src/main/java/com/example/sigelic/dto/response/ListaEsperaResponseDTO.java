@@ -0,0 +1,32 @@
+package com.example.sigelic.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import com.example.sigelic.model.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para una inscripción en la lista de espera de turnos
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ListaEsperaResponseDTO {
+
+    private Long id;
+    private Long titularId;
+    private TipoTurno tipo;
+    private TipoRecurso tipoRecurso;
+    private Long turnoActualId;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+    private Integer prioridad;
+    private EstadoListaEspera estado;
+    private Long turnoOfrecidoId;
+    private LocalDateTime vencimientoOferta;
+    private LocalDateTime fechaAlta;
+}
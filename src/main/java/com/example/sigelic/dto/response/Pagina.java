@@ -0,0 +1,29 @@
+package com.example.sigelic.dto.response;
+
+import com.example.sigelic.dto.request.PaginaSolicitada;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de un listado paginado por cursor, con el cursor de la siguiente página
+ * (null si es la última)
+ */
+public record Pagina<T>(List<T> elementos, String siguienteCursor) {
+
+    /**
+     * Arma la página a partir de las filas leídas con {@link PaginaSolicitada#limite()}
+     *
+     * @param clave clave de orden de cada elemento (la misma de la consulta)
+     * @param id    id de cada elemento, desempate de la clave
+     */
+    public static <T> Pagina<T> de(List<T> filas, PaginaSolicitada solicitud,
+                                   Function<T, ?> clave, Function<T, Long> id) {
+        if (filas.size() <= solicitud.tamanio()) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> elementos = filas.subList(0, solicitud.tamanio());
+        T ultimo = elementos.get(elementos.size() - 1);
+        return new Pagina<>(elementos, PaginaSolicitada.codificarCursor(clave.apply(ultimo), id.apply(ultimo)));
+    }
+}
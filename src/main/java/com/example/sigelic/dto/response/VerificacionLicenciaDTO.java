@@ -0,0 +1,31 @@
+package com.example.sigelic.dto.response;
+
+import lombok.Value;
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado mínimo de la verificación pública de una licencia (sin datos
+ * personales del titular)
+ */
+@Value
+public class VerificacionLicenciaDTO {
+
+    String numeroLicencia;
+    ClaseLicencia clase;
+    EstadoLicencia estado;
+    LocalDate fechaVencimiento;
+
+    /**
+     * Habilita a conducir hoy: licencia VIGENTE con la fecha de vencimiento no
+     * cumplida. Se evalúa en cada consulta, por lo que una entrada en caché no
+     * sigue figurando vigente después de su vencimiento
+     */
+    public boolean isVigente() {
+        return estado == EstadoLicencia.VIGENTE
+                && fechaVencimiento != null
+                && !fechaVencimiento.isBefore(LocalDate.now());
+    }
+}
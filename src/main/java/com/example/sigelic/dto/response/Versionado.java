@@ -0,0 +1,16 @@
+package com.example.sigelic.dto.response;
+
+/**
+ * Recurso leído junto con su versión. Sin valor cuando el cliente ya tenía esa
+ * versión y no hizo falta cargarlo
+ */
+public record Versionado<T>(String version, T valor) {
+
+    public static <T> Versionado<T> sinCambios(String version) {
+        return new Versionado<>(version, null);
+    }
+
+    public boolean modificado() {
+        return valor != null;
+    }
+}
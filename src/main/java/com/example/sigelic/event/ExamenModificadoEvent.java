@@ -0,0 +1,10 @@
+package com.example.sigelic.event;
+
+/**
+ * Evento de dominio publicado cuando se registra, modifica o elimina un examen
+ *
+ * @param examenId ID del examen
+ * @param practico {@code true} si es un examen práctico, {@code false} si es teórico
+ */
+public record ExamenModificadoEvent(Long examenId, boolean practico) {
+}
@@ -0,0 +1,12 @@
+package com.example.sigelic.event;
+
+import com.example.sigelic.model.EstadoLicencia;
+
+/**
+ * Evento de dominio publicado cuando se crea una licencia o cambia su estado
+ *
+ * @param numeroLicencia número de la licencia
+ * @param estado         estado resultante
+ */
+public record LicenciaModificadaEvent(String numeroLicencia, EstadoLicencia estado) {
+}
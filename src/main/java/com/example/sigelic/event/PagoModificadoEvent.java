@@ -0,0 +1,12 @@
+package com.example.sigelic.event;
+
+import com.example.sigelic.model.EstadoPago;
+
+/**
+ * Evento de dominio publicado cuando se crea un pago o cambia su estado
+ *
+ * @param pagoId ID del pago ({@code null} si el cambio alcanzó a un lote de pagos)
+ * @param estado estado resultante
+ */
+public record PagoModificadoEvent(Long pagoId, EstadoPago estado) {
+}
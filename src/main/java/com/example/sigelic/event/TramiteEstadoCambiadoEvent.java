@@ -0,0 +1,13 @@
+package com.example.sigelic.event;
+
+import com.example.sigelic.model.EstadoTramite;
+
+/**
+ * Evento de dominio publicado cuando un trámite cambia de estado
+ * 
+ * @param tramiteId      ID del trámite
+ * @param estadoAnterior estado previo al cambio ({@code null} si el trámite es nuevo)
+ * @param estadoNuevo    estado resultante
+ */
+public record TramiteEstadoCambiadoEvent(Long tramiteId, EstadoTramite estadoAnterior, EstadoTramite estadoNuevo) {
+}
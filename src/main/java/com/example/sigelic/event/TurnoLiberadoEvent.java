@@ -0,0 +1,21 @@
+package com.example.sigelic.event;
+
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de dominio publicado cuando un turno reservado o confirmado se cancela o
+ * se marca ausente, y su horario en el recurso queda libre
+ *
+ * @param turnoId     ID del turno liberado
+ * @param tipo        tipo de turno
+ * @param tipoRecurso tipo de recurso del turno
+ * @param recursoId   ID del recurso que quedó libre
+ * @param inicio      inicio del horario liberado
+ * @param fin         fin del horario liberado
+ */
+public record TurnoLiberadoEvent(Long turnoId, TipoTurno tipo, TipoRecurso tipoRecurso, Long recursoId,
+                                 LocalDateTime inicio, LocalDateTime fin) {
+}
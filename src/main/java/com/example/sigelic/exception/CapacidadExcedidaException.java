@@ -0,0 +1,12 @@
+package com.example.sigelic.exception;
+
+/**
+ * Se lanza cuando una clase de carga (por ejemplo, reportes) agotó su cupo de
+ * ejecuciones concurrentes y la petición no pudo esperar a que se libere
+ */
+public class CapacidadExcedidaException extends RuntimeException {
+
+    public CapacidadExcedidaException(String message) {
+        super(message);
+    }
+}
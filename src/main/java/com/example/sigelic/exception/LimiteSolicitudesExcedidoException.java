@@ -0,0 +1,12 @@
+package com.example.sigelic.exception;
+
+/**
+ * Se lanza cuando un cliente supera la tasa de solicitudes permitida para un
+ * endpoint público
+ */
+public class LimiteSolicitudesExcedidoException extends RuntimeException {
+
+    public LimiteSolicitudesExcedidoException(String message) {
+        super(message);
+    }
+}
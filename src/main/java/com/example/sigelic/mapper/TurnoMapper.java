@@ -6,9 +6,11 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 import com.example.sigelic.dto.request.TurnoRequestDTO;
+import com.example.sigelic.dto.response.ListaEsperaResponseDTO;
 import com.example.sigelic.dto.response.TitularResponseDTO;
 import com.example.sigelic.dto.response.TramiteResponseDTO;
 import com.example.sigelic.dto.response.TurnoResponseDTO;
+import com.example.sigelic.model.ListaEspera;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.model.Tramite;
 import com.example.sigelic.model.Turno;
@@ -112,6 +114,31 @@ public class TurnoMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Convierte una inscripción en la lista de espera a su DTO; los turnos se
+     * informan por ID
+     */
+    public ListaEsperaResponseDTO toListaEsperaResponseDTO(ListaEspera listaEspera) {
+        if (listaEspera == null) {
+            return null;
+        }
+
+        return ListaEsperaResponseDTO.builder()
+                .id(listaEspera.getId())
+                .titularId(listaEspera.getTitular() != null ? listaEspera.getTitular().getId() : null)
+                .tipo(listaEspera.getTipoTurno())
+                .tipoRecurso(listaEspera.getTipoRecurso())
+                .turnoActualId(listaEspera.getTurnoActual() != null ? listaEspera.getTurnoActual().getId() : null)
+                .desde(listaEspera.getDesde())
+                .hasta(listaEspera.getHasta())
+                .prioridad(listaEspera.getPrioridad())
+                .estado(listaEspera.getEstado())
+                .turnoOfrecidoId(listaEspera.getTurnoOfrecido() != null ? listaEspera.getTurnoOfrecido().getId() : null)
+                .vencimientoOferta(listaEspera.getVencimientoOferta())
+                .fechaAlta(listaEspera.getFechaAlta())
+                .build();
+    }
+
     private TitularResponseDTO toTitularDTO(Titular titular) {
         if (titular == null) {
             return null;
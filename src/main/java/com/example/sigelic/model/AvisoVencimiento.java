@@ -0,0 +1,74 @@
+package com.example.sigelic.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Aviso de vencimiento para un titular, registrado ya compuesto antes de enviarlo.
+ *
+ * Hay como mucho un aviso por licencia o apto médico y fecha de vencimiento: una
+ * nueva ejecución del envío no vuelve a avisar lo que ya figura acá. Los avisos
+ * PENDIENTE son los que todavía no salieron por el canal.
+ */
+@Entity
+@Table(name = "avisos_vencimiento",
+    uniqueConstraints = @UniqueConstraint(name = "uk_aviso_vencimiento",
+        columnNames = {"tipo", "referencia_id", "fecha_vencimiento"}),
+    indexes = {
+        @Index(name = "idx_aviso_titular", columnList = "titular_id"),
+        @Index(name = "idx_aviso_estado", columnList = "estado")
+    })
+@Data
+public class AvisoVencimiento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoAvisoVencimiento tipo;
+
+    @Column(name = "referencia_id", nullable = false)
+    private Long referenciaId;
+
+    @Column(name = "fecha_vencimiento", nullable = false)
+    private LocalDate fechaVencimiento;
+
+    @Column(name = "titular_id", nullable = false)
+    private Long titularId;
+
+    @Column(nullable = false, length = 150)
+    private String destino;
+
+    @Column(nullable = false, length = 30)
+    private String canal;
+
+    @Column(nullable = false, length = 255)
+    private String asunto;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String cuerpo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoAvisoVencimiento estado = EstadoAvisoVencimiento.PENDIENTE;
+
+    @Column(name = "fecha_registro", nullable = false)
+    private LocalDateTime fechaRegistro;
+
+    @Column(name = "fecha_envio")
+    private LocalDateTime fechaEnvio;
+}
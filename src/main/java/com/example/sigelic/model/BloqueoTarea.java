@@ -0,0 +1,34 @@
+package com.example.sigelic.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Bloqueo con vencimiento (lease) de una tarea programada.
+ *
+ * Evita que varios nodos ejecuten la misma tarea a la vez: solo el propietario
+ * puede ejecutarla hasta bloqueadoHasta. Se gestiona con SQL desde BloqueoTareaService.
+ */
+@Entity
+@Table(name = "bloqueos_tareas")
+@Data
+public class BloqueoTarea {
+
+    @Id
+    @Column(length = 100)
+    private String nombre;
+
+    @Column(nullable = false, length = 150)
+    private String propietario;
+
+    @Column(name = "bloqueado_hasta", nullable = false)
+    private LocalDateTime bloqueadoHasta;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,61 @@
+package com.example.sigelic.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Aviso de resultado recibido de la pasarela de pagos.
+ *
+ * El número de transacción externo es único: un reintento de la pasarela con el
+ * mismo número no genera un segundo registro y se reconoce como duplicado.
+ */
+@Entity
+@Table(name = "callbacks_pasarela",
+    uniqueConstraints = @UniqueConstraint(name = "uk_callback_numero_transaccion", columnNames = "numero_transaccion"),
+    indexes = @Index(name = "idx_callback_estado", columnList = "estado, fecha_actualizacion"))
+@Data
+public class CallbackPasarela {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "numero_transaccion", nullable = false, length = 100)
+    private String numeroTransaccion;
+
+    @Column(name = "pago_id", nullable = false)
+    private Long pagoId;
+
+    @Column(nullable = false)
+    private Boolean exitoso;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoCallbackPasarela estado = EstadoCallbackPasarela.RECIBIDO;
+
+    @Column(nullable = false)
+    private Integer intentos = 0;
+
+    @Column(length = 500)
+    private String detalle;
+
+    @CreationTimestamp
+    @Column(name = "fecha_recepcion", nullable = false, updatable = false)
+    private LocalDateTime fechaRecepcion;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,19 @@
+package com.example.sigelic.model;
+
+/**
+ * Enum que define si un aviso de vencimiento registrado ya salió por el canal
+ */
+public enum EstadoAvisoVencimiento {
+    PENDIENTE("Registrado, pendiente de envío"),
+    ENVIADO("Entregado al canal de avisos");
+
+    private final String descripcion;
+
+    EstadoAvisoVencimiento(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
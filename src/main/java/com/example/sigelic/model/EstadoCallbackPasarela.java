@@ -0,0 +1,22 @@
+package com.example.sigelic.model;
+
+/**
+ * Enum que define los estados de procesamiento de un aviso de la pasarela de pagos
+ */
+public enum EstadoCallbackPasarela {
+    RECIBIDO("Aviso registrado, pendiente de procesar"),
+    EN_PROCESO("Aviso en procesamiento"),
+    PROCESADO("Aviso aplicado al pago"),
+    DESCARTADO("Aviso que no corresponde a un pago online procesable"),
+    ERROR("Error transitorio, se reintentará");
+
+    private final String descripcion;
+
+    EstadoCallbackPasarela(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
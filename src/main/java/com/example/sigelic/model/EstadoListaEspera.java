@@ -0,0 +1,22 @@
+package com.example.sigelic.model;
+
+/**
+ * Enum que define los estados de una inscripción en la lista de espera de turnos
+ */
+public enum EstadoListaEspera {
+    ESPERANDO("En espera de un turno liberado"),
+    OFERTADO("Turno liberado retenido, pendiente de aceptación"),
+    ASIGNADO("Turno ofrecido aceptado"),
+    VENCIDO("La oferta no se aceptó a tiempo"),
+    CANCELADO("Baja de la lista de espera");
+
+    private final String descripcion;
+
+    EstadoListaEspera(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
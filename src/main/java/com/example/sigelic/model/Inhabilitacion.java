@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -57,6 +58,10 @@ public class Inhabilitacion {
     @Column(name = "numero_expediente", length = 100)
     private String numeroExpediente;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Verifica si la inhabilitación está activa
      */
@@ -13,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -65,6 +66,10 @@ public class Licencia {
     @JoinColumn(name = "tramite_id")
     private Tramite tramite;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Verifica si la licencia está vigente
      */
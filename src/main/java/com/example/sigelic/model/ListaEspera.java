@@ -0,0 +1,124 @@
+package com.example.sigelic.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inscripción de un titular en la lista de espera de turnos de un tipo.
+ *
+ * Cuando se libera un turno del mismo tipo y tipo de recurso que empieza dentro
+ * de la ventana pedida (y antes del turno actual, si el titular quiere
+ * adelantarlo), se le retiene ese horario como turno RESERVADO hasta
+ * vencimientoOferta. Si lo acepta, el turno se confirma y el turno actual se
+ * cancela; si no, la oferta vence y el horario pasa al siguiente de la lista.
+ */
+@Entity
+@Table(name = "lista_espera",
+    indexes = {
+        @Index(name = "idx_lista_espera_candidatos", columnList = "estado, tipo_turno, tipo_recurso, prioridad, fecha_alta"),
+        @Index(name = "idx_lista_espera_ofertas", columnList = "estado, vencimiento_oferta"),
+        @Index(name = "idx_lista_espera_titular", columnList = "titular_id, fecha_alta")
+    })
+@Data
+@EqualsAndHashCode(exclude = {"titular", "turnoActual", "turnoOfrecido"})
+@ToString(exclude = {"titular", "turnoActual", "turnoOfrecido"})
+public class ListaEspera {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "titular_id", nullable = false)
+    private Titular titular;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_turno", nullable = false, length = 20)
+    private TipoTurno tipoTurno;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_recurso", nullable = false, length = 20)
+    private TipoRecurso tipoRecurso;
+
+    /**
+     * Turno que el titular quiere adelantar; solo se le ofrecen horarios anteriores
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "turno_actual_id")
+    private Turno turnoActual;
+
+    /**
+     * Inicio más temprano aceptable (sin límite si es null)
+     */
+    @Column(name = "desde")
+    private LocalDateTime desde;
+
+    /**
+     * Inicio más tardío aceptable (sin límite si es null)
+     */
+    @Column(name = "hasta")
+    private LocalDateTime hasta;
+
+    /**
+     * Mayor prioridad se atiende primero con la política PRIORIDAD
+     */
+    @Column(nullable = false)
+    private Integer prioridad = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoListaEspera estado = EstadoListaEspera.ESPERANDO;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "turno_ofrecido_id")
+    private Turno turnoOfrecido;
+
+    @Column(name = "vencimiento_oferta")
+    private LocalDateTime vencimientoOferta;
+
+    @CreationTimestamp
+    @Column(name = "fecha_alta", nullable = false, updatable = false)
+    private LocalDateTime fechaAlta;
+
+    /**
+     * Verifica si la inscripción sigue en la lista (esperando o con una oferta pendiente)
+     */
+    public boolean isActiva() {
+        return estado == EstadoListaEspera.ESPERANDO || estado == EstadoListaEspera.OFERTADO;
+    }
+
+    /**
+     * Registra el turno retenido para el titular
+     */
+    public void ofertar(Turno turno, LocalDateTime vencimiento) {
+        estado = EstadoListaEspera.OFERTADO;
+        turnoOfrecido = turno;
+        vencimientoOferta = vencimiento;
+    }
+
+    /**
+     * Marca la oferta como aceptada
+     */
+    public void asignar() {
+        estado = EstadoListaEspera.ASIGNADO;
+    }
+
+    /**
+     * Marca la oferta como vencida
+     */
+    public void vencer() {
+        estado = EstadoListaEspera.VENCIDO;
+    }
+
+    /**
+     * Da de baja la inscripción
+     */
+    public void cancelar() {
+        estado = EstadoListaEspera.CANCELADO;
+    }
+}
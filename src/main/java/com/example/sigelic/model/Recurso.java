@@ -3,6 +3,8 @@ package com.example.sigelic.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -13,6 +15,8 @@ import java.util.List;
  */
 @Entity
 @Table(name = "recursos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sigelic-recursos")
 @Data
 public class Recurso {
 
@@ -0,0 +1,31 @@
+package com.example.sigelic.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Última versión aplicada de un conjunto de datos iniciales (configuraciones,
+ * usuarios por defecto). Si el checksum coincide con el de las definiciones
+ * actuales, el arranque no vuelve a sembrarlos. Se gestiona con SQL desde
+ * SemillaService.
+ */
+@Entity
+@Table(name = "semillas_aplicadas")
+@Data
+public class SemillaAplicada {
+
+    @Id
+    @Column(length = 100)
+    private String nombre;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "fecha_aplicacion", nullable = false)
+    private LocalDateTime fechaAplicacion;
+}
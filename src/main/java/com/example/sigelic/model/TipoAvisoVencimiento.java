@@ -0,0 +1,19 @@
+package com.example.sigelic.model;
+
+/**
+ * Enum que define qué vencimiento se avisa al titular
+ */
+public enum TipoAvisoVencimiento {
+    LICENCIA("Vencimiento de licencia de conducir"),
+    APTO_MEDICO("Vencimiento de apto médico");
+
+    private final String descripcion;
+
+    TipoAvisoVencimiento(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.CascadeType;
@@ -20,15 +21,21 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 /**
  * Entidad que representa un trámite de licencia de conducir
+ * 
+ * Está versionada para control de concurrencia optimista: cada paso del
+ * workflow se persiste como un UPDATE parcial de las columnas modificadas
+ * condicionado a la versión leída (WHERE id = ? AND version = ?)
  */
 @Entity
 @Table(name = "tramites")
+@DynamicUpdate
 @Data
 @EqualsAndHashCode(exclude = {"titular", "exameneseoricos", "examenespracticos", "aptosMedicos", "pagos", "turnos"})
 public class Tramite {
@@ -84,6 +91,10 @@ public class Tramite {
     @Column(name = "fecha_actualizacion", nullable = false)
     private LocalDateTime fechaActualizacion;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "tramite", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ExamenTeorico> exameneseoricos = new ArrayList<>();
 
@@ -0,0 +1,569 @@
+package com.example.sigelic.perf;
+
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.EstadoTurno;
+import com.example.sigelic.model.Licencia;
+import com.example.sigelic.model.MedioPago;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Tramite;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de volúmenes masivos de datos para pruebas de rendimiento.
+ * Solo se ejecuta con el perfil "perf" y no forma parte de los servicios de la
+ * aplicación; si la base ya tiene datos generados, no vuelve a generarlos.
+ *
+ * Genera titulares con sus trámites, turnos, exámenes, aptos médicos, pagos,
+ * licencias e inhabilitaciones respetando el circuito de estados del trámite
+ * (el estado de cada trámite en curso se obtiene con {@link Tramite#actualizarEstado()}).
+ *
+ * Los titulares se procesan en lotes independientes, en paralelo, con inserts
+ * JDBC por lotes. Cada lote usa su propio generador derivado de la semilla y los
+ * IDs se asignan explícitamente a partir del índice del titular, por lo que el
+ * resultado es el mismo para una misma semilla sin importar la cantidad de hilos.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("perf")
+public class GeneradorDatosPerf implements CommandLineRunner {
+
+    /**
+     * Cupos máximos de filas hijas por entidad padre: definen el espacio de IDs
+     * reservado para cada titular/trámite (los cupos no usados quedan como huecos)
+     */
+    static final int TRAMITES_POR_TITULAR = 3;
+    static final int TURNOS_POR_TRAMITE = 4;
+    static final int PAGOS_POR_TRAMITE = 2;
+
+    private static final long MEZCLA_SEMILLA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Dominio de los emails de los titulares generados, con el que se reconoce una base ya poblada
+     */
+    static final String DOMINIO_EMAIL = "@perf.sigelic";
+
+    private static final String[] NOMBRES = {
+        "Juan", "María", "Carlos", "Ana", "Luis", "Laura", "Jorge", "Sofía", "Diego", "Lucía",
+        "Martín", "Valentina", "Pablo", "Camila", "Sergio", "Florencia", "Andrés", "Julieta", "Ricardo", "Paula"
+    };
+    private static final String[] APELLIDOS = {
+        "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Martínez", "Pérez", "García", "Sánchez",
+        "Romero", "Sosa", "Álvarez", "Torres", "Ruiz", "Ramírez", "Flores", "Acosta", "Benítez", "Medina"
+    };
+    private static final String[] CALLES = {
+        "San Martín", "Belgrano", "Rivadavia", "Mitre", "Sarmiento", "Urquiza", "Bv. Pellegrini", "Bv. Gálvez",
+        "Av. Freyre", "Av. Aristóbulo del Valle", "25 de Mayo", "9 de Julio", "Tucumán", "Salta", "Mendoza"
+    };
+    private static final Map<TipoTramite, BigDecimal> COSTOS = Map.of(
+        TipoTramite.EMISION, new BigDecimal("15000.00"),
+        TipoTramite.RENOVACION, new BigDecimal("12000.00"),
+        TipoTramite.DUPLICADO, new BigDecimal("8000.00"),
+        TipoTramite.CAMBIO_DOMICILIO, new BigDecimal("5000.00")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sigelic.perf.titulares:1000000}")
+    private int cantidadTitulares;
+
+    @Value("${sigelic.perf.hilos:0}")
+    private int hilos;
+
+    @Value("${sigelic.perf.lote:5000}")
+    private int tamanioLote;
+
+    @Value("${sigelic.perf.semilla:42}")
+    private long semilla;
+
+    @Value("${sigelic.perf.fecha-referencia:}")
+    private String fechaReferencia;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (cantidadTitulares <= 0) {
+            log.info("Generación de datos de rendimiento deshabilitada (sigelic.perf.titulares={})", cantidadTitulares);
+            return;
+        }
+        if (hayDatosGenerados()) {
+            log.info("La base ya tiene titulares generados ({}); se omite la generación de datos de rendimiento",
+                    DOMINIO_EMAIL);
+            return;
+        }
+
+        Bases bases = leerBases();
+        Map<TipoRecurso, long[]> recursos = leerRecursos();
+        int cantidadLotes = (cantidadTitulares + tamanioLote - 1) / tamanioLote;
+        int cantidadHilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+
+        log.info("Generando {} titulares en {} lotes con {} hilos (semilla {})",
+                cantidadTitulares, cantidadLotes, cantidadHilos, semilla);
+
+        long inicio = System.nanoTime();
+        AtomicLong filas = new AtomicLong();
+        AtomicInteger lotesCompletos = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(cantidadHilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>(cantidadLotes);
+            for (int numero = 0; numero < cantidadLotes; numero++) {
+                int lote = numero;
+                tareas.add(executor.submit(() -> {
+                    int desde = lote * tamanioLote;
+                    int hasta = Math.min(desde + tamanioLote, cantidadTitulares);
+                    Lote datos = generarLote(lote, desde, hasta, bases, recursos);
+                    transactionTemplate.executeWithoutResult(status -> datos.insertar(jdbcTemplate));
+                    long total = filas.addAndGet(datos.cantidadFilas());
+                    int completos = lotesCompletos.incrementAndGet();
+                    if (completos % 20 == 0 || completos == cantidadLotes) {
+                        log.info("Lotes {}/{} - {} filas insertadas", completos, cantidadLotes, total);
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error generando datos de rendimiento", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Duration duracion = Duration.ofNanos(System.nanoTime() - inicio);
+        log.info("Generación completada: {} filas en {} s ({} filas/s)", filas.get(), duracion.toSeconds(),
+                filas.get() * 1_000 / Math.max(duracion.toMillis(), 1));
+    }
+
+    /**
+     * Genera en memoria todas las filas de un lote de titulares
+     */
+    Lote generarLote(int numeroLote, int desde, int hasta, Bases bases, Map<TipoRecurso, long[]> recursos) {
+        SplittableRandom random = new SplittableRandom(semilla + numeroLote * MEZCLA_SEMILLA);
+        LocalDateTime ahora = fechaReferencia().atTime(12, 0);
+        Lote lote = new Lote();
+        for (int indice = desde; indice < hasta; indice++) {
+            new GeneradorTitular(random, ahora, bases, recursos, lote, indice).generar();
+        }
+        return lote;
+    }
+
+    /**
+     * Día desde el que se calculan las fechas generadas (hoy si no se configura)
+     */
+    private LocalDate fechaReferencia() {
+        return fechaReferencia == null || fechaReferencia.isBlank() ? LocalDate.now() : LocalDate.parse(fechaReferencia);
+    }
+
+    private boolean hayDatosGenerados() {
+        return !jdbcTemplate.queryForList("SELECT id FROM titulares WHERE email LIKE ? LIMIT 1",
+                Long.class, "%" + DOMINIO_EMAIL).isEmpty();
+    }
+
+    private Bases leerBases() {
+        return new Bases(
+            maxId("titulares"), maxId("tramites"), maxId("turnos"), maxId("pagos"),
+            maxId("examenes_teoricos"), maxId("examenes_practicos"), maxId("aptos_medicos"),
+            maxId("licencias"), maxId("inhabilitaciones")
+        );
+    }
+
+    private long maxId(String tabla) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabla, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    private Map<TipoRecurso, long[]> leerRecursos() {
+        Map<TipoRecurso, List<Long>> porTipo = new EnumMap<>(TipoRecurso.class);
+        jdbcTemplate.query("SELECT id, tipo FROM recursos WHERE activo = TRUE ORDER BY id", rs -> {
+            porTipo.computeIfAbsent(TipoRecurso.valueOf(rs.getString("tipo")), tipo -> new ArrayList<>())
+                    .add(rs.getLong("id"));
+        });
+        Map<TipoRecurso, long[]> recursos = new EnumMap<>(TipoRecurso.class);
+        porTipo.forEach((tipo, ids) -> recursos.put(tipo, ids.stream().mapToLong(Long::longValue).toArray()));
+        return recursos;
+    }
+
+    /**
+     * IDs máximos existentes al comenzar; los nuevos IDs se calculan a partir de ellos
+     */
+    record Bases(long titular, long tramite, long turno, long pago, long examenTeorico,
+                 long examenPractico, long aptoMedico, long licencia, long inhabilitacion) {
+    }
+
+    /**
+     * Filas generadas para un lote, agrupadas por tabla
+     */
+    static final class Lote {
+
+        final List<Object[]> titulares = new ArrayList<>();
+        final List<Object[]> tramites = new ArrayList<>();
+        final List<Object[]> turnos = new ArrayList<>();
+        final List<Object[]> pagos = new ArrayList<>();
+        final List<Object[]> examenesTeoricos = new ArrayList<>();
+        final List<Object[]> examenesPracticos = new ArrayList<>();
+        final List<Object[]> aptosMedicos = new ArrayList<>();
+        final List<Object[]> licencias = new ArrayList<>();
+        final List<Object[]> inhabilitaciones = new ArrayList<>();
+
+        long cantidadFilas() {
+            return titulares.size() + tramites.size() + turnos.size() + pagos.size() + examenesTeoricos.size()
+                    + examenesPracticos.size() + aptosMedicos.size() + licencias.size() + inhabilitaciones.size();
+        }
+
+        /**
+         * Inserta las filas respetando el orden de las claves foráneas
+         */
+        void insertar(JdbcTemplate jdbcTemplate) {
+            insertar(jdbcTemplate, "INSERT INTO titulares (id, dni, nombre, apellido, fecha_nacimiento, domicilio, telefono, email) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", titulares);
+            insertar(jdbcTemplate, "INSERT INTO tramites (id, titular_id, tipo, clase_solicitada, estado, fecha_creacion, "
+                    + "fecha_actualizacion, agente_responsable, documentacion_validada, pago_acreditado, "
+                    + "examen_teorico_aprobado, examen_practico_aprobado, apto_medico_vigente, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", tramites);
+            insertar(jdbcTemplate, "INSERT INTO turnos (id, titular_id, tramite_id, recurso_id, tipo, tipo_recurso, estado, "
+                    + "inicio, fin, fecha_reserva, fecha_confirmacion, fecha_completion, profesional_asignado) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", turnos);
+            insertar(jdbcTemplate, "INSERT INTO aptos_medicos (id, tramite_id, fecha, profesional, apto, fecha_vencimiento, "
+                    + "presion_sistolica, presion_diastolica, agudeza_visual) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", aptosMedicos);
+            insertar(jdbcTemplate, "INSERT INTO examenes_teoricos (id, tramite_id, fecha, examinador, puntaje, "
+                    + "cantidad_preguntas, respuestas_correctas, aprobado) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", examenesTeoricos);
+            insertar(jdbcTemplate, "INSERT INTO examenes_practicos (id, tramite_id, fecha, examinador, vehiculo_utilizado, "
+                    + "pista_utilizada, faltas_leves, faltas_graves, aprobado) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", examenesPracticos);
+            insertar(jdbcTemplate, "INSERT INTO pagos (id, tramite_id, monto, medio, estado, fecha, fecha_vencimiento, "
+                    + "fecha_acreditacion, numero_transaccion, numero_comprobante, cajero) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", pagos);
+            insertar(jdbcTemplate, "INSERT INTO licencias (id, titular_id, tramite_id, numero_licencia, clase, estado, "
+                    + "fecha_emision, fecha_vencimiento) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", licencias);
+            insertar(jdbcTemplate, "INSERT INTO inhabilitaciones (id, titular_id, fecha_inicio, fecha_fin, motivo, autoridad, "
+                    + "numero_expediente) VALUES (?, ?, ?, ?, ?, ?, ?)", inhabilitaciones);
+        }
+
+        private static void insertar(JdbcTemplate jdbcTemplate, String sql, List<Object[]> filas) {
+            if (!filas.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, filas);
+            }
+        }
+    }
+
+    /**
+     * Genera un titular y su historia de trámites
+     */
+    private static final class GeneradorTitular {
+
+        private final SplittableRandom random;
+        private final LocalDateTime ahora;
+        private final Bases bases;
+        private final Map<TipoRecurso, long[]> recursos;
+        private final Lote lote;
+        private final int indice;
+        private final long titularId;
+
+        private LocalDate fechaNacimiento;
+        private Object[] ultimaLicencia;
+
+        GeneradorTitular(SplittableRandom random, LocalDateTime ahora, Bases bases,
+                         Map<TipoRecurso, long[]> recursos, Lote lote, int indice) {
+            this.random = random;
+            this.ahora = ahora;
+            this.bases = bases;
+            this.recursos = recursos;
+            this.lote = lote;
+            this.indice = indice;
+            this.titularId = bases.titular() + indice + 1;
+        }
+
+        void generar() {
+            fechaNacimiento = ahora.toLocalDate().minusYears(18 + random.nextInt(60)).minusDays(random.nextInt(365));
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+            lote.titulares.add(new Object[] {
+                titularId,
+                String.valueOf(60_000_000L + bases.titular() + indice),
+                nombre,
+                apellido,
+                Date.valueOf(fechaNacimiento),
+                CALLES[random.nextInt(CALLES.length)] + " " + random.nextInt(100, 9_000) + ", Santa Fe",
+                "342" + random.nextInt(4_000_000, 6_999_999),
+                nombre.toLowerCase() + "." + titularId + DOMINIO_EMAIL
+            });
+
+            double muestra = random.nextDouble();
+            int cantidadTramites = muestra < 0.70 ? 1 : muestra < 0.95 ? 2 : 3;
+            // Fecha del primer trámite: cuando el titular ya tenía edad para la clase B
+            LocalDateTime fecha = ahora.minusDays(30 + random.nextInt(365 * 5));
+            LocalDateTime mayoriaEdad = fechaNacimiento.plusYears(ClaseLicencia.B.getEdadMinima() + 1L).atStartOfDay();
+            if (fecha.isBefore(mayoriaEdad)) {
+                fecha = mayoriaEdad.isBefore(ahora.minusDays(30)) ? mayoriaEdad : ahora.minusDays(30);
+            }
+
+            boolean licenciaEmitida = false;
+            boolean ultimoEnCurso = false;
+            for (int orden = 0; orden < cantidadTramites; orden++) {
+                boolean ultimo = orden == cantidadTramites - 1;
+                boolean enCurso = ultimo && random.nextDouble() < 0.35;
+                if (enCurso) {
+                    fecha = ahora.minusDays(random.nextInt(60));
+                }
+                TipoTramite tipo = !licenciaEmitida ? TipoTramite.EMISION : elegirTipoPosterior();
+                long slot = ((long) indice) * TRAMITES_POR_TITULAR + orden;
+                licenciaEmitida |= generarTramite(slot, tipo, fecha, enCurso);
+                ultimoEnCurso = enCurso;
+                fecha = fecha.plusDays(30 + random.nextInt(700));
+                if (fecha.isAfter(ahora.minusDays(1))) {
+                    break;
+                }
+            }
+
+            if (!ultimoEnCurso && random.nextDouble() < 0.03) {
+                generarInhabilitacion();
+            }
+        }
+
+        private TipoTramite elegirTipoPosterior() {
+            double muestra = random.nextDouble();
+            return muestra < 0.70 ? TipoTramite.RENOVACION
+                    : muestra < 0.85 ? TipoTramite.DUPLICADO
+                    : TipoTramite.CAMBIO_DOMICILIO;
+        }
+
+        /**
+         * Genera un trámite y las filas de cada etapa alcanzada.
+         *
+         * @return true si terminó con licencia emitida
+         */
+        private boolean generarTramite(long slot, TipoTramite tipo, LocalDateTime fechaCreacion, boolean enCurso) {
+            long tramiteId = bases.tramite() + slot + 1;
+            Tramite tramite = new Tramite();
+            tramite.setTipo(tipo);
+            tramite.setEstado(EstadoTramite.INICIADO);
+
+            List<TipoTurno> etapas = new ArrayList<>();
+            etapas.add(TipoTurno.DOCUMENTACION);
+            if (tramite.requiereAptoMedico()) {
+                etapas.add(TipoTurno.APTO_MEDICO);
+            }
+            if (tramite.requiereExamenTeorico()) {
+                etapas.add(TipoTurno.EXAMEN_TEORICO);
+            }
+            if (tramite.requiereExamenPractico()) {
+                etapas.add(TipoTurno.EXAMEN_PRACTICO);
+            }
+
+            // Las etapas (y el pago, que va al final) se aprueban en orden hasta la primera
+            // rechazada o hasta donde llegó un trámite en curso
+            int totalEtapas = etapas.size() + 1;
+            int aprobadas;
+            int rechazada = -1;
+            if (enCurso) {
+                aprobadas = random.nextInt(totalEtapas);
+            } else if (random.nextDouble() < 0.15) {
+                rechazada = random.nextInt(etapas.size());
+                aprobadas = rechazada;
+            } else {
+                aprobadas = totalEtapas;
+            }
+
+            LocalDateTime fecha = fechaCreacion;
+            int turnosGenerados = 0;
+            for (int etapa = 0; etapa < etapas.size(); etapa++) {
+                TipoTurno tipoEtapa = etapas.get(etapa);
+                boolean aprobada = etapa < aprobadas;
+                boolean esRechazo = etapa == rechazada;
+                if (!aprobada && !esRechazo) {
+                    if (enCurso && tipoEtapa != TipoTurno.DOCUMENTACION) {
+                        // Próxima etapa del trámite en curso: turno reservado a futuro
+                        generarTurno(slot, turnosGenerados++, tramiteId, tipoEtapa, ahora.plusDays(1 + random.nextInt(20)),
+                                EstadoTurno.RESERVADO);
+                    }
+                    break;
+                }
+                fecha = fecha.plusDays(1 + random.nextInt(7));
+                registrarEtapa(slot, turnosGenerados++, tramiteId, tramite, tipoEtapa, fecha, aprobada);
+            }
+
+            if (rechazada >= 0) {
+                tramite.setEstado(estadoRechazo(etapas.get(rechazada)));
+            } else if (aprobadas == totalEtapas) {
+                fecha = fecha.plusDays(1 + random.nextInt(5));
+                generarPago(slot, tramiteId, tipo, fecha, EstadoPago.ACREDITADO);
+                tramite.setPagoAcreditado(true);
+                fecha = fecha.plusDays(random.nextInt(3));
+                generarLicencia(slot, tramiteId, tipo, fecha.toLocalDate());
+                tramite.setEstado(EstadoTramite.EMITIDA);
+            } else {
+                if (aprobadas == etapas.size()) {
+                    // Todas las etapas aprobadas: orden de pago pendiente
+                    generarPago(slot, tramiteId, tipo, ahora.minusDays(random.nextInt(3)), EstadoPago.PENDIENTE);
+                }
+                tramite.actualizarEstado();
+            }
+
+            LocalDateTime actualizacion = fecha.isAfter(ahora) ? ahora : fecha;
+            lote.tramites.add(new Object[] {
+                tramiteId, titularId, tipo.name(), ClaseLicencia.B.name(), tramite.getEstado().name(),
+                Timestamp.valueOf(fechaCreacion), Timestamp.valueOf(actualizacion), "AGENTE_" + (1 + random.nextInt(40)),
+                tramite.getDocumentacionValidada(), tramite.getPagoAcreditado(), tramite.getExamenTeoricoAprobado(),
+                tramite.getExamenPracticoAprobado(), tramite.getAptoMedicoVigente()
+            });
+            return tramite.getEstado() == EstadoTramite.EMITIDA;
+        }
+
+        private void registrarEtapa(long slot, int numeroTurno, long tramiteId, Tramite tramite,
+                                    TipoTurno etapa, LocalDateTime fecha, boolean aprobada) {
+            switch (etapa) {
+                case DOCUMENTACION -> tramite.setDocumentacionValidada(aprobada);
+                case APTO_MEDICO -> {
+                    generarTurno(slot, numeroTurno, tramiteId, etapa, fecha, EstadoTurno.COMPLETADO);
+                    lote.aptosMedicos.add(new Object[] {
+                        bases.aptoMedico() + slot + 1, tramiteId, Timestamp.valueOf(fecha),
+                        "Dr. " + APELLIDOS[random.nextInt(APELLIDOS.length)], aprobada,
+                        Date.valueOf(fecha.toLocalDate().plusYears(1)),
+                        (double) (105 + random.nextInt(35)), (double) (65 + random.nextInt(20)),
+                        aprobada ? "10/10" : "4/10"
+                    });
+                    tramite.setAptoMedicoVigente(aprobada);
+                }
+                case EXAMEN_TEORICO -> {
+                    generarTurno(slot, numeroTurno, tramiteId, etapa, fecha, EstadoTurno.COMPLETADO);
+                    int correctas = aprobada ? 16 + random.nextInt(5) : 6 + random.nextInt(10);
+                    lote.examenesTeoricos.add(new Object[] {
+                        bases.examenTeorico() + slot + 1, tramiteId, Timestamp.valueOf(fecha),
+                        "Examinador " + (1 + random.nextInt(15)), correctas * 5, 20, correctas, aprobada
+                    });
+                    tramite.setExamenTeoricoAprobado(aprobada);
+                }
+                case EXAMEN_PRACTICO -> {
+                    generarTurno(slot, numeroTurno, tramiteId, etapa, fecha, EstadoTurno.COMPLETADO);
+                    int graves = aprobada ? 0 : 1 + random.nextInt(2);
+                    lote.examenesPracticos.add(new Object[] {
+                        bases.examenPractico() + slot + 1, tramiteId, Timestamp.valueOf(fecha),
+                        "Examinador " + (1 + random.nextInt(15)), "Vehículo " + (1 + random.nextInt(8)),
+                        "Pista " + (1 + random.nextInt(3)), random.nextInt(4), graves, aprobada
+                    });
+                    tramite.setExamenPracticoAprobado(aprobada);
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void generarTurno(long slot, int numero, long tramiteId, TipoTurno tipo,
+                                  LocalDateTime dia, EstadoTurno estado) {
+            TipoRecurso tipoRecurso = switch (tipo) {
+                case APTO_MEDICO -> TipoRecurso.CONSULTORIO_MEDICO;
+                case EXAMEN_TEORICO -> TipoRecurso.AULA_TEORICO;
+                case EXAMEN_PRACTICO -> TipoRecurso.PISTA;
+                default -> TipoRecurso.BOX;
+            };
+            long[] disponibles = recursos.get(tipoRecurso);
+            Long recursoId = disponibles == null ? null : disponibles[random.nextInt(disponibles.length)];
+            LocalDateTime inicio = dia.toLocalDate().atTime(8, 0).plusMinutes(30L * random.nextInt(20));
+            LocalDateTime reserva = inicio.minusDays(1 + random.nextInt(10));
+            boolean completado = estado == EstadoTurno.COMPLETADO;
+            lote.turnos.add(new Object[] {
+                bases.turno() + slot * TURNOS_POR_TRAMITE + numero + 1, titularId, tramiteId, recursoId,
+                tipo.name(), tipoRecurso.name(), estado.name(), Timestamp.valueOf(inicio),
+                Timestamp.valueOf(inicio.plusMinutes(30)), Timestamp.valueOf(reserva.isAfter(ahora) ? ahora : reserva),
+                completado ? Timestamp.valueOf(inicio.minusHours(2)) : null,
+                completado ? Timestamp.valueOf(inicio.plusMinutes(30)) : null,
+                completado ? "Profesional " + (1 + random.nextInt(25)) : null
+            });
+        }
+
+        private void generarPago(long slot, long tramiteId, TipoTramite tipo, LocalDateTime fecha, EstadoPago estado) {
+            int numero = 0;
+            if (estado == EstadoPago.ACREDITADO && random.nextDouble() < 0.10) {
+                // Una orden anterior que venció sin pagarse
+                agregarPago(slot, numero++, tramiteId, tipo, fecha.minusDays(5), EstadoPago.VENCIDO);
+            }
+            agregarPago(slot, numero, tramiteId, tipo, fecha, estado);
+        }
+
+        private void agregarPago(long slot, int numero, long tramiteId, TipoTramite tipo,
+                                 LocalDateTime fecha, EstadoPago estado) {
+            long pagoId = bases.pago() + slot * PAGOS_POR_TRAMITE + numero + 1;
+            MedioPago medio = MedioPago.values()[random.nextInt(MedioPago.values().length)];
+            boolean acreditado = estado == EstadoPago.ACREDITADO;
+            lote.pagos.add(new Object[] {
+                pagoId, tramiteId, COSTOS.get(tipo), medio.name(), estado.name(), Timestamp.valueOf(fecha),
+                Timestamp.valueOf(fecha.plusDays(3)), acreditado ? Timestamp.valueOf(fecha.plusHours(1)) : null,
+                "PERF-" + pagoId, acreditado ? "CMP-" + pagoId : null,
+                acreditado && medio == MedioPago.CAJA ? "CAJERO_" + (1 + random.nextInt(10)) : null
+            });
+        }
+
+        private void generarLicencia(long slot, long tramiteId, TipoTramite tipo, LocalDate fechaEmision) {
+            long licenciaId = bases.licencia() + slot + 1;
+            int edad = (int) ChronoUnit.YEARS.between(fechaNacimiento, fechaEmision);
+            int vigencia = Licencia.calcularVigenciaEnAnios(edad, tipo == TipoTramite.EMISION);
+            LocalDate vencimiento = Licencia.calcularFechaVencimiento(fechaNacimiento, fechaEmision, vigencia);
+            if (ultimaLicencia != null) {
+                // La licencia anterior queda reemplazada por la nueva
+                ultimaLicencia[5] = (tipo == TipoTramite.DUPLICADO ? EstadoLicencia.DUPLICADA : EstadoLicencia.VENCIDA).name();
+            }
+            boolean vencida = vencimiento.isBefore(ahora.toLocalDate());
+            ultimaLicencia = new Object[] {
+                licenciaId, titularId, tramiteId, "P" + licenciaId, ClaseLicencia.B.name(),
+                (vencida ? EstadoLicencia.VENCIDA : EstadoLicencia.VIGENTE).name(),
+                Date.valueOf(fechaEmision), Date.valueOf(vencimiento)
+            };
+            lote.licencias.add(ultimaLicencia);
+        }
+
+        private void generarInhabilitacion() {
+            LocalDate inicio = ahora.toLocalDate().minusDays(random.nextInt(365 * 3));
+            double muestra = random.nextDouble();
+            LocalDate fin = muestra < 0.5 ? inicio.plusDays(30 + random.nextInt(180))
+                    : muestra < 0.8 ? ahora.toLocalDate().plusDays(1 + random.nextInt(365))
+                    : null;
+            if (fin != null && !fin.isAfter(inicio)) {
+                fin = inicio.plus(1, ChronoUnit.DAYS);
+            }
+            lote.inhabilitaciones.add(new Object[] {
+                bases.inhabilitacion() + indice + 1, titularId, Date.valueOf(inicio), fin != null ? Date.valueOf(fin) : null,
+                random.nextBoolean() ? "Conducción en estado de ebriedad" : "Acumulación de infracciones graves",
+                "Juzgado de Faltas N° " + (1 + random.nextInt(6)), "EXP-" + titularId
+            });
+        }
+
+        private static EstadoTramite estadoRechazo(TipoTurno etapa) {
+            return switch (etapa) {
+                case APTO_MEDICO -> EstadoTramite.APTO_MED_RECHAZADO;
+                case EXAMEN_TEORICO -> EstadoTramite.EX_TEO_RECHAZADO;
+                case EXAMEN_PRACTICO -> EstadoTramite.EX_PRA_RECHAZADO;
+                default -> EstadoTramite.DOCS_RECHAZADAS;
+            };
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.sigelic.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.sigelic.model.CallbackPasarela;
+import com.example.sigelic.model.EstadoCallbackPasarela;
+
+/**
+ * Repositorio para los avisos de la pasarela de pagos
+ */
+@Repository
+public interface CallbackPasarelaRepository extends JpaRepository<CallbackPasarela, Long> {
+
+    /**
+     * Toma un aviso para procesarlo solo si sigue en alguno de los estados indicados.
+     * Devuelve 0 si otro hilo o nodo ya lo tomó
+     */
+    @Modifying
+    @Query("UPDATE CallbackPasarela c SET c.estado = 'EN_PROCESO', c.intentos = c.intentos + 1, "
+         + "c.fechaActualizacion = :ahora WHERE c.id = :id AND c.estado IN :estados")
+    int tomar(@Param("id") Long id, @Param("estados") Collection<EstadoCallbackPasarela> estados,
+              @Param("ahora") LocalDateTime ahora);
+
+    @Modifying
+    @Query("UPDATE CallbackPasarela c SET c.estado = :estado, c.detalle = :detalle, "
+         + "c.fechaActualizacion = :ahora WHERE c.id = :id")
+    int finalizar(@Param("id") Long id, @Param("estado") EstadoCallbackPasarela estado,
+                  @Param("detalle") String detalle, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Devuelve a ERROR los avisos que quedaron EN_PROCESO desde antes del límite
+     * (el nodo que los tomó se detuvo a mitad de camino)
+     */
+    @Modifying
+    @Query("UPDATE CallbackPasarela c SET c.estado = 'ERROR', c.detalle = 'Procesamiento interrumpido', "
+         + "c.fechaActualizacion = :ahora WHERE c.estado = 'EN_PROCESO' AND c.fechaActualizacion < :limite")
+    int liberarAbandonados(@Param("limite") LocalDateTime limite, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Avisos recibidos o con error cuya última novedad es anterior al límite
+     */
+    @Query("SELECT c.id FROM CallbackPasarela c WHERE c.estado IN ('RECIBIDO', 'ERROR') "
+         + "AND c.fechaActualizacion < :limite AND c.intentos < :maximoIntentos ORDER BY c.id")
+    List<Long> findIdsPendientes(@Param("limite") LocalDateTime limite,
+                                 @Param("maximoIntentos") int maximoIntentos);
+}
@@ -1,13 +1,17 @@
 package com.example.sigelic.repository;
 
 import com.example.sigelic.model.Configuracion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repositorio para la entidad Configuracion
@@ -18,6 +22,10 @@ public interface ConfiguracionRepository extends JpaRepository<Configuracion, Lo
     /**
      * Busca una configuración por su clave
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "sigelic-consultas-referencia")
+    })
     Optional<Configuracion> findByClave(String clave);
 
     /**
@@ -40,6 +48,12 @@ public interface ConfiguracionRepository extends JpaRepository<Configuracion, Lo
      */
     List<Configuracion> findByCategoriaAndModificableTrue(String categoria);
 
+    /**
+     * Obtiene las claves de todas las configuraciones
+     */
+    @Query("SELECT c.clave FROM Configuracion c")
+    Set<String> findAllClaves();
+
     /**
      * Verifica si existe una configuración con la clave especificada
      */
@@ -48,6 +62,10 @@ public interface ConfiguracionRepository extends JpaRepository<Configuracion, Lo
     /**
      * Obtiene el valor de una configuración por su clave
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "sigelic-consultas-referencia")
+    })
     @Query("SELECT c.valor FROM Configuracion c WHERE c.clave = :clave")
     Optional<String> findValorByClave(@Param("clave") String clave);
 
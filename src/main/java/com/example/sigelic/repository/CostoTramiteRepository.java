@@ -3,8 +3,11 @@ package com.example.sigelic.repository;
 import com.example.sigelic.model.CostoTramite;
 import com.example.sigelic.model.TipoTramite;
 import com.example.sigelic.model.ClaseLicencia;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,6 +27,10 @@ public interface CostoTramiteRepository extends JpaRepository<CostoTramite, Long
     
     List<CostoTramite> findByActivo(Boolean activo);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "sigelic-consultas-referencia")
+    })
     @Query("SELECT c FROM CostoTramite c WHERE c.tipoTramite = :tipo AND c.claseLicencia = :clase AND c.activo = true AND " +
            "c.fechaVigenciaDesde <= :fecha AND (c.fechaVigenciaHasta IS NULL OR c.fechaVigenciaHasta >= :fecha)")
     Optional<CostoTramite> findCostoVigente(@Param("tipo") TipoTramite tipo, 
@@ -1,5 +1,6 @@
 package com.example.sigelic.repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +32,30 @@ public interface ExamenPracticoRepository extends JpaRepository<ExamenPractico,
     @Query("SELECT e FROM ExamenPractico e WHERE e.fecha BETWEEN :desde AND :hasta")
     List<ExamenPractico> findExamenesEnPeriodo(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
     
+    /**
+     * Totales por examinador de los exámenes del período, agrupados en la base
+     */
+    @Query("SELECT e.examinador AS examinador, COUNT(e) AS total, " +
+           "SUM(CASE WHEN e.aprobado = true THEN 1 ELSE 0 END) AS aprobados, " +
+           "SUM(e.faltasLeves) AS sumaFaltasLeves, SUM(e.faltasGraves) AS sumaFaltasGraves " +
+           "FROM ExamenPractico e " +
+           "WHERE e.fecha BETWEEN :desde AND :hasta AND e.examinador IS NOT NULL " +
+           "GROUP BY e.examinador")
+    List<RendimientoPractico> findRendimientoPorExaminador(@Param("desde") LocalDateTime desde,
+                                                           @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Totales por examinador y día de los exámenes del período, agrupados en la base
+     */
+    @Query("SELECT e.examinador AS examinador, CAST(e.fecha AS LocalDate) AS dia, COUNT(e) AS total, " +
+           "SUM(CASE WHEN e.aprobado = true THEN 1 ELSE 0 END) AS aprobados, " +
+           "SUM(e.faltasLeves) AS sumaFaltasLeves, SUM(e.faltasGraves) AS sumaFaltasGraves " +
+           "FROM ExamenPractico e " +
+           "WHERE e.fecha BETWEEN :desde AND :hasta AND e.examinador IS NOT NULL " +
+           "GROUP BY e.examinador, CAST(e.fecha AS LocalDate)")
+    List<RendimientoPracticoDiario> findRendimientoPorExaminadorYDia(@Param("desde") LocalDateTime desde,
+                                                                     @Param("hasta") LocalDateTime hasta);
+    
     @Query("SELECT COUNT(e) FROM ExamenPractico e WHERE e.aprobado = true AND e.fecha BETWEEN :desde AND :hasta")
     Long countAprobadosEnPeriodo(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
     
@@ -46,4 +71,23 @@ public interface ExamenPracticoRepository extends JpaRepository<ExamenPractico,
     
     @Query("SELECT COUNT(e) FROM ExamenPractico e WHERE e.aprobado = false OR e.aprobado IS NULL")
     Long countByAprobadoFalseOrNull();
+
+    /**
+     * Exámenes prácticos de un examinador: cantidad, aprobados y suma de faltas
+     * (los promedios se calculan al combinar filas)
+     */
+    interface RendimientoPractico {
+        String getExaminador();
+        Long getTotal();
+        Long getAprobados();
+        Long getSumaFaltasLeves();
+        Long getSumaFaltasGraves();
+    }
+
+    /**
+     * Rendimiento práctico de un examinador en un día
+     */
+    interface RendimientoPracticoDiario extends RendimientoPractico {
+        LocalDate getDia();
+    }
 }
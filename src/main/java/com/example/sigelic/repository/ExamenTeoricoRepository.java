@@ -1,9 +1,11 @@
 package com.example.sigelic.repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,6 +33,28 @@ public interface ExamenTeoricoRepository extends JpaRepository<ExamenTeorico, Lo
     @Query("SELECT e FROM ExamenTeorico e WHERE e.fecha BETWEEN :desde AND :hasta")
     List<ExamenTeorico> findExamenesEnPeriodo(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
     
+    /**
+     * Totales por examinador de los exámenes del período, agrupados en la base
+     */
+    @Query("SELECT e.examinador AS examinador, COUNT(e) AS total, " +
+           "SUM(CASE WHEN e.aprobado = true THEN 1 ELSE 0 END) AS aprobados, SUM(e.puntaje) AS sumaPuntaje " +
+           "FROM ExamenTeorico e " +
+           "WHERE e.fecha BETWEEN :desde AND :hasta AND e.examinador IS NOT NULL " +
+           "GROUP BY e.examinador")
+    List<RendimientoTeorico> findRendimientoPorExaminador(@Param("desde") LocalDateTime desde,
+                                                          @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Totales por examinador y día de los exámenes del período, agrupados en la base
+     */
+    @Query("SELECT e.examinador AS examinador, CAST(e.fecha AS LocalDate) AS dia, COUNT(e) AS total, " +
+           "SUM(CASE WHEN e.aprobado = true THEN 1 ELSE 0 END) AS aprobados, SUM(e.puntaje) AS sumaPuntaje " +
+           "FROM ExamenTeorico e " +
+           "WHERE e.fecha BETWEEN :desde AND :hasta AND e.examinador IS NOT NULL " +
+           "GROUP BY e.examinador, CAST(e.fecha AS LocalDate)")
+    List<RendimientoTeoricoDiario> findRendimientoPorExaminadorYDia(@Param("desde") LocalDateTime desde,
+                                                                    @Param("hasta") LocalDateTime hasta);
+    
     @Query("SELECT AVG(e.puntaje) FROM ExamenTeorico e WHERE e.fecha BETWEEN :desde AND :hasta")
     Double findPuntajePromedioEnPeriodo(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
     
@@ -41,7 +65,43 @@ public interface ExamenTeoricoRepository extends JpaRepository<ExamenTeorico, Lo
     Long countTotalEnPeriodo(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
     
     List<ExamenTeorico> findByExaminador(String examinador);
+
+    /**
+     * Página de exámenes teóricos ordenada por (fecha, id), después del cursor dado
+     */
+    @Query("SELECT e FROM ExamenTeorico e LEFT JOIN FETCH e.tramite t LEFT JOIN FETCH t.titular " +
+           "WHERE e.fecha > :fecha OR (e.fecha = :fecha AND e.id > :ultimoId) ORDER BY e.fecha, e.id")
+    List<ExamenTeorico> findPagina(@Param("fecha") LocalDateTime fecha, @Param("ultimoId") long ultimoId,
+                                   Pageable pageable);
+
+    /**
+     * Página de exámenes teóricos de un examinador ordenada por (fecha, id), después del cursor dado
+     */
+    @Query("SELECT e FROM ExamenTeorico e LEFT JOIN FETCH e.tramite t LEFT JOIN FETCH t.titular " +
+           "WHERE e.examinador = :examinador " +
+           "AND (e.fecha > :fecha OR (e.fecha = :fecha AND e.id > :ultimoId)) ORDER BY e.fecha, e.id")
+    List<ExamenTeorico> findPaginaPorExaminador(@Param("examinador") String examinador,
+                                                @Param("fecha") LocalDateTime fecha, @Param("ultimoId") long ultimoId,
+                                                Pageable pageable);
     
     @Query("SELECT COUNT(e) FROM ExamenTeorico e WHERE e.aprobado = false OR e.aprobado IS NULL")
     Long countByAprobadoFalseOrNull();
+
+    /**
+     * Exámenes teóricos de un examinador: cantidad, aprobados y suma de puntajes
+     * (el promedio se calcula al combinar filas)
+     */
+    interface RendimientoTeorico {
+        String getExaminador();
+        Long getTotal();
+        Long getAprobados();
+        Long getSumaPuntaje();
+    }
+
+    /**
+     * Rendimiento teórico de un examinador en un día
+     */
+    interface RendimientoTeoricoDiario extends RendimientoTeorico {
+        LocalDate getDia();
+    }
 }
@@ -24,6 +24,9 @@ public interface InhabilitacionRepository extends JpaRepository<Inhabilitacion,
     @Query("SELECT i FROM Inhabilitacion i WHERE i.fechaFin IS NULL OR i.fechaFin >= CURRENT_DATE")
     List<Inhabilitacion> findInhabilitacionesActivas();
     
+    @Query("SELECT COUNT(i) FROM Inhabilitacion i WHERE i.fechaFin IS NULL OR i.fechaFin >= CURRENT_DATE")
+    Long countInhabilitacionesActivas();
+    
     @Query("SELECT i FROM Inhabilitacion i WHERE i.fechaFin <= :fecha AND i.fechaFin IS NOT NULL")
     List<Inhabilitacion> findInhabilitacionesVencidas(@Param("fecha") LocalDate fecha);
     
@@ -36,4 +39,22 @@ public interface InhabilitacionRepository extends JpaRepository<Inhabilitacion,
     List<Inhabilitacion> findByAutoridad(String autoridad);
     
     List<Inhabilitacion> findByNumeroExpediente(String numeroExpediente);
+
+    /**
+     * Vigencia de las inhabilitaciones no terminadas antes de la fecha dada, con id
+     * mayor a desdeId, ordenadas por id. Fuente del índice de inhabilitaciones
+     */
+    @Query("SELECT i.id AS id, i.titular.id AS titularId, i.fechaInicio AS fechaInicio, i.fechaFin AS fechaFin " +
+           "FROM Inhabilitacion i WHERE i.id > :desdeId AND (i.fechaFin IS NULL OR i.fechaFin >= :fecha) ORDER BY i.id")
+    List<VigenciaInhabilitacion> findVigencias(@Param("desdeId") long desdeId, @Param("fecha") LocalDate fecha);
+
+    /**
+     * Proyección con los datos de una inhabilitación que necesita el índice
+     */
+    interface VigenciaInhabilitacion {
+        Long getId();
+        Long getTitularId();
+        LocalDate getFechaInicio();
+        LocalDate getFechaFin();
+    }
 }
@@ -3,12 +3,18 @@ package com.example.sigelic.repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.sigelic.dto.response.VerificacionLicenciaDTO;
 import com.example.sigelic.model.ClaseLicencia;
 import com.example.sigelic.model.EstadoLicencia;
 import com.example.sigelic.model.Licencia;
@@ -30,6 +36,10 @@ public interface LicenciaRepository extends JpaRepository<Licencia, Long> {
     Optional<Licencia> findByTitularAndClaseAndEstado(Titular titular, ClaseLicencia clase, EstadoLicencia estado);
     
     Optional<Licencia> findByNumeroLicencia(String numeroLicencia);
+
+    @Query("SELECT new com.example.sigelic.dto.response.VerificacionLicenciaDTO(l.numeroLicencia, l.clase, l.estado, l.fechaVencimiento) "
+         + "FROM Licencia l WHERE l.numeroLicencia = :numeroLicencia")
+    Optional<VerificacionLicenciaDTO> findVerificacionByNumeroLicencia(@Param("numeroLicencia") String numeroLicencia);
     
     @Query("SELECT l FROM Licencia l WHERE l.fechaVencimiento BETWEEN :desde AND :hasta AND l.estado = 'VIGENTE'")
     List<Licencia> findLicenciasProximasAVencer(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
@@ -37,6 +47,12 @@ public interface LicenciaRepository extends JpaRepository<Licencia, Long> {
     @Query("SELECT l FROM Licencia l WHERE l.fechaVencimiento < :fecha AND l.estado != 'DUPLICADA'")
     List<Licencia> findLicenciasVencidas(@Param("fecha") LocalDate fecha);
     
+    @Query("SELECT COUNT(l) FROM Licencia l WHERE l.fechaVencimiento BETWEEN :desde AND :hasta AND l.estado = 'VIGENTE'")
+    Long countLicenciasProximasAVencer(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+    
+    @Query("SELECT COUNT(l) FROM Licencia l WHERE l.fechaVencimiento < :fecha AND l.estado != 'DUPLICADA'")
+    Long countLicenciasVencidas(@Param("fecha") LocalDate fecha);
+    
     @Query("SELECT COUNT(l) FROM Licencia l WHERE l.fechaEmision BETWEEN :desde AND :hasta")
     Long countLicenciasEmitidasEnPeriodo(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
     
@@ -50,4 +66,45 @@ public interface LicenciaRepository extends JpaRepository<Licencia, Long> {
     
     @Query("SELECT l FROM Licencia l WHERE l.fechaEmision BETWEEN :desde AND :hasta ORDER BY l.fechaEmision DESC")
     List<Licencia> findLicenciasEmitidasEnPeriodo(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    /**
+     * Página de licencias vencidas ordenada por (fechaVencimiento, id), después del cursor dado
+     */
+    @Query("SELECT l FROM Licencia l WHERE l.fechaVencimiento < :hoy AND l.estado != 'DUPLICADA' " +
+           "AND (l.fechaVencimiento > :fecha OR (l.fechaVencimiento = :fecha AND l.id > :ultimoId)) " +
+           "ORDER BY l.fechaVencimiento, l.id")
+    List<Licencia> findPaginaVencidas(@Param("hoy") LocalDate hoy, @Param("fecha") LocalDate fecha,
+                                      @Param("ultimoId") long ultimoId, Pageable pageable);
+
+    /**
+     * Página de licencias vigentes que vencen en el período, ordenada por (fechaVencimiento, id)
+     */
+    @Query("SELECT l FROM Licencia l WHERE l.estado = 'VIGENTE' AND l.fechaVencimiento BETWEEN :desde AND :hasta " +
+           "AND (l.fechaVencimiento > :fecha OR (l.fechaVencimiento = :fecha AND l.id > :ultimoId)) " +
+           "ORDER BY l.fechaVencimiento, l.id")
+    List<Licencia> findPaginaProximasAVencer(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta,
+                                             @Param("fecha") LocalDate fecha, @Param("ultimoId") long ultimoId,
+                                             Pageable pageable);
+
+    /**
+     * Recorre todas las licencias por id, leyendo del cursor de la base de a bloques.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM Licencia l ORDER BY l.id")
+    Stream<Licencia> streamAll();
+
+    /**
+     * Recorre las licencias en un estado por fecha de vencimiento, leyendo del cursor
+     * de la base de a bloques. Debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM Licencia l WHERE l.estado = :estado ORDER BY l.fechaVencimiento, l.id")
+    Stream<Licencia> streamByEstado(@Param("estado") EstadoLicencia estado);
 }
@@ -0,0 +1,60 @@
+package com.example.sigelic.repository;
+
+import com.example.sigelic.model.ListaEspera;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Titular;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la entidad ListaEspera
+ */
+@Repository
+public interface ListaEsperaRepository extends JpaRepository<ListaEspera, Long> {
+
+    /**
+     * Inscripciones en espera que aceptan un turno del tipo dado que empieza en inicio,
+     * bloqueadas para que otro emparejamiento concurrente no las ofrezca dos veces.
+     * El orden (FIFO o por prioridad) lo da el Pageable
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ListaEspera l WHERE l.estado = 'ESPERANDO' AND l.tipoTurno = :tipo " +
+           "AND l.tipoRecurso = :tipoRecurso AND (l.desde IS NULL OR l.desde <= :inicio) " +
+           "AND (l.hasta IS NULL OR l.hasta >= :inicio) " +
+           "AND (l.turnoActual IS NULL OR EXISTS (SELECT 1 FROM Turno t WHERE t = l.turnoActual AND t.inicio > :inicio))")
+    List<ListaEspera> findCandidatos(@Param("tipo") TipoTurno tipo,
+                                     @Param("tipoRecurso") TipoRecurso tipoRecurso,
+                                     @Param("inicio") LocalDateTime inicio,
+                                     Pageable pageable);
+
+    /**
+     * Inscripción bloqueada para aceptar, vencer o cancelar su oferta
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ListaEspera l WHERE l.id = :id")
+    Optional<ListaEspera> findByIdParaActualizar(@Param("id") Long id);
+
+    /**
+     * IDs de las inscripciones con oferta pendiente vencida, las más antiguas primero
+     */
+    @Query("SELECT l.id FROM ListaEspera l WHERE l.estado = 'OFERTADO' AND l.vencimientoOferta < :ahora " +
+           "ORDER BY l.vencimientoOferta")
+    List<Long> findOfertasVencidas(@Param("ahora") LocalDateTime ahora, Pageable pageable);
+
+    @Query("SELECT COUNT(l) > 0 FROM ListaEspera l WHERE l.titular = :titular AND l.tipoTurno = :tipo " +
+           "AND l.estado IN ('ESPERANDO', 'OFERTADO')")
+    boolean existsActivaDelTitular(@Param("titular") Titular titular, @Param("tipo") TipoTurno tipo);
+
+    @Query("SELECT l FROM ListaEspera l WHERE l.titular.id = :titularId ORDER BY l.fechaAlta DESC")
+    List<ListaEspera> findByTitularId(@Param("titularId") Long titularId);
+}
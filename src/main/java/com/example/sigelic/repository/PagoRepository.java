@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -27,6 +28,8 @@ public interface PagoRepository extends JpaRepository<Pago, Long> {
     
     List<Pago> findByEstado(EstadoPago estado);
     
+    long countByEstado(EstadoPago estado);
+    
     List<Pago> findByMedio(MedioPago medio);
     
     Optional<Pago> findByNumeroTransaccion(String numeroTransaccion);
@@ -53,4 +56,21 @@ public interface PagoRepository extends JpaRepository<Pago, Long> {
            "LEFT JOIN FETCH t.titular " +
            "ORDER BY p.fecha DESC")
     List<Pago> findAllWithDetails();
+
+    /**
+     * Página de pagos en un estado ordenada por (fecha, id), después del cursor dado
+     */
+    @Query("SELECT p FROM Pago p WHERE p.estado = :estado " +
+           "AND (p.fecha > :fecha OR (p.fecha = :fecha AND p.id > :ultimoId)) ORDER BY p.fecha, p.id")
+    List<Pago> findPaginaByEstado(@Param("estado") EstadoPago estado, @Param("fecha") LocalDateTime fecha,
+                                  @Param("ultimoId") long ultimoId, Pageable pageable);
+
+    /**
+     * Página de pagos acreditados en un período ordenada por (fecha, id), después del cursor dado
+     */
+    @Query("SELECT p FROM Pago p WHERE p.estado = 'ACREDITADO' AND p.fecha BETWEEN :desde AND :hasta " +
+           "AND (p.fecha > :fecha OR (p.fecha = :fecha AND p.id > :ultimoId)) ORDER BY p.fecha, p.id")
+    List<Pago> findPaginaAcreditadosEnPeriodo(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+                                              @Param("fecha") LocalDateTime fecha, @Param("ultimoId") long ultimoId,
+                                              Pageable pageable);
 }
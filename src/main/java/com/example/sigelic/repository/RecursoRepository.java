@@ -2,8 +2,13 @@ package com.example.sigelic.repository;
 
 import com.example.sigelic.model.Recurso;
 import com.example.sigelic.model.TipoRecurso;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,13 +27,29 @@ public interface RecursoRepository extends JpaRepository<Recurso, Long> {
     
     Optional<Recurso> findByNombre(String nombre);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "sigelic-consultas-referencia")
+    })
     @Query("SELECT r FROM Recurso r WHERE r.tipo = :tipo AND r.activo = true")
     List<Recurso> findRecursosActivosPorTipo(@Param("tipo") TipoRecurso tipo);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "sigelic-consultas-referencia")
+    })
     @Query("SELECT r FROM Recurso r WHERE r.activo = true ORDER BY r.nombre ASC")
     List<Recurso> findAllActivos();
     
     List<Recurso> findByUbicacionContainingIgnoreCase(String ubicacion);
     
     boolean existsByNombre(String nombre);
+
+    /**
+     * Recurso bloqueado hasta el fin de la transacción: serializa las reservas de un
+     * mismo recurso entre la verificación de horario libre y el alta del turno
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Recurso r WHERE r.id = :id")
+    Optional<Recurso> findByIdParaReserva(@Param("id") Long id);
 }
@@ -1,8 +1,11 @@
 package com.example.sigelic.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,10 +25,33 @@ public interface TitularRepository extends JpaRepository<Titular, Long> {
     
     List<Titular> findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(String nombre, String apellido);
     
+    /**
+     * Obtiene todos los titulares con sus inhabilitaciones en una única consulta
+     */
+    @EntityGraph(attributePaths = "inhabilitaciones")
+    @Query("SELECT t FROM Titular t")
+    List<Titular> findAllWithInhabilitaciones();
+    
+    /**
+     * Busca titulares por DNI parcial con sus inhabilitaciones en una única consulta
+     */
+    @EntityGraph(attributePaths = "inhabilitaciones")
+    List<Titular> findWithInhabilitacionesByDniContainingIgnoreCase(String dni);
+    
+    /**
+     * Busca titulares por nombre o apellido con sus inhabilitaciones en una única consulta
+     */
+    @EntityGraph(attributePaths = "inhabilitaciones")
+    List<Titular> findWithInhabilitacionesByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(String nombre, String apellido);
+    
     @Query("SELECT t FROM Titular t WHERE t.email = :email")
     Optional<Titular> findByEmail(@Param("email") String email);
     
-    @Query("SELECT t FROM Titular t WHERE EXISTS (SELECT i FROM Inhabilitacion i WHERE i.titular = t AND i.fechaFin IS NULL OR i.fechaFin >= CURRENT_DATE)")
+    /**
+     * Titulares con alguna inhabilitación sin fecha de fin o con fin a partir de hoy.
+     * La subconsulta se resuelve por el índice de fecha_fin de inhabilitaciones
+     */
+    @Query("SELECT t FROM Titular t WHERE t.id IN (SELECT i.titular.id FROM Inhabilitacion i WHERE i.fechaFin IS NULL OR i.fechaFin >= CURRENT_DATE)")
     List<Titular> findTitularesConInhabilitacionesActivas();
     
     boolean existsByDni(String dni);
@@ -34,4 +60,55 @@ public interface TitularRepository extends JpaRepository<Titular, Long> {
     
     @Query("SELECT t FROM Titular t WHERE LOWER(CONCAT(t.apellido, ', ', t.nombre)) LIKE LOWER(CONCAT('%', :nombreCompleto, '%'))")
     List<Titular> findByNombreCompletoContainingIgnoreCase(@Param("nombreCompleto") String nombreCompleto);
+
+    /**
+     * Página de titulares ordenada por id, a partir del id dado
+     */
+    @Query("SELECT t FROM Titular t WHERE t.id > :ultimoId ORDER BY t.id")
+    List<Titular> findPagina(@Param("ultimoId") long ultimoId, Pageable pageable);
+
+    /**
+     * Página de titulares con inhabilitaciones activas ordenada por id, a partir del id dado
+     */
+    @Query("SELECT t FROM Titular t WHERE t.id > :ultimoId AND t.id IN (SELECT i.titular.id FROM Inhabilitacion i " +
+           "WHERE i.fechaFin IS NULL OR i.fechaFin >= CURRENT_DATE) ORDER BY t.id")
+    List<Titular> findPaginaConInhabilitacionesActivas(@Param("ultimoId") long ultimoId, Pageable pageable);
+
+    /**
+     * Versión de la ficha de un titular: su versión y, por cada colección que
+     * cuelga de él, cantidad, último id y suma de versiones. Cualquier alta, baja o
+     * modificación del titular, sus licencias o sus inhabilitaciones cambia algún valor
+     */
+    @Query("SELECT t.version AS version, " +
+           "(SELECT COUNT(l) FROM Licencia l WHERE l.titular = t) AS licencias, " +
+           "(SELECT COALESCE(MAX(l.id), 0) FROM Licencia l WHERE l.titular = t) AS ultimaLicencia, " +
+           "(SELECT COALESCE(SUM(l.version), 0) FROM Licencia l WHERE l.titular = t) AS versionesLicencias, " +
+           "(SELECT COUNT(i) FROM Inhabilitacion i WHERE i.titular = t) AS inhabilitaciones, " +
+           "(SELECT COALESCE(MAX(i.id), 0) FROM Inhabilitacion i WHERE i.titular = t) AS ultimaInhabilitacion, " +
+           "(SELECT COALESCE(SUM(i.version), 0) FROM Inhabilitacion i WHERE i.titular = t) AS versionesInhabilitaciones " +
+           "FROM Titular t WHERE t.id = :id")
+    Optional<VersionFicha> findVersionFicha(@Param("id") Long id);
+
+    /**
+     * Proyección con la versión de la ficha de un titular
+     */
+    interface VersionFicha {
+        Long getVersion();
+        Long getLicencias();
+        Long getUltimaLicencia();
+        Long getVersionesLicencias();
+        Long getInhabilitaciones();
+        Long getUltimaInhabilitacion();
+        Long getVersionesInhabilitaciones();
+
+        /**
+         * Etiqueta de la versión vista en la fecha dada: qué licencias están vigentes
+         * y qué inhabilitaciones activas cambia con el día aunque no cambien los datos
+         */
+        default String etiqueta(LocalDate fecha) {
+            return getVersion() + "." + getLicencias() + "-" + getUltimaLicencia() + "-" + getVersionesLicencias()
+                    + "." + getInhabilitaciones() + "-" + getUltimaInhabilitacion() + "-" + getVersionesInhabilitaciones()
+                    + "." + fecha.toEpochDay();
+        }
+    }
 }
@@ -3,9 +3,14 @@ package com.example.sigelic.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -38,6 +43,13 @@ public interface TramiteRepository extends JpaRepository<Tramite, Long> {
     @Query("SELECT COUNT(t) FROM Tramite t WHERE t.estado = :estado")
     Long countByEstado(@Param("estado") EstadoTramite estado);
     
+    /**
+     * Cuenta los trámites agrupados por estado en una única consulta.
+     * Cada fila contiene el estado y la cantidad
+     */
+    @Query("SELECT t.estado, COUNT(t) FROM Tramite t GROUP BY t.estado")
+    List<Object[]> countAgrupadosPorEstado();
+    
     @Query("SELECT COUNT(t) FROM Tramite t WHERE t.tipo = :tipo AND t.fechaCreacion BETWEEN :desde AND :hasta")
     Long countByTipoEnPeriodo(@Param("tipo") TipoTramite tipo, @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
     
@@ -45,4 +57,35 @@ public interface TramiteRepository extends JpaRepository<Tramite, Long> {
     
     @Query("SELECT t FROM Tramite t WHERE t.estado = :estado ORDER BY t.fechaCreacion ASC")
     List<Tramite> findTramitesPendientesByEstado(@Param("estado") EstadoTramite estado);
+
+    /**
+     * Página de trámites en un estado ordenada por (fechaCreacion, id), después del cursor dado
+     */
+    @Query("SELECT t FROM Tramite t WHERE t.estado = :estado " +
+           "AND (t.fechaCreacion > :fecha OR (t.fechaCreacion = :fecha AND t.id > :ultimoId)) " +
+           "ORDER BY t.fechaCreacion, t.id")
+    List<Tramite> findPaginaByEstado(@Param("estado") EstadoTramite estado, @Param("fecha") LocalDateTime fecha,
+                                     @Param("ultimoId") long ultimoId, Pageable pageable);
+
+    /**
+     * Recorre todos los trámites por id, leyendo del cursor de la base de a bloques.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Tramite t ORDER BY t.id")
+    Stream<Tramite> streamAll();
+
+    /**
+     * Recorre los trámites en un estado por fecha de creación, leyendo del cursor de
+     * la base de a bloques. Debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Tramite t WHERE t.estado = :estado ORDER BY t.fechaCreacion, t.id")
+    Stream<Tramite> streamByEstado(@Param("estado") EstadoTramite estado);
 }
@@ -5,13 +5,17 @@ import com.example.sigelic.model.Titular;
 import com.example.sigelic.model.Recurso;
 import com.example.sigelic.model.Tramite;
 import com.example.sigelic.model.EstadoTurno;
+import com.example.sigelic.model.TipoRecurso;
 import com.example.sigelic.model.TipoTurno;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +50,17 @@ public interface TurnoRepository extends JpaRepository<Turno, Long> {
                                              @Param("tipo") TipoTurno tipo,
                                              @Param("inicio") LocalDateTime inicio,
                                              @Param("fin") LocalDateTime fin);
+
+    /**
+     * Turnos reservados o confirmados del titular que se superponen con [inicio, fin);
+     * un turno que termina justo cuando empieza el otro no cuenta
+     */
+    @Query("SELECT t FROM Turno t WHERE t.titular = :titular AND t.tipo = :tipo AND t.estado IN ('RESERVADO', 'CONFIRMADO') " +
+           "AND t.inicio < :fin AND t.fin > :inicio")
+    List<Turno> findActivosSuperpuestosDelTitular(@Param("titular") Titular titular,
+                                                 @Param("tipo") TipoTurno tipo,
+                                                 @Param("inicio") LocalDateTime inicio,
+                                                 @Param("fin") LocalDateTime fin);
     
     @Query("SELECT t FROM Turno t WHERE t.profesionalAsignado = :profesional AND t.inicio BETWEEN :desde AND :hasta")
     List<Turno> findTurnosByProfesionalEnPeriodo(@Param("profesional") String profesional, 
@@ -56,4 +71,44 @@ public interface TurnoRepository extends JpaRepository<Turno, Long> {
     Long countByEstadoEnPeriodo(@Param("estado") EstadoTurno estado, 
                                @Param("desde") LocalDateTime desde, 
                                @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Página de turnos de un período ordenada por (inicio, id), después del cursor dado
+     */
+    @Query("SELECT t FROM Turno t WHERE t.inicio BETWEEN :desde AND :hasta " +
+           "AND (t.inicio > :inicio OR (t.inicio = :inicio AND t.id > :ultimoId)) ORDER BY t.inicio, t.id")
+    List<Turno> findPaginaEnPeriodo(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+                                    @Param("inicio") LocalDateTime inicio, @Param("ultimoId") long ultimoId,
+                                    Pageable pageable);
+
+    /**
+     * Indica si el recurso tiene un turno reservado o confirmado que se superpone con
+     * el horario; un turno que termina cuando el otro empieza no se superpone
+     */
+    @Query("SELECT COUNT(t) > 0 FROM Turno t WHERE t.recurso = :recurso AND t.estado IN ('RESERVADO', 'CONFIRMADO') " +
+           "AND t.inicio < :fin AND t.fin > :inicio")
+    boolean existsActivoSuperpuesto(@Param("recurso") Recurso recurso,
+                                    @Param("inicio") LocalDateTime inicio,
+                                    @Param("fin") LocalDateTime fin);
+
+    /**
+     * Turnos reservados o confirmados de los tipos dados que empiezan en el período
+     */
+    @Query("SELECT t FROM Turno t WHERE t.tipo IN :tipos AND t.estado IN ('RESERVADO', 'CONFIRMADO') " +
+           "AND t.inicio >= :desde AND t.inicio < :hasta ORDER BY t.inicio, t.id")
+    List<Turno> findActivosPorTiposEnPeriodo(@Param("tipos") Collection<TipoTurno> tipos,
+                                            @Param("desde") LocalDateTime desde,
+                                            @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Asigna recurso y profesional a los turnos dados que sigan confirmados
+     *
+     * @return cantidad de turnos actualizados
+     */
+    @Modifying
+    @Query("UPDATE Turno t SET t.recurso = :recurso, t.tipoRecurso = :tipoRecurso, t.profesionalAsignado = :profesional " +
+           "WHERE t.id IN :ids AND t.estado = 'CONFIRMADO'")
+    int asignarRecursoYProfesional(@Param("ids") Collection<Long> ids, @Param("recurso") Recurso recurso,
+                                   @Param("tipoRecurso") TipoRecurso tipoRecurso,
+                                   @Param("profesional") String profesional);
 }
@@ -10,8 +10,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repositorio para la gestión de usuarios del sistema
@@ -39,6 +41,12 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Obtiene cuáles de los usernames dados ya existen
+     */
+    @Query("SELECT u.username FROM Usuario u WHERE u.username IN :usernames")
+    Set<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
+
     /**
      * Busca usuarios por rol
      */
@@ -78,6 +86,14 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     @Query("SELECT u FROM Usuario u WHERE u.ultimoAcceso < :fecha OR u.ultimoAcceso IS NULL")
     List<Usuario> findUsuariosInactivos(@Param("fecha") LocalDateTime fecha);
 
+    /**
+     * Página de usuarios sin acceso desde la fecha dada, ordenada por id, a partir del id dado
+     */
+    @Query("SELECT u FROM Usuario u WHERE (u.ultimoAcceso < :fecha OR u.ultimoAcceso IS NULL) " +
+           "AND u.id > :ultimoId ORDER BY u.id")
+    List<Usuario> findPaginaUsuariosInactivos(@Param("fecha") LocalDateTime fecha, @Param("ultimoId") long ultimoId,
+                                              Pageable pageable);
+
     /**
      * Cuenta usuarios por rol (adaptado para el modelo único de rol)
      */
@@ -0,0 +1,161 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.response.AsignacionAgendaDTO;
+import com.example.sigelic.model.EstadoTurno;
+import com.example.sigelic.model.Recurso;
+import com.example.sigelic.model.RolSistema;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Turno;
+import com.example.sigelic.model.Usuario;
+import com.example.sigelic.repository.RecursoRepository;
+import com.example.sigelic.repository.TurnoRepository;
+import com.example.sigelic.repository.UsuarioRepository;
+import com.example.sigelic.service.OptimizadorAgenda.Asignacion;
+import com.example.sigelic.service.OptimizadorAgenda.Examen;
+import com.example.sigelic.service.OptimizadorAgenda.Resultado;
+import com.example.sigelic.service.OptimizadorAgenda.Sala;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asignación automática de pistas, aulas y examinadores a los exámenes de un día.
+ *
+ * Toma los turnos de examen teórico y práctico confirmados del día, los recursos
+ * activos (pistas y aulas, con su capacidad y horario) y los examinadores
+ * habilitados, y calcula la asignación con {@link OptimizadorAgenda}. Los turnos
+ * solo reservados ocupan su recurso y su profesional pero no se mueven.
+ *
+ * Los cambios se aplican en bloque: una actualización por cada par (recurso,
+ * examinador), y solo sobre turnos que sigan confirmados al aplicarla.
+ */
+@Service
+@Slf4j
+@Transactional
+public class AgendaExamenesService {
+
+    private static final Map<TipoTurno, TipoRecurso> RECURSO_POR_EXAMEN = Map.of(
+        TipoTurno.EXAMEN_PRACTICO, TipoRecurso.PISTA,
+        TipoTurno.EXAMEN_TEORICO, TipoRecurso.AULA_TEORICO
+    );
+
+    private final TurnoRepository turnoRepository;
+    private final RecursoRepository recursoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final Duration limiteBusqueda;
+
+    public AgendaExamenesService(TurnoRepository turnoRepository, RecursoRepository recursoRepository,
+                                 UsuarioRepository usuarioRepository,
+                                 @Value("${sigelic.agenda.limite-busqueda:PT0.5S}") Duration limiteBusqueda) {
+        this.turnoRepository = turnoRepository;
+        this.recursoRepository = recursoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.limiteBusqueda = limiteBusqueda;
+    }
+
+    /**
+     * Calcula y aplica la asignación de recursos y examinadores de los exámenes del día
+     */
+    @Timed("sigelic.agenda.asignacion")
+    public AsignacionAgendaDTO asignar(LocalDate fecha) {
+        long inicio = System.nanoTime();
+
+        List<Turno> turnos = turnoRepository.findActivosPorTiposEnPeriodo(
+                RECURSO_POR_EXAMEN.keySet(), fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay());
+        Map<Long, Recurso> recursos = new LinkedHashMap<>();
+        for (TipoRecurso tipo : List.of(TipoRecurso.PISTA, TipoRecurso.AULA_TEORICO)) {
+            recursoRepository.findRecursosActivosPorTipo(tipo).forEach(recurso -> recursos.put(recurso.getId(), recurso));
+        }
+        List<String> examinadores = usuarioRepository.findByRol(RolSistema.EXAMINADOR).stream()
+                .filter(Usuario::esCuentaValida)
+                .map(Usuario::getUsername)
+                .sorted()
+                .toList();
+
+        List<Examen> examenes = new ArrayList<>(turnos.size());
+        int confirmados = 0;
+        for (Turno turno : turnos) {
+            boolean fijo = turno.getEstado() != EstadoTurno.CONFIRMADO;
+            if (!fijo) {
+                confirmados++;
+            }
+            examenes.add(new Examen(turno.getId(), RECURSO_POR_EXAMEN.get(turno.getTipo()), turno.getInicio(),
+                    turno.getFin(), turno.getRecurso() != null ? turno.getRecurso().getId() : null,
+                    turno.getProfesionalAsignado(), fijo));
+        }
+        List<Sala> salas = recursos.values().stream()
+                .map(recurso -> new Sala(recurso.getId(), recurso.getTipo(), recurso.getCapacidad(),
+                        recurso.getHoraInicio(), recurso.getHoraFin()))
+                .toList();
+
+        Resultado resultado = new OptimizadorAgenda(examenes, salas, examinadores).resolver(limiteBusqueda);
+        int modificados = aplicar(resultado.asignaciones(), recursos);
+
+        long duracionMs = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+        log.info("Agenda de exámenes del {}: {}/{} turnos asignados, {} modificados, {} sin lugar ({} pasadas, {} ms)",
+                fecha, resultado.asignaciones().size(), confirmados, modificados, resultado.sinAsignar().size(),
+                resultado.pasadas(), duracionMs);
+
+        return AsignacionAgendaDTO.builder()
+                .fecha(fecha)
+                .turnosConsiderados(confirmados)
+                .turnosAsignados(resultado.asignaciones().size())
+                .turnosModificados(modificados)
+                .turnosSinAsignar(resultado.sinAsignar())
+                .ocupacionPorRecurso(ocupacion(resultado.minutosPorSala(), recursos))
+                .minutosPorExaminador(resultado.minutosPorExaminador())
+                .duracionMs(duracionMs)
+                .build();
+    }
+
+    /**
+     * Actualiza los turnos modificados agrupados por recurso y examinador
+     */
+    private int aplicar(List<Asignacion> asignaciones, Map<Long, Recurso> recursos) {
+        Map<Long, Map<String, List<Long>>> grupos = new LinkedHashMap<>();
+        for (Asignacion asignacion : asignaciones) {
+            if (asignacion.modificada()) {
+                grupos.computeIfAbsent(asignacion.recursoId(), k -> new LinkedHashMap<>())
+                      .computeIfAbsent(asignacion.examinador(), k -> new ArrayList<>())
+                      .add(asignacion.turnoId());
+            }
+        }
+
+        int actualizados = 0;
+        for (Map.Entry<Long, Map<String, List<Long>>> porRecurso : grupos.entrySet()) {
+            Recurso recurso = recursos.get(porRecurso.getKey());
+            for (Map.Entry<String, List<Long>> porExaminador : porRecurso.getValue().entrySet()) {
+                actualizados += turnoRepository.asignarRecursoYProfesional(
+                        porExaminador.getValue(), recurso, recurso.getTipo(), porExaminador.getKey());
+            }
+        }
+        return actualizados;
+    }
+
+    /**
+     * Porcentaje del horario de cada recurso ocupado, contando su capacidad simultánea.
+     * Un recurso sin horario se considera abierto todo el día
+     */
+    private static Map<Long, Double> ocupacion(Map<Long, Long> minutosPorSala, Map<Long, Recurso> recursos) {
+        Map<Long, Double> ocupacion = new LinkedHashMap<>();
+        minutosPorSala.forEach((recursoId, minutos) -> {
+            Recurso recurso = recursos.get(recursoId);
+            long abierto = recurso.getHoraInicio() != null && recurso.getHoraFin() != null
+                    ? Duration.between(recurso.getHoraInicio(), recurso.getHoraFin()).toMinutes()
+                    : Duration.ofDays(1).toMinutes();
+            double disponible = (double) abierto * recurso.getCapacidad();
+            ocupacion.put(recursoId, disponible > 0 ? Math.round(minutos * 1000 / disponible) / 10.0 : 0.0);
+        });
+        return ocupacion;
+    }
+}
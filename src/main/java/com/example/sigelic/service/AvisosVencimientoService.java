@@ -0,0 +1,377 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.EstadoAvisoVencimiento;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.TipoAvisoVencimiento;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio que avisa a los titulares que su licencia o su apto médico están por
+ * vencer.
+ *
+ * Recorre licencias vigentes y aptos médicos de trámites en curso por
+ * (fecha_vencimiento, id) en lotes (keyset), sin cargar entidades ni toda la
+ * ventana en memoria. avisos_vencimiento funciona como bandeja de salida: cada
+ * lote se registra ya compuesto como PENDIENTE y se confirma antes de tocar el
+ * canal, que no es transaccional. Después se entregan los pendientes y se marcan
+ * ENVIADO; lo que no se pudo entregar queda pendiente para la próxima ejecución.
+ * Las consultas excluyen lo ya registrado, por lo que nadie recibe dos veces el
+ * mismo aviso salvo que se caiga el proceso entre la entrega de un lote y su marca.
+ * El envío se limita a sigelic.avisos.por-segundo y un bloqueo en bloqueos_tareas
+ * garantiza que un solo nodo lo ejecute a la vez.
+ */
+@Service
+@Slf4j
+public class AvisosVencimientoService {
+
+    static final String TAREA = "avisos-vencimiento";
+    static final String METRICA = "sigelic.avisos.enviados";
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final String SQL_LICENCIAS =
+        "SELECT l.id, l.fecha_vencimiento, l.numero_licencia, l.clase, t.id AS titular_id, t.nombre, t.apellido, t.email "
+        + "FROM licencias l JOIN titulares t ON t.id = l.titular_id "
+        + "WHERE l.estado = ? AND l.fecha_vencimiento BETWEEN ? AND ? "
+        + "AND (l.fecha_vencimiento > ? OR (l.fecha_vencimiento = ? AND l.id > ?)) "
+        + "AND NOT EXISTS (SELECT 1 FROM avisos_vencimiento a WHERE a.tipo = 'LICENCIA' "
+        + "AND a.referencia_id = l.id AND a.fecha_vencimiento = l.fecha_vencimiento) "
+        + "ORDER BY l.fecha_vencimiento, l.id LIMIT ?";
+
+    private static final String SQL_APTOS =
+        "SELECT am.id, am.fecha_vencimiento, t.id AS titular_id, t.nombre, t.apellido, t.email "
+        + "FROM aptos_medicos am JOIN tramites tr ON tr.id = am.tramite_id JOIN titulares t ON t.id = tr.titular_id "
+        + "WHERE am.apto = ? AND tr.estado NOT IN (" + estadosFinalesTramite() + ") "
+        + "AND am.fecha_vencimiento BETWEEN ? AND ? "
+        + "AND (am.fecha_vencimiento > ? OR (am.fecha_vencimiento = ? AND am.id > ?)) "
+        + "AND NOT EXISTS (SELECT 1 FROM avisos_vencimiento a WHERE a.tipo = 'APTO_MEDICO' "
+        + "AND a.referencia_id = am.id AND a.fecha_vencimiento = am.fecha_vencimiento) "
+        + "ORDER BY am.fecha_vencimiento, am.id LIMIT ?";
+
+    private static final String SQL_PENDIENTES =
+        "SELECT id, tipo, referencia_id, destino, asunto, cuerpo FROM avisos_vencimiento "
+        + "WHERE estado = ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final Map<String, String> PLANTILLAS_POR_DEFECTO = Map.of(
+        "avisos.plantilla.licencia.asunto", "Su licencia de conducir vence el {fecha}",
+        "avisos.plantilla.licencia.cuerpo", "Hola {nombre}: su licencia N° {numero} clase {clase} vence el {fecha} "
+            + "(en {dias} días). Puede solicitar un turno de renovación en el centro de emisión.",
+        "avisos.plantilla.apto_medico.asunto", "Su apto médico vence el {fecha}",
+        "avisos.plantilla.apto_medico.cuerpo", "Hola {nombre}: el apto médico de su trámite vence el {fecha} "
+            + "(en {dias} días). Si el trámite sigue en curso, deberá renovarlo para continuar.");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BloqueoTareaService bloqueoTareaService;
+    private final ConfiguracionService configuracionService;
+    private final CanalAvisos canalAvisos;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PlantillaAviso> plantillas = new ConcurrentHashMap<>();
+
+    @Value("${sigelic.avisos.lote:500}")
+    private int tamanioLote = 500;
+
+    @Value("${sigelic.avisos.dias-anticipacion:30}")
+    private int diasAnticipacion = 30;
+
+    @Value("${sigelic.avisos.por-segundo:100}")
+    private int avisosPorSegundo = 100;
+
+    @Value("${sigelic.avisos.duracion-bloqueo:PT10M}")
+    private Duration duracionBloqueo = Duration.ofMinutes(10);
+
+    public AvisosVencimientoService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    BloqueoTareaService bloqueoTareaService, ConfiguracionService configuracionService,
+                                    CanalAvisos canalAvisos, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bloqueoTareaService = bloqueoTareaService;
+        this.configuracionService = configuracionService;
+        this.canalAvisos = canalAvisos;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Ejecución diaria en todos los nodos; solo avanza el que obtiene el bloqueo
+     */
+    @Scheduled(cron = "${sigelic.avisos.cron:0 0 9 * * *}")
+    public void ejecutarProgramado() {
+        enviarAvisos();
+    }
+
+    /**
+     * Avisa las licencias vigentes y los aptos médicos de trámites en curso que
+     * vencen dentro de los próximos sigelic.avisos.dias-anticipacion días y todavía
+     * no fueron avisados, además de los avisos que quedaron pendientes de una
+     * ejecución anterior
+     *
+     * @return cantidad de avisos enviados, 0 si otro nodo tiene la tarea en curso
+     */
+    @Timed("sigelic.avisos.vencimiento")
+    public int enviarAvisos() {
+        if (!bloqueoTareaService.adquirir(TAREA, duracionBloqueo)) {
+            log.debug("Envío de avisos de vencimiento en curso en otro nodo");
+            return 0;
+        }
+
+        LocalDate hoy = LocalDate.now();
+        int enviados = 0;
+        try {
+            boolean conBloqueo = true;
+            for (TipoAvisoVencimiento tipo : TipoAvisoVencimiento.values()) {
+                conBloqueo = registrarPendientes(tipo, hoy);
+                if (!conBloqueo) {
+                    break;
+                }
+            }
+            // Sin el bloqueo, los pendientes los entrega el nodo que lo tomó
+            if (conBloqueo) {
+                enviados = entregarPendientes(new Ritmo(avisosPorSegundo));
+            }
+        } finally {
+            bloqueoTareaService.liberar(TAREA);
+        }
+
+        log.info("Enviados {} avisos de vencimiento por el canal {}", enviados, canalAvisos.nombre());
+        return enviados;
+    }
+
+    /**
+     * Registra como pendientes los avisos de un tipo que corresponde enviar
+     *
+     * @return false si se perdió el bloqueo antes de terminar el recorrido
+     */
+    private boolean registrarPendientes(TipoAvisoVencimiento tipo, LocalDate hoy) {
+        PlantillaAviso asunto = plantilla(tipo, "asunto");
+        PlantillaAviso cuerpo = plantilla(tipo, "cuerpo");
+        LocalDate hasta = hoy.plusDays(diasAnticipacion);
+
+        // Cursor (fecha_vencimiento, id) del último candidato leído
+        LocalDate ultimaFecha = hoy.minusDays(1);
+        long ultimoId = 0;
+        int registrados = 0;
+        while (true) {
+            List<Candidato> lote = buscar(tipo, hoy, hasta, ultimaFecha, ultimoId);
+            if (lote.isEmpty()) {
+                return true;
+            }
+            Candidato ultimo = lote.get(lote.size() - 1);
+            ultimaFecha = ultimo.fechaVencimiento();
+            ultimoId = ultimo.id();
+
+            // Los titulares sin correo se saltean sin registrar: se avisan si lo cargan
+            List<Candidato> conDestino = lote.stream()
+                    .filter(candidato -> candidato.email() != null && !candidato.email().isBlank())
+                    .toList();
+            if (!conDestino.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        registrar(tipo, conDestino, candidato -> componer(tipo, candidato, asunto, cuerpo, hoy)));
+                registrados += conDestino.size();
+            }
+
+            if (!bloqueoTareaService.renovar(TAREA, duracionBloqueo)) {
+                log.warn("Se perdió el bloqueo de {} tras registrar {} avisos; otro nodo continúa", TAREA, registrados);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Entrega por lotes los avisos pendientes y los marca como enviados. Si el canal
+     * falla, la excepción corta la ejecución y el lote sigue pendiente
+     *
+     * @return cantidad de avisos entregados
+     */
+    private int entregarPendientes(Ritmo ritmo) {
+        long ultimoId = 0;
+        int enviados = 0;
+        while (true) {
+            List<Pendiente> lote = jdbcTemplate.query(SQL_PENDIENTES, PENDIENTE_MAPPER,
+                    EstadoAvisoVencimiento.PENDIENTE.name(), ultimoId, tamanioLote);
+            if (lote.isEmpty()) {
+                return enviados;
+            }
+            ultimoId = lote.get(lote.size() - 1).id();
+
+            canalAvisos.enviar(lote.stream().map(Pendiente::aviso).toList());
+            transactionTemplate.executeWithoutResult(status -> marcarEnviados(lote));
+            enviados += lote.size();
+            lote.stream()
+                    .collect(Collectors.groupingBy(pendiente -> pendiente.aviso().tipo(), Collectors.counting()))
+                    .forEach((tipo, cantidad) -> meterRegistry.counter(METRICA, "tipo", tipo.name()).increment(cantidad));
+
+            if (!ritmo.esperar(lote.size())) {
+                log.warn("Envío de avisos de vencimiento interrumpido");
+                return enviados;
+            }
+            if (!bloqueoTareaService.renovar(TAREA, duracionBloqueo)) {
+                log.warn("Se perdió el bloqueo de {} tras {} avisos; otro nodo continúa", TAREA, enviados);
+                return enviados;
+            }
+        }
+    }
+
+    private List<Candidato> buscar(TipoAvisoVencimiento tipo, LocalDate desde, LocalDate hasta,
+                                   LocalDate ultimaFecha, long ultimoId) {
+        if (tipo == TipoAvisoVencimiento.LICENCIA) {
+            return jdbcTemplate.query(SQL_LICENCIAS, LICENCIA_MAPPER, EstadoLicencia.VIGENTE.name(),
+                    Date.valueOf(desde), Date.valueOf(hasta), Date.valueOf(ultimaFecha), Date.valueOf(ultimaFecha),
+                    ultimoId, tamanioLote);
+        }
+        return jdbcTemplate.query(SQL_APTOS, APTO_MAPPER, true, Date.valueOf(desde), Date.valueOf(hasta), Date.valueOf(ultimaFecha), Date.valueOf(ultimaFecha),
+                ultimoId, tamanioLote);
+    }
+
+    private void registrar(TipoAvisoVencimiento tipo, List<Candidato> candidatos,
+                           Function<Candidato, CanalAvisos.Aviso> componer) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO avisos_vencimiento (tipo, referencia_id, fecha_vencimiento, titular_id, destino, canal, "
+                + "asunto, cuerpo, estado, fecha_registro) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            candidatos, candidatos.size(), (ps, candidato) -> {
+                CanalAvisos.Aviso aviso = componer.apply(candidato);
+                ps.setString(1, tipo.name());
+                ps.setLong(2, candidato.id());
+                ps.setDate(3, Date.valueOf(candidato.fechaVencimiento()));
+                ps.setLong(4, candidato.titularId());
+                ps.setString(5, candidato.email());
+                ps.setString(6, canalAvisos.nombre());
+                ps.setString(7, aviso.asunto());
+                ps.setString(8, aviso.cuerpo());
+                ps.setString(9, EstadoAvisoVencimiento.PENDIENTE.name());
+                ps.setTimestamp(10, ahora);
+            });
+    }
+
+    private void marcarEnviados(List<Pendiente> pendientes) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "UPDATE avisos_vencimiento SET estado = ?, canal = ?, fecha_envio = ? WHERE id = ?",
+            pendientes, pendientes.size(), (ps, pendiente) -> {
+                ps.setString(1, EstadoAvisoVencimiento.ENVIADO.name());
+                ps.setString(2, canalAvisos.nombre());
+                ps.setTimestamp(3, ahora);
+                ps.setLong(4, pendiente.id());
+            });
+    }
+
+    private CanalAvisos.Aviso componer(TipoAvisoVencimiento tipo, Candidato candidato,
+                                      PlantillaAviso asunto, PlantillaAviso cuerpo, LocalDate hoy) {
+        String fecha = candidato.fechaVencimiento().format(FORMATO_FECHA);
+        String dias = String.valueOf(ChronoUnit.DAYS.between(hoy, candidato.fechaVencimiento()));
+        Function<String, String> valores = variable -> switch (variable) {
+            case "nombre" -> candidato.nombre();
+            case "apellido" -> candidato.apellido();
+            case "numero" -> candidato.numeroLicencia();
+            case "clase" -> candidato.clase();
+            case "fecha" -> fecha;
+            case "dias" -> dias;
+            default -> null;
+        };
+        return new CanalAvisos.Aviso(tipo, candidato.id(), candidato.email(),
+                asunto.componer(valores), cuerpo.componer(valores));
+    }
+
+    /**
+     * Plantilla configurable en la tabla configuracion; se compila una vez por texto
+     */
+    private PlantillaAviso plantilla(TipoAvisoVencimiento tipo, String parte) {
+        String clave = "avisos.plantilla." + tipo.name().toLowerCase() + "." + parte;
+        String texto = configuracionService.getValor(clave, PLANTILLAS_POR_DEFECTO.get(clave));
+        return plantillas.computeIfAbsent(texto, PlantillaAviso::compilar);
+    }
+
+    /**
+     * Estados finales del trámite como lista SQL: el apto de un trámite terminado ya no se avisa
+     */
+    private static String estadosFinalesTramite() {
+        return Arrays.stream(EstadoTramite.values())
+                .filter(EstadoTramite::esFinal)
+                .map(estado -> "'" + estado.name() + "'")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static final RowMapper<Candidato> LICENCIA_MAPPER = (rs, rowNum) -> new Candidato(
+            rs.getLong("id"), rs.getDate("fecha_vencimiento").toLocalDate(), rs.getLong("titular_id"),
+            rs.getString("nombre"), rs.getString("apellido"), rs.getString("email"),
+            rs.getString("numero_licencia"), rs.getString("clase"));
+
+    private static final RowMapper<Candidato> APTO_MAPPER = (rs, rowNum) -> new Candidato(
+            rs.getLong("id"), rs.getDate("fecha_vencimiento").toLocalDate(), rs.getLong("titular_id"),
+            rs.getString("nombre"), rs.getString("apellido"), rs.getString("email"), null, null);
+
+    private static final RowMapper<Pendiente> PENDIENTE_MAPPER = (rs, rowNum) -> new Pendiente(
+            rs.getLong("id"), new CanalAvisos.Aviso(TipoAvisoVencimiento.valueOf(rs.getString("tipo")),
+                    rs.getLong("referencia_id"), rs.getString("destino"), rs.getString("asunto"), rs.getString("cuerpo")));
+
+    private record Candidato(long id, LocalDate fechaVencimiento, long titularId, String nombre, String apellido,
+                             String email, String numeroLicencia, String clase) {
+    }
+
+    /**
+     * Aviso registrado en avisos_vencimiento que todavía no salió por el canal
+     */
+    private record Pendiente(long id, CanalAvisos.Aviso aviso) {
+    }
+
+    /**
+     * Limita el envío a una cantidad de avisos por segundo desde el inicio de la ejecución
+     */
+    private static final class Ritmo {
+
+        private final int porSegundo;
+        private final long inicio = System.nanoTime();
+        private long enviados;
+
+        Ritmo(int porSegundo) {
+            this.porSegundo = porSegundo;
+        }
+
+        /**
+         * @return false si el hilo fue interrumpido mientras esperaba
+         */
+        boolean esperar(int cantidad) {
+            enviados += cantidad;
+            if (porSegundo <= 0) {
+                return true;
+            }
+            long adelanto = enviados * 1_000_000_000L / porSegundo - (System.nanoTime() - inicio);
+            if (adelanto <= 0) {
+                return true;
+            }
+            try {
+                Thread.sleep(Duration.ofNanos(adelanto));
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.sigelic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Servicio de bloqueos con vencimiento para tareas programadas.
+ *
+ * Cada operación es una única sentencia en su propia transacción corta, de modo
+ * que el bloqueo no retiene conexiones ni filas mientras la tarea se ejecuta. Si
+ * el nodo propietario se detiene, el bloqueo vence solo y otro nodo puede tomarlo.
+ */
+@Service
+@Slf4j
+public class BloqueoTareaService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String propietario;
+
+    public BloqueoTareaService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.propietario = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Toma el bloqueo de la tarea por la duración indicada si está libre, vencido
+     * o ya es de este nodo
+     *
+     * @return true si este nodo es el propietario hasta ahora + duración
+     */
+    public boolean adquirir(String tarea, Duration duracion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Boolean adquirido = transactionTemplate.execute(status -> {
+            int actualizados = jdbcTemplate.update(
+                "UPDATE bloqueos_tareas SET propietario = ?, bloqueado_hasta = ?, fecha_actualizacion = ? "
+                    + "WHERE nombre = ? AND (bloqueado_hasta < ? OR propietario = ?)",
+                propietario, Timestamp.valueOf(ahora.plus(duracion)), Timestamp.valueOf(ahora),
+                tarea, Timestamp.valueOf(ahora), propietario);
+            return actualizados == 1;
+        });
+        if (Boolean.TRUE.equals(adquirido)) {
+            return true;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO bloqueos_tareas (nombre, propietario, bloqueado_hasta, fecha_actualizacion) VALUES (?, ?, ?, ?)",
+                tarea, propietario, Timestamp.valueOf(ahora.plus(duracion)), Timestamp.valueOf(ahora)));
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("La tarea {} está bloqueada por otro nodo", tarea);
+            return false;
+        }
+    }
+
+    /**
+     * Extiende el bloqueo mientras siga siendo de este nodo
+     *
+     * @return false si el bloqueo venció y lo tomó otro nodo
+     */
+    public boolean renovar(String tarea, Duration duracion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Integer actualizados = transactionTemplate.execute(status -> jdbcTemplate.update(
+            "UPDATE bloqueos_tareas SET bloqueado_hasta = ?, fecha_actualizacion = ? WHERE nombre = ? AND propietario = ?",
+            Timestamp.valueOf(ahora.plus(duracion)), Timestamp.valueOf(ahora), tarea, propietario));
+        return actualizados != null && actualizados == 1;
+    }
+
+    /**
+     * Libera el bloqueo si es de este nodo
+     */
+    public void liberar(String tarea) {
+        LocalDateTime ahora = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+            "UPDATE bloqueos_tareas SET bloqueado_hasta = ?, fecha_actualizacion = ? WHERE nombre = ? AND propietario = ?",
+            Timestamp.valueOf(ahora.minusSeconds(1)), Timestamp.valueOf(ahora), tarea, propietario));
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.CallbackPasarela;
+import com.example.sigelic.model.EstadoCallbackPasarela;
+import com.example.sigelic.model.Pago;
+import com.example.sigelic.repository.CallbackPasarelaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio de recepción de avisos de la pasarela de pagos.
+ *
+ * La pasarela reintenta cada aviso hasta recibir un 200, por lo que el mismo
+ * número de transacción llega varias veces. Los duplicados se reconocen sin leer
+ * ni guardar el pago: primero contra los números vistos recientemente (LRU en
+ * memoria) y, si no están ahí, contra la clave única de callbacks_pasarela. El
+ * primer aviso se registra y se procesa en segundo plano; los que no pudieron
+ * procesarse se reintentan periódicamente.
+ */
+@Service
+@Slf4j
+public class CallbackPasarelaService {
+
+    /**
+     * Resultado de la recepción de un aviso
+     */
+    public enum Recepcion {
+        ACEPTADO,
+        DUPLICADO
+    }
+
+    static final String METRICA = "sigelic.pasarela.callbacks";
+
+    private static final Set<EstadoCallbackPasarela> TOMABLES =
+            EnumSet.of(EstadoCallbackPasarela.RECIBIDO, EstadoCallbackPasarela.ERROR);
+
+    private final CallbackPasarelaRepository callbackPasarelaRepository;
+    private final PagoService pagoService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Boolean> recientes;
+
+    @Value("${sigelic.pasarela.reintento.demora:PT30S}")
+    private Duration demoraReintento = Duration.ofSeconds(30);
+
+    @Value("${sigelic.pasarela.reintento.abandono:PT5M}")
+    private Duration limiteAbandono = Duration.ofMinutes(5);
+
+    @Value("${sigelic.pasarela.reintento.maximo-intentos:10}")
+    private int maximoIntentos = 10;
+
+    public CallbackPasarelaService(CallbackPasarelaRepository callbackPasarelaRepository,
+                                   PagoService pagoService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${sigelic.pasarela.idempotencia.capacidad:10000}") int capacidad) {
+        this.callbackPasarelaRepository = callbackPasarelaRepository;
+        this.pagoService = pagoService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.recientes = Collections.synchronizedMap(new LinkedHashMap<>(capacidad, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacidad;
+            }
+        });
+    }
+
+    /**
+     * Registra un aviso de la pasarela y lo encola para su procesamiento.
+     * Un número de transacción ya recibido se reconoce como duplicado sin
+     * modificar el pago ni el trámite
+     */
+    public Recepcion recibir(String numeroTransaccion, Long pagoId, boolean exitoso) {
+        if (recientes.containsKey(numeroTransaccion)) {
+            contar("duplicado");
+            return Recepcion.DUPLICADO;
+        }
+
+        Long callbackId;
+        try {
+            callbackId = transactionTemplate.execute(status -> {
+                CallbackPasarela callback = new CallbackPasarela();
+                callback.setNumeroTransaccion(numeroTransaccion);
+                callback.setPagoId(pagoId);
+                callback.setExitoso(exitoso);
+                callback.setFechaActualizacion(LocalDateTime.now());
+                return callbackPasarelaRepository.save(callback).getId();
+            });
+        } catch (DataIntegrityViolationException e) {
+            recientes.put(numeroTransaccion, Boolean.TRUE);
+            contar("duplicado");
+            return Recepcion.DUPLICADO;
+        }
+        recientes.put(numeroTransaccion, Boolean.TRUE);
+        contar("aceptado");
+
+        try {
+            taskExecutor.execute(() -> procesar(callbackId));
+        } catch (TaskRejectedException e) {
+            // Queda RECIBIDO y lo toma el reintento periódico
+            log.warn("Cola de avisos de pasarela llena, el aviso {} se procesará en el próximo reintento", numeroTransaccion);
+        }
+        return Recepcion.ACEPTADO;
+    }
+
+    /**
+     * Aplica un aviso registrado al pago. Solo un hilo (o nodo) puede tomar cada aviso;
+     * los rechazos de negocio lo descartan y los errores transitorios lo dejan para reintento
+     */
+    public void procesar(Long callbackId) {
+        Integer tomados = transactionTemplate.execute(status ->
+                callbackPasarelaRepository.tomar(callbackId, TOMABLES, LocalDateTime.now()));
+        if (tomados == null || tomados == 0) {
+            return;
+        }
+        CallbackPasarela callback = callbackPasarelaRepository.findById(callbackId).orElseThrow();
+
+        EstadoCallbackPasarela estado;
+        String detalle;
+        try {
+            Pago pago = pagoService.procesarPagoOnline(callback.getPagoId(), callback.getNumeroTransaccion(),
+                    callback.getExitoso());
+            estado = EstadoCallbackPasarela.PROCESADO;
+            detalle = "Pago " + pago.getEstado();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            estado = EstadoCallbackPasarela.DESCARTADO;
+            detalle = e.getMessage();
+            log.warn("Aviso de pasarela {} descartado: {}", callback.getNumeroTransaccion(), e.getMessage());
+        } catch (RuntimeException e) {
+            estado = EstadoCallbackPasarela.ERROR;
+            detalle = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.warn("Error procesando el aviso de pasarela {} (intento {}): {}",
+                    callback.getNumeroTransaccion(), callback.getIntentos(), e.getMessage());
+        }
+
+        EstadoCallbackPasarela estadoFinal = estado;
+        String detalleFinal = detalle != null && detalle.length() > 500 ? detalle.substring(0, 500) : detalle;
+        transactionTemplate.executeWithoutResult(status ->
+                callbackPasarelaRepository.finalizar(callbackId, estadoFinal, detalleFinal, LocalDateTime.now()));
+        contar(estadoFinal.name().toLowerCase());
+    }
+
+    /**
+     * Reintenta los avisos que no llegaron a procesarse: cola llena, error
+     * transitorio o nodo detenido a mitad del procesamiento
+     */
+    @Scheduled(fixedDelayString = "${sigelic.pasarela.reintento.intervalo:PT1M}",
+               initialDelayString = "${sigelic.pasarela.reintento.intervalo:PT1M}")
+    public void reintentarPendientes() {
+        LocalDateTime ahora = LocalDateTime.now();
+        Integer abandonados = transactionTemplate.execute(status ->
+                callbackPasarelaRepository.liberarAbandonados(ahora.minus(limiteAbandono), ahora));
+        if (abandonados != null && abandonados > 0) {
+            log.warn("{} avisos de pasarela quedaron en proceso sin terminar y se reintentarán", abandonados);
+        }
+
+        List<Long> pendientes = callbackPasarelaRepository.findIdsPendientes(ahora.minus(demoraReintento), maximoIntentos);
+        if (!pendientes.isEmpty()) {
+            log.info("Reintentando {} avisos de pasarela pendientes", pendientes.size());
+            pendientes.forEach(this::procesar);
+        }
+    }
+
+    private void contar(String resultado) {
+        meterRegistry.counter(METRICA, "resultado", resultado).increment();
+    }
+}
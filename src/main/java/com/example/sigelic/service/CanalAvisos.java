@@ -0,0 +1,32 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.TipoAvisoVencimiento;
+
+import java.util.List;
+
+/**
+ * Destino de los avisos de vencimiento (archivo, correo, cola local).
+ *
+ * Se elige con sigelic.avisos.canal. enviar recibe un lote completo ya registrado
+ * como pendiente en avisos_vencimiento y se ejecuta fuera de toda transacción: si
+ * lanza una excepción, el lote sigue pendiente y se vuelve a intentar en la
+ * próxima ejecución.
+ */
+public interface CanalAvisos {
+
+    /**
+     * Aviso ya compuesto, listo para entregar
+     */
+    record Aviso(TipoAvisoVencimiento tipo, Long referenciaId, String destino, String asunto, String cuerpo) {
+    }
+
+    /**
+     * Nombre del canal, registrado junto con cada aviso
+     */
+    String nombre();
+
+    /**
+     * Entrega un lote de avisos
+     */
+    void enviar(List<Aviso> avisos);
+}
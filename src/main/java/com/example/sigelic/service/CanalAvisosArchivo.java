@@ -0,0 +1,56 @@
+package com.example.sigelic.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Canal de avisos que agrega cada lote a un archivo, un aviso JSON por línea, para
+ * que lo retome un proceso externo de envío
+ */
+@Component
+@ConditionalOnProperty(name = "sigelic.avisos.canal", havingValue = "archivo")
+public class CanalAvisosArchivo implements CanalAvisos {
+
+    private final ObjectMapper objectMapper;
+    private final Path archivo;
+
+    public CanalAvisosArchivo(ObjectMapper objectMapper,
+                              @Value("${sigelic.avisos.archivo.ruta:avisos/avisos-vencimiento.ndjson}") Path archivo) {
+        this.objectMapper = objectMapper;
+        this.archivo = archivo;
+    }
+
+    @Override
+    public String nombre() {
+        return "archivo";
+    }
+
+    @Override
+    public synchronized void enviar(List<Aviso> avisos) {
+        try {
+            if (archivo.getParent() != null) {
+                Files.createDirectories(archivo.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Aviso aviso : avisos) {
+                    writer.write(objectMapper.writeValueAsString(aviso));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el archivo de avisos " + archivo, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.sigelic.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canal de avisos sobre una cola local acotada, consumida por otro componente del
+ * mismo proceso. Si la cola no tiene lugar para el lote completo el envío espera;
+ * si no se libera lugar a tiempo falla y el lote se reintenta en la próxima ejecución
+ */
+@Component
+@ConditionalOnProperty(name = "sigelic.avisos.canal", havingValue = "cola")
+public class CanalAvisosCola implements CanalAvisos {
+
+    private final BlockingQueue<Aviso> cola;
+    private final Duration espera;
+
+    public CanalAvisosCola(@Value("${sigelic.avisos.cola.capacidad:10000}") int capacidad,
+                           @Value("${sigelic.avisos.cola.espera:PT30S}") Duration espera) {
+        this.cola = new LinkedBlockingQueue<>(capacidad);
+        this.espera = espera;
+    }
+
+    @Override
+    public String nombre() {
+        return "cola";
+    }
+
+    @Override
+    public synchronized void enviar(List<Aviso> avisos) {
+        // El lote entra completo o no entra: si fallara a mitad de camino, el lote
+        // seguiría pendiente y los avisos ya encolados se repetirían
+        long limite = System.nanoTime() + espera.toNanos();
+        try {
+            while (cola.remainingCapacity() < avisos.size()) {
+                if (System.nanoTime() - limite > 0) {
+                    throw new IllegalStateException("Cola de avisos llena");
+                }
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Envío de avisos interrumpido", e);
+        }
+        cola.addAll(avisos);
+    }
+
+    /**
+     * Retira hasta "maximo" avisos pendientes sin esperar
+     */
+    public List<Aviso> tomar(int maximo) {
+        List<Aviso> avisos = new ArrayList<>();
+        cola.drainTo(avisos, maximo);
+        return avisos;
+    }
+}
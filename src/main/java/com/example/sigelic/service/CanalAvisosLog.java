@@ -0,0 +1,29 @@
+package com.example.sigelic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Canal de avisos que reemplaza al envío por correo: registra cada aviso en el log
+ * con su destinatario y asunto
+ */
+@Component
+@ConditionalOnProperty(name = "sigelic.avisos.canal", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class CanalAvisosLog implements CanalAvisos {
+
+    @Override
+    public String nombre() {
+        return "log";
+    }
+
+    @Override
+    public void enviar(List<Aviso> avisos) {
+        for (Aviso aviso : avisos) {
+            log.info("Aviso de vencimiento a {}: {}", aviso.destino(), aviso.asunto());
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO;
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO.Discrepancia;
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO.TipoDiscrepancia;
+import com.example.sigelic.event.PagoModificadoEvent;
+import com.example.sigelic.event.TramiteEstadoCambiadoEvent;
+import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.model.EstadoTramite;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de conciliación bancaria de pagos.
+ *
+ * Lee el archivo de liquidación línea por línea y lo cruza contra los pagos
+ * pendientes, cargados una sola vez en memoria e indexados por número de
+ * transacción y por número de comprobante. Las coincidencias se acreditan en
+ * lotes, cada uno en su propia transacción, junto con el avance de los trámites
+ * asociados. Las líneas que no concilian se devuelven como discrepancias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConciliacionService {
+
+    /**
+     * Formatos de archivo de liquidación soportados.
+     * <ul>
+     *   <li>CSV: referencia, monto, fecha y comprobante (opcional), separados por ";" o ",".
+     *       Con ";" el monto admite coma decimal; la fecha va como yyyy-MM-dd o dd/MM/yyyy.
+     *       Una primera línea con monto no numérico se toma como encabezado</li>
+     *   <li>ANCHO_FIJO: referencia (posiciones 1-30), monto en centavos (31-45),
+     *       fecha yyyyMMdd (46-53) y comprobante (54-83, opcional)</li>
+     * </ul>
+     */
+    public enum Formato {
+        CSV,
+        ANCHO_FIJO
+    }
+
+    private static final DateTimeFormatter FECHA_BARRAS = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter FECHA_COMPACTA = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * Estados finales de trámite que la acreditación no modifica (ver Tramite.actualizarEstado)
+     */
+    private static final String ESTADOS_FINALES = Arrays.stream(EstadoTramite.values())
+            .filter(EstadoTramite::esFinal)
+            .map(estado -> "'" + estado.name() + "'")
+            .collect(Collectors.joining(", "));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${sigelic.conciliacion.lote:500}")
+    private int tamanioLote;
+
+    /**
+     * Concilia un archivo de liquidación contra los pagos pendientes
+     *
+     * @param lector contenido del archivo
+     * @param formato formato de las líneas
+     * @param operador usuario que registra la conciliación (queda como cajero del pago)
+     */
+    @Timed("sigelic.pago.conciliacion")
+    public ConciliacionResultadoDTO conciliar(Reader lector, Formato formato, String operador) {
+        long inicio = System.nanoTime();
+        PagosPendientes pendientes = cargarPagosPendientes();
+        Acumulado acumulado = new Acumulado();
+        List<Coincidencia> lote = new ArrayList<>(tamanioLote);
+        Set<String> referenciasConciliadas = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(lector, 64 * 1024)) {
+            String texto;
+            long numeroLinea = 0;
+            while ((texto = reader.readLine()) != null) {
+                numeroLinea++;
+                if (texto.isBlank()) {
+                    continue;
+                }
+                acumulado.lineasLeidas++;
+
+                Linea linea;
+                try {
+                    linea = formato == Formato.CSV ? parsearCsv(texto) : parsearAnchoFijo(texto);
+                } catch (RuntimeException e) {
+                    if (numeroLinea == 1 && formato == Formato.CSV) {
+                        acumulado.lineasLeidas--; // encabezado
+                        continue;
+                    }
+                    acumulado.discrepancias.add(discrepancia(numeroLinea, TipoDiscrepancia.LINEA_INVALIDA, null, null)
+                            .detalle(e.getMessage())
+                            .build());
+                    continue;
+                }
+
+                PagoPendiente pago = pendientes.buscar(linea.referencia());
+                TipoDiscrepancia problema = null;
+                if (pago == null) {
+                    problema = referenciasConciliadas.contains(linea.referencia())
+                            ? TipoDiscrepancia.REFERENCIA_DUPLICADA
+                            : TipoDiscrepancia.SIN_PAGO_PENDIENTE;
+                } else if (pago.monto().compareTo(linea.monto()) != 0) {
+                    problema = TipoDiscrepancia.MONTO_DISTINTO;
+                } else if (linea.fecha() != null && pago.fechaVencimiento() != null
+                        && linea.fecha().isAfter(pago.fechaVencimiento().toLocalDate())) {
+                    problema = TipoDiscrepancia.PAGO_VENCIDO;
+                }
+
+                if (problema != null) {
+                    acumulado.discrepancias.add(discrepancia(numeroLinea, problema, linea, pago).build());
+                    continue;
+                }
+
+                pendientes.quitar(pago);
+                referenciasConciliadas.add(linea.referencia());
+                lote.add(new Coincidencia(numeroLinea, linea, pago));
+                if (lote.size() >= tamanioLote) {
+                    acreditarLote(lote, operador, acumulado);
+                    lote.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el archivo de conciliación", e);
+        }
+        if (!lote.isEmpty()) {
+            acreditarLote(lote, operador, acumulado);
+        }
+
+        long duracionMs = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+        log.info("Conciliación {}: {} líneas, {} pagos acreditados (${}), {} discrepancias en {} ms",
+                formato, acumulado.lineasLeidas, acumulado.pagosAcreditados, acumulado.montoAcreditado,
+                acumulado.discrepancias.size(), duracionMs);
+
+        return ConciliacionResultadoDTO.builder()
+                .lineasLeidas(acumulado.lineasLeidas)
+                .pagosAcreditados(acumulado.pagosAcreditados)
+                .montoAcreditado(acumulado.montoAcreditado)
+                .tramitesActualizados(acumulado.tramitesActualizados)
+                .duracionMs(duracionMs)
+                .discrepancias(Collections.unmodifiableList(acumulado.discrepancias))
+                .build();
+    }
+
+    /**
+     * Carga los pagos pendientes indexados por número de transacción y de comprobante
+     */
+    private PagosPendientes cargarPagosPendientes() {
+        PagosPendientes pendientes = new PagosPendientes();
+        jdbcTemplate.query(
+            "SELECT id, tramite_id, numero_transaccion, numero_comprobante, monto, fecha_vencimiento "
+                + "FROM pagos WHERE estado = ?",
+            rs -> {
+                Timestamp vencimiento = rs.getTimestamp("fecha_vencimiento");
+                pendientes.agregar(new PagoPendiente(
+                    rs.getLong("id"),
+                    rs.getLong("tramite_id"),
+                    rs.getString("numero_transaccion"),
+                    rs.getString("numero_comprobante"),
+                    rs.getBigDecimal("monto"),
+                    vencimiento != null ? vencimiento.toLocalDateTime() : null));
+            },
+            EstadoPago.PENDIENTE.name());
+        return pendientes;
+    }
+
+    /**
+     * Acredita un lote de coincidencias y avanza sus trámites en una única transacción.
+     * Un pago que dejó de estar pendiente mientras tanto no se acredita y se informa
+     */
+    private void acreditarLote(List<Coincidencia> lote, String operador, Acumulado acumulado) {
+        List<TramiteEstadoCambiadoEvent> eventos = new ArrayList<>();
+        long acreditadosAntes = acumulado.pagosAcreditados;
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+            int[][] resultados = jdbcTemplate.batchUpdate(
+                "UPDATE pagos SET estado = ?, fecha_acreditacion = ?, "
+                    + "numero_comprobante = COALESCE(numero_comprobante, ?), cajero = ?, observaciones = ? "
+                    + "WHERE id = ? AND estado = ?",
+                lote, lote.size(), (ps, coincidencia) -> {
+                    ps.setString(1, EstadoPago.ACREDITADO.name());
+                    ps.setTimestamp(2, ahora);
+                    ps.setString(3, coincidencia.linea().comprobante());
+                    ps.setString(4, operador);
+                    ps.setString(5, "Conciliación bancaria - línea " + coincidencia.numeroLinea());
+                    ps.setLong(6, coincidencia.pago().id());
+                    ps.setString(7, EstadoPago.PENDIENTE.name());
+                });
+
+            Set<Long> tramiteIds = new LinkedHashSet<>();
+            int indice = 0;
+            for (int[] resultadoLote : resultados) {
+                for (int filas : resultadoLote) {
+                    Coincidencia coincidencia = lote.get(indice++);
+                    // SUCCESS_NO_INFO (-2) cuenta como actualizada
+                    if (filas == 0) {
+                        acumulado.discrepancias.add(discrepancia(coincidencia.numeroLinea(),
+                                TipoDiscrepancia.MODIFICADO_CONCURRENTEMENTE, coincidencia.linea(), coincidencia.pago()).build());
+                        continue;
+                    }
+                    acumulado.pagosAcreditados++;
+                    acumulado.montoAcreditado = acumulado.montoAcreditado.add(coincidencia.pago().monto());
+                    tramiteIds.add(coincidencia.pago().tramiteId());
+                }
+            }
+            if (!tramiteIds.isEmpty()) {
+                acumulado.tramitesActualizados += avanzarTramites(tramiteIds, ahora, eventos);
+            }
+        });
+        // Se publican después del commit: los listeners transaccionales usan fallbackExecution
+        eventos.forEach(eventPublisher::publishEvent);
+        if (acumulado.pagosAcreditados > acreditadosAntes) {
+            eventPublisher.publishEvent(new PagoModificadoEvent(null, EstadoPago.ACREDITADO));
+        }
+    }
+
+    /**
+     * Marca el pago acreditado en los trámites y aplica la misma transición que
+     * Tramite.actualizarEstado(): todo estado no final pasa a PAGO_OK. Incrementa
+     * la versión para que las copias en memoria desactualizadas fallen al guardarse
+     */
+    private int avanzarTramites(Set<Long> tramiteIds, Timestamp ahora, List<TramiteEstadoCambiadoEvent> eventos) {
+        String marcadores = String.join(", ", Collections.nCopies(tramiteIds.size(), "?"));
+        Object[] ids = tramiteIds.toArray();
+
+        Map<Long, EstadoTramite> estadosAnteriores = new HashMap<>();
+        jdbcTemplate.query("SELECT id, estado FROM tramites WHERE id IN (" + marcadores + ")",
+                rs -> {
+                    estadosAnteriores.put(rs.getLong("id"), EstadoTramite.valueOf(rs.getString("estado")));
+                }, ids);
+
+        Object[] parametros = new Object[ids.length + 1];
+        parametros[0] = ahora;
+        System.arraycopy(ids, 0, parametros, 1, ids.length);
+        int actualizados = jdbcTemplate.update(
+            "UPDATE tramites SET pago_acreditado = TRUE, "
+                + "estado = CASE WHEN estado IN (" + ESTADOS_FINALES + ") THEN estado ELSE '" + EstadoTramite.PAGO_OK.name() + "' END, "
+                + "version = version + 1, fecha_actualizacion = ? "
+                + "WHERE id IN (" + marcadores + ")",
+            parametros);
+
+        estadosAnteriores.forEach((tramiteId, anterior) -> {
+            if (!anterior.esFinal() && anterior != EstadoTramite.PAGO_OK) {
+                eventos.add(new TramiteEstadoCambiadoEvent(tramiteId, anterior, EstadoTramite.PAGO_OK));
+            }
+        });
+        return actualizados;
+    }
+
+    static Linea parsearCsv(String texto) {
+        char separador = texto.indexOf(';') >= 0 ? ';' : ',';
+        String[] campos = texto.split(String.valueOf(separador), -1);
+        if (campos.length < 2) {
+            throw new IllegalArgumentException("Se esperaban al menos referencia y monto");
+        }
+        String montoTexto = campos[1].trim();
+        if (separador == ';' && montoTexto.indexOf(',') >= 0) {
+            montoTexto = montoTexto.replace(".", "").replace(',', '.');
+        }
+        BigDecimal monto;
+        try {
+            monto = new BigDecimal(montoTexto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Monto inválido: " + campos[1].trim());
+        }
+        LocalDate fecha = campos.length > 2 ? parsearFecha(campos[2].trim()) : null;
+        String comprobante = campos.length > 3 ? vacioComoNulo(campos[3].trim()) : null;
+        return new Linea(referencia(campos[0]), monto, fecha, comprobante);
+    }
+
+    static Linea parsearAnchoFijo(String texto) {
+        if (texto.length() < 53) {
+            throw new IllegalArgumentException("Longitud de línea insuficiente: " + texto.length());
+        }
+        BigDecimal monto;
+        try {
+            monto = BigDecimal.valueOf(Long.parseLong(texto.substring(30, 45).trim()), 2);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Monto inválido: " + texto.substring(30, 45).trim());
+        }
+        LocalDate fecha = parsearFecha(texto.substring(45, 53).trim());
+        String comprobante = texto.length() > 53
+                ? vacioComoNulo(texto.substring(53, Math.min(texto.length(), 83)).trim())
+                : null;
+        return new Linea(referencia(texto.substring(0, 30)), monto, fecha, comprobante);
+    }
+
+    private static String referencia(String campo) {
+        String referencia = campo.trim();
+        if (referencia.isEmpty()) {
+            throw new IllegalArgumentException("Referencia vacía");
+        }
+        return referencia;
+    }
+
+    private static LocalDate parsearFecha(String texto) {
+        if (texto.isEmpty()) {
+            return null;
+        }
+        try {
+            if (texto.indexOf('/') >= 0) {
+                return LocalDate.parse(texto, FECHA_BARRAS);
+            }
+            return texto.indexOf('-') >= 0 ? LocalDate.parse(texto) : LocalDate.parse(texto, FECHA_COMPACTA);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida: " + texto);
+        }
+    }
+
+    private static String vacioComoNulo(String texto) {
+        return texto.isEmpty() ? null : texto;
+    }
+
+    private static Discrepancia.DiscrepanciaBuilder discrepancia(long numeroLinea, TipoDiscrepancia tipo,
+                                                                 Linea linea, PagoPendiente pago) {
+        return Discrepancia.builder()
+                .linea(numeroLinea)
+                .tipo(tipo)
+                .referencia(linea != null ? linea.referencia() : null)
+                .montoInformado(linea != null ? linea.monto() : null)
+                .fecha(linea != null ? linea.fecha() : null)
+                .montoEsperado(pago != null ? pago.monto() : null)
+                .pagoId(pago != null ? pago.id() : null)
+                .detalle(tipo.getDescripcion());
+    }
+
+    /**
+     * Línea del archivo de liquidación
+     */
+    record Linea(String referencia, BigDecimal monto, LocalDate fecha, String comprobante) {
+    }
+
+    private record PagoPendiente(long id, long tramiteId, String numeroTransaccion, String numeroComprobante,
+                                 BigDecimal monto, LocalDateTime fechaVencimiento) {
+    }
+
+    private record Coincidencia(long numeroLinea, Linea linea, PagoPendiente pago) {
+    }
+
+    /**
+     * Índices en memoria de los pagos pendientes (lado "build" del hash join)
+     */
+    private static final class PagosPendientes {
+
+        private final Map<String, PagoPendiente> porTransaccion = new HashMap<>();
+        private final Map<String, PagoPendiente> porComprobante = new HashMap<>();
+
+        void agregar(PagoPendiente pago) {
+            if (pago.numeroTransaccion() != null) {
+                porTransaccion.put(pago.numeroTransaccion(), pago);
+            }
+            if (pago.numeroComprobante() != null) {
+                porComprobante.put(pago.numeroComprobante(), pago);
+            }
+        }
+
+        PagoPendiente buscar(String referencia) {
+            PagoPendiente pago = porTransaccion.get(referencia);
+            return pago != null ? pago : porComprobante.get(referencia);
+        }
+
+        void quitar(PagoPendiente pago) {
+            if (pago.numeroTransaccion() != null) {
+                porTransaccion.remove(pago.numeroTransaccion());
+            }
+            if (pago.numeroComprobante() != null) {
+                porComprobante.remove(pago.numeroComprobante());
+            }
+        }
+    }
+
+    private static final class Acumulado {
+        long lineasLeidas;
+        long pagosAcreditados;
+        BigDecimal montoAcreditado = BigDecimal.ZERO;
+        long tramitesActualizados;
+        final List<Discrepancia> discrepancias = new ArrayList<>();
+    }
+}
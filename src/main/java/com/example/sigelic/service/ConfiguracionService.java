@@ -2,14 +2,22 @@ package com.example.sigelic.service;
 
 import com.example.sigelic.model.Configuracion;
 import com.example.sigelic.repository.ConfiguracionRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -21,7 +29,41 @@ import java.util.stream.Collectors;
 @Transactional
 public class ConfiguracionService {
 
+    static final String SEMILLA = "configuracion";
+    private static final String REGION_CONSULTAS = "sigelic-consultas-referencia";
+
+    private static final List<ConfiguracionPorDefecto> CONFIGURACIONES_POR_DEFECTO = List.of(
+        // Configuración General
+        new ConfiguracionPorDefecto("sistema.nombre", "SIGELIC - Sistema de Gestión de Licencias",
+            "Nombre del sistema", "GENERAL", Configuracion.TipoConfiguracion.TEXT),
+        new ConfiguracionPorDefecto("sistema.url", "http://localhost:8080",
+            "URL base del sistema", "GENERAL", Configuracion.TipoConfiguracion.URL),
+        new ConfiguracionPorDefecto("contacto.email", "contacto@sigelic.gov.ar",
+            "Email de contacto", "GENERAL", Configuracion.TipoConfiguracion.EMAIL),
+        new ConfiguracionPorDefecto("contacto.telefono", "+54 342 4573000",
+            "Teléfono de contacto", "GENERAL", Configuracion.TipoConfiguracion.PHONE),
+
+        // Configuración de Seguridad
+        new ConfiguracionPorDefecto("seguridad.max_intentos_fallidos", "3",
+            "Máximo de intentos fallidos antes de bloquear cuenta", "SEGURIDAD", Configuracion.TipoConfiguracion.INTEGER),
+        new ConfiguracionPorDefecto("seguridad.tiempo_bloqueo_minutos", "30",
+            "Tiempo de bloqueo en minutos", "SEGURIDAD", Configuracion.TipoConfiguracion.INTEGER),
+        new ConfiguracionPorDefecto("seguridad.duracion_sesion_minutos", "60",
+            "Duración de sesión en minutos", "SEGURIDAD", Configuracion.TipoConfiguracion.INTEGER),
+        new ConfiguracionPorDefecto("seguridad.cambio_password_obligatorio", "true",
+            "Requerir cambio de contraseña en primer acceso", "SEGURIDAD", Configuracion.TipoConfiguracion.BOOLEAN),
+
+        // Configuración de Licencias
+        new ConfiguracionPorDefecto("licencias.validez_anos", "5",
+            "Años de validez por defecto para nuevas licencias", "LICENCIAS", Configuracion.TipoConfiguracion.INTEGER),
+        new ConfiguracionPorDefecto("licencias.dias_aviso_vencimiento", "90",
+            "Días antes del vencimiento para notificar", "LICENCIAS", Configuracion.TipoConfiguracion.INTEGER)
+    );
+
     private final ConfiguracionRepository configuracionRepository;
+    private final SemillaService semillaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * Obtiene todas las configuraciones
@@ -166,107 +208,52 @@ public class ConfiguracionService {
     }
 
     /**
-     * Inicializa las configuraciones por defecto si no existen
+     * Inicializa las configuraciones por defecto que falten.
+     *
+     * Si las definiciones no cambiaron desde la última siembra, el arranque la omite
+     * con una única consulta. Si cambiaron, lee las claves existentes de una vez e
+     * inserta las faltantes en una sola sentencia
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void inicializarConfiguracionesPorDefecto() {
         log.info("Inicializando configuraciones por defecto del sistema");
-        
-        // Configuración General
-        crearConfiguracionSiNoExiste(
-            "sistema.nombre", 
-            "SIGELIC - Sistema de Gestión de Licencias", 
-            "Nombre del sistema", 
-            "GENERAL", 
-            Configuracion.TipoConfiguracion.TEXT
-        );
-        
-        crearConfiguracionSiNoExiste(
-            "sistema.url", 
-            "http://localhost:8080", 
-            "URL base del sistema", 
-            "GENERAL", 
-            Configuracion.TipoConfiguracion.URL
-        );
-        
-        crearConfiguracionSiNoExiste(
-            "contacto.email", 
-            "contacto@sigelic.gov.ar", 
-            "Email de contacto", 
-            "GENERAL", 
-            Configuracion.TipoConfiguracion.EMAIL
-        );
-        
-        crearConfiguracionSiNoExiste(
-            "contacto.telefono", 
-            "+54 342 4573000", 
-            "Teléfono de contacto", 
-            "GENERAL", 
-            Configuracion.TipoConfiguracion.PHONE
-        );
-
-        // Configuración de Seguridad
-        crearConfiguracionSiNoExiste(
-            "seguridad.max_intentos_fallidos", 
-            "3", 
-            "Máximo de intentos fallidos antes de bloquear cuenta", 
-            "SEGURIDAD", 
-            Configuracion.TipoConfiguracion.INTEGER
-        );
-        
-        crearConfiguracionSiNoExiste(
-            "seguridad.tiempo_bloqueo_minutos", 
-            "30", 
-            "Tiempo de bloqueo en minutos", 
-            "SEGURIDAD", 
-            Configuracion.TipoConfiguracion.INTEGER
-        );
-        
-        crearConfiguracionSiNoExiste(
-            "seguridad.duracion_sesion_minutos", 
-            "60", 
-            "Duración de sesión en minutos", 
-            "SEGURIDAD", 
-            Configuracion.TipoConfiguracion.INTEGER
-        );
-        
-        crearConfiguracionSiNoExiste(
-            "seguridad.cambio_password_obligatorio", 
-            "true", 
-            "Requerir cambio de contraseña en primer acceso", 
-            "SEGURIDAD", 
-            Configuracion.TipoConfiguracion.BOOLEAN
-        );
 
-        // Configuración de Licencias
-        crearConfiguracionSiNoExiste(
-            "licencias.validez_anos", 
-            "5", 
-            "Años de validez por defecto para nuevas licencias", 
-            "LICENCIAS", 
-            Configuracion.TipoConfiguracion.INTEGER
-        );
-        
-        crearConfiguracionSiNoExiste(
-            "licencias.dias_aviso_vencimiento", 
-            "90", 
-            "Días antes del vencimiento para notificar", 
-            "LICENCIAS", 
-            Configuracion.TipoConfiguracion.INTEGER
-        );
+        boolean sembradas = semillaService.aplicar(SEMILLA, SemillaService.checksum(CONFIGURACIONES_POR_DEFECTO),
+                this::crearConfiguracionesFaltantes);
+        if (sembradas) {
+            // Los inserts por JDBC no invalidan las consultas cacheadas de claves inexistentes
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(REGION_CONSULTAS);
+        }
 
         log.info("Configuraciones por defecto inicializadas correctamente");
     }
 
+    private void crearConfiguracionesFaltantes() {
+        Set<String> existentes = configuracionRepository.findAllClaves();
+        List<ConfiguracionPorDefecto> faltantes = CONFIGURACIONES_POR_DEFECTO.stream()
+                .filter(configuracion -> !existentes.contains(configuracion.clave()))
+                .toList();
+        if (faltantes.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO configuracion (clave, valor, descripcion, categoria, tipo, "
+                + "modificable, actualizado_por, fecha_creacion) VALUES ");
+        List<Object> parametros = new ArrayList<>();
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        for (ConfiguracionPorDefecto configuracion : faltantes) {
+            sql.append(parametros.isEmpty() ? "" : ", ").append("(?, ?, ?, ?, ?, TRUE, 'SYSTEM', ?)");
+            parametros.addAll(List.of(configuracion.clave(), configuracion.valor(), configuracion.descripcion(),
+                    configuracion.categoria(), configuracion.tipo().name(), ahora));
+        }
+        jdbcTemplate.update(sql.toString(), parametros.toArray());
+        log.info("Configuraciones por defecto creadas: {}", faltantes.stream().map(ConfiguracionPorDefecto::clave).toList());
+    }
+
     /**
-     * Crea una configuración si no existe
+     * Definición de una configuración por defecto
      */
-    private void crearConfiguracionSiNoExiste(String clave, String valor, String descripcion, 
-                                            String categoria, Configuracion.TipoConfiguracion tipo) {
-        if (!configuracionRepository.existsByClave(clave)) {
-            Configuracion config = new Configuracion(clave, valor, descripcion, categoria, tipo);
-            config.setActualizadoPor("SYSTEM");
-            configuracionRepository.save(config);
-            log.debug("Configuración creada: {} = {}", clave, valor);
-        }
+    private record ConfiguracionPorDefecto(String clave, String valor, String descripcion, String categoria,
+                                           Configuracion.TipoConfiguracion tipo) {
     }
 }
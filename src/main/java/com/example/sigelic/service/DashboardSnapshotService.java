@@ -0,0 +1,202 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
+import com.example.sigelic.event.ExamenModificadoEvent;
+import com.example.sigelic.event.LicenciaModificadaEvent;
+import com.example.sigelic.event.PagoModificadoEvent;
+import com.example.sigelic.event.TramiteEstadoCambiadoEvent;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.repository.InhabilitacionRepository;
+import com.example.sigelic.repository.LicenciaRepository;
+import com.example.sigelic.repository.TramiteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Servicio que mantiene una instantánea compartida de los indicadores del dashboard.
+ *
+ * Los indicadores se recalculan en segundo plano, una sola vez para todos los
+ * operadores, cuando vence el intervalo configurado o cuando llega un evento de
+ * dominio que los invalida. Las vistas abiertas se suscriben y reciben cada
+ * nueva instantánea sin volver a consultar la base de datos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshotService {
+
+    private static final Set<EstadoTramite> ESTADOS_ACTIVOS = Set.of(
+        EstadoTramite.INICIADO, EstadoTramite.DOCS_OK, EstadoTramite.APTO_MED,
+        EstadoTramite.EX_TEO_OK, EstadoTramite.EX_PRA_OK, EstadoTramite.PAGO_OK
+    );
+
+    private final TramiteRepository tramiteRepository;
+    private final LicenciaRepository licenciaRepository;
+    private final InhabilitacionRepository inhabilitacionRepository;
+    private final ExamenService examenService;
+    private final PagoService pagoService;
+
+    @Value("${sigelic.dashboard.intervalo-refresco:PT1M}")
+    private Duration intervaloRefresco;
+
+    @Value("${sigelic.dashboard.dias-proximos-vencer:30}")
+    private int diasProximosAVencer;
+
+    private final AtomicReference<DashboardSnapshotDTO> snapshot = new AtomicReference<>();
+    private final AtomicBoolean invalidado = new AtomicBoolean(true);
+    private final AtomicLong secuencia = new AtomicLong();
+    private final ReentrantLock lockRecalculo = new ReentrantLock();
+    private final Set<Consumer<DashboardSnapshotDTO>> suscriptores = new CopyOnWriteArraySet<>();
+
+    /**
+     * Obtiene la instantánea vigente, calculándola si todavía no existe
+     */
+    public DashboardSnapshotDTO getSnapshot() {
+        DashboardSnapshotDTO actual = snapshot.get();
+        return actual != null ? actual : recalcular();
+    }
+
+    /**
+     * Suscribe un consumidor a las nuevas instantáneas.
+     *
+     * @return acción que cancela la suscripción
+     */
+    public Runnable suscribir(Consumer<DashboardSnapshotDTO> suscriptor) {
+        suscriptores.add(suscriptor);
+        return () -> suscriptores.remove(suscriptor);
+    }
+
+    /**
+     * Marca la instantánea como desactualizada cuando un trámite cambia de estado.
+     * El recálculo lo realiza la tarea programada, agrupando ráfagas de eventos
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTramiteEstadoCambiado(TramiteEstadoCambiadoEvent event) {
+        invalidado.set(true);
+    }
+
+    /**
+     * Marca la instantánea como desactualizada cuando se crea una licencia o cambia su estado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLicenciaModificada(LicenciaModificadaEvent event) {
+        invalidado.set(true);
+    }
+
+    /**
+     * Marca la instantánea como desactualizada cuando se registra, acredita o vence un pago
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPagoModificado(PagoModificadoEvent event) {
+        invalidado.set(true);
+    }
+
+    /**
+     * Marca la instantánea como desactualizada cuando se registra o elimina un examen
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamenModificado(ExamenModificadoEvent event) {
+        invalidado.set(true);
+    }
+
+    /**
+     * Tarea programada que recalcula la instantánea si fue invalidada por un evento
+     * o si superó el intervalo de refresco configurado
+     */
+    @Scheduled(fixedDelayString = "${sigelic.dashboard.intervalo-verificacion:PT2S}", initialDelayString = "${sigelic.dashboard.intervalo-verificacion:PT2S}")
+    public void recalcularSiCorresponde() {
+        DashboardSnapshotDTO actual = snapshot.get();
+        boolean vencida = actual == null
+                || actual.getGeneradoEn().plus(intervaloRefresco).isBefore(LocalDateTime.now());
+        if (invalidado.get() || vencida) {
+            recalcular();
+        }
+    }
+
+    /**
+     * Recalcula la instantánea y la publica a los suscriptores.
+     * Si otro hilo ya está recalculando, espera y devuelve su resultado
+     */
+    public DashboardSnapshotDTO recalcular() {
+        long secuenciaAntes = secuencia.get();
+        lockRecalculo.lock();
+        try {
+            DashboardSnapshotDTO actual = snapshot.get();
+            if (actual != null && secuencia.get() != secuenciaAntes) {
+                return actual;
+            }
+            invalidado.set(false);
+            DashboardSnapshotDTO nuevo = calcular();
+            snapshot.set(nuevo);
+            notificar(nuevo);
+            return nuevo;
+        } finally {
+            lockRecalculo.unlock();
+        }
+    }
+
+    private DashboardSnapshotDTO calcular() {
+        long inicio = System.nanoTime();
+        LocalDate hoy = LocalDate.now();
+
+        Map<EstadoTramite, Long> tramitesPorEstado = new EnumMap<>(EstadoTramite.class);
+        for (Object[] fila : tramiteRepository.countAgrupadosPorEstado()) {
+            tramitesPorEstado.put((EstadoTramite) fila[0], (Long) fila[1]);
+        }
+        long tramitesActivos = tramitesPorEstado.entrySet().stream()
+                .filter(entry -> ESTADOS_ACTIVOS.contains(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+
+        DashboardSnapshotDTO nuevo = DashboardSnapshotDTO.builder()
+                .secuencia(secuencia.incrementAndGet())
+                .generadoEn(LocalDateTime.now())
+                .tramitesPorEstado(Collections.unmodifiableMap(tramitesPorEstado))
+                .tramitesActivos(tramitesActivos)
+                .licenciasVigentes(valor(licenciaRepository.countByFechaVencimientoAfter(hoy)))
+                .licenciasProximasAVencer(valor(licenciaRepository.countLicenciasProximasAVencer(hoy, hoy.plusDays(diasProximosAVencer))))
+                .licenciasVencidas(valor(licenciaRepository.countLicenciasVencidas(hoy)))
+                .examenesPendientes(examenService.countExamenesPendientes())
+                .pagosPendientes(pagoService.countPagosPendientes())
+                .pagosDelDia(pagoService.getTotalPagosDiarios())
+                .inhabilitacionesActivas(valor(inhabilitacionRepository.countInhabilitacionesActivas()))
+                .recaudacionMesActual(pagoService.getRecaudacionEnPeriodo(hoy.withDayOfMonth(1).atStartOfDay(), LocalDateTime.now()))
+                .build();
+
+        log.debug("Instantánea de dashboard #{} calculada en {} ms",
+                nuevo.getSecuencia(), Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        return nuevo;
+    }
+
+    private void notificar(DashboardSnapshotDTO nuevo) {
+        for (Consumer<DashboardSnapshotDTO> suscriptor : suscriptores) {
+            try {
+                suscriptor.accept(nuevo);
+            } catch (RuntimeException e) {
+                log.warn("Error notificando instantánea de dashboard a un suscriptor: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static long valor(Long cantidad) {
+        return cantidad != null ? cantidad : 0L;
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.sigelic.service;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -14,6 +18,10 @@ import lombok.extern.slf4j.Slf4j;
  * Servicio para inicializar datos del sistema
  * Crea usuarios por defecto si no existen
  * Solo se ejecuta en perfiles que NO sean test
+ *
+ * La siembra se omite si las definiciones de usuarios no cambiaron desde la
+ * última vez que se aplicaron (ver SemillaService); en ese caso el arranque no
+ * consulta usuarios ni vuelve a encriptar contraseñas.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,218 +29,122 @@ import lombok.extern.slf4j.Slf4j;
 @Profile("!test")
 public class DataInitializationService implements CommandLineRunner {
 
+    static final String SEMILLA = "usuarios";
+
+    private static final List<UsuarioPorDefecto> USUARIOS_POR_DEFECTO = List.of(
+        new UsuarioPorDefecto("admin", "Admin123!", "admin@sigelic.gov.ar", "Administrador", "Sistema",
+            RolSistema.ADMINISTRADOR, false, null, null, null),
+        new UsuarioPorDefecto("supervisor", "Super123!", "supervisor@sigelic.gov.ar", "Supervisor", "Sistema",
+            RolSistema.SUPERVISOR, true, null, null, null),
+        new UsuarioPorDefecto("agente", "Agente123!", "agente@sigelic.gov.ar", "Agente", "Sistema",
+            RolSistema.AGENTE, true, null, null, null),
+        new UsuarioPorDefecto("medico", "Medico123!", "medico@sigelic.gov.ar", "Médico", "Sistema",
+            RolSistema.MEDICO, true, null, null, null),
+        new UsuarioPorDefecto("examinador", "Examin123!", "examinador@sigelic.gov.ar", "Examinador", "Sistema",
+            RolSistema.EXAMINADOR, true, null, null, null),
+        new UsuarioPorDefecto("cajero", "Cajero123!", "cajero@sigelic.gov.ar", "Cajero", "Sistema",
+            RolSistema.CAJERO, true, null, null, null),
+        new UsuarioPorDefecto("auditor", "Auditor123!", "auditor@sigelic.gov.ar", "Auditor", "Sistema",
+            RolSistema.AUDITOR, true, null, null, null),
+        // Usuario ciudadano por defecto (para testing)
+        new UsuarioPorDefecto("ciudadano", "Ciudadano123!", "ciudadano@ejemplo.com", "Juan", "Pérez",
+            RolSistema.CIUDADANO, false, "12345678", "3424123456", "Calle Falsa 123, Santa Fe")
+    );
+
+    // Usuarios de migración con sus contraseñas por defecto (pueden tener BCrypt incorrecto)
+    private static final List<PasswordMigracion> PASSWORDS_MIGRACION = List.of(
+        new PasswordMigracion("supervisor", "Super123!"),
+        new PasswordMigracion("agente1", "Agente123!"),
+        new PasswordMigracion("agente2", "Agente123!"),
+        new PasswordMigracion("medico1", "Medico123!"),
+        new PasswordMigracion("medico2", "Medico123!"),
+        new PasswordMigracion("examinador1", "Examinador123!"),
+        new PasswordMigracion("examinador2", "Examinador123!"),
+        new PasswordMigracion("cajero1", "Cajero123!"),
+        new PasswordMigracion("cajero2", "Cajero123!"),
+        new PasswordMigracion("auditor", "Auditor123!")
+    );
+
     private final UsuarioService usuarioService;
+    private final SemillaService semillaService;
 
     @Override
     public void run(String... args) throws Exception {
         log.info("Iniciando inicialización de datos del sistema...");
-        
-        crearUsuariosPorDefecto();
-        
+
+        try {
+            List<Record> definiciones = Stream.<Record>concat(USUARIOS_POR_DEFECTO.stream(), PASSWORDS_MIGRACION.stream())
+                    .toList();
+            semillaService.aplicar(SEMILLA, SemillaService.checksum(definiciones), this::crearUsuariosPorDefecto);
+        } catch (Exception e) {
+            log.error("Error al crear usuarios por defecto: {}", e.getMessage(), e);
+        }
+
         log.info("Inicialización de datos completada.");
     }
 
     /**
-     * Crea usuarios por defecto del sistema
+     * Crea los usuarios por defecto que falten y restablece las contraseñas del
+     * administrador y de los usuarios de migración. Los usuarios existentes se
+     * leen en una única consulta
      */
     private void crearUsuariosPorDefecto() {
-        try {
-            // Crear usuario administrador por defecto
-            if (!usuarioService.existsByUsername("admin")) {
-                Usuario admin = new Usuario();
-                admin.setUsername("admin");
-                admin.setPassword("Admin123!");
-                admin.setEmail("admin@sigelic.gov.ar");
-                admin.setNombre("Administrador");
-                admin.setApellido("Sistema");
-                admin.setRol(RolSistema.ADMINISTRADOR);
-                admin.setActivo(true);
-                admin.setCuentaBloqueada(false);
-                admin.setCambioPasswordRequerido(false);
-                admin.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(admin);
-                log.info("Usuario administrador creado: admin/Admin123!");
-            } else {
-                // El usuario admin ya existe, vamos a actualizar su contraseña por si está incorrecta
-                log.info("Usuario admin ya existe, actualizando contraseña a Admin123!");
-                usuarioService.actualizarPassword("admin", "Admin123!");
-            }
-            
-            // Actualizar contraseñas de usuarios de migración si existen
-            actualizarPasswordsUsuariosMigracion();
-
-            // Crear usuario supervisor por defecto
-            if (!usuarioService.existsByUsername("supervisor")) {
-                Usuario supervisor = new Usuario();
-                supervisor.setUsername("supervisor");
-                supervisor.setPassword("Super123!");
-                supervisor.setEmail("supervisor@sigelic.gov.ar");
-                supervisor.setNombre("Supervisor");
-                supervisor.setApellido("Sistema");
-                supervisor.setRol(RolSistema.SUPERVISOR);
-                supervisor.setActivo(true);
-                supervisor.setCuentaBloqueada(false);
-                supervisor.setCambioPasswordRequerido(true);
-                supervisor.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(supervisor);
-                log.info("Usuario supervisor creado: supervisor/Super123!");
-            }
-
-            // Crear usuario agente por defecto
-            if (!usuarioService.existsByUsername("agente")) {
-                Usuario agente = new Usuario();
-                agente.setUsername("agente");
-                agente.setPassword("Agente123!");
-                agente.setEmail("agente@sigelic.gov.ar");
-                agente.setNombre("Agente");
-                agente.setApellido("Sistema");
-                agente.setRol(RolSistema.AGENTE);
-                agente.setActivo(true);
-                agente.setCuentaBloqueada(false);
-                agente.setCambioPasswordRequerido(true);
-                agente.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(agente);
-                log.info("Usuario agente creado: agente/Agente123!");
-            }
-
-            // Crear usuario médico por defecto
-            if (!usuarioService.existsByUsername("medico")) {
-                Usuario medico = new Usuario();
-                medico.setUsername("medico");
-                medico.setPassword("Medico123!");
-                medico.setEmail("medico@sigelic.gov.ar");
-                medico.setNombre("Médico");
-                medico.setApellido("Sistema");
-                medico.setRol(RolSistema.MEDICO);
-                medico.setActivo(true);
-                medico.setCuentaBloqueada(false);
-                medico.setCambioPasswordRequerido(true);
-                medico.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(medico);
-                log.info("Usuario médico creado: medico/Medico123!");
-            }
+        Set<String> existentes = usuarioService.findUsernamesExistentes(
+                Stream.concat(USUARIOS_POR_DEFECTO.stream().map(UsuarioPorDefecto::username),
+                              PASSWORDS_MIGRACION.stream().map(PasswordMigracion::username))
+                        .distinct()
+                        .toList());
 
-            // Crear usuario examinador por defecto
-            if (!usuarioService.existsByUsername("examinador")) {
-                Usuario examinador = new Usuario();
-                examinador.setUsername("examinador");
-                examinador.setPassword("Examin123!");
-                examinador.setEmail("examinador@sigelic.gov.ar");
-                examinador.setNombre("Examinador");
-                examinador.setApellido("Sistema");
-                examinador.setRol(RolSistema.EXAMINADOR);
-                examinador.setActivo(true);
-                examinador.setCuentaBloqueada(false);
-                examinador.setCambioPasswordRequerido(true);
-                examinador.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(examinador);
-                log.info("Usuario examinador creado: examinador/Examin123!");
-            }
+        // El usuario admin ya existe, se actualiza su contraseña por si está incorrecta
+        if (existentes.contains("admin")) {
+            log.info("Usuario admin ya existe, actualizando contraseña a Admin123!");
+            usuarioService.actualizarPassword("admin", "Admin123!");
+        }
 
-            // Crear usuario cajero por defecto
-            if (!usuarioService.existsByUsername("cajero")) {
-                Usuario cajero = new Usuario();
-                cajero.setUsername("cajero");
-                cajero.setPassword("Cajero123!");
-                cajero.setEmail("cajero@sigelic.gov.ar");
-                cajero.setNombre("Cajero");
-                cajero.setApellido("Sistema");
-                cajero.setRol(RolSistema.CAJERO);
-                cajero.setActivo(true);
-                cajero.setCuentaBloqueada(false);
-                cajero.setCambioPasswordRequerido(true);
-                cajero.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(cajero);
-                log.info("Usuario cajero creado: cajero/Cajero123!");
+        for (PasswordMigracion migracion : PASSWORDS_MIGRACION) {
+            if (existentes.contains(migracion.username())) {
+                log.info("Actualizando contraseña para usuario: {} -> {}", migracion.username(), migracion.password());
+                usuarioService.actualizarPassword(migracion.username(), migracion.password());
             }
+        }
 
-            // Crear usuario auditor por defecto
-            if (!usuarioService.existsByUsername("auditor")) {
-                Usuario auditor = new Usuario();
-                auditor.setUsername("auditor");
-                auditor.setPassword("Auditor123!");
-                auditor.setEmail("auditor@sigelic.gov.ar");
-                auditor.setNombre("Auditor");
-                auditor.setApellido("Sistema");
-                auditor.setRol(RolSistema.AUDITOR);
-                auditor.setActivo(true);
-                auditor.setCuentaBloqueada(false);
-                auditor.setCambioPasswordRequerido(true);
-                auditor.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(auditor);
-                log.info("Usuario auditor creado: auditor/Auditor123!");
+        for (UsuarioPorDefecto usuario : USUARIOS_POR_DEFECTO) {
+            if (!existentes.contains(usuario.username())) {
+                usuarioService.crearUsuario(usuario.crear());
+                log.info("Usuario por defecto creado: {}/{}", usuario.username(), usuario.password());
             }
+        }
+    }
 
-            // Crear usuario ciudadano por defecto (para testing)
-            if (!usuarioService.existsByUsername("ciudadano")) {
-                Usuario ciudadano = new Usuario();
-                ciudadano.setUsername("ciudadano");
-                ciudadano.setPassword("Ciudadano123!");
-                ciudadano.setEmail("ciudadano@ejemplo.com");
-                ciudadano.setNombre("Juan");
-                ciudadano.setApellido("Pérez");
-                ciudadano.setDni("12345678");
-                ciudadano.setTelefono("3424123456");
-                ciudadano.setDireccion("Calle Falsa 123, Santa Fe");
-                ciudadano.setRol(RolSistema.CIUDADANO);
-                ciudadano.setActivo(true);
-                ciudadano.setCuentaBloqueada(false);
-                ciudadano.setCambioPasswordRequerido(false);
-                ciudadano.setCreadoPor("SISTEMA");
-                
-                usuarioService.crearUsuario(ciudadano);
-                log.info("Usuario ciudadano creado: ciudadano/Ciudadano123!");
-            }
+    /**
+     * Definición de un usuario por defecto
+     */
+    private record UsuarioPorDefecto(String username, String password, String email, String nombre, String apellido,
+                                     RolSistema rol, boolean cambioPasswordRequerido,
+                                     String dni, String telefono, String direccion) {
 
-        } catch (Exception e) {
-            log.error("Error al crear usuarios por defecto: {}", e.getMessage(), e);
+        Usuario crear() {
+            Usuario usuario = new Usuario();
+            usuario.setUsername(username);
+            usuario.setPassword(password);
+            usuario.setEmail(email);
+            usuario.setNombre(nombre);
+            usuario.setApellido(apellido);
+            usuario.setDni(dni);
+            usuario.setTelefono(telefono);
+            usuario.setDireccion(direccion);
+            usuario.setRol(rol);
+            usuario.setActivo(true);
+            usuario.setCuentaBloqueada(false);
+            usuario.setCambioPasswordRequerido(cambioPasswordRequerido);
+            usuario.setCreadoPor("SISTEMA");
+            return usuario;
         }
     }
-    
+
     /**
-     * Actualiza las contraseñas de usuarios de migración que pueden tener BCrypt incorrecto
+     * Contraseña por defecto de un usuario de migración
      */
-    private void actualizarPasswordsUsuariosMigracion() {
-        try {
-            log.info("Actualizando contraseñas de usuarios de migración...");
-            
-            // Lista de usuarios de migración con sus nuevas contraseñas por defecto
-            String[][] usuariosMigracion = {
-                {"supervisor", "Super123!"},
-                {"agente1", "Agente123!"},
-                {"agente2", "Agente123!"},
-                {"medico1", "Medico123!"},
-                {"medico2", "Medico123!"},
-                {"examinador1", "Examinador123!"},
-                {"examinador2", "Examinador123!"},
-                {"cajero1", "Cajero123!"},
-                {"cajero2", "Cajero123!"},
-                {"auditor", "Auditor123!"}
-            };
-            
-            for (String[] usuario : usuariosMigracion) {
-                String username = usuario[0];
-                String password = usuario[1];
-                
-                if (usuarioService.existsByUsername(username)) {
-                    log.info("Actualizando contraseña para usuario: {} -> {}", username, password);
-                    usuarioService.actualizarPassword(username, password);
-                } else {
-                    log.debug("Usuario {} no existe, se omite actualización", username);
-                }
-            }
-            
-            log.info("Actualización de contraseñas de migración completada");
-            
-        } catch (Exception e) {
-            log.error("Error al actualizar contraseñas de usuarios de migración: {}", e.getMessage(), e);
-        }
+    private record PasswordMigracion(String username, String password) {
     }
 }
@@ -0,0 +1,117 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.config.CargaReportes;
+import com.example.sigelic.mapper.LicenciaMapper;
+import com.example.sigelic.mapper.TramiteMapper;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.Licencia;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.repository.LicenciaRepository;
+import com.example.sigelic.repository.TramiteRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Descargas completas de trámites y licencias en NDJSON (un JSON por línea).
+ *
+ * Las filas se leen del cursor de la base de a bloques y cada una se escribe en la
+ * salida apenas llega, sin armar la lista completa: la memoria no depende del
+ * tamaño del resultado. Los DTO no leen el titular, que queda como referencia sin
+ * cargar. El contexto de persistencia se vacía en cada tanda de
+ * {@link #LINEAS_POR_ENVIO} líneas para que tampoco crezcan las filas ni esas
+ * referencias. La primera línea se envía enseguida y el resto en cada tanda.
+ *
+ * Como los reportes, corre en el compartimento de carga de reportes y, si hay
+ * réplicas, lee de una réplica.
+ */
+@Service
+@CargaReportes
+@RequiredArgsConstructor
+@Slf4j
+public class DescargaMasivaService {
+
+    static final int LINEAS_POR_ENVIO = 500;
+
+    private final TramiteRepository tramiteRepository;
+    private final LicenciaRepository licenciaRepository;
+    private final TramiteMapper tramiteMapper;
+    private final LicenciaMapper licenciaMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * Escribe los trámites, todos o los de un estado, un JSON por línea
+     *
+     * @param estado estado a descargar, null para todos
+     * @return cantidad de líneas escritas
+     */
+    @Transactional(readOnly = true)
+    public long escribirTramites(EstadoTramite estado, OutputStream salida) throws IOException {
+        try (Stream<Tramite> tramites = estado != null
+                ? tramiteRepository.streamByEstado(estado)
+                : tramiteRepository.streamAll()) {
+            long lineas = escribir(tramites, tramiteMapper::toResponseDTO, salida);
+            log.info("Descarga de trámites{} completa: {} líneas", estado != null ? " " + estado : "", lineas);
+            return lineas;
+        }
+    }
+
+    /**
+     * Escribe las licencias, todas o las de un estado, un JSON por línea
+     *
+     * @param estado estado a descargar, null para todas
+     * @return cantidad de líneas escritas
+     */
+    @Transactional(readOnly = true)
+    public long escribirLicencias(EstadoLicencia estado, OutputStream salida) throws IOException {
+        try (Stream<Licencia> licencias = estado != null
+                ? licenciaRepository.streamByEstado(estado)
+                : licenciaRepository.streamAll()) {
+            long lineas = escribir(licencias, licenciaMapper::toResponseDTO, salida);
+            log.info("Descarga de licencias{} completa: {} líneas", estado != null ? " " + estado : "", lineas);
+            return lineas;
+        }
+    }
+
+    private <E> long escribir(Stream<E> entidades, Function<E, ?> dto, OutputStream salida) throws IOException {
+        // El flush queda a cargo de este método: uno por línea sería un paquete por fila
+        ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generador = objectMapper.createGenerator(salida)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generador.setRootValueSeparator(null);
+
+            long lineas = 0;
+            Iterator<E> iterador = entidades.iterator();
+            while (iterador.hasNext()) {
+                E entidad = iterador.next();
+                escritor.writeValue(generador, dto.apply(entidad));
+                generador.writeRaw('\n');
+                lineas++;
+                if (lineas % LINEAS_POR_ENVIO == 0) {
+                    // detach no alcanza: no quita los proxies del titular y las demás relaciones
+                    entityManager.clear();
+                }
+                if (lineas == 1 || lineas % LINEAS_POR_ENVIO == 0) {
+                    generador.flush();
+                }
+            }
+            entityManager.clear();
+            generador.flush();
+            return lineas;
+        }
+    }
+}
@@ -5,9 +5,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.event.ExamenModificadoEvent;
 import com.example.sigelic.model.ExamenPractico;
 import com.example.sigelic.model.ExamenTeorico;
 import com.example.sigelic.model.Tramite;
@@ -27,6 +31,9 @@ public class ExamenService {
     @Autowired
     private ExamenPracticoRepository examenPracticoRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // MÉTODOS PARA EXÁMENES TEÓRICOS
 
     /**
@@ -37,6 +44,16 @@ public class ExamenService {
         return examenTeoricoRepository.findAllWithTramite();
     }
 
+    /**
+     * Obtiene una página de los exámenes teóricos, ordenada por fecha
+     */
+    @Transactional(readOnly = true)
+    public Pagina<ExamenTeorico> findPaginaTeoricos(PaginaSolicitada solicitud) {
+        List<ExamenTeorico> filas = examenTeoricoRepository.findPagina(solicitud.fechaHora(), solicitud.ultimoId(),
+                solicitud.limite());
+        return Pagina.de(filas, solicitud, ExamenTeorico::getFecha, ExamenTeorico::getId);
+    }
+
     /**
      * Obtiene todos los exámenes prácticos
      */
@@ -49,14 +66,18 @@ public class ExamenService {
      * Guarda un examen teórico
      */
     public ExamenTeorico saveExamenTeorico(ExamenTeorico examen) {
-        return examenTeoricoRepository.save(examen);
+        ExamenTeorico guardado = examenTeoricoRepository.save(examen);
+        eventPublisher.publishEvent(new ExamenModificadoEvent(guardado.getId(), false));
+        return guardado;
     }
 
     /**
      * Guarda un examen práctico
      */
     public ExamenPractico saveExamenPractico(ExamenPractico examen) {
-        return examenPracticoRepository.save(examen);
+        ExamenPractico guardado = examenPracticoRepository.save(examen);
+        eventPublisher.publishEvent(new ExamenModificadoEvent(guardado.getId(), true));
+        return guardado;
     }
 
     /**
@@ -83,6 +104,16 @@ public class ExamenService {
         return examenTeoricoRepository.findByExaminador(examinador);
     }
 
+    /**
+     * Obtiene una página de los exámenes teóricos de un examinador, ordenada por fecha
+     */
+    @Transactional(readOnly = true)
+    public Pagina<ExamenTeorico> findPaginaTeoricosByExaminador(String examinador, PaginaSolicitada solicitud) {
+        List<ExamenTeorico> filas = examenTeoricoRepository.findPaginaPorExaminador(examinador,
+                solicitud.fechaHora(), solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, ExamenTeorico::getFecha, ExamenTeorico::getId);
+    }
+
     /**
      * Busca exámenes teóricos en un período
      */
@@ -128,6 +159,7 @@ public class ExamenService {
      */
     public void deleteExamenTeorico(Long id) {
         examenTeoricoRepository.deleteById(id);
+        eventPublisher.publishEvent(new ExamenModificadoEvent(id, false));
     }
 
     /**
@@ -135,6 +167,7 @@ public class ExamenService {
      */
     public void deleteExamenPractico(Long id) {
         examenPracticoRepository.deleteById(id);
+        eventPublisher.publishEvent(new ExamenModificadoEvent(id, true));
     }
 
     /**
@@ -17,8 +17,10 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import com.example.sigelic.config.CargaReportes;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
@@ -31,9 +33,14 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Servicio para exportación de reportes a diferentes formatos
+ *
+ * Solo lo usa la vista de reportes: se crea (junto con las clases de POI e
+ * iText) la primera vez que se abre esa vista y no durante el arranque.
  */
 @Service
+@Lazy
 @Slf4j
+@CargaReportes
 public class ExportService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
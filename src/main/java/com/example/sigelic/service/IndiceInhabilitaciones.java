@@ -0,0 +1,160 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.Inhabilitacion;
+import com.example.sigelic.repository.InhabilitacionRepository;
+import com.example.sigelic.repository.InhabilitacionRepository.VigenciaInhabilitacion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de los titulares con inhabilitaciones activas o futuras.
+ *
+ * Por titular se guardan solo los períodos (inicio, fin) de sus inhabilitaciones
+ * no terminadas, así que la habilitación de un titular se responde sin consultar
+ * la base. Como la fecha se compara en cada consulta, un período deja de contar
+ * al terminar su último día, sin esperar a la recarga nocturna que lo descarta.
+ *
+ * Las inhabilitaciones agregadas en este nodo entran al índice al confirmarse la
+ * transacción. Las de otros nodos se incorporan en la sincronización periódica,
+ * que relee por id las últimas inhabilitaciones (con un margen para las
+ * transacciones que confirman fuera de orden).
+ */
+@Service
+@Slf4j
+public class IndiceInhabilitaciones {
+
+    private final InhabilitacionRepository inhabilitacionRepository;
+    private final long margenIds;
+
+    /** null hasta la primera carga */
+    private volatile Map<Long, Periodo[]> periodosPorTitular;
+    private long ultimoId;
+
+    public IndiceInhabilitaciones(InhabilitacionRepository inhabilitacionRepository,
+                                  @Value("${sigelic.inhabilitaciones.indice.margen-ids:100}") long margenIds) {
+        this.inhabilitacionRepository = inhabilitacionRepository;
+        this.margenIds = margenIds;
+    }
+
+    /**
+     * Indica si el titular tiene hoy alguna inhabilitación activa
+     */
+    public boolean estaInhabilitado(Long titularId) {
+        Periodo[] periodos = cargado().get(titularId);
+        if (periodos == null) {
+            return false;
+        }
+        LocalDate hoy = LocalDate.now();
+        for (Periodo periodo : periodos) {
+            if (periodo.activoEn(hoy)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registra una inhabilitación recién guardada, al confirmarse la transacción
+     * en curso o de inmediato si no hay ninguna
+     */
+    public void registrar(Inhabilitacion inhabilitacion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    agregar(inhabilitacion);
+                }
+            });
+        } else {
+            agregar(inhabilitacion);
+        }
+    }
+
+    /**
+     * Reconstruye el índice desde la base, descartando los períodos terminados
+     */
+    @Scheduled(cron = "${sigelic.inhabilitaciones.indice.recarga:5 0 0 * * *}")
+    public synchronized void recargar() {
+        Map<Long, Periodo[]> nuevo = new ConcurrentHashMap<>();
+        ultimoId = cargarEn(nuevo, 0L);
+        periodosPorTitular = nuevo;
+        log.info("Índice de inhabilitaciones cargado: {} titulares con inhabilitaciones vigentes o futuras", nuevo.size());
+    }
+
+    /**
+     * Incorpora las inhabilitaciones registradas en otros nodos
+     */
+    @Scheduled(fixedDelayString = "${sigelic.inhabilitaciones.indice.sincronizacion:PT5S}",
+               initialDelayString = "${sigelic.inhabilitaciones.indice.sincronizacion:PT5S}")
+    public synchronized void sincronizar() {
+        if (periodosPorTitular == null) {
+            recargar();
+            return;
+        }
+        ultimoId = Math.max(ultimoId, cargarEn(periodosPorTitular, Math.max(0L, ultimoId - margenIds)));
+    }
+
+    private Map<Long, Periodo[]> cargado() {
+        Map<Long, Periodo[]> actual = periodosPorTitular;
+        if (actual == null) {
+            synchronized (this) {
+                if (periodosPorTitular == null) {
+                    recargar();
+                }
+                actual = periodosPorTitular;
+            }
+        }
+        return actual;
+    }
+
+    private synchronized void agregar(Inhabilitacion inhabilitacion) {
+        // Sin índice cargado la inhabilitación entra con la primera carga
+        if (periodosPorTitular == null || inhabilitacion.getId() == null || inhabilitacion.getTitular() == null) {
+            return;
+        }
+        agregar(periodosPorTitular, inhabilitacion.getTitular().getId(),
+                new Periodo(inhabilitacion.getId(), inhabilitacion.getFechaInicio(), inhabilitacion.getFechaFin()));
+    }
+
+    private long cargarEn(Map<Long, Periodo[]> destino, long desdeId) {
+        long maximoId = desdeId;
+        for (VigenciaInhabilitacion vigencia : inhabilitacionRepository.findVigencias(desdeId, LocalDate.now())) {
+            agregar(destino, vigencia.getTitularId(),
+                    new Periodo(vigencia.getId(), vigencia.getFechaInicio(), vigencia.getFechaFin()));
+            maximoId = Math.max(maximoId, vigencia.getId());
+        }
+        return maximoId;
+    }
+
+    private static void agregar(Map<Long, Periodo[]> destino, Long titularId, Periodo periodo) {
+        destino.merge(titularId, new Periodo[] {periodo}, (actuales, nuevos) -> {
+            for (Periodo existente : actuales) {
+                if (existente.id() == periodo.id()) {
+                    return actuales;
+                }
+            }
+            Periodo[] ampliados = Arrays.copyOf(actuales, actuales.length + 1);
+            ampliados[actuales.length] = periodo;
+            return ampliados;
+        });
+    }
+
+    /**
+     * Vigencia de una inhabilitación; sin fecha de fin es por tiempo indeterminado
+     */
+    private record Periodo(long id, LocalDate inicio, LocalDate fin) {
+
+        boolean activoEn(LocalDate fecha) {
+            return !inicio.isAfter(fecha) && (fin == null || !fin.isBefore(fecha));
+        }
+    }
+}
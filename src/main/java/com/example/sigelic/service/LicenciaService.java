@@ -6,9 +6,14 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.event.LicenciaModificadaEvent;
 import com.example.sigelic.model.ClaseLicencia;
 import com.example.sigelic.model.EstadoLicencia;
 import com.example.sigelic.model.Licencia;
@@ -30,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 public class LicenciaService {
 
     private final LicenciaRepository licenciaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Busca una licencia por ID
@@ -82,6 +88,7 @@ public class LicenciaService {
     /**
      * Emite una nueva licencia basada en un trámite
      */
+    @Timed("sigelic.licencia.emision")
     public Licencia emitirLicencia(Tramite tramite) {
         if (!tramite.todosLosRequisitosCumplidos()) {
             throw new IllegalStateException("No se puede emitir licencia sin cumplir todos los requisitos");
@@ -117,7 +124,7 @@ public class LicenciaService {
         log.info("Emitiendo licencia clase {} para titular: {} {}", 
                 clase.name(), titular.getNombre(), titular.getApellido());
         
-        return licenciaRepository.save(licencia);
+        return guardar(licencia);
     }
 
     /**
@@ -126,7 +133,7 @@ public class LicenciaService {
     public Licencia renovarLicencia(Licencia licenciaAnterior, Tramite tramite) {
         // Marcar la licencia anterior como duplicada
         licenciaAnterior.setEstado(EstadoLicencia.DUPLICADA);
-        licenciaRepository.save(licenciaAnterior);
+        guardar(licenciaAnterior);
 
         // Crear nueva licencia
         return emitirLicencia(tramite);
@@ -142,7 +149,7 @@ public class LicenciaService {
 
         // Marcar la licencia original como duplicada
         licenciaOriginal.setEstado(EstadoLicencia.DUPLICADA);
-        licenciaRepository.save(licenciaOriginal);
+        guardar(licenciaOriginal);
 
         Titular titular = tramite.getTitular();
         
@@ -158,7 +165,7 @@ public class LicenciaService {
 
         log.info("Duplicando licencia para titular: {} {}", titular.getNombre(), titular.getApellido());
         
-        return licenciaRepository.save(duplicado);
+        return guardar(duplicado);
     }
 
     /**
@@ -171,7 +178,7 @@ public class LicenciaService {
 
         // Marcar la licencia anterior como duplicada
         licencia.setEstado(EstadoLicencia.DUPLICADA);
-        licenciaRepository.save(licencia);
+        guardar(licencia);
 
         // Crear nueva licencia con domicilio actualizado
         Licencia nuevaLicencia = new Licencia();
@@ -189,7 +196,7 @@ public class LicenciaService {
         log.info("Actualizando domicilio en licencia para titular: {} {}", 
                 licencia.getTitular().getNombre(), licencia.getTitular().getApellido());
         
-        return licenciaRepository.save(nuevaLicencia);
+        return guardar(nuevaLicencia);
     }
 
     /**
@@ -208,7 +215,7 @@ public class LicenciaService {
 
         log.info("Suspendiendo licencia N° {} - Motivo: {}", licencia.getNumeroLicencia(), motivo);
         
-        return licenciaRepository.save(licencia);
+        return guardar(licencia);
     }
 
     /**
@@ -223,7 +230,7 @@ public class LicenciaService {
 
         log.info("Inhabilitando licencia N° {} - Motivo: {}", licencia.getNumeroLicencia(), motivo);
         
-        return licenciaRepository.save(licencia);
+        return guardar(licencia);
     }
 
     /**
@@ -236,6 +243,17 @@ public class LicenciaService {
         return licenciaRepository.findLicenciasProximasAVencer(hoy, fechaLimite);
     }
 
+    /**
+     * Obtiene una página de las licencias que vencen en los próximos días, ordenada por vencimiento
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Licencia> getPaginaLicenciasProximasAVencer(int dias, PaginaSolicitada solicitud) {
+        LocalDate hoy = LocalDate.now();
+        List<Licencia> filas = licenciaRepository.findPaginaProximasAVencer(hoy, hoy.plusDays(dias),
+                solicitud.fecha(hoy), solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, Licencia::getFechaVencimiento, Licencia::getId);
+    }
+
     /**
      * Obtiene licencias vencidas
      */
@@ -244,6 +262,16 @@ public class LicenciaService {
         return licenciaRepository.findLicenciasVencidas(LocalDate.now());
     }
 
+    /**
+     * Obtiene una página de las licencias vencidas, ordenada por vencimiento
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Licencia> getPaginaLicenciasVencidas(PaginaSolicitada solicitud) {
+        List<Licencia> filas = licenciaRepository.findPaginaVencidas(LocalDate.now(), solicitud.fecha(),
+                solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, Licencia::getFechaVencimiento, Licencia::getId);
+    }
+
     /**
      * Actualiza el estado de licencias vencidas
      */
@@ -251,7 +279,7 @@ public class LicenciaService {
         List<Licencia> licenciasVencidas = getLicenciasVencidas();
         for (Licencia licencia : licenciasVencidas) {
             licencia.setEstado(EstadoLicencia.VENCIDA);
-            licenciaRepository.save(licencia);
+            guardar(licencia);
         }
         log.info("Actualizadas {} licencias vencidas", licenciasVencidas.size());
     }
@@ -264,6 +292,15 @@ public class LicenciaService {
         return licenciaRepository.countLicenciasEmitidasEnPeriodo(desde, hasta);
     }
 
+    /**
+     * Guarda la licencia y avisa del cambio (invalida su verificación pública en caché)
+     */
+    private Licencia guardar(Licencia licencia) {
+        Licencia guardada = licenciaRepository.save(licencia);
+        eventPublisher.publishEvent(new LicenciaModificadaEvent(licencia.getNumeroLicencia(), licencia.getEstado()));
+        return guardada;
+    }
+
     private LocalDate calcularVencimientoParaDuplicado(Titular titular, ClaseLicencia clase) {
         // Buscar la licencia vigente anterior para mantener el vencimiento
         Optional<Licencia> licenciaAnterior = licenciaRepository.findByTitularAndClaseAndEstado(
@@ -0,0 +1,342 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.event.TurnoLiberadoEvent;
+import com.example.sigelic.model.EstadoListaEspera;
+import com.example.sigelic.model.EstadoTurno;
+import com.example.sigelic.model.ListaEspera;
+import com.example.sigelic.model.Recurso;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Turno;
+import com.example.sigelic.repository.ListaEsperaRepository;
+import com.example.sigelic.repository.RecursoRepository;
+import com.example.sigelic.repository.TurnoRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lista de espera de turnos por tipo de turno y tipo de recurso.
+ *
+ * Cuando un turno reservado o confirmado se cancela o se marca ausente, después
+ * del commit se busca al mejor candidato de la lista (por orden de inscripción o
+ * por prioridad, según sigelic.lista-espera.politica) y se le retiene el horario
+ * como turno RESERVADO durante sigelic.lista-espera.retencion. Si no lo acepta a
+ * tiempo la oferta vence, el turno retenido se cancela y el horario pasa al
+ * siguiente candidato.
+ *
+ * El emparejamiento bloquea la fila del recurso, igual que una reserva común, así
+ * que ambos no pueden tomar el mismo horario; y bloquea las inscripciones
+ * candidatas, así que dos horarios liberados a la vez no se ofrecen a la misma.
+ */
+@Service
+@Slf4j
+@Transactional
+public class ListaEsperaService {
+
+    /**
+     * Orden en que se atienden las inscripciones en espera
+     */
+    public enum Politica {
+        /** Primero la inscripción más antigua */
+        FIFO(Sort.by("fechaAlta", "id")),
+        /** Primero la de mayor prioridad; a igual prioridad, la más antigua */
+        PRIORIDAD(Sort.by(Sort.Order.desc("prioridad"), Sort.Order.asc("fechaAlta"), Sort.Order.asc("id")));
+
+        private final Sort orden;
+
+        Politica(Sort orden) {
+            this.orden = orden;
+        }
+    }
+
+    /** Candidatos leídos (y bloqueados) por cada horario liberado */
+    static final int CANDIDATOS_POR_HORARIO = 20;
+    static final int LOTE_VENCIMIENTO = 200;
+
+    private final ListaEsperaRepository listaEsperaRepository;
+    private final TurnoRepository turnoRepository;
+    private final RecursoRepository recursoRepository;
+    private final TitularService titularService;
+    private final TurnoService turnoService;
+    private final TransactionTemplate transactionTemplate;
+    private final Politica politica;
+    private final Duration retencion;
+    private final Duration margenMinimo;
+
+    public ListaEsperaService(ListaEsperaRepository listaEsperaRepository, TurnoRepository turnoRepository,
+                              RecursoRepository recursoRepository, TitularService titularService,
+                              TurnoService turnoService, PlatformTransactionManager transactionManager,
+                              @Value("${sigelic.lista-espera.politica:FIFO}") Politica politica,
+                              @Value("${sigelic.lista-espera.retencion:PT15M}") Duration retencion,
+                              @Value("${sigelic.lista-espera.margen-minimo:PT15M}") Duration margenMinimo) {
+        this.listaEsperaRepository = listaEsperaRepository;
+        this.turnoRepository = turnoRepository;
+        this.recursoRepository = recursoRepository;
+        this.titularService = titularService;
+        this.turnoService = turnoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.politica = politica;
+        this.retencion = retencion;
+        this.margenMinimo = margenMinimo;
+    }
+
+    /**
+     * Inscribe a un titular en la lista de espera
+     *
+     * @param turnoActualId turno que el titular quiere adelantar, o null
+     * @param desde         inicio más temprano aceptable, o null
+     * @param hasta         inicio más tardío aceptable, o null
+     */
+    @Timed("sigelic.lista-espera.inscripcion")
+    public ListaEspera inscribir(Long titularId, TipoTurno tipo, TipoRecurso tipoRecurso, Long turnoActualId,
+                                 LocalDateTime desde, LocalDateTime hasta, int prioridad) {
+        Titular titular = titularService.findById(titularId)
+                .orElseThrow(() -> new IllegalArgumentException("Titular no encontrado con ID: " + titularId));
+
+        if (desde != null && hasta != null && hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("El fin de la ventana debe ser posterior al inicio");
+        }
+
+        Turno turnoActual = null;
+        if (turnoActualId != null) {
+            turnoActual = turnoRepository.findById(turnoActualId)
+                    .orElseThrow(() -> new IllegalArgumentException("Turno no encontrado con ID: " + turnoActualId));
+            if (!turnoActual.getTitular().getId().equals(titularId) || turnoActual.getTipo() != tipo) {
+                throw new IllegalArgumentException("El turno a adelantar debe ser del titular y del mismo tipo");
+            }
+            if (turnoActual.getEstado() != EstadoTurno.RESERVADO && turnoActual.getEstado() != EstadoTurno.CONFIRMADO) {
+                throw new IllegalStateException("Solo se pueden adelantar turnos reservados o confirmados");
+            }
+        }
+
+        if (listaEsperaRepository.existsActivaDelTitular(titular, tipo)) {
+            throw new IllegalStateException("El titular ya está en la lista de espera para ese tipo de turno");
+        }
+
+        ListaEspera entrada = new ListaEspera();
+        entrada.setTitular(titular);
+        entrada.setTipoTurno(tipo);
+        entrada.setTipoRecurso(tipoRecurso);
+        entrada.setTurnoActual(turnoActual);
+        entrada.setDesde(desde);
+        entrada.setHasta(hasta);
+        entrada.setPrioridad(prioridad);
+
+        log.info("Inscribiendo en lista de espera de {} ({}) al titular: {} {}",
+                tipo.name(), tipoRecurso.name(), titular.getNombre(), titular.getApellido());
+        return listaEsperaRepository.save(entrada);
+    }
+
+    /**
+     * Inscripciones de un titular, las más recientes primero
+     */
+    @Transactional(readOnly = true)
+    public List<ListaEspera> findByTitular(Long titularId) {
+        return listaEsperaRepository.findByTitularId(titularId);
+    }
+
+    /**
+     * Ofrece el horario liberado en cuanto se confirma la cancelación o ausencia, en
+     * una transacción propia. Un error no afecta a la operación que liberó el turno
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed("sigelic.lista-espera.oferta")
+    public void onTurnoLiberado(TurnoLiberadoEvent event) {
+        try {
+            transactionTemplate.execute(status -> ofrecer(event));
+        } catch (DataAccessException e) {
+            log.warn("No se pudo ofrecer a la lista de espera el horario del turno ID: {}", event.turnoId(), e);
+        }
+    }
+
+    /**
+     * Retiene el horario liberado para el mejor candidato de la lista
+     *
+     * @return la inscripción a la que se ofreció, vacío si no hubo candidato o el
+     *         horario ya no está libre
+     */
+    Optional<ListaEspera> ofrecer(TurnoLiberadoEvent event) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (!event.fin().isAfter(ahora.plus(margenMinimo))) {
+            return Optional.empty();
+        }
+
+        Recurso recurso = recursoRepository.findByIdParaReserva(event.recursoId()).orElse(null);
+        if (recurso == null || !Boolean.TRUE.equals(recurso.getActivo())) {
+            return Optional.empty();
+        }
+        if (turnoRepository.existsActivoSuperpuesto(recurso, event.inicio(), event.fin())) {
+            log.debug("El horario del turno ID: {} ya fue reservado", event.turnoId());
+            return Optional.empty();
+        }
+
+        List<ListaEspera> candidatos = listaEsperaRepository.findCandidatos(event.tipo(), event.tipoRecurso(),
+                event.inicio(), PageRequest.of(0, CANDIDATOS_POR_HORARIO, politica.orden));
+        for (ListaEspera candidato : candidatos) {
+            if (tieneOtroTurnoEnHorario(candidato, event)) {
+                continue;
+            }
+
+            Turno retenido = new Turno();
+            retenido.setTitular(candidato.getTitular());
+            retenido.setTramite(candidato.getTurnoActual() != null ? candidato.getTurnoActual().getTramite() : null);
+            retenido.setTipo(event.tipo());
+            retenido.setInicio(event.inicio());
+            retenido.setFin(event.fin());
+            retenido.setRecurso(recurso);
+            retenido.setTipoRecurso(recurso.getTipo());
+            retenido.setEstado(EstadoTurno.RESERVADO);
+            retenido.setObservaciones("Retenido para la lista de espera hasta " + ahora.plus(retencion));
+            candidato.ofertar(turnoRepository.save(retenido), ahora.plus(retencion));
+
+            log.info("Turno liberado ID: {} ofrecido a la lista de espera ID: {} - Horario: {} a {}",
+                    event.turnoId(), candidato.getId(), event.inicio(), event.fin());
+            return Optional.of(candidato);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Acepta el turno ofrecido: lo confirma y cancela el turno que el titular
+     * quería adelantar, cuyo horario a su vez se ofrece a la lista
+     */
+    @Timed("sigelic.lista-espera.aceptacion")
+    public Turno aceptarOferta(Long listaEsperaId) {
+        ListaEspera entrada = bloquear(listaEsperaId);
+        if (entrada.getEstado() != EstadoListaEspera.OFERTADO) {
+            throw new IllegalStateException("La inscripción no tiene un turno ofrecido");
+        }
+        if (entrada.getVencimientoOferta().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("La oferta de turno venció");
+        }
+        Turno turno = entrada.getTurnoOfrecido();
+        if (turno.getEstado() != EstadoTurno.RESERVADO) {
+            throw new IllegalStateException("El turno ofrecido ya no está disponible");
+        }
+
+        turno.confirmar();
+        entrada.asignar();
+        Turno anterior = entrada.getTurnoActual();
+        if (anterior != null
+                && (anterior.getEstado() == EstadoTurno.RESERVADO || anterior.getEstado() == EstadoTurno.CONFIRMADO)) {
+            turnoService.cancelarTurno(anterior.getId(), "Adelantado desde la lista de espera");
+        }
+
+        log.info("Lista de espera ID: {} - turno ID: {} aceptado", listaEsperaId, turno.getId());
+        return turnoRepository.save(turno);
+    }
+
+    /**
+     * Da de baja una inscripción; si tenía una oferta pendiente, libera el turno retenido
+     */
+    public ListaEspera cancelar(Long listaEsperaId) {
+        ListaEspera entrada = bloquear(listaEsperaId);
+        if (!entrada.isActiva()) {
+            throw new IllegalStateException("La inscripción ya no está en la lista de espera");
+        }
+
+        boolean conOferta = entrada.getEstado() == EstadoListaEspera.OFERTADO;
+        entrada.cancelar();
+        if (conOferta) {
+            liberarRetenido(entrada, "Oferta de lista de espera rechazada");
+        }
+
+        log.info("Baja de la lista de espera ID: {}", listaEsperaId);
+        return listaEsperaRepository.save(entrada);
+    }
+
+    /**
+     * Ejecución periódica en todos los nodos; cada oferta se vence una sola vez
+     * gracias al bloqueo de su fila
+     */
+    @Scheduled(fixedDelayString = "${sigelic.lista-espera.intervalo-vencimiento:PT30S}")
+    public void ejecutarProgramado() {
+        vencerOfertas();
+    }
+
+    /**
+     * Vence las ofertas no aceptadas a tiempo, cada una en su propia transacción, y
+     * libera los turnos retenidos para el siguiente candidato
+     *
+     * @return cantidad de ofertas vencidas
+     */
+    @Timed("sigelic.lista-espera.vencimiento")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int vencerOfertas() {
+        LocalDateTime ahora = LocalDateTime.now();
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = listaEsperaRepository.findOfertasVencidas(ahora, PageRequest.of(0, LOTE_VENCIMIENTO));
+            for (Long id : ids) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> vencerOferta(id, ahora)))) {
+                    total++;
+                }
+            }
+        } while (ids.size() == LOTE_VENCIMIENTO);
+
+        if (total > 0) {
+            log.info("Vencidas {} ofertas de la lista de espera", total);
+        }
+        return total;
+    }
+
+    private boolean vencerOferta(Long id, LocalDateTime ahora) {
+        ListaEspera entrada = bloquear(id);
+        // Aceptada o cancelada mientras tanto, o vencida por otro nodo
+        if (entrada.getEstado() != EstadoListaEspera.OFERTADO || !entrada.getVencimientoOferta().isBefore(ahora)) {
+            return false;
+        }
+        entrada.vencer();
+        liberarRetenido(entrada, "Oferta de lista de espera vencida");
+        listaEsperaRepository.save(entrada);
+        return true;
+    }
+
+    /**
+     * Cancela el turno retenido; su horario vuelve a ofrecerse después del commit
+     */
+    private void liberarRetenido(ListaEspera entrada, String motivo) {
+        Turno retenido = entrada.getTurnoOfrecido();
+        if (retenido != null && retenido.getEstado() == EstadoTurno.RESERVADO) {
+            turnoService.cancelarTurno(retenido.getId(), motivo);
+        }
+    }
+
+    /**
+     * Indica si el candidato ya tiene otro turno del mismo tipo en el horario, sin
+     * contar el que quiere adelantar
+     */
+    private boolean tieneOtroTurnoEnHorario(ListaEspera candidato, TurnoLiberadoEvent event) {
+        Turno turnoActual = candidato.getTurnoActual();
+        return turnoRepository.findActivosSuperpuestosDelTitular(candidato.getTitular(), event.tipo(),
+                        event.inicio(), event.fin()).stream()
+                .anyMatch(turno -> turnoActual == null || !turno.getId().equals(turnoActual.getId()));
+    }
+
+    private ListaEspera bloquear(Long listaEsperaId) {
+        return listaEsperaRepository.findByIdParaActualizar(listaEsperaId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Inscripción en lista de espera no encontrada con ID: " + listaEsperaId));
+    }
+}
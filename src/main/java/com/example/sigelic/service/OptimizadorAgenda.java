@@ -0,0 +1,426 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.TipoRecurso;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asignación de salas (pistas o aulas) y examinadores a los turnos de examen de un día.
+ *
+ * Restricciones: cada examen va a una sala de su tipo abierta en todo su horario,
+ * sin superar en ningún momento la capacidad de la sala, y a un examinador libre
+ * en ese horario. Un examinador puede tomar a la vez varios exámenes teóricos
+ * solo si son en la misma aula. Los intervalos son semiabiertos: un examen que
+ * termina a las 10:00 no se superpone con uno que empieza a esa hora.
+ *
+ * Objetivo, en orden: asignar la mayor cantidad de exámenes; repartir los minutos
+ * de examen entre salas (en proporción a su capacidad) y entre examinadores, para
+ * que no haya pistas ociosas mientras otras acumulan espera; y cambiar lo menos
+ * posible las asignaciones que ya tenían los turnos.
+ *
+ * Primero se asigna de forma golosa por orden de inicio, empezando por los
+ * exámenes con menos salas posibles. Después, hasta converger o agotar el tiempo
+ * límite, una búsqueda local reubica cada examen donde baje el costo y, para los
+ * que quedaron sin asignar, prueba liberar lugar moviendo un examen que los bloquea.
+ * Los exámenes fijos ocupan su sala y examinador pero no se mueven.
+ */
+final class OptimizadorAgenda {
+
+    /** Costo de cambiar la sala o el examinador que el turno ya tenía: equivale a 30 minutos de desbalance */
+    static final double PENALIDAD_CAMBIO = 30 * 30;
+
+    private static final double EPSILON = 1e-9;
+
+    private final List<Examen> examenes;
+    private final List<Sala> salas;
+    private final List<String> examinadores;
+
+    private final long[] inicio;
+    private final long[] fin;
+    private final int[][] compatibles;
+    private final int[] salaActual;
+    private final int[] examinadorActual;
+
+    private final int[] sala;
+    private final int[] examinador;
+    private final List<List<Integer>> porSala = new ArrayList<>();
+    private final List<List<Integer>> porExaminador = new ArrayList<>();
+    private final long[] cargaSala;
+    private final long[] cargaExaminador;
+    private long vencimiento;
+
+    OptimizadorAgenda(List<Examen> examenes, List<Sala> salas, List<String> examinadores) {
+        this.examenes = List.copyOf(examenes);
+        this.salas = List.copyOf(salas);
+        this.examinadores = List.copyOf(examinadores);
+
+        Map<Long, Integer> indiceSala = new HashMap<>();
+        for (int s = 0; s < salas.size(); s++) {
+            indiceSala.put(salas.get(s).recursoId(), s);
+            porSala.add(new ArrayList<>());
+        }
+        Map<String, Integer> indiceExaminador = new HashMap<>();
+        for (int e = 0; e < examinadores.size(); e++) {
+            indiceExaminador.put(examinadores.get(e), e);
+            porExaminador.add(new ArrayList<>());
+        }
+
+        int n = examenes.size();
+        inicio = new long[n];
+        fin = new long[n];
+        compatibles = new int[n][];
+        salaActual = new int[n];
+        examinadorActual = new int[n];
+        sala = new int[n];
+        examinador = new int[n];
+        cargaSala = new long[salas.size()];
+        cargaExaminador = new long[examinadores.size()];
+        for (int i = 0; i < n; i++) {
+            Examen examen = examenes.get(i);
+            inicio[i] = minutos(examen.inicio());
+            fin[i] = minutos(examen.fin());
+            compatibles[i] = salasCompatibles(examen);
+            salaActual[i] = examen.recursoActual() != null
+                    ? indiceSala.getOrDefault(examen.recursoActual(), -1) : -1;
+            examinadorActual[i] = examen.examinadorActual() != null
+                    ? indiceExaminador.getOrDefault(examen.examinadorActual(), -1) : -1;
+            sala[i] = -1;
+            examinador[i] = -1;
+        }
+    }
+
+    /**
+     * Calcula la asignación; la búsqueda local se corta al vencer el límite
+     */
+    Resultado resolver(Duration limite) {
+        vencimiento = System.nanoTime() + limite.toNanos();
+
+        List<Integer> moviles = new ArrayList<>();
+        for (int i = 0; i < examenes.size(); i++) {
+            if (examenes.get(i).fijo()) {
+                colocar(i, salaActual[i], examinadorActual[i]);
+            } else {
+                moviles.add(i);
+            }
+        }
+        moviles.sort(Comparator.<Integer>comparingLong(i -> inicio[i])
+                .thenComparingInt(i -> compatibles[i].length)
+                .thenComparingLong(i -> inicio[i] - fin[i])
+                .thenComparingLong(i -> examenes.get(i).turnoId()));
+
+        for (int i : moviles) {
+            Colocacion colocacion = mejorColocacion(i);
+            if (colocacion != null) {
+                colocar(i, colocacion.sala(), colocacion.examinador());
+            }
+        }
+
+        int pasadas = 0;
+        boolean mejoro = true;
+        while (mejoro && !vencido()) {
+            mejoro = false;
+            pasadas++;
+            for (int i : moviles) {
+                if (vencido()) {
+                    break;
+                }
+                mejoro |= sala[i] < 0 ? insertar(i) : reubicar(i);
+            }
+        }
+
+        return resultado(moviles, pasadas);
+    }
+
+    /**
+     * Coloca un examen sin asignar, directamente o moviendo un examen que lo bloquea
+     */
+    private boolean insertar(int i) {
+        Colocacion directa = mejorColocacion(i);
+        if (directa != null) {
+            colocar(i, directa.sala(), directa.examinador());
+            return true;
+        }
+
+        for (int s : compatibles[i]) {
+            if (vencido()) {
+                return false;
+            }
+            for (int e = 0; e < examinadores.size(); e++) {
+                for (int j : bloqueantes(i, s, e)) {
+                    int salaJ = sala[j];
+                    int examinadorJ = examinador[j];
+                    quitar(j);
+                    if (salaAdmite(s, i) && examinadorAdmite(e, i, s)) {
+                        colocar(i, s, e);
+                        Colocacion otra = mejorColocacion(j);
+                        if (otra != null) {
+                            colocar(j, otra.sala(), otra.examinador());
+                            return true;
+                        }
+                        quitar(i);
+                    }
+                    colocar(j, salaJ, examinadorJ);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mueve un examen asignado a la colocación más barata, si baja el costo
+     */
+    private boolean reubicar(int i) {
+        int salaI = sala[i];
+        int examinadorI = examinador[i];
+        quitar(i);
+        double costoActual = costoColocar(i, salaI, examinadorI);
+        Colocacion mejor = mejorColocacion(i);
+        if (mejor != null && mejor.costo() < costoActual - EPSILON) {
+            colocar(i, mejor.sala(), mejor.examinador());
+            return true;
+        }
+        colocar(i, salaI, examinadorI);
+        return false;
+    }
+
+    /**
+     * Sala y examinador admisibles de menor costo para el examen, o null
+     */
+    private Colocacion mejorColocacion(int i) {
+        Colocacion mejor = null;
+        for (int s : compatibles[i]) {
+            if (!salaAdmite(s, i)) {
+                continue;
+            }
+            for (int e = 0; e < examinadores.size(); e++) {
+                if (!examinadorAdmite(e, i, s)) {
+                    continue;
+                }
+                double costo = costoColocar(i, s, e);
+                if (mejor == null || costo < mejor.costo() - EPSILON) {
+                    mejor = new Colocacion(s, e, costo);
+                }
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Exámenes móviles que impiden colocar el examen en la sala y con el examinador dados
+     */
+    private List<Integer> bloqueantes(int i, int s, int e) {
+        List<Integer> bloqueantes = new ArrayList<>();
+        if (!salaAdmite(s, i)) {
+            for (int j : porSala.get(s)) {
+                if (seSuperponen(i, j) && !examenes.get(j).fijo()) {
+                    bloqueantes.add(j);
+                }
+            }
+        }
+        for (int j : porExaminador.get(e)) {
+            if (seSuperponen(i, j) && !comparteAula(i, j, s) && !examenes.get(j).fijo() && !bloqueantes.contains(j)) {
+                bloqueantes.add(j);
+            }
+        }
+        return bloqueantes;
+    }
+
+    /**
+     * Indica si la sala tiene lugar para el examen durante todo su horario
+     */
+    private boolean salaAdmite(int s, int i) {
+        int capacidad = salas.get(s).capacidad();
+        List<Integer> superpuestos = new ArrayList<>();
+        for (int j : porSala.get(s)) {
+            if (j != i && seSuperponen(i, j)) {
+                superpuestos.add(j);
+            }
+        }
+        if (superpuestos.size() < capacidad) {
+            return true;
+        }
+
+        // Ocupación máxima dentro del horario del examen: +1 al empezar, -1 al terminar
+        long[] eventos = new long[superpuestos.size() * 2];
+        int k = 0;
+        for (int j : superpuestos) {
+            eventos[k++] = Math.max(inicio[j], inicio[i]) * 2 + 1;
+            eventos[k++] = Math.min(fin[j], fin[i]) * 2;
+        }
+        Arrays.sort(eventos);
+        int ocupados = 0;
+        for (long evento : eventos) {
+            ocupados += (evento & 1) == 1 ? 1 : -1;
+            if (ocupados >= capacidad) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean examinadorAdmite(int e, int i, int s) {
+        for (int j : porExaminador.get(e)) {
+            if (j != i && seSuperponen(i, j) && !comparteAula(i, j, s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Dos exámenes teóricos en la misma aula pueden tener el mismo examinador a la vez
+     */
+    private boolean comparteAula(int i, int j, int s) {
+        return sala[j] == s
+                && salas.get(s).tipo() == TipoRecurso.AULA_TEORICO
+                && examenes.get(i).tipoRecurso() == TipoRecurso.AULA_TEORICO;
+    }
+
+    private boolean vencido() {
+        return System.nanoTime() >= vencimiento;
+    }
+
+    private boolean seSuperponen(int i, int j) {
+        return inicio[i] < fin[j] && inicio[j] < fin[i];
+    }
+
+    /**
+     * Aumento del costo al colocar el examen: desbalance de la sala y del examinador
+     * (suma de cuadrados de los minutos asignados) más la penalidad por cambios
+     */
+    private double costoColocar(int i, int s, int e) {
+        long duracion = fin[i] - inicio[i];
+        double capacidad = salas.get(s).capacidad();
+        double antesSala = cargaSala[s] / capacidad;
+        double despuesSala = (cargaSala[s] + duracion) / capacidad;
+        double antesExaminador = cargaExaminador[e];
+        double despuesExaminador = cargaExaminador[e] + duracion;
+        double costo = despuesSala * despuesSala - antesSala * antesSala
+                + despuesExaminador * despuesExaminador - antesExaminador * antesExaminador;
+        if (examenes.get(i).recursoActual() != null && s != salaActual[i]) {
+            costo += PENALIDAD_CAMBIO;
+        }
+        if (examenes.get(i).examinadorActual() != null && e != examinadorActual[i]) {
+            costo += PENALIDAD_CAMBIO;
+        }
+        return costo;
+    }
+
+    private void colocar(int i, int s, int e) {
+        long duracion = fin[i] - inicio[i];
+        sala[i] = s;
+        examinador[i] = e;
+        if (s >= 0) {
+            porSala.get(s).add(i);
+            cargaSala[s] += duracion;
+        }
+        if (e >= 0) {
+            porExaminador.get(e).add(i);
+            cargaExaminador[e] += duracion;
+        }
+    }
+
+    private void quitar(int i) {
+        long duracion = fin[i] - inicio[i];
+        if (sala[i] >= 0) {
+            porSala.get(sala[i]).remove(Integer.valueOf(i));
+            cargaSala[sala[i]] -= duracion;
+        }
+        if (examinador[i] >= 0) {
+            porExaminador.get(examinador[i]).remove(Integer.valueOf(i));
+            cargaExaminador[examinador[i]] -= duracion;
+        }
+        sala[i] = -1;
+        examinador[i] = -1;
+    }
+
+    private int[] salasCompatibles(Examen examen) {
+        List<Integer> indices = new ArrayList<>();
+        for (int s = 0; s < salas.size(); s++) {
+            Sala candidata = salas.get(s);
+            if (candidata.tipo() == examen.tipoRecurso() && candidata.abierta(examen.inicio(), examen.fin())) {
+                indices.add(s);
+            }
+        }
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Resultado resultado(List<Integer> moviles, int pasadas) {
+        List<Asignacion> asignaciones = new ArrayList<>();
+        List<Long> sinAsignar = new ArrayList<>();
+        for (int i : moviles) {
+            Examen examen = examenes.get(i);
+            if (sala[i] < 0) {
+                sinAsignar.add(examen.turnoId());
+            } else {
+                asignaciones.add(new Asignacion(examen.turnoId(), salas.get(sala[i]).recursoId(),
+                        examinadores.get(examinador[i]),
+                        sala[i] != salaActual[i] || examinador[i] != examinadorActual[i]));
+            }
+        }
+        Map<Long, Long> minutosPorSala = new LinkedHashMap<>();
+        for (int s = 0; s < salas.size(); s++) {
+            minutosPorSala.put(salas.get(s).recursoId(), cargaSala[s]);
+        }
+        Map<String, Long> minutosPorExaminador = new LinkedHashMap<>();
+        for (int e = 0; e < examinadores.size(); e++) {
+            minutosPorExaminador.put(examinadores.get(e), cargaExaminador[e]);
+        }
+        return new Resultado(asignaciones, sinAsignar, minutosPorSala, minutosPorExaminador, pasadas);
+    }
+
+    private static long minutos(LocalDateTime fechaHora) {
+        return fechaHora.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /**
+     * Turno de examen a asignar. Los fijos conservan su sala y examinador y solo
+     * ocupan lugar
+     */
+    record Examen(long turnoId, TipoRecurso tipoRecurso, LocalDateTime inicio, LocalDateTime fin,
+                  Long recursoActual, String examinadorActual, boolean fijo) {
+    }
+
+    /**
+     * Pista o aula con su capacidad simultánea y horario (sin horario, siempre abierta)
+     */
+    record Sala(long recursoId, TipoRecurso tipo, int capacidad, LocalTime apertura, LocalTime cierre) {
+
+        boolean abierta(LocalDateTime desde, LocalDateTime hasta) {
+            if (apertura == null || cierre == null) {
+                return true;
+            }
+            return desde.toLocalDate().equals(hasta.toLocalDate())
+                    && !desde.toLocalTime().isBefore(apertura)
+                    && !hasta.toLocalTime().isAfter(cierre);
+        }
+    }
+
+    /**
+     * Sala y examinador calculados para un turno
+     *
+     * @param modificada si difiere de la asignación que el turno ya tenía
+     */
+    record Asignacion(long turnoId, long recursoId, String examinador, boolean modificada) {
+    }
+
+    /**
+     * Asignaciones de los exámenes móviles, los que no entraron y la carga resultante
+     */
+    record Resultado(List<Asignacion> asignaciones, List<Long> sinAsignar, Map<Long, Long> minutosPorSala,
+                     Map<String, Long> minutosPorExaminador, int pasadas) {
+    }
+
+    private record Colocacion(int sala, int examinador, double costo) {
+    }
+}
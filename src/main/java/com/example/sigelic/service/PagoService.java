@@ -1,11 +1,17 @@
 package com.example.sigelic.service;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.event.PagoModificadoEvent;
 import com.example.sigelic.model.*;
 import com.example.sigelic.repository.PagoRepository;
 import com.example.sigelic.repository.CostoTramiteRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -26,6 +32,8 @@ public class PagoService {
     private final PagoRepository pagoRepository;
     private final CostoTramiteRepository costoTramiteRepository;
     private final ConfiguracionService configuracionService;
+    private final VencimientoPagosService vencimientoPagosService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Busca un pago por ID
@@ -59,6 +67,16 @@ public class PagoService {
         return pagoRepository.findByEstado(estado);
     }
 
+    /**
+     * Obtiene una página de los pagos en un estado, ordenada por fecha
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Pago> findPaginaByEstado(EstadoPago estado, PaginaSolicitada solicitud) {
+        List<Pago> filas = pagoRepository.findPaginaByEstado(estado, solicitud.fechaHora(),
+                solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, Pago::getFecha, Pago::getId);
+    }
+
     /**
      * Crea una orden de pago para un trámite
      */
@@ -86,12 +104,13 @@ public class PagoService {
 
         log.info("Creando orden de pago para trámite ID: {} - Monto: ${}", tramite.getId(), monto);
         
-        return pagoRepository.save(pago);
+        return guardar(pago);
     }
 
     /**
      * Acredita un pago
      */
+    @Timed("sigelic.pago.acreditacion")
     public Pago acreditarPago(Long pagoId, String numeroComprobante, String cajero) {
         Pago pago = pagoRepository.findById(pagoId)
                 .orElseThrow(() -> new IllegalArgumentException("Pago no encontrado con ID: " + pagoId));
@@ -110,7 +129,7 @@ public class PagoService {
 
         log.info("Acreditando pago ID: {} - Comprobante: {}", pagoId, numeroComprobante);
         
-        return pagoRepository.save(pago);
+        return guardar(pago);
     }
 
     /**
@@ -127,22 +146,25 @@ public class PagoService {
         pago.rechazar(motivo);
         log.info("Rechazando pago ID: {} - Motivo: {}", pagoId, motivo);
         
-        return pagoRepository.save(pago);
+        return guardar(pago);
     }
 
     /**
-     * Procesa pagos vencidos
+     * Cuenta los pagos pendientes de acreditación
      */
-    public void procesarPagosVencidos() {
-        LocalDateTime fechaLimite = LocalDateTime.now();
-        List<Pago> pagosVencidos = pagoRepository.findPagosVencidos(fechaLimite);
-        
-        for (Pago pago : pagosVencidos) {
-            pago.marcarVencido();
-            pagoRepository.save(pago);
-        }
-        
-        log.info("Procesados {} pagos vencidos", pagosVencidos.size());
+    @Transactional(readOnly = true)
+    public long countPagosPendientes() {
+        return pagoRepository.countByEstado(EstadoPago.PENDIENTE);
+    }
+
+    /**
+     * Procesa pagos vencidos por lotes, cada uno en su propia transacción
+     *
+     * @return cantidad de pagos marcados como vencidos
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int procesarPagosVencidos() {
+        return vencimientoPagosService.vencerPendientes();
     }
 
     /**
@@ -178,6 +200,17 @@ public class PagoService {
         return pagoRepository.findPagosAcreditadosEnPeriodo(desde, hasta);
     }
 
+    /**
+     * Obtiene una página de los pagos acreditados en un período, ordenada por fecha
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Pago> getPaginaPagosAcreditadosEnPeriodo(LocalDateTime desde, LocalDateTime hasta,
+                                                          PaginaSolicitada solicitud) {
+        List<Pago> filas = pagoRepository.findPaginaAcreditadosEnPeriodo(desde, hasta,
+                solicitud.fechaHora(desde), solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, Pago::getFecha, Pago::getId);
+    }
+
     /**
      * Obtiene estadísticas de pagos por medio en un período
      */
@@ -235,12 +268,13 @@ public class PagoService {
 
         log.info("Creando pago manual para trámite ID: {} - Monto: ${}", tramite.getId(), monto);
         
-        return pagoRepository.save(pago);
+        return guardar(pago);
     }
 
     /**
      * Procesa un pago online
      */
+    @Timed("sigelic.pago.acreditacion")
     public Pago procesarPagoOnline(Long pagoId, String numeroTransaccionExterno, boolean exitoso) {
         Pago pago = pagoRepository.findById(pagoId)
                 .orElseThrow(() -> new IllegalArgumentException("Pago no encontrado con ID: " + pagoId));
@@ -249,6 +283,13 @@ public class PagoService {
             throw new IllegalStateException("Este método solo aplica para pagos online");
         }
 
+        // Aviso repetido de la pasarela: el pago ya tiene resultado y no se vuelve a guardar
+        if (pago.getEstado() != EstadoPago.PENDIENTE) {
+            log.info("Pago online ID: {} ya procesado ({}), se ignora la transacción externa {}",
+                    pagoId, pago.getEstado(), numeroTransaccionExterno);
+            return pago;
+        }
+
         if (exitoso) {
             pago.acreditar();
             pago.setObservaciones("Pago procesado por pasarela - Transacción: " + numeroTransaccionExterno);
@@ -258,7 +299,16 @@ public class PagoService {
             log.info("Pago online rechazado ID: {}", pagoId);
         }
         
-        return pagoRepository.save(pago);
+        return guardar(pago);
+    }
+
+    /**
+     * Guarda el pago y avisa del cambio (invalida los indicadores del dashboard)
+     */
+    private Pago guardar(Pago pago) {
+        Pago guardado = pagoRepository.save(pago);
+        eventPublisher.publishEvent(new PagoModificadoEvent(pago.getId(), pago.getEstado()));
+        return guardado;
     }
 
     private String generarNumeroTransaccion() {
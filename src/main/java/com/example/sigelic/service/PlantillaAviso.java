@@ -0,0 +1,59 @@
+package com.example.sigelic.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plantilla de aviso con variables {nombre}. El texto se divide una sola vez en
+ * literales y variables, así que componer cada aviso es solo concatenar.
+ * Las variables sin valor quedan escritas tal cual
+ */
+final class PlantillaAviso {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{([A-Za-z]+)}");
+
+    private final String[] literales;
+    private final String[] variables;
+    private final int largoLiterales;
+
+    private PlantillaAviso(String[] literales, String[] variables) {
+        this.literales = literales;
+        this.variables = variables;
+        int largo = 0;
+        for (String literal : literales) {
+            largo += literal.length();
+        }
+        this.largoLiterales = largo;
+    }
+
+    static PlantillaAviso compilar(String texto) {
+        List<String> literales = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = VARIABLE.matcher(texto);
+        int desde = 0;
+        while (matcher.find()) {
+            literales.add(texto.substring(desde, matcher.start()));
+            variables.add(matcher.group(1));
+            desde = matcher.end();
+        }
+        literales.add(texto.substring(desde));
+        return new PlantillaAviso(literales.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    String componer(Function<String, String> valores) {
+        StringBuilder texto = new StringBuilder(largoLiterales + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            texto.append(literales[i]);
+            String valor = valores.apply(variables[i]);
+            if (valor != null) {
+                texto.append(valor);
+            } else {
+                texto.append('{').append(variables[i]).append('}');
+            }
+        }
+        return texto.append(literales[variables.length]).toString();
+    }
+}
@@ -1,18 +1,29 @@
 package com.example.sigelic.service;
 
+import com.example.sigelic.config.CargaReportes;
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
 import com.example.sigelic.model.*;
 import com.example.sigelic.repository.*;
+import com.example.sigelic.repository.ExamenPracticoRepository.RendimientoPractico;
+import com.example.sigelic.repository.ExamenPracticoRepository.RendimientoPracticoDiario;
+import com.example.sigelic.repository.ExamenTeoricoRepository.RendimientoTeorico;
+import com.example.sigelic.repository.ExamenTeoricoRepository.RendimientoTeoricoDiario;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import static java.util.stream.Collectors.counting;
 import static java.util.stream.Collectors.groupingBy;
 
@@ -22,7 +33,9 @@ import static java.util.stream.Collectors.groupingBy;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
+@Transactional(readOnly = true, timeoutString = "${sigelic.reportes.timeout-segundos:60}")
+@Timed("sigelic.reporte")
+@CargaReportes
 public class ReporteService {
 
     private final TramiteRepository tramiteRepository;
@@ -317,14 +330,14 @@ public class ReporteService {
         
         // Licencias próximas a vencer (próximos 30 días)
         LocalDate hoy = LocalDate.now();
-        List<Licencia> proximasVencer = licenciaRepository.findLicenciasProximasAVencer(hoy, hoy.plusDays(30));
-        List<Licencia> vencidas = licenciaRepository.findLicenciasVencidas(hoy);
+        Long proximasVencer = licenciaRepository.countLicenciasProximasAVencer(hoy, hoy.plusDays(30));
+        Long vencidas = licenciaRepository.countLicenciasVencidas(hoy);
         
         // Licencias vigentes
         Long licenciasVigentes = licenciaRepository.countByFechaVencimientoAfter(hoy);
         
         // Inhabilitaciones activas
-        List<Inhabilitacion> inhabilitacionesActivas = inhabilitacionRepository.findInhabilitacionesActivas();
+        Long inhabilitacionesActivas = inhabilitacionRepository.countInhabilitacionesActivas();
         
         // Recaudación del mes actual
         LocalDateTime inicioMes = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
@@ -339,18 +352,47 @@ public class ReporteService {
         
         Map<String, Object> licencias = new HashMap<>();
         licencias.put("vigentesActuales", licenciasVigentes); // Total de licencias vigentes hoy
-        licencias.put("proximasVencer", proximasVencer.size());
-        licencias.put("vencidas", vencidas.size());
+        licencias.put("proximasVencer", proximasVencer);
+        licencias.put("vencidas", vencidas);
         
         dashboard.put("tramites", tramites);
         dashboard.put("licencias", licencias);
-        dashboard.put("inhabilitacionesActivas", inhabilitacionesActivas.size());
+        dashboard.put("inhabilitacionesActivas", inhabilitacionesActivas);
         dashboard.put("recaudacionMesActual", recaudacionMesActual != null ? recaudacionMesActual : BigDecimal.ZERO);
         dashboard.put("fechaGeneracion", LocalDateTime.now());
         
         return dashboard;
     }
 
+    /**
+     * Arma el dashboard con el mismo formato que {@link #getDashboard()} a partir de
+     * una instantánea ya calculada, sin consultar la base de datos
+     */
+    public Map<String, Object> getDashboard(DashboardSnapshotDTO snapshot) {
+        Map<EstadoTramite, Long> porEstado = snapshot.getTramitesPorEstado();
+
+        Map<String, Object> tramites = new HashMap<>();
+        tramites.put("iniciados", porEstado.getOrDefault(EstadoTramite.INICIADO, 0L));
+        tramites.put("enProceso", snapshot.getTramitesActivos() - porEstado.getOrDefault(EstadoTramite.INICIADO, 0L));
+        tramites.put("emitidos", porEstado.getOrDefault(EstadoTramite.EMITIDA, 0L));
+        tramites.put("rechazados", porEstado.getOrDefault(EstadoTramite.RECHAZADA, 0L));
+
+        Map<String, Object> licencias = new HashMap<>();
+        licencias.put("vigentesActuales", snapshot.getLicenciasVigentes());
+        licencias.put("proximasVencer", snapshot.getLicenciasProximasAVencer());
+        licencias.put("vencidas", snapshot.getLicenciasVencidas());
+
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("tramites", tramites);
+        dashboard.put("licencias", licencias);
+        dashboard.put("inhabilitacionesActivas", snapshot.getInhabilitacionesActivas());
+        dashboard.put("recaudacionMesActual", snapshot.getRecaudacionMesActual() != null
+                ? snapshot.getRecaudacionMesActual() : BigDecimal.ZERO);
+        dashboard.put("fechaGeneracion", snapshot.getGeneradoEn());
+
+        return dashboard;
+    }
+
     /**
      * Genera reporte de inhabilitaciones
      */
@@ -376,50 +418,69 @@ public class ReporteService {
     }
 
     /**
-     * Genera reporte de rendimiento por examinador
+     * Genera reporte de rendimiento por examinadores para todo el período
      */
     public Map<String, Object> getReporteRendimientoExaminadores(LocalDateTime desde, LocalDateTime hasta) {
+        return getReporteRendimientoExaminadores(desde, hasta, AgrupacionTemporal.NINGUNA);
+    }
+
+    /**
+     * Genera reporte de rendimiento por examinadores.
+     *
+     * Los exámenes se agrupan en la base, con una consulta por tipo de examen, y
+     * solo llegan las filas de totales por examinador (y por día, si se pide una
+     * agrupación temporal). Las semanas se arman sumando los días, por eso las
+     * consultas devuelven sumas y los promedios se calculan al final.
+     *
+     * @param agrupacion con DIARIA o SEMANAL se agrega rendimientoPorPeriodo,
+     *                   indexado por el primer día de cada período
+     */
+    public Map<String, Object> getReporteRendimientoExaminadores(LocalDateTime desde, LocalDateTime hasta,
+                                                                 AgrupacionTemporal agrupacion) {
         Map<String, Object> reporte = new HashMap<>();
-        
-        List<ExamenTeorico> examenesTeoricosPeriodo = examenTeoricoRepository.findExamenesEnPeriodo(desde, hasta);
-        List<ExamenPractico> examenesPracticosPeriodo = examenPracticoRepository.findExamenesEnPeriodo(desde, hasta);
-        
-        // Agrupar por examinador
-        Map<String, Map<String, Object>> rendimientoPorExaminador = new HashMap<>();
-        
-        // Procesar exámenes teóricos
-        examenesTeoricosPeriodo.forEach(examen -> {
-            String examinador = examen.getExaminador();
-            if (examinador != null) {
-                rendimientoPorExaminador.computeIfAbsent(examinador, k -> new HashMap<>());
-                Map<String, Object> stats = rendimientoPorExaminador.get(examinador);
-                stats.merge("totalTeoricos", 1L, (a, b) -> (Long)a + (Long)b);
-                if (examen.getAprobado()) {
-                    stats.merge("aprobadosTeoricos", 1L, (a, b) -> (Long)a + (Long)b);
-                }
+        Map<String, RendimientoExaminador> porExaminador = new TreeMap<>();
+        Map<LocalDate, Map<String, RendimientoExaminador>> porPeriodo = new TreeMap<>();
+
+        if (agrupacion == AgrupacionTemporal.NINGUNA) {
+            examenTeoricoRepository.findRendimientoPorExaminador(desde, hasta)
+                .forEach(fila -> rendimiento(porExaminador, fila.getExaminador()).sumarTeoricos(fila));
+            examenPracticoRepository.findRendimientoPorExaminador(desde, hasta)
+                .forEach(fila -> rendimiento(porExaminador, fila.getExaminador()).sumarPracticos(fila));
+        } else {
+            for (RendimientoTeoricoDiario fila : examenTeoricoRepository.findRendimientoPorExaminadorYDia(desde, hasta)) {
+                rendimiento(porExaminador, fila.getExaminador()).sumarTeoricos(fila);
+                rendimiento(porPeriodo.computeIfAbsent(agrupacion.inicio(fila.getDia()), k -> new TreeMap<>()),
+                        fila.getExaminador()).sumarTeoricos(fila);
             }
-        });
-        
-        // Procesar exámenes prácticos
-        examenesPracticosPeriodo.forEach(examen -> {
-            String examinador = examen.getExaminador();
-            if (examinador != null) {
-                rendimientoPorExaminador.computeIfAbsent(examinador, k -> new HashMap<>());
-                Map<String, Object> stats = rendimientoPorExaminador.get(examinador);
-                stats.merge("totalPracticos", 1L, (a, b) -> (Long)a + (Long)b);
-                if (examen.getAprobado()) {
-                    stats.merge("aprobadosPracticos", 1L, (a, b) -> (Long)a + (Long)b);
-                }
+            for (RendimientoPracticoDiario fila : examenPracticoRepository.findRendimientoPorExaminadorYDia(desde, hasta)) {
+                rendimiento(porExaminador, fila.getExaminador()).sumarPracticos(fila);
+                rendimiento(porPeriodo.computeIfAbsent(agrupacion.inicio(fila.getDia()), k -> new TreeMap<>()),
+                        fila.getExaminador()).sumarPracticos(fila);
             }
-        });
-        
-        reporte.put("rendimientoPorExaminador", rendimientoPorExaminador);
+
+            Map<LocalDate, Map<String, Map<String, Object>>> rendimientoPorPeriodo = new LinkedHashMap<>();
+            porPeriodo.forEach((inicio, examinadores) -> rendimientoPorPeriodo.put(inicio, comoMapas(examinadores)));
+            reporte.put("rendimientoPorPeriodo", rendimientoPorPeriodo);
+        }
+
+        reporte.put("rendimientoPorExaminador", comoMapas(porExaminador));
+        reporte.put("agrupacion", agrupacion);
         reporte.put("fechaDesde", desde);
         reporte.put("fechaHasta", hasta);
         
         return reporte;
     }
 
+    private static RendimientoExaminador rendimiento(Map<String, RendimientoExaminador> porExaminador, String examinador) {
+        return porExaminador.computeIfAbsent(examinador, k -> new RendimientoExaminador());
+    }
+
+    private static Map<String, Map<String, Object>> comoMapas(Map<String, RendimientoExaminador> porExaminador) {
+        Map<String, Map<String, Object>> mapas = new LinkedHashMap<>();
+        porExaminador.forEach((examinador, rendimiento) -> mapas.put(examinador, rendimiento.comoMapa()));
+        return mapas;
+    }
+
     /**
      * Obtiene lista de pagos con detalles para reporte
      */
@@ -468,4 +529,63 @@ public class ReporteService {
     public List<Inhabilitacion> getInhabilitacionesParaReporte() {
         return inhabilitacionRepository.findInhabilitacionesActivas();
     }
+
+    /**
+     * Períodos en los que se puede separar el reporte de rendimiento
+     */
+    public enum AgrupacionTemporal {
+        NINGUNA,
+        DIARIA,
+        SEMANAL;
+
+        /**
+         * Primer día del período que contiene al día dado (las semanas empiezan el lunes)
+         */
+        LocalDate inicio(LocalDate dia) {
+            return this == SEMANAL ? dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : dia;
+        }
+    }
+
+    /**
+     * Sumas del rendimiento de un examinador, teórico y práctico
+     */
+    private static final class RendimientoExaminador {
+
+        private long totalTeoricos;
+        private long aprobadosTeoricos;
+        private long sumaPuntaje;
+        private long totalPracticos;
+        private long aprobadosPracticos;
+        private long sumaFaltasLeves;
+        private long sumaFaltasGraves;
+
+        void sumarTeoricos(RendimientoTeorico fila) {
+            totalTeoricos += fila.getTotal();
+            aprobadosTeoricos += fila.getAprobados();
+            sumaPuntaje += fila.getSumaPuntaje();
+        }
+
+        void sumarPracticos(RendimientoPractico fila) {
+            totalPracticos += fila.getTotal();
+            aprobadosPracticos += fila.getAprobados();
+            sumaFaltasLeves += fila.getSumaFaltasLeves();
+            sumaFaltasGraves += fila.getSumaFaltasGraves();
+        }
+
+        Map<String, Object> comoMapa() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            if (totalTeoricos > 0) {
+                stats.put("totalTeoricos", totalTeoricos);
+                stats.put("aprobadosTeoricos", aprobadosTeoricos);
+                stats.put("puntajePromedioTeoricos", (double) sumaPuntaje / totalTeoricos);
+            }
+            if (totalPracticos > 0) {
+                stats.put("totalPracticos", totalPracticos);
+                stats.put("aprobadosPracticos", aprobadosPracticos);
+                stats.put("faltasLevesPromedio", (double) sumaFaltasLeves / totalPracticos);
+                stats.put("faltasGravesPromedio", (double) sumaFaltasGraves / totalPracticos);
+            }
+            return stats;
+        }
+    }
 }
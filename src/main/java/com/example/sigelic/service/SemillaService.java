@@ -0,0 +1,114 @@
+package com.example.sigelic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Siembra idempotente de los datos iniciales al arrancar.
+ *
+ * Cada conjunto de datos (configuraciones, usuarios por defecto) se identifica por
+ * un nombre y el checksum de sus definiciones. Si la base ya tiene registrado ese
+ * checksum, el arranque lo omite con una única consulta; si cambió, un solo nodo
+ * siembra a la vez (bloqueo de tarea) y el checksum se registra en la misma
+ * transacción que los datos.
+ */
+@Service
+@Slf4j
+public class SemillaService {
+
+    static final Duration DURACION_BLOQUEO = Duration.ofMinutes(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BloqueoTareaService bloqueoTareaService;
+
+    public SemillaService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          BloqueoTareaService bloqueoTareaService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bloqueoTareaService = bloqueoTareaService;
+    }
+
+    /**
+     * Ejecuta la siembra salvo que ya se haya aplicado con el mismo checksum
+     *
+     * @return true si la siembra se ejecutó en este llamado
+     */
+    public boolean aplicar(String nombre, String checksum, Runnable siembra) {
+        if (checksum.equals(checksumAplicado(nombre))) {
+            log.debug("Datos iniciales '{}' sin cambios, se omite la siembra", nombre);
+            return false;
+        }
+
+        String tarea = "semilla." + nombre;
+        if (!bloqueoTareaService.adquirir(tarea, DURACION_BLOQUEO)) {
+            log.info("Otro nodo está sembrando los datos iniciales '{}'", nombre);
+            return false;
+        }
+        try {
+            // Otro nodo pudo terminar entre la lectura del checksum y el bloqueo
+            if (checksum.equals(checksumAplicado(nombre))) {
+                return false;
+            }
+            long inicio = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                siembra.run();
+                registrar(nombre, checksum);
+            });
+            log.info("Datos iniciales '{}' sembrados en {} ms", nombre,
+                    Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+            return true;
+        } finally {
+            bloqueoTareaService.liberar(tarea);
+        }
+    }
+
+    /**
+     * Checksum SHA-256 de las definiciones de un conjunto de datos, en orden.
+     * Cada definición aporta su toString, así que deben ser records o valores
+     * con representación estable
+     */
+    public static String checksum(List<?> definiciones) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object definicion : definiciones) {
+                digest.update((definicion + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private String checksumAplicado(String nombre) {
+        List<String> checksums = jdbcTemplate.queryForList(
+            "SELECT checksum FROM semillas_aplicadas WHERE nombre = ?", String.class, nombre);
+        return checksums.isEmpty() ? null : checksums.get(0);
+    }
+
+    private void registrar(String nombre, String checksum) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        int actualizados = jdbcTemplate.update(
+            "UPDATE semillas_aplicadas SET checksum = ?, fecha_aplicacion = ? WHERE nombre = ?",
+            checksum, ahora, nombre);
+        if (actualizados == 0) {
+            jdbcTemplate.update(
+                "INSERT INTO semillas_aplicadas (nombre, checksum, fecha_aplicacion) VALUES (?, ?, ?)",
+                nombre, checksum, ahora);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.sigelic.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.TitularRequestDTO;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.dto.response.Versionado;
 import com.example.sigelic.model.Inhabilitacion;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.repository.InhabilitacionRepository;
@@ -26,6 +32,7 @@ public class TitularService {
 
     private final TitularRepository titularRepository;
     private final InhabilitacionRepository inhabilitacionRepository;
+    private final IndiceInhabilitaciones indiceInhabilitaciones;
 
     /**
      * Busca un titular por ID
@@ -35,6 +42,27 @@ public class TitularService {
         return titularRepository.findById(id);
     }
 
+    /**
+     * Lee la versión de la ficha de un titular y, solo si el cliente no la tiene
+     * todavía, el titular presentado con la vista dada. Ambas lecturas comparten
+     * la transacción, así la versión describe exactamente lo que se devuelve
+     *
+     * @param vigenteEnCliente indica si el cliente ya tiene la versión
+     * @param vista            arma la respuesta; corre dentro de la transacción
+     * @return vacío si el titular no existe
+     */
+    @Transactional(readOnly = true)
+    public <R> Optional<Versionado<R>> findVersionado(Long id, Predicate<String> vigenteEnCliente,
+                                                      Function<Titular, R> vista) {
+        return titularRepository.findVersionFicha(id).flatMap(versionFicha -> {
+            String version = versionFicha.etiqueta(LocalDate.now());
+            if (vigenteEnCliente.test(version)) {
+                return Optional.of(Versionado.<R>sinCambios(version));
+            }
+            return titularRepository.findById(id).map(titular -> new Versionado<>(version, vista.apply(titular)));
+        });
+    }
+
     /**
      * Busca un titular por DNI
      */
@@ -56,10 +84,7 @@ public class TitularService {
      */
     @Transactional(readOnly = true)
     public List<Titular> findByNombreWithInhabilitaciones(String nombre) {
-        List<Titular> titulares = titularRepository.findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(nombre, nombre);
-        // Forzar la carga de inhabilitaciones mientras estamos en sesión
-        titulares.forEach(titular -> titular.getInhabilitaciones().size());
-        return titulares;
+        return titularRepository.findWithInhabilitacionesByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(nombre, nombre);
     }
 
     /**
@@ -67,10 +92,7 @@ public class TitularService {
      */
     @Transactional(readOnly = true)
     public List<Titular> findByDniWithInhabilitaciones(String dni) {
-        List<Titular> titulares = titularRepository.findByDniContainingIgnoreCase(dni);
-        // Forzar la carga de inhabilitaciones mientras estamos en sesión
-        titulares.forEach(titular -> titular.getInhabilitaciones().size());
-        return titulares;
+        return titularRepository.findWithInhabilitacionesByDniContainingIgnoreCase(dni);
     }
 
     /**
@@ -89,15 +111,21 @@ public class TitularService {
         return titularRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de titulares ordenada por id
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Titular> findPagina(PaginaSolicitada solicitud) {
+        List<Titular> filas = titularRepository.findPagina(solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, titular -> null, Titular::getId);
+    }
+
     /**
      * Obtiene todos los titulares con inhabilitaciones cargadas para vistas
      */
     @Transactional(readOnly = true)
     public List<Titular> findAllWithInhabilitaciones() {
-        List<Titular> titulares = titularRepository.findAll();
-        // Forzar la carga de inhabilitaciones mientras estamos en sesión
-        titulares.forEach(titular -> titular.getInhabilitaciones().size());
-        return titulares;
+        return titularRepository.findAllWithInhabilitaciones();
     }
 
     /**
@@ -142,10 +170,11 @@ public class TitularService {
      */
     @Transactional(readOnly = true)
     public boolean puedeIniciarTramite(Long titularId) {
-        Titular titular = titularRepository.findById(titularId)
+        titularRepository.findById(titularId)
                 .orElseThrow(() -> new IllegalArgumentException("Titular no encontrado con ID: " + titularId));
         
-        return !titular.tieneInhabilitacionesActivas();
+        // Las inhabilitaciones se consultan en el índice en memoria, sin cargar la colección
+        return !indiceInhabilitaciones.estaInhabilitado(titularId);
     }
 
     /**
@@ -168,7 +197,9 @@ public class TitularService {
         
         inhabilitacion.setTitular(titular);
         log.info("Agregando inhabilitación al titular: {} {}", titular.getNombre(), titular.getApellido());
-        return inhabilitacionRepository.save(inhabilitacion);
+        Inhabilitacion guardada = inhabilitacionRepository.save(inhabilitacion);
+        indiceInhabilitaciones.registrar(guardada);
+        return guardada;
     }
 
     /**
@@ -195,6 +226,15 @@ public class TitularService {
         return titularRepository.findTitularesConInhabilitacionesActivas();
     }
 
+    /**
+     * Obtiene una página de titulares con inhabilitaciones activas ordenada por id
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Titular> getPaginaTitularesConInhabilitacionesActivas(PaginaSolicitada solicitud) {
+        List<Titular> filas = titularRepository.findPaginaConInhabilitacionesActivas(solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, titular -> null, Titular::getId);
+    }
+
     /**
      * Crea un titular a partir de un DTO
      */
@@ -5,12 +5,24 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.sigelic.dto.request.AptoMedicoRequestDTO;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.response.AptoMedicoResponseDTO;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.event.ExamenModificadoEvent;
+import com.example.sigelic.event.PagoModificadoEvent;
+import com.example.sigelic.event.TramiteEstadoCambiadoEvent;
 import com.example.sigelic.model.AptoMedico;
 import com.example.sigelic.model.ClaseLicencia;
 import com.example.sigelic.model.EstadoTramite;
@@ -39,6 +51,11 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class TramiteService {
 
+    /**
+     * Cantidad máxima de intentos de un paso del workflow ante conflictos de concurrencia
+     */
+    static final int MAX_INTENTOS_CONFLICTO = 5;
+
     private final TramiteRepository tramiteRepository;
     private final TitularService titularService;
     private final ExamenTeoricoRepository examenTeoricoRepository;
@@ -46,6 +63,8 @@ public class TramiteService {
     private final AptoMedicoRepository aptoMedicoRepository;
     private final PagoRepository pagoRepository;
     private final LicenciaService licenciaService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Busca un trámite por ID
@@ -81,9 +100,20 @@ public class TramiteService {
         return tramiteRepository.findByEstado(estado);
     }
 
+    /**
+     * Obtiene una página de los trámites en un estado, ordenada por fecha de creación
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Tramite> findPaginaByEstado(EstadoTramite estado, PaginaSolicitada solicitud) {
+        List<Tramite> filas = tramiteRepository.findPaginaByEstado(estado, solicitud.fechaHora(),
+                solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, Tramite::getFechaCreacion, Tramite::getId);
+    }
+
     /**
      * Inicia un nuevo trámite
      */
+    @Timed("sigelic.tramite.paso")
     public Tramite iniciarTramite(Long titularId, TipoTramite tipo, ClaseLicencia clase) {
         Titular titular = titularService.findById(titularId)
                 .orElseThrow(() -> new IllegalArgumentException("Titular no encontrado con ID: " + titularId));
@@ -119,7 +149,9 @@ public class TramiteService {
         tramite.setEstado(EstadoTramite.INICIADO);
 
         log.info("Iniciando trámite de {} para titular: {} {}", tipo.name(), titular.getNombre(), titular.getApellido());
-        return tramiteRepository.save(tramite);
+        Tramite guardado = tramiteRepository.save(tramite);
+        eventPublisher.publishEvent(new TramiteEstadoCambiadoEvent(guardado.getId(), null, guardado.getEstado()));
+        return guardado;
     }
 
     /**
@@ -233,25 +265,28 @@ public class TramiteService {
     /**
      * Valida la documentación de un trámite
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite validarDocumentacion(Long tramiteId, String agenteResponsable) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
-        if (tramite.getEstado() != EstadoTramite.INICIADO) {
-            throw new IllegalStateException("Solo se puede validar documentación de trámites en estado INICIADO");
-        }
+        return ejecutarPaso(tramiteId, tramite -> {
+            if (tramite.getEstado() != EstadoTramite.INICIADO) {
+                throw new IllegalStateException("Solo se puede validar documentación de trámites en estado INICIADO");
+            }
 
-        tramite.setDocumentacionValidada(true);
-        tramite.setAgenteResponsable(agenteResponsable);
-        tramite.actualizarEstado();
+            tramite.setDocumentacionValidada(true);
+            tramite.setAgenteResponsable(agenteResponsable);
+            tramite.actualizarEstado();
 
-        log.info("Documentación validada para trámite ID: {}", tramiteId);
-        return tramiteRepository.save(tramite);
+            log.info("Documentación validada para trámite ID: {}", tramiteId);
+            return tramiteRepository.save(tramite);
+        });
     }
 
     /**
      * Valida la documentación de un trámite (versión simplificada)
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite validarDocumentacion(Long tramiteId) {
         return validarDocumentacion(tramiteId, "Sistema"); // Agente por defecto
     }
@@ -259,232 +294,311 @@ public class TramiteService {
     /**
      * Registra un examen teórico
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite registrarExamenTeorico(Long tramiteId, ExamenTeorico examen) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
-        if (!tramite.requiereExamenTeorico()) {
-            throw new IllegalStateException("Este tipo de trámite no requiere examen teórico");
-        }
-
-        examen.setTramite(tramite);
-        examen.setFecha(LocalDateTime.now());
-        examenTeoricoRepository.save(examen);
+        return ejecutarPaso(tramiteId, tramite -> {
+            if (!tramite.requiereExamenTeorico()) {
+                throw new IllegalStateException("Este tipo de trámite no requiere examen teórico");
+            }
 
-        if (examen.getAprobado()) {
-            tramite.setExamenTeoricoAprobado(true);
-            tramite.actualizarEstado();
-            log.info("Examen teórico aprobado para trámite ID: {}", tramiteId);
-        } else {
-            log.info("Examen teórico desaprobado para trámite ID: {}", tramiteId);
-        }
+            examen.setId(null);
+            examen.setTramite(tramite);
+            examen.setFecha(LocalDateTime.now());
+            examenTeoricoRepository.save(examen);
+            eventPublisher.publishEvent(new ExamenModificadoEvent(examen.getId(), false));
+
+            if (examen.getAprobado()) {
+                tramite.setExamenTeoricoAprobado(true);
+                tramite.actualizarEstado();
+                log.info("Examen teórico aprobado para trámite ID: {}", tramiteId);
+            } else {
+                log.info("Examen teórico desaprobado para trámite ID: {}", tramiteId);
+            }
 
-        return tramiteRepository.save(tramite);
+            return tramiteRepository.save(tramite);
+        });
     }
 
     /**
      * Registra un examen práctico
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite registrarExamenPractico(Long tramiteId, ExamenPractico examen) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
-        if (!tramite.requiereExamenPractico()) {
-            throw new IllegalStateException("Este tipo de trámite no requiere examen práctico");
-        }
-
-        examen.setTramite(tramite);
-        examen.setFecha(LocalDateTime.now());
-        examenPracticoRepository.save(examen);
+        return ejecutarPaso(tramiteId, tramite -> {
+            if (!tramite.requiereExamenPractico()) {
+                throw new IllegalStateException("Este tipo de trámite no requiere examen práctico");
+            }
 
-        if (examen.getAprobado()) {
-            tramite.setExamenPracticoAprobado(true);
-            tramite.actualizarEstado();
-            log.info("Examen práctico aprobado para trámite ID: {}", tramiteId);
-        } else {
-            log.info("Examen práctico desaprobado para trámite ID: {}", tramiteId);
-        }
+            examen.setId(null);
+            examen.setTramite(tramite);
+            examen.setFecha(LocalDateTime.now());
+            examenPracticoRepository.save(examen);
+            eventPublisher.publishEvent(new ExamenModificadoEvent(examen.getId(), true));
+
+            if (examen.getAprobado()) {
+                tramite.setExamenPracticoAprobado(true);
+                tramite.actualizarEstado();
+                log.info("Examen práctico aprobado para trámite ID: {}", tramiteId);
+            } else {
+                log.info("Examen práctico desaprobado para trámite ID: {}", tramiteId);
+            }
 
-        return tramiteRepository.save(tramite);
+            return tramiteRepository.save(tramite);
+        });
     }
 
     /**
      * Registra un apto médico
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite registrarAptoMedico(Long tramiteId, AptoMedico apto) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
-        if (!tramite.requiereAptoMedico()) {
-            throw new IllegalStateException("Este tipo de trámite no requiere apto médico");
-        }
-
-        apto.setTramite(tramite);
-        apto.setFecha(LocalDateTime.now());
-        aptoMedicoRepository.save(apto);
+        return ejecutarPaso(tramiteId, tramite -> {
+            if (!tramite.requiereAptoMedico()) {
+                throw new IllegalStateException("Este tipo de trámite no requiere apto médico");
+            }
 
-        if (apto.getApto()) {
-            tramite.setAptoMedicoVigente(true);
-            tramite.actualizarEstado();
-            log.info("Apto médico registrado para trámite ID: {}", tramiteId);
-        } else {
-            log.info("No apto médico registrado para trámite ID: {}", tramiteId);
-        }
+            apto.setId(null);
+            apto.setTramite(tramite);
+            apto.setFecha(LocalDateTime.now());
+            aptoMedicoRepository.save(apto);
+
+            if (apto.getApto()) {
+                tramite.setAptoMedicoVigente(true);
+                tramite.actualizarEstado();
+                log.info("Apto médico registrado para trámite ID: {}", tramiteId);
+            } else {
+                log.info("No apto médico registrado para trámite ID: {}", tramiteId);
+            }
 
-        return tramiteRepository.save(tramite);
+            return tramiteRepository.save(tramite);
+        });
     }
 
     /**
      * Registra un pago
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite registrarPago(Long tramiteId, Pago pago) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
+        return ejecutarPaso(tramiteId, tramite -> {
+            pago.setId(null);
+            pago.setTramite(tramite);
+            pagoRepository.save(pago);
+            eventPublisher.publishEvent(new PagoModificadoEvent(pago.getId(), pago.getEstado()));
+
+            if (pago.isAcreditado()) {
+                tramite.setPagoAcreditado(true);
+                tramite.actualizarEstado();
+                log.info("Pago acreditado para trámite ID: {}", tramiteId);
+            }
+
+            return tramiteRepository.save(tramite);
+        });
+    }
 
-        pago.setTramite(tramite);
-        pagoRepository.save(pago);
+    /**
+     * Registra en el trámite un pago ya creado y acreditado (por ejemplo, en caja)
+     */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Tramite registrarPagoAcreditado(Long tramiteId, Long pagoId) {
+        return ejecutarPaso(tramiteId, tramite -> {
+            Pago pago = pagoRepository.findById(pagoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Pago no encontrado con ID: " + pagoId));
+            if (!tramiteId.equals(pago.getTramite().getId())) {
+                throw new IllegalArgumentException("El pago ID: " + pagoId + " no pertenece al trámite ID: " + tramiteId);
+            }
+            if (!pago.isAcreditado()) {
+                throw new IllegalStateException("El pago ID: " + pagoId + " no está acreditado");
+            }
 
-        if (pago.isAcreditado()) {
             tramite.setPagoAcreditado(true);
             tramite.actualizarEstado();
-            log.info("Pago acreditado para trámite ID: {}", tramiteId);
-        }
+            log.info("Pago ID: {} acreditado para trámite ID: {}", pagoId, tramiteId);
 
-        return tramiteRepository.save(tramite);
+            return tramiteRepository.save(tramite);
+        });
     }
 
     /**
      * Emite una licencia si todos los requisitos están cumplidos
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Licencia emitirLicencia(Long tramiteId) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
-        if (!tramite.todosLosRequisitosCumplidos()) {
-            throw new IllegalStateException("No se pueden emitir licencias sin cumplir todos los requisitos");
-        }
+        return ejecutarPaso(tramiteId, tramite -> {
+            if (!tramite.todosLosRequisitosCumplidos()) {
+                throw new IllegalStateException("No se pueden emitir licencias sin cumplir todos los requisitos");
+            }
 
-        if (tramite.getEstado() == EstadoTramite.EMITIDA) {
-            throw new IllegalStateException("El trámite ya tiene una licencia emitida");
-        }
+            if (tramite.getEstado() == EstadoTramite.EMITIDA) {
+                throw new IllegalStateException("El trámite ya tiene una licencia emitida");
+            }
 
-        Licencia licencia = licenciaService.emitirLicencia(tramite);
-        tramite.setEstado(EstadoTramite.EMITIDA);
-        tramiteRepository.save(tramite);
+            Licencia licencia = licenciaService.emitirLicencia(tramite);
+            tramite.setEstado(EstadoTramite.EMITIDA);
+            tramiteRepository.save(tramite);
 
-        log.info("Licencia emitida para trámite ID: {}", tramiteId);
-        return licencia;
+            log.info("Licencia emitida para trámite ID: {}", tramiteId);
+            return licencia;
+        });
     }
 
     /**
      * Rechaza un trámite (método genérico mantenido por compatibilidad)
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite rechazarTramite(Long tramiteId, String motivo) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
-        log.info("Intentando rechazar trámite ID: {} en estado: {} - Motivo: {}", 
-                tramiteId, tramite.getEstado(), motivo);
-
-        // Determinar qué tipo de rechazo es basado en el estado actual
-        switch (tramite.getEstado()) {
-            case INICIADO -> {
-                // Si está iniciado, se está validando documentación
-                return rechazarDocumentacion(tramiteId, motivo);
-            }
-            case DOCS_OK, APTO_MED -> {
-                // Si tiene docs OK o apto médico, puede estar en examen teórico
-                if (tramite.requiereExamenTeorico()) {
-                    return rechazarExamenTeorico(tramiteId, motivo);
-                } else if (tramite.requiereExamenPractico()) {
-                    return rechazarExamenPractico(tramiteId, motivo);
-                } else {
-                    // Rechazo genérico
-                    tramite.setEstado(EstadoTramite.RECHAZADA);
-                    tramite.setObservaciones(motivo);
-                    log.info("Trámite rechazado genéricamente ID: {} - Motivo: {}", tramiteId, motivo);
-                    return tramiteRepository.save(tramite);
+        return ejecutarPaso(tramiteId, tramite -> {
+            log.info("Intentando rechazar trámite ID: {} en estado: {} - Motivo: {}", 
+                    tramiteId, tramite.getEstado(), motivo);
+
+            // Determinar qué tipo de rechazo es basado en el estado actual
+            switch (tramite.getEstado()) {
+                case INICIADO -> {
+                    // Si está iniciado, se está validando documentación
+                    return aplicarRechazoDocumentacion(tramite, motivo);
                 }
-            }
-            case EX_TEO_OK -> {
-                // Si aprobó teórico, puede estar en práctico
-                if (tramite.requiereExamenPractico()) {
-                    return rechazarExamenPractico(tramiteId, motivo);
-                } else {
-                    // Rechazo genérico
-                    tramite.setEstado(EstadoTramite.RECHAZADA);
-                    tramite.setObservaciones(motivo);
-                    log.info("Trámite rechazado genéricamente ID: {} - Motivo: {}", tramiteId, motivo);
-                    return tramiteRepository.save(tramite);
+                case DOCS_OK, APTO_MED -> {
+                    // Si tiene docs OK o apto médico, puede estar en examen teórico
+                    if (tramite.requiereExamenTeorico()) {
+                        return aplicarRechazoExamenTeorico(tramite, motivo);
+                    } else if (tramite.requiereExamenPractico()) {
+                        return aplicarRechazoExamenPractico(tramite, motivo);
+                    } else {
+                        return aplicarRechazoGenerico(tramite, motivo);
+                    }
+                }
+                case EX_TEO_OK -> {
+                    // Si aprobó teórico, puede estar en práctico
+                    if (tramite.requiereExamenPractico()) {
+                        return aplicarRechazoExamenPractico(tramite, motivo);
+                    } else {
+                        return aplicarRechazoGenerico(tramite, motivo);
+                    }
+                }
+                default -> {
+                    // Rechazo genérico para otros casos
+                    return aplicarRechazoGenerico(tramite, motivo);
                 }
             }
-            default -> {
-                // Rechazo genérico para otros casos
-                tramite.setEstado(EstadoTramite.RECHAZADA);
-                tramite.setObservaciones(motivo);
-                log.info("Trámite rechazado genéricamente ID: {} - Motivo: {}", tramiteId, motivo);
-                return tramiteRepository.save(tramite);
-            }
-        }
+        });
     }
 
     /**
      * Rechaza la documentación de un trámite
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tramite rechazarDocumentacion(Long tramiteId, String motivo) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
+        return ejecutarPaso(tramiteId, tramite -> aplicarRechazoDocumentacion(tramite, motivo));
+    }
+
+    /**
+     * Rechaza el examen teórico de un trámite
+     */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Tramite rechazarExamenTeorico(Long tramiteId, String motivo) {
+        return ejecutarPaso(tramiteId, tramite -> aplicarRechazoExamenTeorico(tramite, motivo));
+    }
+
+    /**
+     * Rechaza el examen práctico de un trámite
+     */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Tramite rechazarExamenPractico(Long tramiteId, String motivo) {
+        return ejecutarPaso(tramiteId, tramite -> aplicarRechazoExamenPractico(tramite, motivo));
+    }
+
+    /**
+     * Permite el reintento de un trámite rechazado
+     */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Tramite permitirReintento(Long tramiteId, String motivo) {
+        return ejecutarPaso(tramiteId, tramite -> {
+            tramite.setObservaciones(motivo);
+            tramite.permitirReintento();
+            log.info("Reintento autorizado para trámite ID: {} - Motivo: {}", tramiteId, motivo);
+            return tramiteRepository.save(tramite);
+        });
+    }
 
-        log.info("Rechazando documentación para trámite ID: {} en estado: {}", tramiteId, tramite.getEstado());
+    private Tramite aplicarRechazoDocumentacion(Tramite tramite, String motivo) {
+        log.info("Rechazando documentación para trámite ID: {} en estado: {}", tramite.getId(), tramite.getEstado());
         
         tramite.setObservaciones(motivo);
         tramite.rechazarDocumentacion();
         
         log.info("Documentación rechazada para trámite ID: {} - Nuevo estado: {} - Motivo: {}", 
-                tramiteId, tramite.getEstado(), motivo);
+                tramite.getId(), tramite.getEstado(), motivo);
         
         return tramiteRepository.save(tramite);
     }
 
-    /**
-     * Rechaza el examen teórico de un trámite
-     */
-    public Tramite rechazarExamenTeorico(Long tramiteId, String motivo) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
+    private Tramite aplicarRechazoExamenTeorico(Tramite tramite, String motivo) {
         tramite.setObservaciones(motivo);
         tramite.rechazarExamenTeorico();
-        log.info("Examen teórico rechazado para trámite ID: {} - Motivo: {}", tramiteId, motivo);
+        log.info("Examen teórico rechazado para trámite ID: {} - Motivo: {}", tramite.getId(), motivo);
         return tramiteRepository.save(tramite);
     }
 
-    /**
-     * Rechaza el examen práctico de un trámite
-     */
-    public Tramite rechazarExamenPractico(Long tramiteId, String motivo) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
+    private Tramite aplicarRechazoExamenPractico(Tramite tramite, String motivo) {
         tramite.setObservaciones(motivo);
         tramite.rechazarExamenPractico();
-        log.info("Examen práctico rechazado para trámite ID: {} - Motivo: {}", tramiteId, motivo);
+        log.info("Examen práctico rechazado para trámite ID: {} - Motivo: {}", tramite.getId(), motivo);
         return tramiteRepository.save(tramite);
     }
 
-    /**
-     * Permite el reintento de un trámite rechazado
-     */
-    public Tramite permitirReintento(Long tramiteId, String motivo) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
+    private Tramite aplicarRechazoGenerico(Tramite tramite, String motivo) {
+        tramite.setEstado(EstadoTramite.RECHAZADA);
         tramite.setObservaciones(motivo);
-        tramite.permitirReintento();
-        log.info("Reintento autorizado para trámite ID: {} - Motivo: {}", tramiteId, motivo);
+        log.info("Trámite rechazado genéricamente ID: {} - Motivo: {}", tramite.getId(), motivo);
         return tramiteRepository.save(tramite);
     }
 
+    /**
+     * Ejecuta un paso del workflow sobre un trámite con control de concurrencia optimista.
+     * 
+     * El trámite se lee, se modifica y se sincroniza dentro de una transacción; gracias a
+     * {@code @Version} y {@code @DynamicUpdate} la escritura es un UPDATE de las columnas
+     * modificadas condicionado a la versión leída. Si otro usuario modificó el trámite en el
+     * medio, el paso se reintenta completo en una transacción nueva (releyendo el estado
+     * actual) hasta {@value #MAX_INTENTOS_CONFLICTO} veces. Si el paso se invoca dentro de
+     * una transacción existente no se reintenta: el conflicto se propaga al llamador.
+     */
+    private <T> T ejecutarPaso(Long tramiteId, Function<Tramite, T> paso) {
+        boolean transaccionExterna = TransactionSynchronizationManager.isActualTransactionActive();
+        for (int intento = 1; ; intento++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Tramite tramite = tramiteRepository.findById(tramiteId)
+                            .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
+                    EstadoTramite estadoAnterior = tramite.getEstado();
+                    T resultado = paso.apply(tramite);
+                    tramiteRepository.flush();
+                    if (tramite.getEstado() != estadoAnterior) {
+                        eventPublisher.publishEvent(
+                            new TramiteEstadoCambiadoEvent(tramiteId, estadoAnterior, tramite.getEstado()));
+                    }
+                    return resultado;
+                });
+            } catch (ConcurrencyFailureException e) {
+                if (transaccionExterna || intento >= MAX_INTENTOS_CONFLICTO) {
+                    log.warn("Conflicto de concurrencia no resuelto para trámite ID: {} tras {} intento(s)", tramiteId, intento);
+                    throw e;
+                }
+                log.debug("Conflicto de concurrencia en trámite ID: {} (intento {}), reintentando", tramiteId, intento);
+            }
+        }
+    }
+
     /**
      * Obtiene el trámite activo de un titular
      */
@@ -538,54 +652,55 @@ public class TramiteService {
     /**
      * Registra un apto médico usando DTO
      */
+    @Timed("sigelic.tramite.paso")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AptoMedicoResponseDTO registrarAptoMedico(Long tramiteId, AptoMedicoRequestDTO request) {
-        Tramite tramite = tramiteRepository.findById(tramiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Trámite no encontrado con ID: " + tramiteId));
-
-        if (!tramite.requiereAptoMedico()) {
-            throw new IllegalStateException("Este tipo de trámite no requiere apto médico");
-        }
-
-        // Crear entidad AptoMedico desde DTO (solo campos disponibles)
-        AptoMedico apto = new AptoMedico();
-        apto.setTramite(tramite);
-        apto.setFecha(request.getFechaExamen());
-        apto.setProfesional(request.getMedicoExaminador());
-        apto.setApto(request.getApto());
-        apto.setPresionSistolica(request.getPresionSistolica());
-        apto.setPresionDiastolica(request.getPresionDiastolica());
-        
-        // Combinar campos de agudeza visual
-        String agudezaVisual = String.format("OD: %.1f, OI: %.1f", 
-            request.getAgudezaVisualOjoDerecho() != null ? request.getAgudezaVisualOjoDerecho().doubleValue() : 0.0,
-            request.getAgudezaVisualOjoIzquierdo() != null ? request.getAgudezaVisualOjoIzquierdo().doubleValue() : 0.0);
-        apto.setAgudezaVisual(agudezaVisual);
-        
-        apto.setObservaciones(request.getObservaciones());
-        apto.setRestricciones(request.getRestricciones());
-        
-        // Calcular fecha de vencimiento según meses de validez
-        if (request.getMesesValidez() != null) {
-            apto.setFechaVencimiento(request.getFechaExamen().toLocalDate().plusMonths(request.getMesesValidez()));
-        }
+        return ejecutarPaso(tramiteId, tramite -> {
+            if (!tramite.requiereAptoMedico()) {
+                throw new IllegalStateException("Este tipo de trámite no requiere apto médico");
+            }
 
-        aptoMedicoRepository.save(apto);
+            // Crear entidad AptoMedico desde DTO (solo campos disponibles)
+            AptoMedico apto = new AptoMedico();
+            apto.setTramite(tramite);
+            apto.setFecha(request.getFechaExamen());
+            apto.setProfesional(request.getMedicoExaminador());
+            apto.setApto(request.getApto());
+            apto.setPresionSistolica(request.getPresionSistolica());
+            apto.setPresionDiastolica(request.getPresionDiastolica());
+            
+            // Combinar campos de agudeza visual
+            String agudezaVisual = String.format("OD: %.1f, OI: %.1f", 
+                request.getAgudezaVisualOjoDerecho() != null ? request.getAgudezaVisualOjoDerecho().doubleValue() : 0.0,
+                request.getAgudezaVisualOjoIzquierdo() != null ? request.getAgudezaVisualOjoIzquierdo().doubleValue() : 0.0);
+            apto.setAgudezaVisual(agudezaVisual);
+            
+            apto.setObservaciones(request.getObservaciones());
+            apto.setRestricciones(request.getRestricciones());
+            
+            // Calcular fecha de vencimiento según meses de validez
+            if (request.getMesesValidez() != null) {
+                apto.setFechaVencimiento(request.getFechaExamen().toLocalDate().plusMonths(request.getMesesValidez()));
+            }
 
-        if (apto.getApto()) {
-            tramite.setAptoMedicoVigente(true);
-            tramite.actualizarEstado();
-            log.info("Apto médico registrado para trámite ID: {}", tramiteId);
-        } else {
-            // Cambiar estado a APTO_MED_RECHAZADO (estado final)
-            tramite.setEstado(EstadoTramite.APTO_MED_RECHAZADO);
-            tramite.setAptoMedicoVigente(false);
-            log.info("No apto médico registrado para trámite ID: {} - Trámite finalizado", tramiteId);
-        }
+            aptoMedicoRepository.save(apto);
+
+            if (apto.getApto()) {
+                tramite.setAptoMedicoVigente(true);
+                tramite.actualizarEstado();
+                log.info("Apto médico registrado para trámite ID: {}", tramiteId);
+            } else {
+                // Cambiar estado a APTO_MED_RECHAZADO (estado final)
+                tramite.setEstado(EstadoTramite.APTO_MED_RECHAZADO);
+                tramite.setAptoMedicoVigente(false);
+                log.info("No apto médico registrado para trámite ID: {} - Trámite finalizado", tramiteId);
+            }
 
-        tramiteRepository.save(tramite);
+            tramiteRepository.save(tramite);
 
-        // Convertir a DTO de respuesta
-        return convertirAAptoMedicoResponseDTO(apto);
+            // Convertir a DTO de respuesta
+            return convertirAAptoMedicoResponseDTO(apto);
+        });
     }
 
     /**
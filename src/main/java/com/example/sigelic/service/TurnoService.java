@@ -1,10 +1,15 @@
 package com.example.sigelic.service;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.event.TurnoLiberadoEvent;
 import com.example.sigelic.model.*;
 import com.example.sigelic.repository.TurnoRepository;
 import com.example.sigelic.repository.RecursoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +29,7 @@ public class TurnoService {
     private final TurnoRepository turnoRepository;
     private final RecursoRepository recursoRepository;
     private final TitularService titularService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Busca un turno por ID
@@ -61,14 +67,27 @@ public class TurnoService {
         return turnoRepository.findTurnosEnPeriodo(desde, hasta);
     }
 
+    /**
+     * Obtiene una página de los turnos en un período, ordenada por inicio
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Turno> findPaginaEnPeriodo(LocalDateTime desde, LocalDateTime hasta, PaginaSolicitada solicitud) {
+        List<Turno> filas = turnoRepository.findPaginaEnPeriodo(desde, hasta,
+                solicitud.fechaHora(desde), solicitud.ultimoId(), solicitud.limite());
+        return Pagina.de(filas, solicitud, Turno::getInicio, Turno::getId);
+    }
+
     /**
      * Reserva un nuevo turno
      */
+    @Timed("sigelic.turno.reserva")
     public Turno reservarTurno(Long titularId, TipoTurno tipo, LocalDateTime inicio, LocalDateTime fin, Long recursoId, Long tramiteId) {
         Titular titular = titularService.findById(titularId)
                 .orElseThrow(() -> new IllegalArgumentException("Titular no encontrado con ID: " + titularId));
 
-        Recurso recurso = recursoRepository.findById(recursoId)
+        // Bloquear el recurso: otra reserva o la lista de espera no pueden tomar el
+        // mismo horario entre la verificación y el alta
+        Recurso recurso = recursoRepository.findByIdParaReserva(recursoId)
                 .orElseThrow(() -> new IllegalArgumentException("Recurso no encontrado con ID: " + recursoId));
 
         // Validar que el recurso esté activo
@@ -166,10 +185,15 @@ public class TurnoService {
             throw new IllegalStateException("No se puede cancelar un turno completado");
         }
 
+        boolean ocupaHorario = ocupaHorario(turno);
         turno.cancelar(motivo);
         log.info("Cancelando turno ID: {} - Motivo: {}", turnoId, motivo);
-        
-        return turnoRepository.save(turno);
+
+        Turno guardado = turnoRepository.save(turno);
+        if (ocupaHorario) {
+            publicarLiberado(turno);
+        }
+        return guardado;
     }
 
     /**
@@ -185,8 +209,28 @@ public class TurnoService {
 
         turno.marcarAusente();
         log.info("Marcando como ausente turno ID: {}", turnoId);
-        
-        return turnoRepository.save(turno);
+
+        Turno guardado = turnoRepository.save(turno);
+        publicarLiberado(turno);
+        return guardado;
+    }
+
+    /**
+     * Indica si el turno tiene tomado su horario en el recurso
+     */
+    private boolean ocupaHorario(Turno turno) {
+        return turno.getEstado() == EstadoTurno.RESERVADO || turno.getEstado() == EstadoTurno.CONFIRMADO;
+    }
+
+    /**
+     * Avisa que el horario del turno quedó libre; la lista de espera lo ofrece
+     * después del commit
+     */
+    private void publicarLiberado(Turno turno) {
+        if (turno.getRecurso() != null) {
+            eventPublisher.publishEvent(new TurnoLiberadoEvent(turno.getId(), turno.getTipo(), turno.getTipoRecurso(),
+                    turno.getRecurso().getId(), turno.getInicio(), turno.getFin()));
+        }
     }
 
     /**
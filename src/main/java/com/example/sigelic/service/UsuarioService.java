@@ -1,5 +1,7 @@
 package com.example.sigelic.service;
 
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.model.Permiso;
 import com.example.sigelic.model.RolSistema;
 import com.example.sigelic.model.Usuario;
@@ -13,8 +15,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Servicio para la gestión de usuarios del sistema
@@ -512,6 +516,17 @@ public class UsuarioService {
         return usuarioRepository.findUsuariosInactivos(fechaCorte);
     }
 
+    /**
+     * Obtiene una página de usuarios inactivos ordenada por id
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Usuario> obtenerPaginaUsuariosInactivos(int diasInactividad, PaginaSolicitada solicitud) {
+        LocalDateTime fechaCorte = LocalDateTime.now().minusDays(diasInactividad);
+        List<Usuario> filas = usuarioRepository.findPaginaUsuariosInactivos(fechaCorte, solicitud.ultimoId(),
+                solicitud.limite());
+        return Pagina.de(filas, solicitud, usuario -> null, Usuario::getId);
+    }
+
     /**
      * Genera una contraseña temporal
      */
@@ -535,6 +550,14 @@ public class UsuarioService {
         return usuarioRepository.existsByUsername(username);
     }
 
+    /**
+     * Obtiene cuáles de los usernames dados ya existen, en una única consulta
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findUsernamesExistentes(Collection<String> usernames) {
+        return usuarioRepository.findUsernamesIn(usernames);
+    }
+
     /**
      * Verifica si existe un usuario con el email dado
      */
@@ -0,0 +1,121 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.event.PagoModificadoEvent;
+import com.example.sigelic.model.EstadoPago;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Servicio que marca como vencidas las órdenes de pago pendientes cuyo plazo pasó.
+ *
+ * Recorre los pagos pendientes por tramos de id (keyset) y vence cada tramo con un
+ * único UPDATE en su propia transacción, sin cargar entidades. Un bloqueo con
+ * vencimiento en bloqueos_tareas garantiza que un solo nodo lo ejecute a la vez.
+ */
+@Service
+@Slf4j
+public class VencimientoPagosService {
+
+    static final String TAREA = "vencimiento-pagos";
+    static final String METRICA = "sigelic.pago.vencidos";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BloqueoTareaService bloqueoTareaService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter pagosVencidos;
+
+    @Value("${sigelic.pagos.vencimiento.lote:1000}")
+    private int tamanioLote = 1000;
+
+    @Value("${sigelic.pagos.vencimiento.duracion-bloqueo:PT5M}")
+    private Duration duracionBloqueo = Duration.ofMinutes(5);
+
+    public VencimientoPagosService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   BloqueoTareaService bloqueoTareaService, ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bloqueoTareaService = bloqueoTareaService;
+        this.eventPublisher = eventPublisher;
+        this.pagosVencidos = Counter.builder(METRICA)
+                .description("Órdenes de pago pendientes marcadas como vencidas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecución periódica en todos los nodos; solo avanza el que obtiene el bloqueo
+     */
+    @Scheduled(cron = "${sigelic.pagos.vencimiento.cron:0 */5 * * * *}")
+    public void ejecutarProgramado() {
+        vencerPendientes();
+    }
+
+    /**
+     * Vence los pagos pendientes con fecha de vencimiento anterior a ahora
+     *
+     * @return cantidad de pagos vencidos, 0 si otro nodo tiene la tarea en curso
+     */
+    @Timed("sigelic.pago.vencimiento")
+    public int vencerPendientes() {
+        if (!bloqueoTareaService.adquirir(TAREA, duracionBloqueo)) {
+            log.debug("Vencimiento de pagos en curso en otro nodo");
+            return 0;
+        }
+
+        Timestamp limite = Timestamp.valueOf(LocalDateTime.now());
+        long ultimoId = 0;
+        int total = 0;
+        int lotes = 0;
+        try {
+            while (true) {
+                // Id máximo del siguiente tramo de pagos vencidos, leído del índice por estado
+                Long tope = jdbcTemplate.queryForObject(
+                    "SELECT MAX(id) FROM (SELECT id FROM pagos WHERE estado = ? AND fecha_vencimiento < ? AND id > ? "
+                        + "ORDER BY id LIMIT ?) tramo",
+                    Long.class, EstadoPago.PENDIENTE.name(), limite, ultimoId, tamanioLote);
+                if (tope == null) {
+                    break;
+                }
+
+                long desde = ultimoId;
+                Integer afectados = transactionTemplate.execute(status -> jdbcTemplate.update(
+                    "UPDATE pagos SET estado = ? WHERE estado = ? AND fecha_vencimiento < ? AND id > ? AND id <= ?",
+                    EstadoPago.VENCIDO.name(), EstadoPago.PENDIENTE.name(), limite, desde, tope));
+                int vencidos = afectados != null ? afectados : 0;
+                total += vencidos;
+                lotes++;
+                pagosVencidos.increment(vencidos);
+                ultimoId = tope;
+
+                if (!bloqueoTareaService.renovar(TAREA, duracionBloqueo)) {
+                    log.warn("Se perdió el bloqueo de {} tras {} lotes; otro nodo continúa", TAREA, lotes);
+                    break;
+                }
+            }
+        } finally {
+            bloqueoTareaService.liberar(TAREA);
+        }
+
+        log.info("Procesados {} pagos vencidos en {} lotes", total, lotes);
+        if (total > 0) {
+            eventPublisher.publishEvent(new PagoModificadoEvent(null, EstadoPago.VENCIDO));
+        }
+        return total;
+    }
+}
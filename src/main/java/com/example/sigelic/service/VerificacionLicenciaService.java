@@ -0,0 +1,79 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.response.VerificacionLicenciaDTO;
+import com.example.sigelic.event.LicenciaModificadaEvent;
+import com.example.sigelic.repository.LicenciaRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Servicio de verificación pública de licencias por número.
+ *
+ * Las consultas se atienden desde una caché en memoria acotada por tamaño. También
+ * se guardan los números inexistentes (caché negativa, con un tiempo de vida
+ * menor) para que las consultas repetidas de números mal escritos no lleguen a la
+ * base. Cada alta o cambio de estado de una licencia invalida su entrada en este
+ * nodo; en los demás nodos el cambio se ve, como mucho, al vencer el tiempo de vida.
+ */
+@Service
+@Slf4j
+public class VerificacionLicenciaService {
+
+    static final String CACHE = "verificacion-licencias";
+
+    private static final Pattern FORMATO_NUMERO = Pattern.compile("[A-Za-z0-9-]{1,50}");
+
+    private final LoadingCache<String, Optional<VerificacionLicenciaDTO>> cache;
+
+    public VerificacionLicenciaService(LicenciaRepository licenciaRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${sigelic.verificacion.cache.tamanio:200000}") long tamanio,
+                                       @Value("${sigelic.verificacion.cache.ttl:PT2M}") Duration ttl,
+                                       @Value("${sigelic.verificacion.cache.ttl-negativo:PT30S}") Duration ttlNegativo) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanio)
+                .expireAfter(Expiry.<String, Optional<VerificacionLicenciaDTO>>creating(
+                        (numero, verificacion) -> verificacion.isPresent() ? ttl : ttlNegativo))
+                .recordStats()
+                .build(licenciaRepository::findVerificacionByNumeroLicencia);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE);
+    }
+
+    /**
+     * Verifica una licencia por número
+     *
+     * @return estado de la licencia, vacío si el número no existe
+     * @throws IllegalArgumentException si el número no tiene un formato válido
+     */
+    public Optional<VerificacionLicenciaDTO> verificar(String numeroLicencia) {
+        String numero = numeroLicencia != null ? numeroLicencia.trim() : "";
+        // Un formato inválido no se consulta ni se guarda en la caché
+        if (!FORMATO_NUMERO.matcher(numero).matches()) {
+            throw new IllegalArgumentException("Número de licencia inválido");
+        }
+        return cache.get(numero);
+    }
+
+    /**
+     * Invalida la verificación en caché de una licencia creada o modificada,
+     * una vez confirmada la transacción
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLicenciaModificada(LicenciaModificadaEvent event) {
+        if (event.numeroLicencia() != null) {
+            cache.invalidate(event.numeroLicencia());
+            log.debug("Verificación de licencia {} invalidada ({})", event.numeroLicencia(), event.estado());
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.example.sigelic.views;
 
-import com.example.sigelic.service.ExamenService;
-import com.example.sigelic.service.LicenciaService;
-import com.example.sigelic.service.PagoService;
-import com.example.sigelic.service.TramiteService;
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
+import com.example.sigelic.service.DashboardSnapshotService;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Paragraph;
@@ -28,21 +29,19 @@ import org.springframework.security.core.userdetails.UserDetails;
 public class DashboardView extends VerticalLayout {
 
     private final AuthenticationContext authContext;
-    private final TramiteService tramiteService;
-    private final LicenciaService licenciaService;
-    private final ExamenService examenService;
-    private final PagoService pagoService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+
+    private final Span tramitesActivosValue = new Span();
+    private final Span licenciasVigentesValue = new Span();
+    private final Span examenesPendientesValue = new Span();
+    private final Span pagosDelDiaValue = new Span();
+
+    private Runnable cancelarSuscripcion;
 
     public DashboardView(AuthenticationContext authContext, 
-                        TramiteService tramiteService,
-                        LicenciaService licenciaService,
-                        ExamenService examenService,
-                        PagoService pagoService) {
+                        DashboardSnapshotService dashboardSnapshotService) {
         this.authContext = authContext;
-        this.tramiteService = tramiteService;
-        this.licenciaService = licenciaService;
-        this.examenService = examenService;
-        this.pagoService = pagoService;
+        this.dashboardSnapshotService = dashboardSnapshotService;
         
         addClassName("dashboard-view");
         setSpacing(false);
@@ -53,6 +52,24 @@ public class DashboardView extends VerticalLayout {
         createQuickActions();
     }
 
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        // Las nuevas instantáneas llegan desde la tarea programada y se envían por push
+        cancelarSuscripcion = dashboardSnapshotService.suscribir(
+            snapshot -> ui.access(() -> actualizarEstadisticas(snapshot)));
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (cancelarSuscripcion != null) {
+            cancelarSuscripcion.run();
+            cancelarSuscripcion = null;
+        }
+        super.onDetach(detachEvent);
+    }
+
     private void createHeader() {
         H2 title = new H2("Dashboard");
         title.addClassNames(LumoUtility.Margin.Bottom.MEDIUM, LumoUtility.Margin.Top.NONE);
@@ -73,23 +90,25 @@ public class DashboardView extends VerticalLayout {
         statsLayout.setWidthFull();
         statsLayout.setSpacing(true);
 
-        // Calcular estadísticas reales desde la base de datos
-        long tramitesActivos = tramiteService.countTramitesActivos();
-        long licenciasEmitidas = licenciaService.countLicenciasEmitidas();
-        long examenesPendientes = examenService.countExamenesPendientes();
-        double pagosDiarios = pagoService.getTotalPagosDiarios();
-
-        // Tarjetas de estadísticas con datos reales
-        Div tramitesCard = createStatsCard("Trámites Activos", String.valueOf(tramitesActivos), VaadinIcon.CLIPBOARD_TEXT, "primary");
-        Div licenciasCard = createStatsCard("Licencias Emitidas", String.valueOf(licenciasEmitidas), VaadinIcon.CREDIT_CARD, "success");
-        Div examenesCard = createStatsCard("Exámenes Pendientes", String.valueOf(examenesPendientes), VaadinIcon.CLIPBOARD_CHECK, "contrast");
-        Div pagosCard = createStatsCard("Pagos del Día", String.format("$%.2f", pagosDiarios), VaadinIcon.COIN_PILES, "success");
+        // Tarjetas de estadísticas alimentadas por la instantánea compartida
+        Div tramitesCard = createStatsCard("Trámites Activos", tramitesActivosValue, VaadinIcon.CLIPBOARD_TEXT, "primary");
+        Div licenciasCard = createStatsCard("Licencias Emitidas", licenciasVigentesValue, VaadinIcon.CREDIT_CARD, "success");
+        Div examenesCard = createStatsCard("Exámenes Pendientes", examenesPendientesValue, VaadinIcon.CLIPBOARD_CHECK, "contrast");
+        Div pagosCard = createStatsCard("Pagos del Día", pagosDelDiaValue, VaadinIcon.COIN_PILES, "success");
+        actualizarEstadisticas(dashboardSnapshotService.getSnapshot());
 
         statsLayout.add(tramitesCard, licenciasCard, examenesCard, pagosCard);
         add(statsLayout);
     }
 
-    private Div createStatsCard(String title, String value, VaadinIcon iconType, String theme) {
+    private void actualizarEstadisticas(DashboardSnapshotDTO snapshot) {
+        tramitesActivosValue.setText(String.valueOf(snapshot.getTramitesActivos()));
+        licenciasVigentesValue.setText(String.valueOf(snapshot.getLicenciasVigentes()));
+        examenesPendientesValue.setText(String.valueOf(snapshot.getExamenesPendientes()));
+        pagosDelDiaValue.setText(String.format("$%.2f", snapshot.getPagosDelDia()));
+    }
+
+    private Div createStatsCard(String title, Span valueSpan, VaadinIcon iconType, String theme) {
         Div card = new Div();
         card.addClassName("stats-card");
         card.addClassNames(LumoUtility.Padding.LARGE, LumoUtility.BorderRadius.MEDIUM);
@@ -105,7 +124,6 @@ public class DashboardView extends VerticalLayout {
         Span titleSpan = new Span(title);
         titleSpan.addClassNames(LumoUtility.FontSize.SMALL, LumoUtility.TextColor.SECONDARY);
 
-        Span valueSpan = new Span(value);
         valueSpan.addClassNames(LumoUtility.FontSize.XLARGE, LumoUtility.FontWeight.BOLD);
 
         VerticalLayout content = new VerticalLayout(icon, titleSpan, valueSpan);
@@ -335,7 +335,7 @@ public class ReportesView extends VerticalLayout {
         Map<String, Object> reporte = reporteService.getReporteRendimientoExaminadores(desde, hasta);
         
         currentTitle = "Reporte de Rendimiento";
-        currentHeaders = List.of("Examinador", "Tipo", "Total", "Aprobados");
+        currentHeaders = List.of("Examinador", "Tipo", "Total", "Aprobados", "Puntaje Promedio", "Faltas Leves/Graves Promedio");
         currentData = new ArrayList<>();
         
         @SuppressWarnings("unchecked")
@@ -345,13 +345,15 @@ public class ReportesView extends VerticalLayout {
             Long totalTeoricos = (Long) stats.getOrDefault("totalTeoricos", 0L);
             Long aprobadosTeoricos = (Long) stats.getOrDefault("aprobadosTeoricos", 0L);
             if (totalTeoricos > 0) {
-                currentData.add(List.of(examinador, "Teóricos", totalTeoricos.toString(), aprobadosTeoricos.toString()));
+                currentData.add(List.of(examinador, "Teóricos", totalTeoricos.toString(), aprobadosTeoricos.toString(),
+                    String.format("%.1f", (Double) stats.get("puntajePromedioTeoricos")), "-"));
             }
             
             Long totalPracticos = (Long) stats.getOrDefault("totalPracticos", 0L);
             Long aprobadosPracticos = (Long) stats.getOrDefault("aprobadosPracticos", 0L);
             if (totalPracticos > 0) {
-                currentData.add(List.of(examinador, "Prácticos", totalPracticos.toString(), aprobadosPracticos.toString()));
+                currentData.add(List.of(examinador, "Prácticos", totalPracticos.toString(), aprobadosPracticos.toString(), "-",
+                    String.format("%.1f / %.1f", (Double) stats.get("faltasLevesPromedio"), (Double) stats.get("faltasGravesPromedio"))));
             }
         });
 
@@ -0,0 +1,22 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V10: Avisos de la pasarela de pagos con clave de idempotencia
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Un registro por número de transacción externo: los reintentos de la pasarela
+-- chocan contra la clave única y se reconocen como duplicados
+CREATE TABLE callbacks_pasarela (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    numero_transaccion VARCHAR(100) NOT NULL,
+    pago_id BIGINT NOT NULL,
+    exitoso BOOLEAN NOT NULL,
+    estado ENUM('RECIBIDO', 'EN_PROCESO', 'PROCESADO', 'DESCARTADO', 'ERROR') NOT NULL DEFAULT 'RECIBIDO',
+    intentos INT NOT NULL DEFAULT 0,
+    detalle VARCHAR(500),
+    fecha_recepcion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_callback_numero_transaccion UNIQUE (numero_transaccion),
+    INDEX idx_callback_estado (estado, fecha_actualizacion)
+);
@@ -0,0 +1,14 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V11: Bloqueos de tareas programadas entre nodos
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Una fila por tarea: el nodo propietario la ejecuta mientras bloqueado_hasta
+-- no haya pasado; vencido el plazo, cualquier otro nodo puede tomarla
+CREATE TABLE bloqueos_tareas (
+    nombre VARCHAR(100) PRIMARY KEY,
+    propietario VARCHAR(150) NOT NULL,
+    bloqueado_hasta TIMESTAMP NOT NULL,
+    fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
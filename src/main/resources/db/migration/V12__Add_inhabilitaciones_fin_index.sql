@@ -0,0 +1,10 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V12: Índice de inhabilitaciones por fecha de fin
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Las consultas de inhabilitaciones activas filtran por
+-- "fecha_fin IS NULL OR fecha_fin >= hoy": el índice resuelve ambas condiciones
+-- como rangos y cubre la carga del índice en memoria sin leer la tabla
+CREATE INDEX idx_inhabilitacion_fin ON inhabilitaciones (fecha_fin, titular_id, fecha_inicio);
@@ -0,0 +1,32 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V13: Avisos de vencimiento de licencias y aptos médicos
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Un registro por licencia o apto médico avisado y fecha de vencimiento: el
+-- envío excluye lo que ya figura acá y nunca avisa dos veces lo mismo. Funciona
+-- como bandeja de salida: el aviso se registra compuesto y PENDIENTE, se confirma,
+-- y recién después sale por el canal y pasa a ENVIADO
+CREATE TABLE avisos_vencimiento (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo ENUM('LICENCIA', 'APTO_MEDICO') NOT NULL,
+    referencia_id BIGINT NOT NULL,
+    fecha_vencimiento DATE NOT NULL,
+    titular_id BIGINT NOT NULL,
+    destino VARCHAR(150) NOT NULL,
+    canal VARCHAR(30) NOT NULL,
+    asunto VARCHAR(255) NOT NULL,
+    cuerpo TEXT NOT NULL,
+    estado ENUM('PENDIENTE', 'ENVIADO') NOT NULL DEFAULT 'PENDIENTE',
+    fecha_registro TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_envio TIMESTAMP NULL,
+
+    CONSTRAINT uk_aviso_vencimiento UNIQUE (tipo, referencia_id, fecha_vencimiento),
+    INDEX idx_aviso_titular (titular_id),
+    INDEX idx_aviso_estado (estado)
+);
+
+-- Recorrido de aptos médicos por fecha de vencimiento (licencias ya tiene
+-- idx_licencia_vencimiento)
+CREATE INDEX idx_apto_medico_vencimiento ON aptos_medicos (fecha_vencimiento);
@@ -0,0 +1,20 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V14: Índices para los listados paginados por cursor
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Los listados por estado se recorren en orden (fecha, id). InnoDB agrega el id
+-- al final de cada índice secundario, así que (estado, fecha) alcanza para leer
+-- cada página desde la posición del cursor sin ordenar. Los índices de estado
+-- solo se mantienen: guardan (estado, id), y los recorridos por tramos de id
+-- (WHERE estado = ? AND id > ? ORDER BY id, como el vencimiento de pagos) se
+-- leen en orden desde ellos, cosa que (estado, fecha, id) no permite.
+CREATE INDEX idx_pago_estado_fecha ON pagos (estado, fecha);
+
+CREATE INDEX idx_tramite_estado_fecha ON tramites (estado, fecha_creacion);
+
+CREATE INDEX idx_licencia_estado_vencimiento ON licencias (estado, fecha_vencimiento);
+
+-- Los exámenes teóricos de un examinador se recorren en orden (fecha, id)
+CREATE INDEX idx_examen_teorico_examinador_fecha ON examenes_teoricos (examinador, fecha);
@@ -0,0 +1,17 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V15: Versiones de titulares, licencias e inhabilitaciones
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Columnas de versión (@Version). Además del control optimista, permiten
+-- armar el ETag de la ficha de un titular con una consulta de versiones,
+-- sin cargar ni serializar la ficha completa
+ALTER TABLE titulares
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
+
+ALTER TABLE licencias
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
+
+ALTER TABLE inhabilitaciones
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;
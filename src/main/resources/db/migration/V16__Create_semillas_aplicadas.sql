@@ -0,0 +1,13 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V16: Versiones aplicadas de los datos iniciales
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Una fila por conjunto de datos iniciales con el checksum de las definiciones
+-- que ya se sembraron; al arrancar con el mismo checksum la siembra se omite
+CREATE TABLE semillas_aplicadas (
+    nombre VARCHAR(100) PRIMARY KEY,
+    checksum VARCHAR(64) NOT NULL,
+    fecha_aplicacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,17 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V17: Índices de cobertura para el rendimiento de examinadores
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- El reporte de rendimiento agrupa los exámenes de un período por examinador
+-- (y día) en la base. Con todas las columnas que suma dentro del índice, la
+-- consulta recorre solo el rango de fechas del índice sin leer las filas.
+-- Reemplazan a los índices de fecha sola, que son su prefijo.
+CREATE INDEX idx_examen_teorico_fecha_rendimiento
+    ON examenes_teoricos (fecha, examinador, aprobado, puntaje);
+DROP INDEX idx_examen_teorico_fecha ON examenes_teoricos;
+
+CREATE INDEX idx_examen_practico_fecha_rendimiento
+    ON examenes_practicos (fecha, examinador, aprobado, faltas_leves, faltas_graves);
+DROP INDEX idx_examen_practico_fecha ON examenes_practicos;
@@ -0,0 +1,35 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V18: Lista de espera de turnos
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Titulares esperando un turno liberado por cancelación o ausencia. Mientras la
+-- oferta está pendiente, turno_ofrecido_id es el turno RESERVADO que retiene el
+-- horario hasta vencimiento_oferta
+CREATE TABLE lista_espera (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    titular_id BIGINT NOT NULL,
+    tipo_turno VARCHAR(20) NOT NULL,
+    tipo_recurso VARCHAR(20) NOT NULL,
+    turno_actual_id BIGINT,
+    desde TIMESTAMP NULL,
+    hasta TIMESTAMP NULL,
+    prioridad INT NOT NULL DEFAULT 0,
+    estado VARCHAR(20) NOT NULL DEFAULT 'ESPERANDO',
+    turno_ofrecido_id BIGINT,
+    vencimiento_oferta TIMESTAMP NULL,
+    fecha_alta TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (titular_id) REFERENCES titulares(id) ON DELETE RESTRICT,
+    FOREIGN KEY (turno_actual_id) REFERENCES turnos(id) ON DELETE SET NULL,
+    FOREIGN KEY (turno_ofrecido_id) REFERENCES turnos(id) ON DELETE SET NULL
+);
+
+-- Candidatos de un turno liberado, en orden FIFO o por prioridad
+CREATE INDEX idx_lista_espera_candidatos ON lista_espera(estado, tipo_turno, tipo_recurso, prioridad, fecha_alta);
+
+-- Barrido de ofertas vencidas
+CREATE INDEX idx_lista_espera_ofertas ON lista_espera(estado, vencimiento_oferta);
+
+CREATE INDEX idx_lista_espera_titular ON lista_espera(titular_id, fecha_alta);
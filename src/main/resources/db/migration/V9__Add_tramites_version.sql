@@ -0,0 +1,10 @@
+-- =======================================================================
+-- SIGELIC - Sistema Integral de Gestión de Licencias de Conducir
+-- Migración V9: Control de concurrencia optimista en trámites
+-- Fecha: 2026-10-19
+-- =======================================================================
+
+-- Columna de versión utilizada por Hibernate (@Version) para que cada paso
+-- del workflow actualice el trámite solo si no fue modificado desde su lectura
+ALTER TABLE tramites
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER fecha_actualizacion;
@@ -0,0 +1,109 @@
+package com.example.sigelic.config;
+
+import com.example.sigelic.exception.CapacidadExcedidaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de AislamientoReportes")
+class AislamientoReportesTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private ProceedingJoinPoint joinPointAnidado;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AislamientoReportes aislamientoReportes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aislamientoReportes = new AislamientoReportes(meterRegistry, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Debe marcar el hilo como carga de reportes solo durante la ejecución")
+    void debeMarcarHiloDuranteLaEjecucion() throws Throwable {
+        // Given
+        when(joinPoint.proceed()).thenAnswer(invocation -> AislamientoReportes.enCurso());
+
+        // When
+        Object enCursoDurante = aislamientoReportes.limitar(joinPoint);
+
+        // Then
+        assertThat(enCursoDurante).isEqualTo(true);
+        assertThat(AislamientoReportes.enCurso()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar reportes cuando se agota el cupo de concurrencia")
+    void debeRechazarCuandoSeAgotaElCupo() throws Throwable {
+        // Given
+        CountDownLatch enEjecucion = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            enEjecucion.countDown();
+            liberar.await();
+            return "reporte";
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Object> enCurso = executor.submit(() -> {
+                try {
+                    return aislamientoReportes.limitar(joinPoint);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertThat(enEjecucion.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When / Then
+            assertThatThrownBy(() -> aislamientoReportes.limitar(joinPoint))
+                    .isInstanceOf(CapacidadExcedidaException.class);
+            assertThat(meterRegistry.get("sigelic.carga.activas").gauge().value()).isEqualTo(1.0);
+
+            liberar.countDown();
+            assertThat(enCurso.get(5, TimeUnit.SECONDS)).isEqualTo("reporte");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(meterRegistry.get("sigelic.carga.rechazos").tag("clase", "reportes").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("sigelic.carga.espera").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("sigelic.carga.activas").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar llamadas anidadas con el cupo de la llamada externa")
+    void debeEjecutarLlamadasAnidadasSinNuevoCupo() throws Throwable {
+        // Given
+        when(joinPointAnidado.proceed()).thenReturn("exportación");
+        when(joinPoint.proceed()).thenAnswer(invocation -> aislamientoReportes.limitar(joinPointAnidado));
+
+        // When
+        Object resultado = aislamientoReportes.limitar(joinPoint);
+
+        // Then
+        assertThat(resultado).isEqualTo("exportación");
+        assertThat(meterRegistry.get("sigelic.carga.espera").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.sigelic.config;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de DiagnosticoHilosVirtuales")
+class DiagnosticoHilosVirtualesTest {
+
+    @Test
+    @DisplayName("Debe informar el primer método de la aplicación en la pila")
+    void debeInformarPrimerMetodoDeLaAplicacion() {
+        // Given
+        RecordedStackTrace pila = pila(
+                frame("java.lang.Object", "wait"),
+                frame("com.mysql.cj.jdbc.ConnectionImpl", "commit"),
+                frame("com.example.sigelic.service.PagoService", "acreditarPago"),
+                frame("com.example.sigelic.controller.PagoController", "acreditar"));
+
+        // When & Then
+        assertThat(DiagnosticoHilosVirtuales.origen(pila))
+                .isEqualTo("com.example.sigelic.service.PagoService.acreditarPago");
+    }
+
+    @Test
+    @DisplayName("Debe informar el primer método fuera del JDK si la aplicación no aparece")
+    void debeInformarPrimerMetodoFueraDelJdk() {
+        // Given
+        RecordedStackTrace pila = pila(
+                frame("jdk.internal.misc.Unsafe", "park"),
+                frame("java.util.concurrent.locks.LockSupport", "park"),
+                frame("sun.nio.ch.NioSocketImpl", "read"),
+                frame("com.zaxxer.hikari.pool.HikariPool", "getConnection"),
+                frame("com.mysql.cj.jdbc.ConnectionImpl", "commit"));
+
+        // When & Then
+        assertThat(DiagnosticoHilosVirtuales.origen(pila))
+                .isEqualTo("com.zaxxer.hikari.pool.HikariPool.getConnection");
+    }
+
+    @Test
+    @DisplayName("Debe informar jdk si toda la pila pertenece al JDK")
+    void debeInformarJdk() {
+        // Given
+        RecordedStackTrace pila = pila(
+                frame("jdk.internal.misc.Unsafe", "park"),
+                frame("java.lang.Thread", "run"));
+
+        // When & Then
+        assertThat(DiagnosticoHilosVirtuales.origen(pila)).isEqualTo("jdk");
+    }
+
+    @Test
+    @DisplayName("Debe informar desconocido si el evento no trae pila")
+    void debeInformarDesconocidoSinPila() {
+        assertThat(DiagnosticoHilosVirtuales.origen(null)).isEqualTo("desconocido");
+    }
+
+    private static RecordedStackTrace pila(RecordedFrame... frames) {
+        RecordedStackTrace pila = mock(RecordedStackTrace.class);
+        List<RecordedFrame> lista = Arrays.asList(frames);
+        when(pila.getFrames()).thenReturn(lista);
+        return pila;
+    }
+
+    private static RecordedFrame frame(String tipo, String metodo) {
+        RecordedClass clase = mock(RecordedClass.class);
+        when(clase.getName()).thenReturn(tipo);
+        RecordedMethod method = mock(RecordedMethod.class);
+        when(method.getType()).thenReturn(clase);
+        lenient().when(method.getName()).thenReturn(metodo);
+        RecordedFrame frame = mock(RecordedFrame.class);
+        when(frame.getMethod()).thenReturn(method);
+        return frame;
+    }
+}
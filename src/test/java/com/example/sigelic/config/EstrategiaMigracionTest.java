@@ -0,0 +1,116 @@
+package com.example.sigelic.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Omisión de Flyway con las migraciones reales del classpath y la tabla
+ * semillas_aplicadas sobre H2; Flyway se reemplaza por un mock
+ */
+@DisplayName("Tests de EstrategiaMigracion")
+class EstrategiaMigracionTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private Flyway flyway;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:estrategia-migracion;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE semillas_aplicadas (nombre VARCHAR(100) PRIMARY KEY, "
+            + "checksum VARCHAR(64) NOT NULL, fecha_aplicacion TIMESTAMP NOT NULL)");
+
+        Configuration configuracion = mock(Configuration.class);
+        when(configuracion.getDataSource()).thenReturn(dataSource);
+        when(configuracion.getLocations()).thenReturn(new Location[] {new Location("classpath:db/migration")});
+        flyway = mock(Flyway.class);
+        when(flyway.getConfiguration()).thenReturn(configuracion);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE semillas_aplicadas");
+    }
+
+    @Test
+    @DisplayName("Debe migrar siempre si la omisión está deshabilitada")
+    void debeMigrarSiempreSinOmision() {
+        // Given
+        EstrategiaMigracion estrategia = new EstrategiaMigracion(false);
+
+        // When
+        estrategia.migrate(flyway);
+        estrategia.migrate(flyway);
+
+        // Then
+        verify(flyway, times(2)).migrate();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM semillas_aplicadas", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe migrar una vez y omitir Flyway mientras las migraciones no cambien")
+    void debeOmitirConMigracionesSinCambios() {
+        // Given
+        EstrategiaMigracion estrategia = new EstrategiaMigracion(true);
+
+        // When
+        estrategia.migrate(flyway);
+        estrategia.migrate(flyway);
+
+        // Then
+        verify(flyway, times(1)).migrate();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT checksum FROM semillas_aplicadas WHERE nombre = ?", String.class, EstrategiaMigracion.ESQUEMA))
+            .hasSize(64);
+    }
+
+    @Test
+    @DisplayName("Debe migrar y registrar el checksum nuevo si las migraciones cambiaron")
+    void debeMigrarConMigracionesModificadas() {
+        // Given
+        jdbcTemplate.update("INSERT INTO semillas_aplicadas (nombre, checksum, fecha_aplicacion) "
+            + "VALUES (?, ?, CURRENT_TIMESTAMP)", EstrategiaMigracion.ESQUEMA, "0".repeat(64));
+        EstrategiaMigracion estrategia = new EstrategiaMigracion(true);
+
+        // When
+        estrategia.migrate(flyway);
+
+        // Then
+        verify(flyway).migrate();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT checksum FROM semillas_aplicadas WHERE nombre = ?", String.class, EstrategiaMigracion.ESQUEMA))
+            .isEqualTo(estrategia.checksum(new Location[] {new Location("classpath:db/migration")}))
+            .isNotEqualTo("0".repeat(64));
+    }
+
+    @Test
+    @DisplayName("Debe migrar si la base todavía no tiene la tabla de semillas")
+    void debeMigrarSinTablaDeSemillas() {
+        // Given
+        jdbcTemplate.execute("DROP TABLE semillas_aplicadas");
+        doAnswer(invocacion -> {
+            jdbcTemplate.execute("CREATE TABLE semillas_aplicadas (nombre VARCHAR(100) PRIMARY KEY, "
+                + "checksum VARCHAR(64) NOT NULL, fecha_aplicacion TIMESTAMP NOT NULL)");
+            return null;
+        }).when(flyway).migrate();
+        EstrategiaMigracion estrategia = new EstrategiaMigracion(true);
+
+        // When
+        estrategia.migrate(flyway);
+
+        // Then
+        verify(flyway).migrate();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM semillas_aplicadas", Integer.class)).isOne();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.sigelic.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tests de LimitadorVerificaciones")
+class LimitadorVerificacionesTest {
+
+    private final AtomicLong reloj = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LimitadorVerificaciones limitador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 10 consultas por segundo con ráfagas de 5
+        limitador = new LimitadorVerificaciones(meterRegistry, 10, 5, 1000, reloj::get);
+    }
+
+    @Test
+    @DisplayName("Debe permitir la ráfaga y rechazar las consultas siguientes")
+    void debePermitirRafagaYRechazarExceso() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(limitador.permitir("10.0.0.1")).isTrue();
+        }
+        boolean sexta = limitador.permitir("10.0.0.1");
+
+        // Then
+        assertThat(sexta).isFalse();
+        assertThat(meterRegistry.counter("sigelic.verificacion.rechazos").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe volver a permitir consultas a la tasa sostenida")
+    void debeRecuperarCupoConElTiempo() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            limitador.permitir("10.0.0.1");
+        }
+        assertThat(limitador.permitir("10.0.0.1")).isFalse();
+
+        // When
+        reloj.addAndGet(Duration.ofMillis(100).toNanos());
+
+        // Then
+        assertThat(limitador.permitir("10.0.0.1")).isTrue();
+        assertThat(limitador.permitir("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe llevar el límite por separado para cada cliente")
+    void debeLimitarPorCliente() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            limitador.permitir("10.0.0.1");
+        }
+
+        // When & Then
+        assertThat(limitador.permitir("10.0.0.1")).isFalse();
+        assertThat(limitador.permitir("10.0.0.2")).isTrue();
+    }
+}
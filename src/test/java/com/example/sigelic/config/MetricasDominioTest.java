@@ -0,0 +1,72 @@
+package com.example.sigelic.config;
+
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
+import com.example.sigelic.event.TramiteEstadoCambiadoEvent;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.service.DashboardSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de MetricasDominio")
+class MetricasDominioTest {
+
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MetricasDominio metricasDominio;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricasDominio = new MetricasDominio(meterRegistry, dashboardSnapshotService);
+    }
+
+    @Test
+    @DisplayName("Debe contar transiciones etiquetadas por estado de origen y destino")
+    void debeContarTransicionesPorEstado() {
+        // When
+        metricasDominio.onTramiteEstadoCambiado(new TramiteEstadoCambiadoEvent(1L, null, EstadoTramite.INICIADO));
+        metricasDominio.onTramiteEstadoCambiado(new TramiteEstadoCambiadoEvent(1L, EstadoTramite.INICIADO, EstadoTramite.DOCS_OK));
+        metricasDominio.onTramiteEstadoCambiado(new TramiteEstadoCambiadoEvent(2L, EstadoTramite.INICIADO, EstadoTramite.DOCS_OK));
+
+        // Then
+        assertThat(meterRegistry.get(MetricasDominio.TRANSICIONES)
+                .tags("desde", MetricasDominio.SIN_ESTADO, "hacia", "INICIADO").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(MetricasDominio.TRANSICIONES)
+                .tags("desde", "INICIADO", "hacia", "DOCS_OK").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Debe leer las colas de trámites y pagos desde la instantánea del dashboard")
+    void debeLeerColasDesdeInstantanea() {
+        // Given
+        DashboardSnapshotDTO snapshot = DashboardSnapshotDTO.builder()
+                .secuencia(1L)
+                .generadoEn(LocalDateTime.now())
+                .tramitesPorEstado(Map.of(EstadoTramite.DOCS_OK, 3L))
+                .tramitesActivos(3L)
+                .pagosPendientes(7L)
+                .build();
+        when(dashboardSnapshotService.getSnapshot()).thenReturn(snapshot);
+
+        // Then
+        assertThat(meterRegistry.get(MetricasDominio.TRAMITES_POR_ESTADO).tag("estado", "DOCS_OK").gauge().value())
+                .isEqualTo(3.0);
+        assertThat(meterRegistry.get(MetricasDominio.TRAMITES_POR_ESTADO).tag("estado", "EMITIDA").gauge().value())
+                .isZero();
+        assertThat(meterRegistry.get("sigelic.pagos.pendientes").gauge().value()).isEqualTo(7.0);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.sigelic.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ruteo por clase de carga con bases H2 independientes como primaria, réplica y pool de reportes
+ */
+@DisplayName("Tests de RuteoDataSource")
+class RuteoDataSourceTest {
+
+    private DriverManagerDataSource primaria;
+    private DriverManagerDataSource replica;
+    private AtomicReference<Duration> retraso;
+    private MonitorReplicas monitorReplicas;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate lectura;
+    private TransactionTemplate escritura;
+
+    @BeforeEach
+    void setUp() {
+        primaria = crearBase("ruteo_primaria", "primaria");
+        replica = crearBase("ruteo_replica", "replica");
+        retraso = new AtomicReference<>(Duration.ZERO);
+
+        MedidorRetrasoReplica medidor = dataSource -> {
+            Duration actual = retraso.get();
+            if (actual == null) {
+                throw new SQLException("Réplica sin respuesta");
+            }
+            return actual;
+        };
+        monitorReplicas = new MonitorReplicas(List.of(new MonitorReplicas.Replica("replica-1", replica)),
+                medidor, Duration.ofSeconds(5));
+        monitorReplicas.verificar();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new RuteoDataSource(primaria, monitorReplicas));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        escritura = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primaria).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Debe enviar las transacciones de solo lectura a la réplica")
+    void debeEnviarLecturasALaReplica() {
+        // When
+        String nodo = lectura.execute(status -> consultarNodo());
+
+        // Then
+        assertThat(nodo).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Debe enviar escrituras y código sin transacción a la primaria")
+    void debeEnviarEscriturasALaPrimaria() {
+        // When
+        String nodoEscritura = escritura.execute(status -> consultarNodo());
+        String nodoSinTransaccion = consultarNodo();
+
+        // Then
+        assertThat(nodoEscritura).isEqualTo("primaria");
+        assertThat(nodoSinTransaccion).isEqualTo("primaria");
+    }
+
+    @Test
+    @DisplayName("Debe volver a la primaria mientras la réplica supera el retraso máximo")
+    void debeVolverALaPrimariaConRetrasoExcesivo() {
+        // Given
+        retraso.set(Duration.ofSeconds(30));
+        monitorReplicas.verificar();
+
+        // When
+        String nodoAtrasada = lectura.execute(status -> consultarNodo());
+        retraso.set(Duration.ofSeconds(1));
+        monitorReplicas.verificar();
+        String nodoRecuperada = lectura.execute(status -> consultarNodo());
+
+        // Then
+        assertThat(nodoAtrasada).isEqualTo("primaria");
+        assertThat(nodoRecuperada).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Debe volver a la primaria si la réplica no responde")
+    void debeVolverALaPrimariaSiLaReplicaNoResponde() {
+        // Given
+        retraso.set(null);
+        monitorReplicas.verificar();
+
+        // When
+        String nodo = lectura.execute(status -> consultarNodo());
+
+        // Then
+        assertThat(nodo).isEqualTo("primaria");
+        assertThat(monitorReplicas.getReplicas().get(0).isDisponible()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe tomar las conexiones de reportes del pool de reportes")
+    void debeUsarPoolDeReportesParaCargaDeReportes() throws Throwable {
+        // Given
+        DriverManagerDataSource reportes = crearBase("ruteo_reportes", "reportes");
+        JdbcTemplate jdbcRuteo = new JdbcTemplate(
+                new LazyConnectionDataSourceProxy(new RuteoDataSource(primaria, reportes, null)));
+        AislamientoReportes aislamientoReportes = new AislamientoReportes(new SimpleMeterRegistry(), 1, Duration.ofSeconds(1));
+        ProceedingJoinPoint reporte = mock(ProceedingJoinPoint.class);
+        when(reporte.proceed()).thenAnswer(invocation -> jdbcRuteo.queryForObject("SELECT nombre FROM nodo", String.class));
+
+        try {
+            // When
+            Object nodoReporte = aislamientoReportes.limitar(reporte);
+            String nodoTransaccional = jdbcRuteo.queryForObject("SELECT nombre FROM nodo", String.class);
+
+            // Then
+            assertThat(nodoReporte).isEqualTo("reportes");
+            assertThat(nodoTransaccional).isEqualTo("primaria");
+        } finally {
+            new JdbcTemplate(reportes).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private String consultarNodo() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM nodo", String.class);
+    }
+
+    private static DriverManagerDataSource crearBase(String nombreBase, String nodo) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nombreBase + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE nodo (nombre VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO nodo (nombre) VALUES (?)", nodo);
+        return dataSource;
+    }
+}
@@ -2,12 +2,15 @@ package com.example.sigelic.controller;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,7 +32,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.example.sigelic.config.TestSecurityConfig;
 import com.example.sigelic.dto.request.ExamenTeoricoRequestDTO;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.response.ExamenTeoricoResponseDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TramiteResponseDTO;
 import com.example.sigelic.mapper.ExamenTeoricoMapper;
 import com.example.sigelic.mapper.TramiteMapper;
@@ -207,16 +212,50 @@ class ExamenTeoricoControllerTest {
             List<ExamenTeorico> examenes = Arrays.asList(examenTeorico);
             List<ExamenTeoricoResponseDTO> dtos = Arrays.asList(examenResponseDTO);
             
-            when(examenService.findAllTeoricos()).thenReturn(examenes);
+            when(examenService.findPaginaTeoricos(any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(examenes, "c2lndWllbnRl"));
             when(examenTeoricoMapper.toResponseDTOList(examenes)).thenReturn(dtos);
 
             // When & Then
-            mockMvc.perform(get("/api/examenes-teoricos"))
+            mockMvc.perform(get("/api/examenes-teoricos")
+                            .param("tamanio", "20"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("X-Siguiente-Cursor", "c2lndWllbnRl"))
                     .andExpect(jsonPath("$").isArray())
                     .andExpect(jsonPath("$[0].id", is(1)))
                     .andExpect(jsonPath("$[0].aprobado", is(true)));
+
+            verify(examenService).findPaginaTeoricos(PaginaSolicitada.primera(20));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/examenes-teoricos/examinador/{examinador}")
+    class ObtenerExamenesPorExaminador {
+
+        @Test
+        @DisplayName("Debe retornar la última página de exámenes del examinador sin cursor siguiente")
+        void debeRetornarUltimaPaginaDelExaminador() throws Exception {
+            // Given
+            List<ExamenTeorico> examenes = Arrays.asList(examenTeorico);
+            List<ExamenTeoricoResponseDTO> dtos = Arrays.asList(examenResponseDTO);
+            String cursor = PaginaSolicitada.codificarCursor(LocalDateTime.of(2024, 1, 10, 9, 0), 7L);
+
+            when(examenService.findPaginaTeoricosByExaminador(eq("Dr. García"), any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(examenes, null));
+            when(examenTeoricoMapper.toResponseDTOList(examenes)).thenReturn(dtos);
+
+            // When & Then
+            mockMvc.perform(get("/api/examenes-teoricos/examinador/Dr. García")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Siguiente-Cursor"))
+                    .andExpect(jsonPath("$[0].examinador", is("Dr. García")));
+
+            verify(examenService).findPaginaTeoricosByExaminador(eq("Dr. García"),
+                    argThat(solicitud -> solicitud.ultimoId() == 7L
+                            && solicitud.fechaHora().equals(LocalDateTime.of(2024, 1, 10, 9, 0))));
         }
     }
 
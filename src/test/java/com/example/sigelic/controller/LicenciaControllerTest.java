@@ -1,9 +1,13 @@
 package com.example.sigelic.controller;
 
 import com.example.sigelic.config.TestSecurityConfig;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.response.LicenciaResponseDTO;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.dto.response.Versionado;
 import com.example.sigelic.mapper.LicenciaMapper;
 import com.example.sigelic.model.*;
+import com.example.sigelic.service.DescargaMasivaService;
 import com.example.sigelic.service.LicenciaService;
 import com.example.sigelic.service.TitularService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,13 +19,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -48,6 +58,9 @@ class LicenciaControllerTest {
     @MockitoBean
     private LicenciaMapper licenciaMapper;
 
+    @MockitoBean
+    private DescargaMasivaService descargaMasivaService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -159,42 +172,69 @@ class LicenciaControllerTest {
     @DisplayName("Obtener licencias por titular")
     class ObtenerLicenciasPorTitular {
 
+        private static final String VERSION = "0.1-1-0.0-0-0.20745";
+
         @Test
         @DisplayName("Debe retornar licencias del titular exitosamente")
         void debeRetornarLicenciasDelTitularExitosamente() throws Exception {
             // Given
             List<Licencia> licencias = Arrays.asList(licencia);
             List<LicenciaResponseDTO> dtos = Arrays.asList(licenciaResponseDTO);
-            
-            when(titularService.findById(1L)).thenReturn(Optional.of(titular));
-            when(licenciaService.findByTitular(titular)).thenReturn(licencias);
+            titular.getLicencias().addAll(licencias);
+
+            conVersion(1L, VERSION);
             when(licenciaMapper.toResponseDTOList(licencias)).thenReturn(dtos);
 
             // When & Then
             mockMvc.perform(get("/api/licencias/titular/1"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
                     .andExpect(jsonPath("$").isArray())
                     .andExpect(jsonPath("$[0].id").value(1L))
                     .andExpect(jsonPath("$[0].clase").value("B"));
 
-            verify(titularService).findById(1L);
-            verify(licenciaService).findByTitular(titular);
+            verify(titularService).findVersionado(eq(1L), any(), any());
             verify(licenciaMapper).toResponseDTOList(licencias);
         }
 
+        @Test
+        @DisplayName("Debe retornar 304 sin leer las licencias cuando el cliente tiene la versión vigente")
+        void debeRetornar304CuandoElClienteTieneLaVersionVigente() throws Exception {
+            // Given
+            conVersion(1L, VERSION);
+
+            // When & Then
+            mockMvc.perform(get("/api/licencias/titular/1")
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verifyNoInteractions(licenciaMapper, licenciaService);
+        }
+
         @Test
         @DisplayName("Debe retornar 404 cuando titular no existe")
         void debeRetornar404CuandoTitularNoExiste() throws Exception {
             // Given
-            when(titularService.findById(999L)).thenReturn(Optional.empty());
+            when(titularService.findVersionado(eq(999L), any(), any())).thenReturn(Optional.empty());
 
             // When & Then
             mockMvc.perform(get("/api/licencias/titular/999"))
                     .andExpect(status().isNotFound());
 
-            verify(titularService).findById(999L);
-            verify(licenciaService, never()).findByTitular(any());
+            verify(titularService).findVersionado(eq(999L), any(), any());
+            verifyNoInteractions(licenciaMapper);
+        }
+
+        private void conVersion(Long id, String version) {
+            when(titularService.findVersionado(eq(id), any(), any())).thenAnswer(invocation -> {
+                Predicate<String> vigenteEnCliente = invocation.getArgument(1);
+                Function<Titular, Object> vista = invocation.getArgument(2);
+                return Optional.of(vigenteEnCliente.test(version)
+                        ? Versionado.<Object>sinCambios(version)
+                        : new Versionado<>(version, vista.apply(titular)));
+            });
         }
     }
 
@@ -236,7 +276,8 @@ class LicenciaControllerTest {
             List<Licencia> licencias = Arrays.asList(licencia);
             List<LicenciaResponseDTO> dtos = Arrays.asList(licenciaResponseDTO);
             
-            when(licenciaService.getLicenciasProximasAVencer(30)).thenReturn(licencias);
+            when(licenciaService.getPaginaLicenciasProximasAVencer(eq(30), any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(licencias, null));
             when(licenciaMapper.toResponseDTOList(licencias)).thenReturn(dtos);
 
             // When & Then
@@ -246,7 +287,7 @@ class LicenciaControllerTest {
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$").isArray());
 
-            verify(licenciaService).getLicenciasProximasAVencer(30);
+            verify(licenciaService).getPaginaLicenciasProximasAVencer(30, PaginaSolicitada.primera(50));
             verify(licenciaMapper).toResponseDTOList(licencias);
         }
 
@@ -257,16 +298,42 @@ class LicenciaControllerTest {
             List<Licencia> licencias = Arrays.asList(licencia);
             List<LicenciaResponseDTO> dtos = Arrays.asList(licenciaResponseDTO);
             
-            when(licenciaService.getLicenciasVencidas()).thenReturn(licencias);
+            when(licenciaService.getPaginaLicenciasVencidas(any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(licencias, null));
             when(licenciaMapper.toResponseDTOList(licencias)).thenReturn(dtos);
 
             // When & Then
             mockMvc.perform(get("/api/licencias/vencidas"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().doesNotExist("X-Siguiente-Cursor"))
                     .andExpect(jsonPath("$").isArray());
 
-            verify(licenciaService).getLicenciasVencidas();
+            verify(licenciaService).getPaginaLicenciasVencidas(PaginaSolicitada.primera(50));
+        }
+
+        @Test
+        @DisplayName("Debe transmitir las licencias de un estado en NDJSON")
+        void debeTransmitirLicenciasEnNdjson() throws Exception {
+            // Given
+            doAnswer(invocation -> {
+                OutputStream salida = invocation.getArgument(1);
+                salida.write("{\"id\":1,\"estado\":\"VIGENTE\"}\n".getBytes(StandardCharsets.UTF_8));
+                return 1L;
+            }).when(descargaMasivaService).escribirLicencias(eq(EstadoLicencia.VIGENTE), any(OutputStream.class));
+
+            // When
+            MvcResult resultado = mockMvc.perform(get("/api/licencias/descarga")
+                    .param("estado", "VIGENTE")
+                    .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string("{\"id\":1,\"estado\":\"VIGENTE\"}\n"));
         }
     }
 
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,17 +19,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.sigelic.config.TestSecurityConfig;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.PagoRequestDTO;
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.PagoResponseDTO;
 import com.example.sigelic.mapper.PagoMapper;
 import com.example.sigelic.model.ClaseLicencia;
@@ -39,6 +46,7 @@ import com.example.sigelic.model.Pago;
 import com.example.sigelic.model.TipoTramite;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.model.Tramite;
+import com.example.sigelic.service.ConciliacionService;
 import com.example.sigelic.service.PagoService;
 import com.example.sigelic.service.TramiteService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -63,6 +71,9 @@ class PagoControllerTest {
     @MockitoBean
     private PagoMapper pagoMapper;
 
+    @MockitoBean
+    private ConciliacionService conciliacionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -379,7 +390,8 @@ class PagoControllerTest {
             List<Pago> pagos = Arrays.asList(pago);
             List<PagoResponseDTO> dtos = Arrays.asList(pagoResponseDTO);
             
-            when(pagoService.findByEstado(EstadoPago.PENDIENTE)).thenReturn(pagos);
+            when(pagoService.findPaginaByEstado(eq(EstadoPago.PENDIENTE), any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(pagos, "c2lndWllbnRl"));
             when(pagoMapper.toResponseDTOList(pagos)).thenReturn(dtos);
 
             // When & Then
@@ -387,9 +399,10 @@ class PagoControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$").isArray())
+                    .andExpect(header().string("X-Siguiente-Cursor", "c2lndWllbnRl"))
                     .andExpect(jsonPath("$[0].estado").value("PENDIENTE"));
 
-            verify(pagoService).findByEstado(EstadoPago.PENDIENTE);
+            verify(pagoService).findPaginaByEstado(EstadoPago.PENDIENTE, PaginaSolicitada.primera(50));
             verify(pagoMapper).toResponseDTOList(pagos);
         }
 
@@ -402,7 +415,8 @@ class PagoControllerTest {
             LocalDateTime fechaDesde = LocalDateTime.of(2025, 1, 1, 0, 0);
             LocalDateTime fechaHasta = LocalDateTime.of(2025, 12, 31, 23, 59);
             
-            when(pagoService.getPagosAcreditadosEnPeriodo(fechaDesde, fechaHasta)).thenReturn(pagos);
+            when(pagoService.getPaginaPagosAcreditadosEnPeriodo(eq(fechaDesde), eq(fechaHasta), any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(pagos, null));
             when(pagoMapper.toResponseDTOList(pagos)).thenReturn(dtos);
 
             // When & Then
@@ -412,10 +426,55 @@ class PagoControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$").isArray())
+                    .andExpect(header().doesNotExist("X-Siguiente-Cursor"))
                     .andExpect(jsonPath("$[0].id").value(1L));
 
-            verify(pagoService).getPagosAcreditadosEnPeriodo(fechaDesde, fechaHasta);
+            verify(pagoService).getPaginaPagosAcreditadosEnPeriodo(fechaDesde, fechaHasta, PaginaSolicitada.primera(50));
             verify(pagoMapper).toResponseDTOList(pagos);
         }
     }
+
+    @Nested
+    @DisplayName("Conciliar pagos")
+    class ConciliarPagos {
+
+        @Test
+        @DisplayName("Debe conciliar el archivo de liquidación en el formato indicado")
+        void debeConciliarArchivoDeLiquidacion() throws Exception {
+            // Given
+            MockMultipartFile archivo = new MockMultipartFile("archivo", "liquidacion.txt",
+                    MediaType.TEXT_PLAIN_VALUE, "TXN-1;1500,00;2025-06-01".getBytes());
+            ConciliacionResultadoDTO resultado = ConciliacionResultadoDTO.builder()
+                    .lineasLeidas(1)
+                    .pagosAcreditados(1)
+                    .montoAcreditado(new BigDecimal("1500.00"))
+                    .tramitesActualizados(1)
+                    .discrepancias(List.of())
+                    .build();
+            when(conciliacionService.conciliar(any(), eq(ConciliacionService.Formato.CSV), any())).thenReturn(resultado);
+
+            // When & Then
+            mockMvc.perform(multipart("/api/pagos/conciliacion").file(archivo).param("formato", "CSV"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.pagosAcreditados").value(1))
+                    .andExpect(jsonPath("$.tramitesActualizados").value(1))
+                    .andExpect(jsonPath("$.discrepancias").isEmpty());
+
+            verify(conciliacionService).conciliar(any(), eq(ConciliacionService.Formato.CSV), any());
+        }
+
+        @Test
+        @DisplayName("Debe retornar 400 cuando el archivo está vacío")
+        void debeRetornar400CuandoArchivoVacio() throws Exception {
+            // Given
+            MockMultipartFile archivo = new MockMultipartFile("archivo", "liquidacion.txt",
+                    MediaType.TEXT_PLAIN_VALUE, new byte[0]);
+
+            // When & Then
+            mockMvc.perform(multipart("/api/pagos/conciliacion").file(archivo))
+                    .andExpect(status().isBadRequest());
+
+            verify(conciliacionService, never()).conciliar(any(), any(), any());
+        }
+    }
 }
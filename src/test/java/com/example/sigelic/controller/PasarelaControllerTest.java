@@ -0,0 +1,102 @@
+package com.example.sigelic.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.sigelic.config.TestSecurityConfig;
+import com.example.sigelic.dto.request.CallbackPasarelaRequestDTO;
+import com.example.sigelic.service.CallbackPasarelaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests para PasarelaController
+ */
+@WebMvcTest(controllers = PasarelaController.class, properties = "sigelic.pasarela.token=token-de-prueba")
+@Import(TestSecurityConfig.class)
+@DisplayName("Tests de PasarelaController")
+class PasarelaControllerTest {
+
+    private static final String URL = "/api/public/pasarela/callback";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private CallbackPasarelaService callbackPasarelaService;
+
+    @Test
+    @DisplayName("Debe aceptar el primer aviso de la pasarela")
+    void debeAceptarPrimerAviso() throws Exception {
+        // Given
+        when(callbackPasarelaService.recibir("EXT-001", 1L, true))
+                .thenReturn(CallbackPasarelaService.Recepcion.ACEPTADO);
+
+        // When & Then
+        mockMvc.perform(post(URL)
+                .header(PasarelaController.ENCABEZADO_TOKEN, "token-de-prueba")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CallbackPasarelaRequestDTO("EXT-001", 1L, true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultado").value("ACEPTADO"));
+    }
+
+    @Test
+    @DisplayName("Debe responder 200 a los reintentos de un aviso ya recibido")
+    void debeResponderOkAReintentos() throws Exception {
+        // Given
+        when(callbackPasarelaService.recibir("EXT-001", 1L, true))
+                .thenReturn(CallbackPasarelaService.Recepcion.DUPLICADO);
+
+        // When & Then
+        mockMvc.perform(post(URL)
+                .header(PasarelaController.ENCABEZADO_TOKEN, "token-de-prueba")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CallbackPasarelaRequestDTO("EXT-001", 1L, true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultado").value("DUPLICADO"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar avisos sin el token de la pasarela")
+    void debeRechazarAvisosSinToken() throws Exception {
+        // When & Then
+        mockMvc.perform(post(URL)
+                .header(PasarelaController.ENCABEZADO_TOKEN, "otro-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CallbackPasarelaRequestDTO("EXT-001", 1L, true))))
+                .andExpect(status().isUnauthorized());
+
+        verify(callbackPasarelaService, never()).recibir(anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar avisos sin número de transacción")
+    void debeRechazarAvisosSinNumeroTransaccion() throws Exception {
+        // When & Then
+        mockMvc.perform(post(URL)
+                .header(PasarelaController.ENCABEZADO_TOKEN, "token-de-prueba")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CallbackPasarelaRequestDTO("", 1L, true))))
+                .andExpect(status().isBadRequest());
+
+        verify(callbackPasarelaService, never()).recibir(anyString(), any(), anyBoolean());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.sigelic.controller;
+
+import com.example.sigelic.config.TestSecurityConfig;
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.service.DashboardSnapshotService;
+import com.example.sigelic.service.ReporteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReporteController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("Tests de ReporteController")
+class ReporteControllerTest {
+
+    private static final String VERSION = "7-20260310093000000000000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReporteService reporteService;
+
+    @MockitoBean
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    private DashboardSnapshotDTO snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = DashboardSnapshotDTO.builder()
+                .secuencia(7)
+                .generadoEn(LocalDateTime.of(2026, 3, 10, 9, 30))
+                .tramitesPorEstado(Map.of(EstadoTramite.INICIADO, 10L))
+                .tramitesActivos(10)
+                .licenciasVigentes(30)
+                .build();
+        when(dashboardSnapshotService.getSnapshot()).thenReturn(snapshot);
+    }
+
+    @Nested
+    @DisplayName("Dashboard")
+    class Dashboard {
+
+        @Test
+        @DisplayName("Debe responder el dashboard de la misma instantánea que da la versión")
+        void debeResponderDashboardDeLaInstantaneaVersionada() throws Exception {
+            // Given
+            when(reporteService.getDashboard(snapshot)).thenReturn(Map.of(
+                    "tramites", Map.of("iniciados", 10L),
+                    "licencias", Map.of("vigentesActuales", 30L)));
+
+            // When & Then
+            mockMvc.perform(get("/api/reportes/dashboard"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                    .andExpect(jsonPath("$.tramites.iniciados").value(10))
+                    .andExpect(jsonPath("$.licencias.vigentesActuales").value(30));
+
+            verify(reporteService).getDashboard(snapshot);
+            verify(reporteService, never()).getDashboard();
+        }
+
+        @Test
+        @DisplayName("Debe retornar 304 sin armar el dashboard cuando el cliente tiene la versión vigente")
+        void debeRetornar304CuandoElClienteTieneLaVersionVigente() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/api/reportes/dashboard")
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+                    .andExpect(content().string(""));
+
+            verify(reporteService, never()).getDashboard(any(DashboardSnapshotDTO.class));
+            verify(reporteService, never()).getDashboard();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.sigelic.controller;
 
 import com.example.sigelic.config.TestSecurityConfig;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.TitularRequestDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TitularResponseDTO;
+import com.example.sigelic.dto.response.Versionado;
 import com.example.sigelic.mapper.TitularMapper;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.service.TitularService;
@@ -15,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,6 +26,8 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -96,20 +102,21 @@ class TitularControllerTest {
             List<Titular> titulares = Arrays.asList(titular);
             List<TitularResponseDTO> dtos = Arrays.asList(titularResponseDTO);
             
-            when(titularService.findAll()).thenReturn(titulares);
+            when(titularService.findPagina(any(PaginaSolicitada.class))).thenReturn(new Pagina<>(titulares, "c2lndWllbnRl"));
             when(titularMapper.toResponseDTOList(titulares)).thenReturn(dtos);
 
             // When & Then
             mockMvc.perform(get("/api/titulares")
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("X-Siguiente-Cursor", "c2lndWllbnRl"))
                     .andExpect(jsonPath("$").isArray())
                     .andExpect(jsonPath("$.length()").value(1))
                     .andExpect(jsonPath("$[0].id").value(1))
                     .andExpect(jsonPath("$[0].nombre").value("Juan"))
                     .andExpect(jsonPath("$[0].apellido").value("Pérez"));
 
-            verify(titularService).findAll();
+            verify(titularService).findPagina(PaginaSolicitada.primera(50));
             verify(titularMapper).toResponseDTOList(titulares);
         }
 
@@ -117,17 +124,47 @@ class TitularControllerTest {
         @DisplayName("Debe retornar lista vacía cuando no hay titulares")
         void debeRetornarListaVaciaCuandoNoHayTitulares() throws Exception {
             // Given
-            when(titularService.findAll()).thenReturn(Arrays.asList());
+            when(titularService.findPagina(any(PaginaSolicitada.class))).thenReturn(new Pagina<>(Arrays.asList(), null));
             when(titularMapper.toResponseDTOList(any())).thenReturn(Arrays.asList());
 
             // When & Then
             mockMvc.perform(get("/api/titulares")
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Siguiente-Cursor"))
                     .andExpect(jsonPath("$").isArray())
                     .andExpect(jsonPath("$.length()").value(0));
 
-            verify(titularService).findAll();
+            verify(titularService).findPagina(any(PaginaSolicitada.class));
+        }
+
+        @Test
+        @DisplayName("Debe pedir la página del cursor con el tamaño limitado al máximo")
+        void debePedirLaPaginaDelCursorConElTamanioLimitado() throws Exception {
+            // Given
+            String cursor = PaginaSolicitada.codificarCursor(null, 120L);
+            when(titularService.findPagina(any(PaginaSolicitada.class))).thenReturn(new Pagina<>(Arrays.asList(), null));
+            when(titularMapper.toResponseDTOList(any())).thenReturn(Arrays.asList());
+
+            // When & Then
+            mockMvc.perform(get("/api/titulares")
+                    .param("cursor", cursor)
+                    .param("tamanio", "10000"))
+                    .andExpect(status().isOk());
+
+            verify(titularService).findPagina(new PaginaSolicitada("", 120L, 500));
+        }
+
+        @Test
+        @DisplayName("Debe retornar 400 con un cursor inválido")
+        void debeRetornar400ConCursorInvalido() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/api/titulares")
+                    .param("cursor", "no-es-un-cursor"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Cursor de paginación inválido"));
+
+            verify(titularService, never()).findPagina(any(PaginaSolicitada.class));
         }
     }
 
@@ -135,40 +172,85 @@ class TitularControllerTest {
     @DisplayName("GET /api/titulares/{id}")
     class ObtenerTitularPorId {
 
+        private static final String VERSION = "3.1-40-2.0-0-0.20745";
+
         @Test
         @DisplayName("Debe retornar titular por ID exitosamente")
         void debeRetornarTitularPorIdExitosamente() throws Exception {
             // Given
-            when(titularService.findById(1L)).thenReturn(Optional.of(titular));
+            conVersion(1L, VERSION);
             when(titularMapper.toResponseDTOWithDetails(titular)).thenReturn(titularResponseDTO);
 
             // When & Then
             mockMvc.perform(get("/api/titulares/1")
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
                     .andExpect(jsonPath("$.id").value(1))
                     .andExpect(jsonPath("$.nombre").value("Juan"))
                     .andExpect(jsonPath("$.apellido").value("Pérez"))
                     .andExpect(jsonPath("$.dni").value("12345678"));
 
-            verify(titularService).findById(1L);
+            verify(titularService).findVersionado(eq(1L), any(), any());
             verify(titularMapper).toResponseDTOWithDetails(titular);
         }
 
+        @Test
+        @DisplayName("Debe retornar 304 sin armar la ficha cuando el cliente tiene la versión vigente")
+        void debeRetornar304CuandoElClienteTieneLaVersionVigente() throws Exception {
+            // Given
+            conVersion(1L, VERSION);
+
+            // When & Then
+            mockMvc.perform(get("/api/titulares/1")
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+                    .andExpect(content().string(""));
+
+            verifyNoInteractions(titularMapper);
+        }
+
+        @Test
+        @DisplayName("Debe retornar la ficha cuando la versión del cliente quedó vieja")
+        void debeRetornarLaFichaCuandoLaVersionDelClienteQuedoVieja() throws Exception {
+            // Given
+            conVersion(1L, VERSION);
+            when(titularMapper.toResponseDTOWithDetails(titular)).thenReturn(titularResponseDTO);
+
+            // When & Then
+            mockMvc.perform(get("/api/titulares/1")
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"2.1-40-2.0-0-0.20745\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+
         @Test
         @DisplayName("Debe retornar 404 cuando titular no existe")
         void debeRetornar404CuandoTitularNoExiste() throws Exception {
             // Given
-            when(titularService.findById(999L)).thenReturn(Optional.empty());
+            when(titularService.findVersionado(eq(999L), any(), any())).thenReturn(Optional.empty());
 
             // When & Then
             mockMvc.perform(get("/api/titulares/999")
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isNotFound());
 
-            verify(titularService).findById(999L);
+            verify(titularService).findVersionado(eq(999L), any(), any());
             verifyNoInteractions(titularMapper);
         }
+
+        private void conVersion(Long id, String version) {
+            when(titularService.findVersionado(eq(id), any(), any())).thenAnswer(invocation -> {
+                Predicate<String> vigenteEnCliente = invocation.getArgument(1);
+                Function<Titular, Object> vista = invocation.getArgument(2);
+                return Optional.of(vigenteEnCliente.test(version)
+                        ? Versionado.<Object>sinCambios(version)
+                        : new Versionado<>(version, vista.apply(titular)));
+            });
+        }
     }
 
     @Nested
@@ -1,5 +1,7 @@
 package com.example.sigelic.controller;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -11,6 +13,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,15 +25,21 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.sigelic.config.TestSecurityConfig;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.TramiteRequestDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TramiteResponseDTO;
 import com.example.sigelic.mapper.TramiteMapper;
 import com.example.sigelic.model.ClaseLicencia;
@@ -36,6 +47,7 @@ import com.example.sigelic.model.EstadoTramite;
 import com.example.sigelic.model.TipoTramite;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.model.Tramite;
+import com.example.sigelic.service.DescargaMasivaService;
 import com.example.sigelic.service.TramiteService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -53,6 +65,9 @@ class TramiteControllerTest {
     @MockitoBean
     private TramiteMapper tramiteMapper;
 
+    @MockitoBean
+    private DescargaMasivaService descargaMasivaService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -297,7 +312,8 @@ class TramiteControllerTest {
             List<Tramite> tramites = Arrays.asList(tramite);
             List<TramiteResponseDTO> dtos = Arrays.asList(tramiteResponseDTO);
             
-            when(tramiteService.findByEstado(EstadoTramite.INICIADO)).thenReturn(tramites);
+            when(tramiteService.findPaginaByEstado(eq(EstadoTramite.INICIADO), any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(tramites, null));
             when(tramiteMapper.toResponseDTOList(tramites)).thenReturn(dtos);
 
             // When & Then
@@ -306,10 +322,58 @@ class TramiteControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$").isArray())
+                    .andExpect(header().doesNotExist("X-Siguiente-Cursor"))
                     .andExpect(jsonPath("$[0].estado").value("INICIADO"));
 
-            verify(tramiteService).findByEstado(EstadoTramite.INICIADO);
+            verify(tramiteService).findPaginaByEstado(EstadoTramite.INICIADO, PaginaSolicitada.primera(50));
             verify(tramiteMapper).toResponseDTOList(tramites);
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/tramites/descarga")
+    class DescargarTramites {
+
+        @Test
+        @DisplayName("Debe transmitir los trámites en NDJSON")
+        void debeTransmitirLosTramitesEnNdjson() throws Exception {
+            // Given
+            doAnswer(invocation -> {
+                OutputStream salida = invocation.getArgument(1);
+                salida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            }).when(descargaMasivaService).escribirTramites(isNull(), any(OutputStream.class));
+
+            // When
+            MvcResult resultado = mockMvc.perform(get("/api/tramites/descarga")
+                    .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+            verify(descargaMasivaService).escribirTramites(isNull(), any(OutputStream.class));
+        }
+
+        @Test
+        @DisplayName("Debe filtrar la descarga por estado")
+        void debeFiltrarLaDescargaPorEstado() throws Exception {
+            // When
+            MvcResult resultado = mockMvc.perform(get("/api/tramites/descarga")
+                    .param("estado", "EMITIDA")
+                    .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk());
+
+            verify(descargaMasivaService).escribirTramites(eq(EstadoTramite.EMITIDA), any(OutputStream.class));
+        }
+    }
 }
@@ -8,10 +8,17 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.example.sigelic.dto.request.ListaEsperaRequestDTO;
+import com.example.sigelic.dto.request.PaginaSolicitada;
 import com.example.sigelic.dto.request.TurnoRequestDTO;
+import com.example.sigelic.dto.response.AsignacionAgendaDTO;
+import com.example.sigelic.dto.response.ListaEsperaResponseDTO;
+import com.example.sigelic.dto.response.Pagina;
 import com.example.sigelic.dto.response.TurnoResponseDTO;
 import com.example.sigelic.mapper.TurnoMapper;
 import com.example.sigelic.model.*;
+import com.example.sigelic.service.AgendaExamenesService;
+import com.example.sigelic.service.ListaEsperaService;
 import com.example.sigelic.service.TurnoService;
 import com.example.sigelic.service.TitularService;
 import com.example.sigelic.service.TramiteService;
@@ -29,9 +36,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @WebMvcTest(TurnoController.class)
@@ -54,6 +63,12 @@ class TurnoControllerTest {
     @MockitoBean
     private TurnoMapper turnoMapper;
 
+    @MockitoBean
+    private AgendaExamenesService agendaExamenesService;
+
+    @MockitoBean
+    private ListaEsperaService listaEsperaService;
+
     private ObjectMapper objectMapper;
 
     private Turno turno;
@@ -187,18 +202,21 @@ class TurnoControllerTest {
             List<Turno> turnos = Arrays.asList(turno);
             List<TurnoResponseDTO> turnoResponseDTOs = Arrays.asList(turnoResponseDTO);
 
-            when(turnoService.findTurnosEnPeriodo(fechaDesde, fechaHasta)).thenReturn(turnos);
+            when(turnoService.findPaginaEnPeriodo(eq(fechaDesde), eq(fechaHasta), any(PaginaSolicitada.class)))
+                    .thenReturn(new Pagina<>(turnos, "c2lndWllbnRl"));
             when(turnoMapper.toResponseDTOList(turnos)).thenReturn(turnoResponseDTOs);
 
             // When & Then
             mockMvc.perform(get("/api/turnos/fecha")
                             .param("fechaDesde", "2024-01-01T00:00:00")
-                            .param("fechaHasta", "2024-01-31T23:59:00"))
+                            .param("fechaHasta", "2024-01-31T23:59:00")
+                            .param("tamanio", "20"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("X-Siguiente-Cursor", "c2lndWllbnRl"))
                     .andExpect(jsonPath("$", hasSize(1)));
 
-            verify(turnoService).findTurnosEnPeriodo(fechaDesde, fechaHasta);
+            verify(turnoService).findPaginaEnPeriodo(fechaDesde, fechaHasta, PaginaSolicitada.primera(20));
             verify(turnoMapper).toResponseDTOList(turnos);
         }
 
@@ -578,4 +596,97 @@ class TurnoControllerTest {
             verify(turnoMapper, never()).toResponseDTO(any());
         }
     }
+
+    @Nested
+    @DisplayName("Agenda de exámenes")
+    class AgendaExamenes {
+
+        @Test
+        @DisplayName("Debe asignar recursos y examinadores de los exámenes del día")
+        void debeAsignarAgendaDelDia() throws Exception {
+            // Given
+            LocalDate fecha = LocalDate.of(2026, 10, 20);
+            AsignacionAgendaDTO asignacion = AsignacionAgendaDTO.builder()
+                    .fecha(fecha)
+                    .turnosConsiderados(3)
+                    .turnosAsignados(2)
+                    .turnosModificados(1)
+                    .turnosSinAsignar(List.of(7L))
+                    .ocupacionPorRecurso(Map.of(1L, 12.5))
+                    .minutosPorExaminador(Map.of("examinador1", 60L))
+                    .duracionMs(15)
+                    .build();
+            when(agendaExamenesService.asignar(fecha)).thenReturn(asignacion);
+
+            // When & Then
+            mockMvc.perform(post("/api/turnos/agenda/asignacion")
+                            .param("fecha", "2026-10-20"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.turnosAsignados", is(2)))
+                    .andExpect(jsonPath("$.turnosSinAsignar[0]", is(7)))
+                    .andExpect(jsonPath("$.minutosPorExaminador.examinador1", is(60)));
+
+            verify(agendaExamenesService).asignar(fecha);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lista de espera")
+    class ListaEsperaTurnos {
+
+        @Test
+        @DisplayName("Debe inscribir al titular en la lista de espera")
+        void debeInscribirEnListaEspera() throws Exception {
+            // Given
+            ListaEsperaRequestDTO request = new ListaEsperaRequestDTO(1L, TipoTurno.APTO_MEDICO,
+                    TipoRecurso.CONSULTORIO_MEDICO, 1L, null, null, 0);
+            ListaEspera listaEspera = new ListaEspera();
+            listaEspera.setId(5L);
+            ListaEsperaResponseDTO respuesta = ListaEsperaResponseDTO.builder()
+                    .id(5L)
+                    .titularId(1L)
+                    .estado(EstadoListaEspera.ESPERANDO)
+                    .build();
+            when(listaEsperaService.inscribir(1L, TipoTurno.APTO_MEDICO, TipoRecurso.CONSULTORIO_MEDICO, 1L, null, null, 0))
+                    .thenReturn(listaEspera);
+            when(turnoMapper.toListaEsperaResponseDTO(listaEspera)).thenReturn(respuesta);
+
+            // When & Then
+            mockMvc.perform(post("/api/turnos/lista-espera")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id", is(5)))
+                    .andExpect(jsonPath("$.estado", is("ESPERANDO")));
+        }
+
+        @Test
+        @DisplayName("Debe aceptar el turno ofrecido")
+        void debeAceptarTurnoOfrecido() throws Exception {
+            // Given
+            turno.setEstado(EstadoTurno.CONFIRMADO);
+            when(listaEsperaService.aceptarOferta(5L)).thenReturn(turno);
+            when(turnoMapper.toResponseDTO(turno)).thenReturn(turnoResponseDTO);
+
+            // When & Then
+            mockMvc.perform(post("/api/turnos/lista-espera/5/aceptar"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id", is(1)));
+
+            verify(listaEsperaService).aceptarOferta(5L);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar la aceptación de una oferta vencida")
+        void debeRechazarOfertaVencida() throws Exception {
+            // Given
+            when(listaEsperaService.aceptarOferta(5L)).thenThrow(new IllegalStateException("La oferta de turno venció"));
+
+            // When & Then
+            mockMvc.perform(post("/api/turnos/lista-espera/5/aceptar"))
+                    .andExpect(status().isConflict());
+
+            verify(turnoMapper, never()).toResponseDTO(any());
+        }
+    }
 }
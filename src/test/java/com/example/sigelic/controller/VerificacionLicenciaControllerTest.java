@@ -0,0 +1,92 @@
+package com.example.sigelic.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import com.example.sigelic.config.LimitadorVerificaciones;
+import com.example.sigelic.config.TestSecurityConfig;
+import com.example.sigelic.dto.response.VerificacionLicenciaDTO;
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.service.VerificacionLicenciaService;
+
+/**
+ * Tests para VerificacionLicenciaController
+ */
+@WebMvcTest(VerificacionLicenciaController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("Tests de VerificacionLicenciaController")
+class VerificacionLicenciaControllerTest {
+
+    private static final String URL = "/api/public/licencias/verificar/{numero}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private VerificacionLicenciaService verificacionLicenciaService;
+
+    @MockitoBean
+    private LimitadorVerificaciones limitadorVerificaciones;
+
+    @Test
+    @DisplayName("Debe devolver el estado de una licencia existente")
+    void debeDevolverEstadoDeLicencia() throws Exception {
+        // Given
+        when(limitadorVerificaciones.permitir(anyString())).thenReturn(true);
+        when(verificacionLicenciaService.verificar("20261019-000123")).thenReturn(Optional.of(
+                new VerificacionLicenciaDTO("20261019-000123", ClaseLicencia.B, EstadoLicencia.VIGENTE,
+                        LocalDate.now().plusYears(3))));
+
+        // When & Then
+        mockMvc.perform(get(URL, "20261019-000123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numeroLicencia").value("20261019-000123"))
+                .andExpect(jsonPath("$.clase").value("B"))
+                .andExpect(jsonPath("$.estado").value("VIGENTE"))
+                .andExpect(jsonPath("$.vigente").value(true))
+                .andExpect(jsonPath("$.titular").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Debe responder 404 para un número inexistente")
+    void debeResponderNotFoundParaNumeroInexistente() throws Exception {
+        // Given
+        when(limitadorVerificaciones.permitir(anyString())).thenReturn(true);
+        when(verificacionLicenciaService.verificar("NO-EXISTE")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get(URL, "NO-EXISTE"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Debe responder 429 cuando el cliente supera su límite")
+    void debeResponderTooManyRequestsAlSuperarLimite() throws Exception {
+        // Given
+        when(limitadorVerificaciones.permitir(anyString())).thenReturn(false);
+
+        // When & Then
+        mockMvc.perform(get(URL, "20261019-000123"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        verify(verificacionLicenciaService, never()).verificar(anyString());
+    }
+}
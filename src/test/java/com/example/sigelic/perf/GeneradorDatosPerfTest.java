@@ -0,0 +1,196 @@
+package com.example.sigelic.perf;
+
+import com.example.sigelic.model.TipoRecurso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de GeneradorDatosPerf")
+class GeneradorDatosPerfTest {
+
+    private static final String FECHA_REFERENCIA = "2026-03-10";
+    private static final GeneradorDatosPerf.Bases BASES = new GeneradorDatosPerf.Bases(10, 20, 30, 40, 50, 60, 70, 80, 90);
+    private static final Map<TipoRecurso, long[]> RECURSOS = Map.of(
+        TipoRecurso.CONSULTORIO_MEDICO, new long[] {1, 2},
+        TipoRecurso.AULA_TEORICO, new long[] {3},
+        TipoRecurso.PISTA, new long[] {4, 5, 6}
+    );
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private GeneradorDatosPerf generadorDatosPerf;
+
+    @BeforeEach
+    void setUp() {
+        configurar(generadorDatosPerf, 120, 1, 25, 42L);
+    }
+
+    @Test
+    @DisplayName("Debe generar los mismos datos con la misma semilla")
+    void debeGenerarLosMismosDatosConLaMismaSemilla() {
+        // Given
+        GeneradorDatosPerf otro = new GeneradorDatosPerf(jdbcTemplate, transactionTemplate);
+        configurar(otro, 120, 1, 25, 42L);
+
+        // When
+        GeneradorDatosPerf.Lote primero = generadorDatosPerf.generarLote(3, 75, 100, BASES, RECURSOS);
+        GeneradorDatosPerf.Lote segundo = otro.generarLote(3, 75, 100, BASES, RECURSOS);
+
+        // Then
+        assertThat(primero.titulares).hasSize(25);
+        assertThat(primero.cantidadFilas()).isEqualTo(segundo.cantidadFilas());
+        assertThat(filas(primero.titulares)).isDeepEqualTo(filas(segundo.titulares));
+        assertThat(filas(primero.tramites)).isDeepEqualTo(filas(segundo.tramites));
+        assertThat(filas(primero.turnos)).isDeepEqualTo(filas(segundo.turnos));
+        assertThat(filas(primero.pagos)).isDeepEqualTo(filas(segundo.pagos));
+        assertThat(filas(primero.examenesTeoricos)).isDeepEqualTo(filas(segundo.examenesTeoricos));
+        assertThat(filas(primero.examenesPracticos)).isDeepEqualTo(filas(segundo.examenesPracticos));
+        assertThat(filas(primero.aptosMedicos)).isDeepEqualTo(filas(segundo.aptosMedicos));
+        assertThat(filas(primero.licencias)).isDeepEqualTo(filas(segundo.licencias));
+        assertThat(filas(primero.inhabilitaciones)).isDeepEqualTo(filas(segundo.inhabilitaciones));
+    }
+
+    @Test
+    @DisplayName("Debe generar datos distintos con otra semilla")
+    void debeGenerarDatosDistintosConOtraSemilla() {
+        // Given
+        GeneradorDatosPerf otro = new GeneradorDatosPerf(jdbcTemplate, transactionTemplate);
+        configurar(otro, 120, 1, 25, 7L);
+
+        // When
+        GeneradorDatosPerf.Lote primero = generadorDatosPerf.generarLote(0, 0, 25, BASES, RECURSOS);
+        GeneradorDatosPerf.Lote segundo = otro.generarLote(0, 0, 25, BASES, RECURSOS);
+
+        // Then
+        assertThat(filas(primero.titulares)).isNotEqualTo(filas(segundo.titulares));
+    }
+
+    @Test
+    @DisplayName("Debe calcular las fechas desde la fecha de referencia")
+    void debeCalcularLasFechasDesdeLaFechaDeReferencia() {
+        // Given
+        GeneradorDatosPerf otro = new GeneradorDatosPerf(jdbcTemplate, transactionTemplate);
+        configurar(otro, 120, 1, 25, 42L);
+        ReflectionTestUtils.setField(otro, "fechaReferencia", "2026-03-11");
+
+        // When
+        GeneradorDatosPerf.Lote primero = generadorDatosPerf.generarLote(0, 0, 25, BASES, RECURSOS);
+        GeneradorDatosPerf.Lote segundo = otro.generarLote(0, 0, 25, BASES, RECURSOS);
+
+        // Then: misma semilla, mismas filas salvo por las fechas
+        assertThat(primero.cantidadFilas()).isEqualTo(segundo.cantidadFilas());
+        assertThat(filas(primero.tramites)).isNotEqualTo(filas(segundo.tramites));
+    }
+
+    @Test
+    @DisplayName("Debe insertar las mismas filas sin importar la cantidad de hilos")
+    void debeInsertarLasMismasFilasSinImportarLosHilos() throws Exception {
+        // Given
+        Map<String, List<Object[]>> unHilo = ejecutarCapturando(1);
+        reset(jdbcTemplate, transactionTemplate);
+
+        // When
+        Map<String, List<Object[]>> variosHilos = ejecutarCapturando(4);
+
+        // Then
+        assertThat(variosHilos).containsOnlyKeys(unHilo.keySet());
+        unHilo.forEach((sql, filas) ->
+                assertThat(filas(variosHilos.get(sql))).as(sql).isDeepEqualTo(filas(filas)));
+        assertThat(unHilo.keySet()).anyMatch(sql -> sql.startsWith("INSERT INTO titulares"));
+    }
+
+    @Test
+    @DisplayName("Debe omitir la generación si la base ya tiene datos generados")
+    void debeOmitirGeneracionSiHayDatosGenerados() throws Exception {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("%" + GeneradorDatosPerf.DOMINIO_EMAIL)))
+                .thenReturn(List.of(11L));
+
+        // When
+        generadorDatosPerf.run();
+
+        // Then
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, List<Object[]>> ejecutarCapturando(int hilos) throws Exception {
+        Map<String, ConcurrentLinkedQueue<Object[]>> insertadas = new ConcurrentHashMap<>();
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<TipoRecurso, long[]> entry : RECURSOS.entrySet()) {
+                for (long id : entry.getValue()) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getString("tipo")).thenReturn(entry.getKey().name());
+                    when(rs.getLong("id")).thenReturn(id);
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> filas = invocation.getArgument(1);
+            insertadas.computeIfAbsent(invocation.getArgument(0), sql -> new ConcurrentLinkedQueue<>()).addAll(filas);
+            return new int[filas.size()];
+        });
+
+        configurar(generadorDatosPerf, 120, hilos, 25, 42L);
+        generadorDatosPerf.run();
+
+        Map<String, List<Object[]>> ordenadas = new ConcurrentHashMap<>();
+        insertadas.forEach((sql, filas) -> {
+            List<Object[]> lista = new ArrayList<>(filas);
+            lista.sort(Comparator.comparingLong(fila -> (Long) fila[0]));
+            ordenadas.put(sql, lista);
+        });
+        return ordenadas;
+    }
+
+    private static void configurar(GeneradorDatosPerf generador, int titulares, int hilos, int lote, long semilla) {
+        ReflectionTestUtils.setField(generador, "cantidadTitulares", titulares);
+        ReflectionTestUtils.setField(generador, "hilos", hilos);
+        ReflectionTestUtils.setField(generador, "tamanioLote", lote);
+        ReflectionTestUtils.setField(generador, "semilla", semilla);
+        ReflectionTestUtils.setField(generador, "fechaReferencia", FECHA_REFERENCIA);
+    }
+
+    private static Object[][] filas(List<Object[]> filas) {
+        return filas.toArray(new Object[0][]);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.sigelic.repository;
+
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.ExamenPractico;
+import com.example.sigelic.model.ExamenTeorico;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.repository.ExamenPracticoRepository.RendimientoPracticoDiario;
+import com.example.sigelic.repository.ExamenTeoricoRepository.RendimientoTeoricoDiario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Agrupación del rendimiento de exámenes por examinador y día sobre H2 en modo MySQL
+ * (la base del perfil test): GROUP BY con CAST(fecha AS LocalDate)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("Tests del rendimiento diario por examinador")
+class ExamenRendimientoRepositoryTest {
+
+    private static final LocalDate DIA_1 = LocalDate.of(2026, 3, 10);
+    private static final LocalDate DIA_2 = DIA_1.plusDays(1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExamenTeoricoRepository examenTeoricoRepository;
+
+    @Autowired
+    private ExamenPracticoRepository examenPracticoRepository;
+
+    private Tramite tramite;
+
+    @BeforeEach
+    void setUp() {
+        Titular titular = new Titular();
+        titular.setNombre("Rendimiento");
+        titular.setApellido("Examinador");
+        titular.setDni("38111222");
+        titular.setFechaNacimiento(LocalDate.of(1995, 6, 1));
+        titular.setDomicilio("Calle Test 123");
+        entityManager.persist(titular);
+
+        tramite = new Tramite();
+        tramite.setTitular(titular);
+        tramite.setTipo(TipoTramite.EMISION);
+        tramite.setClaseSolicitada(ClaseLicencia.B);
+        tramite.setEstado(EstadoTramite.EX_PRA_OK);
+        entityManager.persist(tramite);
+    }
+
+    @Test
+    @DisplayName("Debe agrupar los exámenes teóricos por examinador y día")
+    void debeAgruparExamenesTeoricosPorExaminadorYDia() {
+        // Given: los bordes del día caen en su propio día
+        teorico("Examinador A", DIA_1.atTime(0, 5), 90);
+        teorico("Examinador A", DIA_1.atTime(23, 55), 70);
+        teorico("Examinador A", DIA_2.atTime(0, 5), 85);
+        teorico("Examinador B", DIA_1.atTime(10, 0), 60);
+        teorico("Examinador B", DIA_2.atTime(9, 0), 95);
+        teorico("Examinador B", DIA_2.atTime(16, 30), 80);
+        // Fuera del período o sin examinador
+        teorico("Examinador A", DIA_2.plusDays(1).atTime(8, 0), 100);
+        teorico(null, DIA_1.atTime(12, 0), 100);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<RendimientoTeoricoDiario> filas = examenTeoricoRepository.findRendimientoPorExaminadorYDia(
+                DIA_1.atStartOfDay(), DIA_2.atTime(LocalTime.MAX));
+
+        // Then
+        assertThat(filas)
+                .extracting(RendimientoTeoricoDiario::getExaminador, RendimientoTeoricoDiario::getDia,
+                        RendimientoTeoricoDiario::getTotal, RendimientoTeoricoDiario::getAprobados,
+                        RendimientoTeoricoDiario::getSumaPuntaje)
+                .containsExactlyInAnyOrder(
+                        tuple("Examinador A", DIA_1, 2L, 1L, 160L),
+                        tuple("Examinador A", DIA_2, 1L, 1L, 85L),
+                        tuple("Examinador B", DIA_1, 1L, 0L, 60L),
+                        tuple("Examinador B", DIA_2, 2L, 2L, 175L));
+    }
+
+    @Test
+    @DisplayName("Debe agrupar los exámenes prácticos por examinador y día")
+    void debeAgruparExamenesPracticosPorExaminadorYDia() {
+        // Given
+        practico("Examinador A", DIA_1.atTime(0, 5), 1, 0);
+        practico("Examinador A", DIA_1.atTime(23, 55), 2, 1);
+        practico("Examinador A", DIA_2.atTime(8, 0), 0, 0);
+        practico("Examinador B", DIA_2.atTime(0, 5), 4, 0);
+        practico("Examinador B", DIA_2.atTime(23, 55), 3, 0);
+        // Fuera del período o sin examinador
+        practico("Examinador B", DIA_1.minusDays(1).atTime(23, 55), 0, 0);
+        practico(null, DIA_2.atTime(12, 0), 0, 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<RendimientoPracticoDiario> filas = examenPracticoRepository.findRendimientoPorExaminadorYDia(
+                DIA_1.atStartOfDay(), DIA_2.atTime(LocalTime.MAX));
+
+        // Then
+        assertThat(filas)
+                .extracting(RendimientoPracticoDiario::getExaminador, RendimientoPracticoDiario::getDia,
+                        RendimientoPracticoDiario::getTotal, RendimientoPracticoDiario::getAprobados,
+                        RendimientoPracticoDiario::getSumaFaltasLeves, RendimientoPracticoDiario::getSumaFaltasGraves)
+                .containsExactlyInAnyOrder(
+                        tuple("Examinador A", DIA_1, 2L, 1L, 3L, 1L),
+                        tuple("Examinador A", DIA_2, 1L, 1L, 0L, 0L),
+                        tuple("Examinador B", DIA_2, 2L, 1L, 7L, 0L));
+    }
+
+    private void teorico(String examinador, LocalDateTime fecha, int puntaje) {
+        ExamenTeorico examen = new ExamenTeorico();
+        examen.setTramite(tramite);
+        examen.setExaminador(examinador);
+        examen.setFecha(fecha);
+        examen.setPuntaje(puntaje);
+        entityManager.persist(examen);
+    }
+
+    private void practico(String examinador, LocalDateTime fecha, int faltasLeves, int faltasGraves) {
+        ExamenPractico examen = new ExamenPractico();
+        examen.setTramite(tramite);
+        examen.setExaminador(examinador);
+        examen.setFecha(fecha);
+        examen.setFaltasLeves(faltasLeves);
+        examen.setFaltasGraves(faltasGraves);
+        entityManager.persist(examen);
+    }
+}
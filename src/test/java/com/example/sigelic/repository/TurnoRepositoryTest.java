@@ -0,0 +1,98 @@
+package com.example.sigelic.repository;
+
+import com.example.sigelic.model.EstadoTurno;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Turno;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Superposición de turnos de un titular sobre H2 en modo MySQL (la base del perfil test)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("Tests de la superposición de turnos del titular")
+class TurnoRepositoryTest {
+
+    private static final LocalDateTime INICIO = LocalDate.of(2026, 3, 10).atTime(10, 0);
+    private static final LocalDateTime FIN = INICIO.plusMinutes(20);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TurnoRepository turnoRepository;
+
+    private Titular titular;
+
+    @BeforeEach
+    void setUp() {
+        titular = new Titular();
+        titular.setNombre("Superposicion");
+        titular.setApellido("Turnos");
+        titular.setDni("38222333");
+        titular.setFechaNacimiento(LocalDate.of(1995, 6, 1));
+        titular.setDomicilio("Calle Test 123");
+        entityManager.persist(titular);
+    }
+
+    @Test
+    @DisplayName("No debe contar como superpuestos los turnos contiguos")
+    void noDebeContarTurnosContiguos() {
+        // Given: uno termina cuando empieza el horario y otro empieza cuando termina
+        turno(INICIO.minusMinutes(20), INICIO, EstadoTurno.CONFIRMADO);
+        turno(FIN, FIN.plusMinutes(20), EstadoTurno.RESERVADO);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Turno> superpuestos = turnoRepository.findActivosSuperpuestosDelTitular(
+                titular, TipoTurno.APTO_MEDICO, INICIO, FIN);
+
+        // Then
+        assertThat(superpuestos).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe encontrar los turnos activos que se superponen con el horario")
+    void debeEncontrarTurnosSuperpuestos() {
+        // Given
+        Turno parcial = turno(INICIO.minusMinutes(10), INICIO.plusMinutes(10), EstadoTurno.CONFIRMADO);
+        Turno mismoHorario = turno(INICIO, FIN, EstadoTurno.RESERVADO);
+        turno(INICIO, FIN, EstadoTurno.CANCELADO);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Turno> superpuestos = turnoRepository.findActivosSuperpuestosDelTitular(
+                titular, TipoTurno.APTO_MEDICO, INICIO, FIN);
+
+        // Then
+        assertThat(superpuestos).extracting(Turno::getId)
+                .containsExactlyInAnyOrder(parcial.getId(), mismoHorario.getId());
+    }
+
+    private Turno turno(LocalDateTime inicio, LocalDateTime fin, EstadoTurno estado) {
+        Turno turno = new Turno();
+        turno.setTitular(titular);
+        turno.setTipo(TipoTurno.APTO_MEDICO);
+        turno.setInicio(inicio);
+        turno.setFin(fin);
+        turno.setEstado(estado);
+        return entityManager.persist(turno);
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.AptoMedico;
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.Licencia;
+import com.example.sigelic.model.TipoAvisoVencimiento;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.repository.AptoMedicoRepository;
+import com.example.sigelic.repository.LicenciaRepository;
+import com.example.sigelic.repository.TitularRepository;
+import com.example.sigelic.repository.TramiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Envío por lotes de avisos de vencimiento sobre la cola local (H2)
+ */
+@SpringBootTest(properties = {
+    "sigelic.avisos.canal=cola",
+    "sigelic.avisos.lote=2",
+    "sigelic.avisos.por-segundo=0"
+})
+@ActiveProfiles("test")
+@DisplayName("Tests de AvisosVencimientoService")
+class AvisosVencimientoServiceTest {
+
+    @Autowired
+    private AvisosVencimientoService avisosVencimientoService;
+
+    @MockitoSpyBean
+    private CanalAvisosCola canalAvisosCola;
+
+    @Autowired
+    private TitularRepository titularRepository;
+
+    @Autowired
+    private TramiteRepository tramiteRepository;
+
+    @Autowired
+    private LicenciaRepository licenciaRepository;
+
+    @Autowired
+    private AptoMedicoRepository aptoMedicoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long titularId;
+    private Long sinCorreoId;
+    private Long proximaId;
+    private Long lejanaId;
+    private Long sinDestinoId;
+    private Long aptoId;
+    private Long aptoEmitidoId;
+
+    @BeforeEach
+    void setUp() {
+        Titular titular = crearTitular("45612399", "avisos@example.com");
+        titularId = titular.getId();
+        Titular sinCorreo = crearTitular("45612400", null);
+        sinCorreoId = sinCorreo.getId();
+
+        proximaId = crearLicencia(titular, "AV-0001", LocalDate.now().plusDays(10));
+        lejanaId = crearLicencia(titular, "AV-0002", LocalDate.now().plusDays(90));
+        crearLicencia(titular, "AV-0003", LocalDate.now().plusDays(3));
+        crearLicencia(titular, "AV-0004", LocalDate.now().plusDays(3));
+        sinDestinoId = crearLicencia(sinCorreo, "AV-0005", LocalDate.now().plusDays(5));
+
+        aptoId = crearApto(titular, EstadoTramite.APTO_MED, LocalDate.now().plusDays(20));
+        aptoEmitidoId = crearApto(titular, EstadoTramite.EMITIDA, LocalDate.now().plusDays(15));
+
+        canalAvisosCola.tomar(Integer.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM avisos_vencimiento WHERE titular_id IN (?, ?)", titularId, sinCorreoId);
+        jdbcTemplate.update("DELETE FROM bloqueos_tareas WHERE nombre = ?", AvisosVencimientoService.TAREA);
+        transactionTemplate.executeWithoutResult(status -> {
+            titularRepository.deleteById(titularId);
+            titularRepository.deleteById(sinCorreoId);
+        });
+    }
+
+    @Test
+    @DisplayName("Debe avisar por lotes los vencimientos próximos de titulares con correo")
+    void debeAvisarVencimientosProximos() {
+        // When
+        int enviados = avisosVencimientoService.enviarAvisos();
+        List<CanalAvisos.Aviso> avisos = propios(canalAvisosCola.tomar(Integer.MAX_VALUE));
+
+        // Then
+        assertThat(enviados).isGreaterThanOrEqualTo(4);
+        assertThat(avisos).hasSize(4);
+        assertThat(avisos).extracting(CanalAvisos.Aviso::referenciaId)
+                .contains(proximaId, aptoId)
+                .doesNotContain(lejanaId, sinDestinoId);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT estado FROM avisos_vencimiento WHERE titular_id = ?", String.class, titularId))
+                .hasSize(4)
+                .containsOnly("ENVIADO");
+        assertThat(avisos).filteredOn(aviso -> aviso.referenciaId().equals(proximaId)
+                        && aviso.tipo() == TipoAvisoVencimiento.LICENCIA)
+                .singleElement()
+                .satisfies(aviso -> {
+                    assertThat(aviso.destino()).isEqualTo("avisos@example.com");
+                    assertThat(aviso.cuerpo()).contains("Avisos", "AV-0001", "clase B", "en 10 días");
+                });
+    }
+
+    @Test
+    @DisplayName("No debe volver a avisar lo ya avisado")
+    void noDebeRepetirAvisos() {
+        // Given
+        avisosVencimientoService.enviarAvisos();
+        canalAvisosCola.tomar(Integer.MAX_VALUE);
+
+        // When
+        avisosVencimientoService.enviarAvisos();
+
+        // Then
+        assertThat(propios(canalAvisosCola.tomar(Integer.MAX_VALUE))).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM avisos_vencimiento WHERE titular_id = ?", Integer.class, titularId))
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("No debe avisar el apto médico de un trámite ya terminado")
+    void noDebeAvisarAptoDeTramiteTerminado() {
+        // When
+        avisosVencimientoService.enviarAvisos();
+
+        // Then
+        assertThat(propios(canalAvisosCola.tomar(Integer.MAX_VALUE)))
+                .filteredOn(aviso -> aviso.tipo() == TipoAvisoVencimiento.APTO_MEDICO)
+                .extracting(CanalAvisos.Aviso::referenciaId)
+                .containsExactly(aptoId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM avisos_vencimiento WHERE tipo = 'APTO_MEDICO' AND referencia_id = ?",
+                Integer.class, aptoEmitidoId))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Debe dejar pendiente lo que el canal no entregó y enviarlo una sola vez en la próxima ejecución")
+    void debeReintentarPendientesSinRepetir() {
+        // Given: el canal falla en la primera entrega
+        doThrow(new IllegalStateException("Cola de avisos llena"))
+                .doCallRealMethod()
+                .when(canalAvisosCola).enviar(anyList());
+
+        // When
+        assertThatThrownBy(() -> avisosVencimientoService.enviarAvisos())
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then: todo quedó registrado como pendiente y nada salió
+        assertThat(propios(canalAvisosCola.tomar(Integer.MAX_VALUE))).isEmpty();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT estado FROM avisos_vencimiento WHERE titular_id = ?", String.class, titularId))
+                .hasSize(4)
+                .containsOnly("PENDIENTE");
+
+        // When: la próxima ejecución entrega los pendientes
+        avisosVencimientoService.enviarAvisos();
+        List<CanalAvisos.Aviso> reintentados = propios(canalAvisosCola.tomar(Integer.MAX_VALUE));
+        avisosVencimientoService.enviarAvisos();
+
+        // Then
+        assertThat(reintentados).hasSize(4);
+        assertThat(reintentados).extracting(CanalAvisos.Aviso::referenciaId).doesNotHaveDuplicates();
+        assertThat(reintentados).filteredOn(aviso -> aviso.referenciaId().equals(proximaId)
+                        && aviso.tipo() == TipoAvisoVencimiento.LICENCIA)
+                .singleElement()
+                .satisfies(aviso -> assertThat(aviso.cuerpo()).contains("AV-0001", "en 10 días"));
+        assertThat(propios(canalAvisosCola.tomar(Integer.MAX_VALUE))).isEmpty();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT estado FROM avisos_vencimiento WHERE titular_id = ?", String.class, titularId))
+                .containsOnly("ENVIADO");
+    }
+
+    private List<CanalAvisos.Aviso> propios(List<CanalAvisos.Aviso> avisos) {
+        return avisos.stream()
+                .filter(aviso -> "avisos@example.com".equals(aviso.destino()))
+                .toList();
+    }
+
+    private Titular crearTitular(String dni, String email) {
+        Titular titular = new Titular();
+        titular.setNombre("Avisos");
+        titular.setApellido("Prueba");
+        titular.setDni(dni);
+        titular.setEmail(email);
+        titular.setFechaNacimiento(LocalDate.of(1980, 3, 1));
+        titular.setDomicilio("Calle Falsa 321");
+        return titularRepository.save(titular);
+    }
+
+    private Long crearApto(Titular titular, EstadoTramite estadoTramite, LocalDate vencimiento) {
+        Tramite tramite = new Tramite();
+        tramite.setTitular(titular);
+        tramite.setTipo(TipoTramite.RENOVACION);
+        tramite.setClaseSolicitada(ClaseLicencia.B);
+        tramite.setEstado(estadoTramite);
+        tramite = tramiteRepository.save(tramite);
+
+        AptoMedico apto = new AptoMedico();
+        apto.setTramite(tramite);
+        apto.setProfesional("Dra. Prueba");
+        apto.setApto(true);
+        apto.setFecha(LocalDateTime.now().minusMonths(11));
+        apto.setFechaVencimiento(vencimiento);
+        return aptoMedicoRepository.save(apto).getId();
+    }
+
+    private Long crearLicencia(Titular titular, String numero, LocalDate vencimiento) {
+        Licencia licencia = new Licencia();
+        licencia.setTitular(titular);
+        licencia.setClase(ClaseLicencia.B);
+        licencia.setNumeroLicencia(numero);
+        licencia.setEstado(EstadoLicencia.VIGENTE);
+        licencia.setFechaEmision(vencimiento.minusYears(5));
+        licencia.setFechaVencimiento(vencimiento);
+        return licenciaRepository.save(licencia).getId();
+    }
+}
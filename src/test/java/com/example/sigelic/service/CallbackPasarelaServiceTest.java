@@ -0,0 +1,199 @@
+package com.example.sigelic.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.sigelic.model.CallbackPasarela;
+import com.example.sigelic.model.EstadoCallbackPasarela;
+import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.model.Pago;
+import com.example.sigelic.repository.CallbackPasarelaRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de CallbackPasarelaService")
+class CallbackPasarelaServiceTest {
+
+    @Mock
+    private CallbackPasarelaRepository callbackPasarelaRepository;
+
+    @Mock
+    private PagoService pagoService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CallbackPasarela callback;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        callback = new CallbackPasarela();
+        callback.setId(10L);
+        callback.setNumeroTransaccion("EXT-001");
+        callback.setPagoId(1L);
+        callback.setExitoso(true);
+        callback.setIntentos(1);
+    }
+
+    @Test
+    @DisplayName("Debe registrar y procesar el primer aviso")
+    void debeRegistrarYProcesarPrimerAviso() {
+        // Given
+        CallbackPasarelaService service = crearServicio(new SyncTaskExecutor());
+        when(callbackPasarelaRepository.save(any(CallbackPasarela.class))).thenReturn(callback);
+        when(callbackPasarelaRepository.tomar(eq(10L), any(), any(LocalDateTime.class))).thenReturn(1);
+        when(callbackPasarelaRepository.findById(10L)).thenReturn(Optional.of(callback));
+        when(pagoService.procesarPagoOnline(1L, "EXT-001", true)).thenReturn(pagoAcreditado());
+
+        // When
+        CallbackPasarelaService.Recepcion recepcion = service.recibir("EXT-001", 1L, true);
+
+        // Then
+        assertThat(recepcion).isEqualTo(CallbackPasarelaService.Recepcion.ACEPTADO);
+        verify(callbackPasarelaRepository).finalizar(eq(10L), eq(EstadoCallbackPasarela.PROCESADO), anyString(),
+                any(LocalDateTime.class));
+        assertThat(meterRegistry.counter(CallbackPasarelaService.METRICA, "resultado", "aceptado").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe reconocer los reintentos recientes sin tocar la base de datos")
+    void debeReconocerReintentosRecientesEnMemoria() {
+        // Given
+        CallbackPasarelaService service = crearServicio(tarea -> { });
+        when(callbackPasarelaRepository.save(any(CallbackPasarela.class))).thenReturn(callback);
+
+        // When
+        service.recibir("EXT-001", 1L, true);
+        CallbackPasarelaService.Recepcion reintento = service.recibir("EXT-001", 1L, true);
+
+        // Then
+        assertThat(reintento).isEqualTo(CallbackPasarelaService.Recepcion.DUPLICADO);
+        verify(callbackPasarelaRepository, times(1)).save(any(CallbackPasarela.class));
+        verify(pagoService, never()).procesarPagoOnline(anyLong(), anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Debe reconocer como duplicado un aviso que ya está en la base")
+    void debeReconocerDuplicadoPorClaveUnica() {
+        // Given
+        CallbackPasarelaService service = crearServicio(new SyncTaskExecutor());
+        when(callbackPasarelaRepository.save(any(CallbackPasarela.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_callback_numero_transaccion"));
+
+        // When
+        CallbackPasarelaService.Recepcion recepcion = service.recibir("EXT-001", 1L, true);
+        CallbackPasarelaService.Recepcion reintento = service.recibir("EXT-001", 1L, true);
+
+        // Then
+        assertThat(recepcion).isEqualTo(CallbackPasarelaService.Recepcion.DUPLICADO);
+        assertThat(reintento).isEqualTo(CallbackPasarelaService.Recepcion.DUPLICADO);
+        verify(callbackPasarelaRepository, times(1)).save(any(CallbackPasarela.class));
+        verify(pagoService, never()).procesarPagoOnline(anyLong(), anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Debe aceptar el aviso aunque la cola esté llena y dejarlo para el reintento")
+    void debeAceptarAvisoConColaLlena() {
+        // Given
+        CallbackPasarelaService service = crearServicio(tarea -> {
+            throw new TaskRejectedException("Cola llena");
+        });
+        when(callbackPasarelaRepository.save(any(CallbackPasarela.class))).thenReturn(callback);
+
+        // When
+        CallbackPasarelaService.Recepcion recepcion = service.recibir("EXT-001", 1L, true);
+
+        // Then
+        assertThat(recepcion).isEqualTo(CallbackPasarelaService.Recepcion.ACEPTADO);
+        verify(callbackPasarelaRepository, never()).tomar(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe descartar los avisos que el negocio rechaza")
+    void debeDescartarAvisosRechazadosPorElNegocio() {
+        // Given
+        CallbackPasarelaService service = crearServicio(new SyncTaskExecutor());
+        when(callbackPasarelaRepository.tomar(eq(10L), any(), any(LocalDateTime.class))).thenReturn(1);
+        when(callbackPasarelaRepository.findById(10L)).thenReturn(Optional.of(callback));
+        when(pagoService.procesarPagoOnline(1L, "EXT-001", true))
+                .thenThrow(new IllegalArgumentException("Pago no encontrado con ID: 1"));
+
+        // When
+        service.procesar(10L);
+
+        // Then
+        verify(callbackPasarelaRepository).finalizar(eq(10L), eq(EstadoCallbackPasarela.DESCARTADO),
+                eq("Pago no encontrado con ID: 1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe dejar para reintento los avisos con errores transitorios")
+    void debeDejarParaReintentoLosErroresTransitorios() {
+        // Given
+        CallbackPasarelaService service = crearServicio(new SyncTaskExecutor());
+        when(callbackPasarelaRepository.tomar(eq(10L), any(), any(LocalDateTime.class))).thenReturn(1);
+        when(callbackPasarelaRepository.findById(10L)).thenReturn(Optional.of(callback));
+        when(pagoService.procesarPagoOnline(1L, "EXT-001", true))
+                .thenThrow(new org.springframework.dao.CannotAcquireLockException("Lock wait timeout"));
+
+        // When
+        service.procesar(10L);
+
+        // Then
+        verify(callbackPasarelaRepository).finalizar(eq(10L), eq(EstadoCallbackPasarela.ERROR), anyString(),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("No debe procesar un aviso que otro hilo ya tomó")
+    void noDebeProcesarAvisoTomadoPorOtroHilo() {
+        // Given
+        CallbackPasarelaService service = crearServicio(new SyncTaskExecutor());
+        when(callbackPasarelaRepository.tomar(eq(10L), any(), any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        service.procesar(10L);
+
+        // Then
+        verify(pagoService, never()).procesarPagoOnline(anyLong(), anyString(), anyBoolean());
+        verify(callbackPasarelaRepository, never()).finalizar(anyLong(), any(), any(), any());
+    }
+
+    private CallbackPasarelaService crearServicio(TaskExecutor taskExecutor) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new CallbackPasarelaService(callbackPasarelaRepository, pagoService, transactionTemplate,
+                taskExecutor, meterRegistry, 100);
+    }
+
+    private static Pago pagoAcreditado() {
+        Pago pago = new Pago();
+        pago.setId(1L);
+        pago.setEstado(EstadoPago.ACREDITADO);
+        return pago;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO;
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO.Discrepancia;
+import com.example.sigelic.dto.response.ConciliacionResultadoDTO.TipoDiscrepancia;
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.MedioPago;
+import com.example.sigelic.model.Pago;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.repository.PagoRepository;
+import com.example.sigelic.repository.TitularRepository;
+import com.example.sigelic.repository.TramiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Conciliación de archivos de liquidación contra pagos pendientes (H2)
+ */
+@SpringBootTest(properties = "sigelic.conciliacion.lote=2")
+@ActiveProfiles("test")
+@DisplayName("Tests de ConciliacionService")
+class ConciliacionServiceTest {
+
+    @Autowired
+    private ConciliacionService conciliacionService;
+
+    @Autowired
+    private TitularRepository titularRepository;
+
+    @Autowired
+    private TramiteRepository tramiteRepository;
+
+    @Autowired
+    private PagoRepository pagoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long titularId;
+    private final List<Long> tramiteIds = new ArrayList<>();
+    private final List<Long> pagoIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Titular titular = new Titular();
+        titular.setNombre("Conciliación");
+        titular.setApellido("Prueba");
+        titular.setDni("45612377");
+        titular.setFechaNacimiento(LocalDate.of(1988, 3, 15));
+        titular.setDomicilio("Calle Falsa 456");
+        titular = titularRepository.save(titular);
+        titularId = titular.getId();
+
+        for (int i = 1; i <= 4; i++) {
+            Tramite tramite = new Tramite();
+            tramite.setTitular(titular);
+            tramite.setTipo(TipoTramite.EMISION);
+            tramite.setClaseSolicitada(ClaseLicencia.B);
+            tramite.setEstado(EstadoTramite.EX_PRA_OK);
+            tramite.setDocumentacionValidada(true);
+            tramite = tramiteRepository.save(tramite);
+            tramiteIds.add(tramite.getId());
+
+            Pago pago = new Pago();
+            pago.setTramite(tramite);
+            pago.setMonto(new BigDecimal("15000.00"));
+            pago.setMedio(MedioPago.TRANSFERENCIA);
+            pago.setEstado(EstadoPago.PENDIENTE);
+            pago.setNumeroTransaccion("CONC-TXN-" + i);
+            pago.setNumeroComprobante(i == 2 ? "CONC-CMP-2" : null);
+            pago.setFechaVencimiento(LocalDateTime.now().plusDays(3));
+            pagoIds.add(pagoRepository.save(pago).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> titularRepository.deleteById(titularId));
+        tramiteIds.clear();
+        pagoIds.clear();
+    }
+
+    @Test
+    @DisplayName("Debe acreditar los pagos conciliados y avanzar sus trámites")
+    void debeAcreditarPagosConciliadosYAvanzarTramites() {
+        // Given
+        String hoy = LocalDate.now().toString();
+        String archivo = String.join("\n",
+            "referencia;monto;fecha;comprobante",
+            "CONC-TXN-1;15.000,00;" + hoy + ";BCO-001",
+            "CONC-CMP-2;15000,00;" + hoy + ";",
+            "CONC-TXN-3;14.000,00;" + hoy + ";BCO-003",
+            "CONC-INEXISTENTE;15000,00;" + hoy + ";",
+            "CONC-TXN-1;15000,00;" + hoy + ";BCO-001",
+            "CONC-TXN-4;no-es-monto;" + hoy + ";");
+        Long versionAnterior = tramiteRepository.findById(tramiteIds.get(0)).orElseThrow().getVersion();
+
+        // When
+        ConciliacionResultadoDTO resultado = conciliacionService.conciliar(
+                new StringReader(archivo), ConciliacionService.Formato.CSV, "cajero.prueba");
+
+        // Then
+        assertThat(resultado.getLineasLeidas()).isEqualTo(6);
+        assertThat(resultado.getPagosAcreditados()).isEqualTo(2);
+        assertThat(resultado.getMontoAcreditado()).isEqualByComparingTo("30000.00");
+        assertThat(resultado.getTramitesActualizados()).isEqualTo(2);
+        assertThat(resultado.getDiscrepancias())
+                .extracting(Discrepancia::getTipo)
+                .containsExactly(
+                    TipoDiscrepancia.MONTO_DISTINTO,
+                    TipoDiscrepancia.SIN_PAGO_PENDIENTE,
+                    TipoDiscrepancia.REFERENCIA_DUPLICADA,
+                    TipoDiscrepancia.LINEA_INVALIDA);
+
+        Pago acreditado = pagoRepository.findById(pagoIds.get(0)).orElseThrow();
+        assertThat(acreditado.getEstado()).isEqualTo(EstadoPago.ACREDITADO);
+        assertThat(acreditado.getFechaAcreditacion()).isNotNull();
+        assertThat(acreditado.getNumeroComprobante()).isEqualTo("BCO-001");
+        assertThat(acreditado.getCajero()).isEqualTo("cajero.prueba");
+        assertThat(pagoRepository.findById(pagoIds.get(1)).orElseThrow().getNumeroComprobante()).isEqualTo("CONC-CMP-2");
+        assertThat(pagoRepository.findById(pagoIds.get(2)).orElseThrow().getEstado()).isEqualTo(EstadoPago.PENDIENTE);
+
+        Tramite tramite = tramiteRepository.findById(tramiteIds.get(0)).orElseThrow();
+        assertThat(tramite.getPagoAcreditado()).isTrue();
+        assertThat(tramite.getEstado()).isEqualTo(EstadoTramite.PAGO_OK);
+        assertThat(tramite.getVersion()).isEqualTo(versionAnterior + 1);
+        assertThat(tramiteRepository.findById(tramiteIds.get(2)).orElseThrow().getEstado()).isEqualTo(EstadoTramite.EX_PRA_OK);
+    }
+
+    @Test
+    @DisplayName("Debe conciliar archivos de ancho fijo con montos en centavos")
+    void debeConciliarArchivoDeAnchoFijo() {
+        // Given
+        String fecha = LocalDate.now().format(java.time.format.DateTimeFormatter.BASIC_ISO_DATE);
+        String archivo = String.join("\n",
+            lineaAnchoFijo("CONC-TXN-3", 1_500_000, fecha, "BCO-FIJO-3"),
+            lineaAnchoFijo("CONC-TXN-4", 1_500_000, fecha, ""),
+            "LINEA CORTA");
+
+        // When
+        ConciliacionResultadoDTO resultado = conciliacionService.conciliar(
+                new StringReader(archivo), ConciliacionService.Formato.ANCHO_FIJO, "cajero.prueba");
+
+        // Then
+        assertThat(resultado.getPagosAcreditados()).isEqualTo(2);
+        assertThat(resultado.getDiscrepancias())
+                .extracting(Discrepancia::getTipo)
+                .containsExactly(TipoDiscrepancia.LINEA_INVALIDA);
+        assertThat(pagoRepository.findById(pagoIds.get(2)).orElseThrow().getNumeroComprobante()).isEqualTo("BCO-FIJO-3");
+        assertThat(tramiteRepository.findById(tramiteIds.get(3)).orElseThrow().getEstado()).isEqualTo(EstadoTramite.PAGO_OK);
+    }
+
+    @Test
+    @DisplayName("Debe informar pagos realizados después del vencimiento sin acreditarlos")
+    void debeInformarPagosPosterioresAlVencimiento() {
+        // Given
+        String archivo = "CONC-TXN-1;15000,00;" + LocalDate.now().plusDays(10) + ";BCO-001";
+
+        // When
+        ConciliacionResultadoDTO resultado = conciliacionService.conciliar(
+                new StringReader(archivo), ConciliacionService.Formato.CSV, "cajero.prueba");
+
+        // Then
+        assertThat(resultado.getPagosAcreditados()).isZero();
+        assertThat(resultado.getDiscrepancias()).singleElement()
+                .satisfies(discrepancia -> {
+                    assertThat(discrepancia.getTipo()).isEqualTo(TipoDiscrepancia.PAGO_VENCIDO);
+                    assertThat(discrepancia.getPagoId()).isEqualTo(pagoIds.get(0));
+                });
+        assertThat(pagoRepository.findById(pagoIds.get(0)).orElseThrow().getEstado()).isEqualTo(EstadoPago.PENDIENTE);
+    }
+
+    private static String lineaAnchoFijo(String referencia, long centavos, String fecha, String comprobante) {
+        return String.format("%-30s%015d%s%-30s", referencia, centavos, fecha, comprobante);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.Configuracion;
+import com.example.sigelic.repository.ConfiguracionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifica el caché de segundo nivel de las entidades de referencia: las lecturas
+ * repetidas se resuelven desde las regiones y las escrituras hechas por el servicio
+ * invalidan tanto la región de la entidad como la de consultas
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests del caché de segundo nivel de Configuracion")
+class ConfiguracionCacheTest {
+
+    private static final String REGION_ENTIDAD = "sigelic-configuracion";
+    private static final String REGION_CONSULTAS = "sigelic-consultas-referencia";
+    private static final String CLAVE = "test.cache.valor";
+
+    @Autowired
+    private ConfiguracionService configuracionService;
+
+    @Autowired
+    private ConfiguracionRepository configuracionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+    private Statistics statistics;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+
+        Configuracion configuracion = new Configuracion();
+        configuracion.setClave(CLAVE);
+        configuracion.setValor("original");
+        configuracion.setDescripcion("Configuración de prueba del caché");
+        configuracion.setCategoria("TEST");
+        id = configuracionService.save(configuracion).getId();
+
+        cache.evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        configuracionRepository.deleteById(id);
+        cache.evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Debe resolver las lecturas repetidas desde las regiones del caché")
+    void debeResolverLecturasRepetidasDesdeElCache() {
+        // When
+        configuracionService.findByClave(CLAVE);
+        long sentenciasPrimeraLectura = statistics.getPrepareStatementCount();
+        Configuracion segunda = configuracionService.findByClave(CLAVE).orElseThrow();
+
+        // Then
+        assertThat(segunda.getValor()).isEqualTo("original");
+        assertThat(sentenciasPrimeraLectura).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        CacheRegionStatistics consultas = statistics.getQueryRegionStatistics(REGION_CONSULTAS);
+        assertThat(consultas.getMissCount()).isEqualTo(1);
+        assertThat(consultas.getHitCount()).isEqualTo(1);
+
+        assertThat(statistics.getDomainDataRegionStatistics(REGION_ENTIDAD).getPutCount()).isEqualTo(1);
+        assertThat(cache.containsEntity(Configuracion.class, id)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe invalidar las regiones de entidad y de consultas al escribir por el servicio")
+    void debeInvalidarRegionesAlEscribirPorElServicio() {
+        // Given: la consulta y la entidad quedan cacheadas
+        configuracionService.findByClave(CLAVE);
+        assertThat(configuracionService.getValor(CLAVE)).contains("original");
+        assertThat(cache.containsEntity(Configuracion.class, id)).isTrue();
+        statistics.clear();
+
+        // When
+        configuracionService.actualizarValor(CLAVE, "modificado", "admin");
+        statistics.clear();
+
+        // Then: la consulta cacheada se descarta y vuelve a la base
+        assertThat(configuracionService.getValor(CLAVE)).contains("modificado");
+        CacheRegionStatistics consultas = statistics.getQueryRegionStatistics(REGION_CONSULTAS);
+        assertThat(consultas.getHitCount()).isZero();
+        assertThat(consultas.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // Y la región de la entidad ya no tiene el valor anterior
+        Configuracion releida = configuracionRepository.findById(id).orElseThrow();
+        CacheRegionStatistics entidad = statistics.getDomainDataRegionStatistics(REGION_ENTIDAD);
+        assertThat(releida.getValor()).isEqualTo("modificado");
+        assertThat(entidad.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe quitar la entidad de su región al desalojarla")
+    void debeQuitarEntidadAlDesalojar() {
+        // Given
+        configuracionService.findByClave(CLAVE);
+        assertThat(cache.containsEntity(Configuracion.class, id)).isTrue();
+
+        // When
+        cache.evictEntityData(Configuracion.class, id);
+        statistics.clear();
+        Configuracion releida = configuracionRepository.findById(id).orElseThrow();
+        configuracionRepository.findById(id);
+
+        // Then: la primera lectura va a la base y la segunda sale de la región
+        assertThat(releida.getValor()).isEqualTo("original");
+        CacheRegionStatistics entidad = statistics.getDomainDataRegionStatistics(REGION_ENTIDAD);
+        assertThat(entidad.getMissCount()).isEqualTo(1);
+        assertThat(entidad.getPutCount()).isEqualTo(1);
+        assertThat(entidad.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
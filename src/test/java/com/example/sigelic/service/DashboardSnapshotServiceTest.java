@@ -0,0 +1,322 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
+import com.example.sigelic.event.ExamenModificadoEvent;
+import com.example.sigelic.event.LicenciaModificadaEvent;
+import com.example.sigelic.event.PagoModificadoEvent;
+import com.example.sigelic.event.TramiteEstadoCambiadoEvent;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.repository.InhabilitacionRepository;
+import com.example.sigelic.repository.LicenciaRepository;
+import com.example.sigelic.repository.TramiteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de DashboardSnapshotService")
+class DashboardSnapshotServiceTest {
+
+    @Mock
+    private TramiteRepository tramiteRepository;
+
+    @Mock
+    private LicenciaRepository licenciaRepository;
+
+    @Mock
+    private InhabilitacionRepository inhabilitacionRepository;
+
+    @Mock
+    private ExamenService examenService;
+
+    @Mock
+    private PagoService pagoService;
+
+    @InjectMocks
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    private final AtomicInteger calculos = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardSnapshotService, "intervaloRefresco", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dashboardSnapshotService, "diasProximosAVencer", 30);
+
+        lenient().when(tramiteRepository.countAgrupadosPorEstado()).thenAnswer(invocation -> {
+            calculos.incrementAndGet();
+            return List.<Object[]>of(
+                    new Object[]{EstadoTramite.INICIADO, 3L},
+                    new Object[]{EstadoTramite.PAGO_OK, 2L},
+                    new Object[]{EstadoTramite.EMITIDA, 7L});
+        });
+        when(licenciaRepository.countByFechaVencimientoAfter(any())).thenReturn(10L);
+        when(licenciaRepository.countLicenciasProximasAVencer(any(), any())).thenReturn(2L);
+        when(licenciaRepository.countLicenciasVencidas(any())).thenReturn(null);
+        when(examenService.countExamenesPendientes()).thenReturn(4L);
+        when(pagoService.countPagosPendientes()).thenReturn(5L);
+        when(pagoService.getTotalPagosDiarios()).thenReturn(1500.0);
+        when(inhabilitacionRepository.countInhabilitacionesActivas()).thenReturn(6L);
+        when(pagoService.getRecaudacionEnPeriodo(any(), any())).thenReturn(new BigDecimal("45000.00"));
+    }
+
+    @Nested
+    @DisplayName("Cálculo de la instantánea")
+    class Calculo {
+
+        @Test
+        @DisplayName("Debe calcular la instantánea la primera vez y reutilizarla después")
+        void debeCalcularUnaVezYReutilizar() {
+            // When
+            DashboardSnapshotDTO primera = dashboardSnapshotService.getSnapshot();
+            DashboardSnapshotDTO segunda = dashboardSnapshotService.getSnapshot();
+
+            // Then
+            assertThat(segunda).isSameAs(primera);
+            assertThat(calculos).hasValue(1);
+            assertThat(primera.getSecuencia()).isEqualTo(1);
+            assertThat(primera.getTramitesActivos()).isEqualTo(5);
+            assertThat(primera.getTramitesPorEstado()).containsEntry(EstadoTramite.EMITIDA, 7L);
+            assertThat(primera.getLicenciasVigentes()).isEqualTo(10);
+            assertThat(primera.getLicenciasVencidas()).isZero();
+            assertThat(primera.getExamenesPendientes()).isEqualTo(4);
+            assertThat(primera.getPagosPendientes()).isEqualTo(5);
+            assertThat(primera.getPagosDelDia()).isEqualTo(1500.0);
+            assertThat(primera.getInhabilitacionesActivas()).isEqualTo(6);
+            assertThat(primera.getRecaudacionMesActual()).isEqualByComparingTo("45000");
+        }
+
+        @Test
+        @DisplayName("No debe recalcular si no hubo eventos ni venció el intervalo")
+        void noDebeRecalcularSinEventosNiVencimiento() {
+            // Given
+            DashboardSnapshotDTO inicial = dashboardSnapshotService.getSnapshot();
+
+            // When
+            dashboardSnapshotService.recalcularSiCorresponde();
+
+            // Then
+            assertThat(dashboardSnapshotService.getSnapshot()).isSameAs(inicial);
+            assertThat(calculos).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Debe recalcular cuando vence el intervalo de refresco")
+        void debeRecalcularAlVencerElIntervalo() throws InterruptedException {
+            // Given
+            ReflectionTestUtils.setField(dashboardSnapshotService, "intervaloRefresco", Duration.ofMillis(20));
+            DashboardSnapshotDTO inicial = dashboardSnapshotService.getSnapshot();
+            Thread.sleep(50);
+
+            // When
+            dashboardSnapshotService.recalcularSiCorresponde();
+
+            // Then
+            DashboardSnapshotDTO actual = dashboardSnapshotService.getSnapshot();
+            assertThat(actual.getSecuencia()).isEqualTo(inicial.getSecuencia() + 1);
+            assertThat(actual.getGeneradoEn()).isAfter(inicial.getGeneradoEn());
+            assertThat(calculos).hasValue(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidación por eventos de dominio")
+    class Invalidacion {
+
+        @Test
+        @DisplayName("Debe recalcular cuando un trámite cambia de estado")
+        void debeRecalcularPorCambioDeTramite() {
+            verificarRecalculoTrasEvento(() -> dashboardSnapshotService.onTramiteEstadoCambiado(
+                    new TramiteEstadoCambiadoEvent(1L, EstadoTramite.PAGO_OK, EstadoTramite.EMITIDA)));
+        }
+
+        @Test
+        @DisplayName("Debe recalcular cuando se crea o modifica una licencia")
+        void debeRecalcularPorCambioDeLicencia() {
+            verificarRecalculoTrasEvento(() -> dashboardSnapshotService.onLicenciaModificada(
+                    new LicenciaModificadaEvent("LIC-001", EstadoLicencia.VIGENTE)));
+        }
+
+        @Test
+        @DisplayName("Debe recalcular cuando se acredita o vence un pago")
+        void debeRecalcularPorCambioDePago() {
+            verificarRecalculoTrasEvento(() -> dashboardSnapshotService.onPagoModificado(
+                    new PagoModificadoEvent(null, EstadoPago.VENCIDO)));
+        }
+
+        @Test
+        @DisplayName("Debe recalcular cuando se registra un examen")
+        void debeRecalcularPorCambioDeExamen() {
+            verificarRecalculoTrasEvento(() -> dashboardSnapshotService.onExamenModificado(
+                    new ExamenModificadoEvent(1L, true)));
+        }
+
+        @Test
+        @DisplayName("Debe agrupar una ráfaga de eventos en un solo recálculo")
+        void debeAgruparRafagaDeEventos() {
+            // Given
+            dashboardSnapshotService.getSnapshot();
+
+            // When
+            for (long i = 1; i <= 50; i++) {
+                dashboardSnapshotService.onTramiteEstadoCambiado(
+                        new TramiteEstadoCambiadoEvent(i, EstadoTramite.INICIADO, EstadoTramite.DOCS_OK));
+                dashboardSnapshotService.onPagoModificado(new PagoModificadoEvent(i, EstadoPago.ACREDITADO));
+            }
+            dashboardSnapshotService.recalcularSiCorresponde();
+            dashboardSnapshotService.recalcularSiCorresponde();
+
+            // Then
+            assertThat(calculos).hasValue(2);
+            assertThat(dashboardSnapshotService.getSnapshot().getSecuencia()).isEqualTo(2);
+        }
+
+        private void verificarRecalculoTrasEvento(Runnable evento) {
+            // Given
+            DashboardSnapshotDTO inicial = dashboardSnapshotService.getSnapshot();
+
+            // When
+            evento.run();
+            dashboardSnapshotService.recalcularSiCorresponde();
+
+            // Then
+            assertThat(dashboardSnapshotService.getSnapshot().getSecuencia()).isEqualTo(inicial.getSecuencia() + 1);
+            assertThat(calculos).hasValue(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrencia y publicación")
+    class Concurrencia {
+
+        @Test
+        @DisplayName("Debe agrupar recálculos concurrentes en un solo cálculo")
+        void debeAgruparRecalculosConcurrentes() throws Exception {
+            // Given: el primer cálculo queda bloqueado hasta que los demás hilos esperan el lock
+            CountDownLatch calculoIniciado = new CountDownLatch(1);
+            CountDownLatch liberarCalculo = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                calculos.incrementAndGet();
+                calculoIniciado.countDown();
+                assertThat(liberarCalculo.await(5, TimeUnit.SECONDS)).isTrue();
+                return Collections.emptyList();
+            }).when(tramiteRepository).countAgrupadosPorEstado();
+            int hilos = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(hilos);
+            List<Thread> esperando = Collections.synchronizedList(new ArrayList<>());
+
+            try {
+                // When
+                Future<DashboardSnapshotDTO> primero = executor.submit(dashboardSnapshotService::recalcular);
+                assertThat(calculoIniciado.await(5, TimeUnit.SECONDS)).isTrue();
+                List<Future<DashboardSnapshotDTO>> resto = new ArrayList<>();
+                for (int i = 1; i < hilos; i++) {
+                    resto.add(executor.submit(() -> {
+                        esperando.add(Thread.currentThread());
+                        return dashboardSnapshotService.recalcular();
+                    }));
+                }
+                esperarBloqueados(esperando, hilos - 1);
+                liberarCalculo.countDown();
+
+                // Then
+                DashboardSnapshotDTO resultado = primero.get(5, TimeUnit.SECONDS);
+                for (Future<DashboardSnapshotDTO> futuro : resto) {
+                    assertThat(futuro.get(5, TimeUnit.SECONDS)).isSameAs(resultado);
+                }
+                assertThat(calculos).hasValue(1);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Debe seguir entregando la instantánea anterior mientras se recalcula")
+        void debeEntregarInstantaneaAnteriorDuranteElRecalculo() throws Exception {
+            // Given
+            DashboardSnapshotDTO anterior = dashboardSnapshotService.getSnapshot();
+            CountDownLatch calculoIniciado = new CountDownLatch(1);
+            CountDownLatch liberarCalculo = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                calculoIniciado.countDown();
+                assertThat(liberarCalculo.await(5, TimeUnit.SECONDS)).isTrue();
+                return 2000.0;
+            }).when(pagoService).getTotalPagosDiarios();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            try {
+                // When
+                Future<DashboardSnapshotDTO> recalculo = executor.submit(dashboardSnapshotService::recalcular);
+                assertThat(calculoIniciado.await(5, TimeUnit.SECONDS)).isTrue();
+
+                // Then: a mitad del cálculo se sigue viendo la instantánea completa anterior
+                assertThat(dashboardSnapshotService.getSnapshot()).isSameAs(anterior);
+
+                liberarCalculo.countDown();
+                DashboardSnapshotDTO nueva = recalculo.get(5, TimeUnit.SECONDS);
+                assertThat(dashboardSnapshotService.getSnapshot()).isSameAs(nueva);
+                assertThat(nueva.getSecuencia()).isEqualTo(anterior.getSecuencia() + 1);
+                assertThat(nueva.getPagosDelDia()).isEqualTo(2000.0);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Debe notificar cada instantánea a los suscriptores")
+        void debeNotificarASuscriptores() {
+            // Given
+            List<DashboardSnapshotDTO> recibidas = new ArrayList<>();
+            List<DashboardSnapshotDTO> recibidasCancelado = new ArrayList<>();
+            dashboardSnapshotService.suscribir(snapshot -> {
+                throw new IllegalStateException("vista cerrada");
+            });
+            dashboardSnapshotService.suscribir(recibidas::add);
+            Runnable cancelar = dashboardSnapshotService.suscribir(recibidasCancelado::add);
+
+            // When
+            DashboardSnapshotDTO primera = dashboardSnapshotService.recalcular();
+            cancelar.run();
+            DashboardSnapshotDTO segunda = dashboardSnapshotService.recalcular();
+
+            // Then
+            assertThat(recibidas).containsExactly(primera, segunda);
+            assertThat(recibidasCancelado).containsExactly(primera);
+        }
+
+        private void esperarBloqueados(List<Thread> hilos, int cantidad) throws InterruptedException {
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < limite) {
+                if (hilos.size() == cantidad
+                        && hilos.stream().allMatch(hilo -> hilo.getState() == Thread.State.WAITING)) {
+                    return;
+                }
+                Thread.sleep(10);
+            }
+            fail("Los hilos no quedaron esperando el recálculo en curso");
+        }
+    }
+}
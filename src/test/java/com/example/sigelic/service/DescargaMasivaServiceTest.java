@@ -0,0 +1,158 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.Licencia;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Descarga NDJSON de licencias leída por cursor sobre H2
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Tests de DescargaMasivaService")
+class DescargaMasivaServiceTest {
+
+    @Autowired
+    private DescargaMasivaService descargaMasivaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Debe escribir una licencia por línea en orden de vencimiento sin retenerlas en memoria")
+    void debeEscribirUnaLicenciaPorLinea() throws Exception {
+        // Given
+        Titular titular = new Titular();
+        titular.setNombre("Descarga");
+        titular.setApellido("Masiva");
+        titular.setDni("39100200");
+        titular.setFechaNacimiento(LocalDate.of(1980, 5, 5));
+        titular.setDomicilio("Calle 1");
+        entityManager.persist(titular);
+        Long tercera = crearLicencia(titular, "DM-0003", LocalDate.now().plusYears(3));
+        Long primera = crearLicencia(titular, "DM-0001", LocalDate.now().plusYears(1));
+        Long segunda = crearLicencia(titular, "DM-0002", LocalDate.now().plusYears(2));
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // When
+        long lineas = descargaMasivaService.escribirLicencias(EstadoLicencia.INHABILITADA, salida);
+
+        // Then
+        String texto = salida.toString(StandardCharsets.UTF_8);
+        assertThat(texto).endsWith("\n");
+        List<Long> ids = new ArrayList<>();
+        for (String linea : texto.split("\n")) {
+            JsonNode licencia = objectMapper.readTree(linea);
+            assertThat(licencia.get("estado").asText()).isEqualTo("INHABILITADA");
+            ids.add(licencia.get("id").asLong());
+        }
+        assertThat(lineas).isEqualTo(ids.size());
+        assertThat(ids.stream().filter(Set.of(primera, segunda, tercera)::contains).toList())
+                .containsExactly(primera, segunda, tercera);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe leer los trámites en una sola sentencia sin cargar titulares y vaciar el contexto por tanda")
+    void debeLeerTramitesEnUnaSentenciaConContextoAcotado() throws Exception {
+        // Given: más de una tanda de trámites, cada uno de un titular distinto
+        int cantidad = 2 * DescargaMasivaService.LINEAS_POR_ENVIO + 100;
+        for (int i = 0; i < cantidad; i++) {
+            Titular titular = crearTitular("Tanda" + i, String.valueOf(40_000_000 + i));
+            Tramite tramite = new Tramite();
+            tramite.setTitular(titular);
+            tramite.setTipo(TipoTramite.EMISION);
+            tramite.setClaseSolicitada(ClaseLicencia.B);
+            tramite.setEstado(EstadoTramite.PAGO_OK);
+            entityManager.persist(tramite);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Session session = entityManager.unwrap(Session.class);
+        Statistics statistics = session.getSessionFactory().getStatistics();
+        statistics.clear();
+
+        // Se mide el contexto de persistencia cada vez que el generador vuelca su buffer
+        AtomicInteger maximoEntidades = new AtomicInteger();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                maximoEntidades.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+                super.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                maximoEntidades.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+                super.flush();
+            }
+        };
+
+        // When
+        long lineas = descargaMasivaService.escribirTramites(EstadoTramite.PAGO_OK, salida);
+
+        // Then
+        assertThat(lineas).isEqualTo(cantidad);
+        assertThat(salida.toString(StandardCharsets.UTF_8).split("\n")).hasSize(cantidad);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        // Solo trámites, a lo sumo una tanda a la vez: los titulares no se cargan
+        assertThat(maximoEntidades.get()).isPositive()
+                .isLessThanOrEqualTo(DescargaMasivaService.LINEAS_POR_ENVIO);
+        assertThat(session.getStatistics().getEntityCount()).isZero();
+    }
+
+    private Titular crearTitular(String apellido, String dni) {
+        Titular titular = new Titular();
+        titular.setNombre("Descarga");
+        titular.setApellido(apellido);
+        titular.setDni(dni);
+        titular.setFechaNacimiento(LocalDate.of(1980, 5, 5));
+        titular.setDomicilio("Calle 1");
+        entityManager.persist(titular);
+        return titular;
+    }
+
+    private Long crearLicencia(Titular titular, String numero, LocalDate vencimiento) {
+        Licencia licencia = new Licencia();
+        licencia.setTitular(titular);
+        licencia.setClase(ClaseLicencia.B);
+        licencia.setNumeroLicencia(numero);
+        licencia.setEstado(EstadoLicencia.INHABILITADA);
+        licencia.setFechaEmision(vencimiento.minusYears(5));
+        licencia.setFechaVencimiento(vencimiento);
+        entityManager.persist(licencia);
+        return licencia.getId();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.Inhabilitacion;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.repository.InhabilitacionRepository;
+import com.example.sigelic.repository.InhabilitacionRepository.VigenciaInhabilitacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de IndiceInhabilitaciones")
+class IndiceInhabilitacionesTest {
+
+    @Mock
+    private InhabilitacionRepository inhabilitacionRepository;
+
+    private IndiceInhabilitaciones indice;
+    private final LocalDate hoy = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInhabilitaciones(inhabilitacionRepository, 100);
+    }
+
+    @Test
+    @DisplayName("Debe responder desde el índice cargado sin volver a consultar la base")
+    void debeResponderDesdeIndiceCargado() {
+        // Given
+        when(inhabilitacionRepository.findVigencias(eq(0L), any(LocalDate.class))).thenReturn(List.of(
+                vigencia(1L, 10L, hoy.minusDays(5), hoy.plusDays(5)),
+                vigencia(2L, 20L, hoy.minusDays(5), null)));
+
+        // When & Then
+        assertThat(indice.estaInhabilitado(10L)).isTrue();
+        assertThat(indice.estaInhabilitado(20L)).isTrue();
+        assertThat(indice.estaInhabilitado(30L)).isFalse();
+        verify(inhabilitacionRepository, times(1)).findVigencias(anyLong(), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("Debe considerar activa la inhabilitación hasta su último día inclusive")
+    void debeRespetarLimitesDeVigencia() {
+        // Given
+        when(inhabilitacionRepository.findVigencias(eq(0L), any(LocalDate.class))).thenReturn(List.of(
+                vigencia(1L, 10L, hoy.minusDays(30), hoy),
+                vigencia(2L, 20L, hoy.plusDays(1), hoy.plusDays(30))));
+
+        // When & Then
+        assertThat(indice.estaInhabilitado(10L)).isTrue();
+        assertThat(indice.estaInhabilitado(20L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe incorporar una inhabilitación registrada fuera de una transacción")
+    void debeIncorporarInhabilitacionRegistrada() {
+        // Given
+        when(inhabilitacionRepository.findVigencias(eq(0L), any(LocalDate.class))).thenReturn(List.of());
+        assertThat(indice.estaInhabilitado(10L)).isFalse();
+
+        // When
+        indice.registrar(inhabilitacion(5L, 10L, hoy, hoy.plusDays(60)));
+
+        // Then
+        assertThat(indice.estaInhabilitado(10L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe sincronizar las inhabilitaciones nuevas releyendo desde el último id con margen")
+    void debeSincronizarInhabilitacionesDeOtrosNodos() {
+        // Given
+        when(inhabilitacionRepository.findVigencias(eq(0L), any(LocalDate.class))).thenReturn(List.of(
+                vigencia(150L, 10L, hoy.minusDays(1), hoy.plusDays(1))));
+        indice.recargar();
+        when(inhabilitacionRepository.findVigencias(eq(50L), any(LocalDate.class))).thenReturn(List.of(
+                vigencia(150L, 10L, hoy.minusDays(1), hoy.plusDays(1)),
+                vigencia(151L, 20L, hoy.minusDays(1), null)));
+
+        // When
+        indice.sincronizar();
+
+        // Then
+        assertThat(indice.estaInhabilitado(10L)).isTrue();
+        assertThat(indice.estaInhabilitado(20L)).isTrue();
+        verify(inhabilitacionRepository).findVigencias(eq(50L), any(LocalDate.class));
+    }
+
+    private VigenciaInhabilitacion vigencia(Long id, Long titularId, LocalDate inicio, LocalDate fin) {
+        return new VigenciaInhabilitacion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getTitularId() {
+                return titularId;
+            }
+
+            @Override
+            public LocalDate getFechaInicio() {
+                return inicio;
+            }
+
+            @Override
+            public LocalDate getFechaFin() {
+                return fin;
+            }
+        };
+    }
+
+    private Inhabilitacion inhabilitacion(Long id, Long titularId, LocalDate inicio, LocalDate fin) {
+        Titular titular = new Titular();
+        titular.setId(titularId);
+        Inhabilitacion inhabilitacion = new Inhabilitacion();
+        inhabilitacion.setId(id);
+        inhabilitacion.setTitular(titular);
+        inhabilitacion.setFechaInicio(inicio);
+        inhabilitacion.setFechaFin(fin);
+        return inhabilitacion;
+    }
+}
@@ -20,7 +20,9 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.example.sigelic.event.LicenciaModificadaEvent;
 import com.example.sigelic.model.ClaseLicencia;
 import com.example.sigelic.model.EstadoLicencia;
 import com.example.sigelic.model.EstadoTramite;
@@ -37,6 +39,9 @@ class LicenciaServiceTest {
     @Mock
     private LicenciaRepository licenciaRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private LicenciaService licenciaService;
 
@@ -332,4 +337,27 @@ class LicenciaServiceTest {
             verify(licenciaRepository, never()).save(any(Licencia.class));
         }
     }
+
+    @Nested
+    @DisplayName("Suspensión de Licencias")
+    class SuspensionLicencias {
+
+        @Test
+        @DisplayName("Debe suspender licencia vigente y avisar el cambio de estado")
+        void debeSuspenderLicenciaVigenteYAvisarCambio() {
+            // Given
+            licenciaVigente.setId(7L);
+            licenciaVigente.setNumeroLicencia("20261019-000123");
+            when(licenciaRepository.findById(7L)).thenReturn(Optional.of(licenciaVigente));
+            when(licenciaRepository.save(any(Licencia.class))).thenAnswer(i -> i.getArgument(0));
+
+            // When
+            Licencia suspendida = licenciaService.suspenderLicencia(7L, "Infracción grave");
+
+            // Then
+            assertThat(suspendida.getEstado()).isEqualTo(EstadoLicencia.SUSPENDIDA);
+            verify(eventPublisher).publishEvent(
+                    new LicenciaModificadaEvent("20261019-000123", EstadoLicencia.SUSPENDIDA));
+        }
+    }
 }
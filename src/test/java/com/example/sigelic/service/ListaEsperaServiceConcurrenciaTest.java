@@ -0,0 +1,187 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.event.TurnoLiberadoEvent;
+import com.example.sigelic.model.EstadoTurno;
+import com.example.sigelic.model.ListaEspera;
+import com.example.sigelic.model.Recurso;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Turno;
+import com.example.sigelic.repository.ListaEsperaRepository;
+import com.example.sigelic.repository.RecursoRepository;
+import com.example.sigelic.repository.TitularRepository;
+import com.example.sigelic.repository.TurnoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifica que una reserva común y la oferta a la lista de espera no tomen a la
+ * vez el mismo horario liberado (bloqueo de la fila del recurso, H2)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests de concurrencia de ListaEsperaService")
+class ListaEsperaServiceConcurrenciaTest {
+
+    private static final int RONDAS = 10;
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private TurnoService turnoService;
+
+    @Autowired
+    private TurnoRepository turnoRepository;
+
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    private RecursoRepository recursoRepository;
+
+    @Autowired
+    private TitularRepository titularRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Recurso recurso;
+    private final List<Long> titularIds = new ArrayList<>();
+    private final List<Long> listaEsperaIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        recurso = new Recurso();
+        recurso.setNombre("Pista de concurrencia");
+        recurso.setTipo(TipoRecurso.PISTA);
+        recurso.setActivo(true);
+        recurso.setHoraInicio(LocalTime.of(8, 0));
+        recurso.setHoraFin(LocalTime.of(20, 0));
+        recurso = recursoRepository.save(recurso);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            listaEsperaRepository.deleteAllById(listaEsperaIds);
+            turnoRepository.deleteAll(turnoRepository.findAll().stream()
+                    .filter(turno -> turno.getRecurso() != null && turno.getRecurso().getId().equals(recurso.getId()))
+                    .toList());
+            titularRepository.deleteAllById(titularIds);
+            recursoRepository.deleteById(recurso.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("Debe quedar un solo turno cuando la reserva y la lista de espera compiten por el horario")
+    void debeQuedarUnSoloTurnoPorHorario() throws Exception {
+        LocalDate manana = LocalDate.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int ronda = 0; ronda < RONDAS; ronda++) {
+                // Given: un horario recién liberado y un titular esperando ese tipo de turno
+                LocalDateTime inicio = manana.atTime(8 + ronda, 0);
+                LocalDateTime fin = inicio.plusMinutes(30);
+                Turno liberado = turnoCancelado(crearTitular(ronda, 0), inicio, fin);
+                ListaEspera enEspera = listaEsperaService.inscribir(crearTitular(ronda, 1), TipoTurno.EXAMEN_PRACTICO,
+                        TipoRecurso.PISTA, null, null, null, 0);
+                listaEsperaIds.add(enEspera.getId());
+                Long titularReserva = crearTitular(ronda, 2);
+                TurnoLiberadoEvent event = new TurnoLiberadoEvent(liberado.getId(), TipoTurno.EXAMEN_PRACTICO,
+                        TipoRecurso.PISTA, recurso.getId(), inicio, fin);
+
+                // When: la reserva y el emparejamiento arrancan a la vez
+                CountDownLatch largada = new CountDownLatch(1);
+                Future<Turno> reserva = executor.submit(() -> {
+                    largada.await();
+                    return turnoService.reservarTurno(titularReserva, TipoTurno.EXAMEN_PRACTICO, inicio, fin,
+                            recurso.getId(), null);
+                });
+                Future<?> oferta = executor.submit(() -> {
+                    largada.await();
+                    listaEsperaService.onTurnoLiberado(event);
+                    return null;
+                });
+                largada.countDown();
+                oferta.get(30, TimeUnit.SECONDS);
+                boolean reservado = reservo(reserva);
+
+                // Then: exactamente uno de los dos se quedó con el horario
+                List<Long> titularesDelHorario = titularesConTurnoActivo(inicio, fin);
+                assertThat(titularesDelHorario).as("ronda %d", ronda).hasSize(1);
+                Long titularDelHorario = titularesDelHorario.get(0);
+                if (reservado) {
+                    assertThat(titularDelHorario).as("ronda %d", ronda).isEqualTo(titularReserva);
+                } else {
+                    assertThat(titularDelHorario).as("ronda %d", ronda).isNotEqualTo(titularReserva);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean reservo(Future<Turno> reserva) throws Exception {
+        try {
+            return reserva.get(30, TimeUnit.SECONDS) != null;
+        } catch (ExecutionException e) {
+            assertThat(e.getCause())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("no está disponible en ese horario");
+            return false;
+        }
+    }
+
+    private List<Long> titularesConTurnoActivo(LocalDateTime inicio, LocalDateTime fin) {
+        return transactionTemplate.execute(status -> turnoRepository.findTurnosConflictivos(
+                        recursoRepository.findById(recurso.getId()).orElseThrow(), inicio, fin).stream()
+                .map(turno -> turno.getTitular().getId())
+                .toList());
+    }
+
+    private Turno turnoCancelado(Long titularId, LocalDateTime inicio, LocalDateTime fin) {
+        Turno turno = new Turno();
+        turno.setTitular(titularRepository.findById(titularId).orElseThrow());
+        turno.setTipo(TipoTurno.EXAMEN_PRACTICO);
+        turno.setInicio(inicio);
+        turno.setFin(fin);
+        turno.setRecurso(recurso);
+        turno.setTipoRecurso(TipoRecurso.PISTA);
+        turno.setEstado(EstadoTurno.CANCELADO);
+        return turnoRepository.save(turno);
+    }
+
+    private Long crearTitular(int ronda, int orden) {
+        Titular titular = new Titular();
+        titular.setNombre("Espera" + ronda + "-" + orden);
+        titular.setApellido("Concurrencia");
+        titular.setDni(String.valueOf(47_500_000 + ronda * 10 + orden));
+        titular.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+        titular.setDomicilio("Calle Falsa 789");
+        Long id = titularRepository.save(titular).getId();
+        titularIds.add(id);
+        return id;
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.event.TurnoLiberadoEvent;
+import com.example.sigelic.model.EstadoListaEspera;
+import com.example.sigelic.model.EstadoTurno;
+import com.example.sigelic.model.ListaEspera;
+import com.example.sigelic.model.Recurso;
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.model.TipoTurno;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Turno;
+import com.example.sigelic.repository.ListaEsperaRepository;
+import com.example.sigelic.repository.RecursoRepository;
+import com.example.sigelic.repository.TurnoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de ListaEsperaService")
+class ListaEsperaServiceTest {
+
+    @Mock
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Mock
+    private TurnoRepository turnoRepository;
+
+    @Mock
+    private RecursoRepository recursoRepository;
+
+    @Mock
+    private TitularService titularService;
+
+    @Mock
+    private TurnoService turnoService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ListaEsperaService listaEsperaService;
+
+    private Recurso box;
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+    private TurnoLiberadoEvent liberado;
+
+    @BeforeEach
+    void setUp() {
+        listaEsperaService = servicio(ListaEsperaService.Politica.FIFO);
+
+        box = new Recurso();
+        box.setId(1L);
+        box.setNombre("Box 1");
+        box.setTipo(TipoRecurso.CONSULTORIO_MEDICO);
+        box.setActivo(true);
+        box.setCapacidad(1);
+
+        inicio = LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.MINUTES);
+        fin = inicio.plusMinutes(20);
+        liberado = new TurnoLiberadoEvent(10L, TipoTurno.APTO_MEDICO, TipoRecurso.CONSULTORIO_MEDICO, 1L, inicio, fin);
+    }
+
+    private ListaEsperaService servicio(ListaEsperaService.Politica politica) {
+        return new ListaEsperaService(listaEsperaRepository, turnoRepository, recursoRepository, titularService,
+            turnoService, transactionManager, politica, Duration.ofMinutes(15), Duration.ofMinutes(15));
+    }
+
+    private ListaEspera inscripcion(long id, long titularId) {
+        Titular titular = new Titular();
+        titular.setId(titularId);
+        ListaEspera entrada = new ListaEspera();
+        entrada.setId(id);
+        entrada.setTitular(titular);
+        entrada.setTipoTurno(TipoTurno.APTO_MEDICO);
+        entrada.setTipoRecurso(TipoRecurso.CONSULTORIO_MEDICO);
+        return entrada;
+    }
+
+    private Turno turno(long id, EstadoTurno estado) {
+        Turno turno = new Turno();
+        turno.setId(id);
+        turno.setTipo(TipoTurno.APTO_MEDICO);
+        turno.setInicio(inicio);
+        turno.setFin(fin);
+        turno.setEstado(estado);
+        return turno;
+    }
+
+    @Nested
+    @DisplayName("Oferta de turnos liberados")
+    class OfertaTurnos {
+
+        @Test
+        @DisplayName("Debe retener el horario liberado para el primer candidato")
+        void debeRetenerHorarioParaPrimerCandidato() {
+            // Given
+            ListaEspera primero = inscripcion(1L, 100L);
+            ListaEspera segundo = inscripcion(2L, 200L);
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(box));
+            when(turnoRepository.existsActivoSuperpuesto(box, inicio, fin)).thenReturn(false);
+            when(listaEsperaRepository.findCandidatos(eq(TipoTurno.APTO_MEDICO), eq(TipoRecurso.CONSULTORIO_MEDICO),
+                eq(inicio), any(Pageable.class))).thenReturn(List.of(primero, segundo));
+            when(turnoRepository.findActivosSuperpuestosDelTitular(primero.getTitular(), TipoTurno.APTO_MEDICO, inicio, fin))
+                .thenReturn(List.of());
+            when(turnoRepository.save(any(Turno.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+            // When
+            Optional<ListaEspera> resultado = listaEsperaService.ofrecer(liberado);
+
+            // Then
+            assertThat(resultado).containsSame(primero);
+            assertThat(primero.getEstado()).isEqualTo(EstadoListaEspera.OFERTADO);
+            assertThat(primero.getVencimientoOferta()).isAfter(LocalDateTime.now().plusMinutes(14));
+            Turno retenido = primero.getTurnoOfrecido();
+            assertThat(retenido.getEstado()).isEqualTo(EstadoTurno.RESERVADO);
+            assertThat(retenido.getTitular()).isSameAs(primero.getTitular());
+            assertThat(retenido.getRecurso()).isSameAs(box);
+            assertThat(retenido.getInicio()).isEqualTo(inicio);
+            assertThat(retenido.getFin()).isEqualTo(fin);
+            assertThat(segundo.getEstado()).isEqualTo(EstadoListaEspera.ESPERANDO);
+        }
+
+        @Test
+        @DisplayName("Debe ordenar los candidatos por prioridad con la política PRIORIDAD")
+        void debeOrdenarPorPrioridad() {
+            // Given
+            listaEsperaService = servicio(ListaEsperaService.Politica.PRIORIDAD);
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(box));
+            when(turnoRepository.existsActivoSuperpuesto(box, inicio, fin)).thenReturn(false);
+            when(listaEsperaRepository.findCandidatos(any(), any(), any(), any(Pageable.class))).thenReturn(List.of());
+
+            // When
+            listaEsperaService.ofrecer(liberado);
+
+            // Then
+            ArgumentCaptor<Pageable> pagina = ArgumentCaptor.forClass(Pageable.class);
+            verify(listaEsperaRepository).findCandidatos(eq(TipoTurno.APTO_MEDICO), eq(TipoRecurso.CONSULTORIO_MEDICO),
+                eq(inicio), pagina.capture());
+            assertThat(pagina.getValue().getSort().getOrderFor("prioridad").getDirection())
+                .isEqualTo(Sort.Direction.DESC);
+        }
+
+        @Test
+        @DisplayName("Debe saltear al candidato que ya tiene otro turno en ese horario")
+        void debeSaltearCandidatoConTurnoSuperpuesto() {
+            // Given
+            ListaEspera ocupado = inscripcion(1L, 100L);
+            ListaEspera libre = inscripcion(2L, 200L);
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(box));
+            when(turnoRepository.existsActivoSuperpuesto(box, inicio, fin)).thenReturn(false);
+            when(listaEsperaRepository.findCandidatos(any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(ocupado, libre));
+            when(turnoRepository.findActivosSuperpuestosDelTitular(ocupado.getTitular(), TipoTurno.APTO_MEDICO, inicio, fin))
+                .thenReturn(List.of(turno(50L, EstadoTurno.CONFIRMADO)));
+            when(turnoRepository.findActivosSuperpuestosDelTitular(libre.getTitular(), TipoTurno.APTO_MEDICO, inicio, fin))
+                .thenReturn(List.of());
+            when(turnoRepository.save(any(Turno.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+            // When
+            Optional<ListaEspera> resultado = listaEsperaService.ofrecer(liberado);
+
+            // Then
+            assertThat(resultado).containsSame(libre);
+            assertThat(ocupado.getEstado()).isEqualTo(EstadoListaEspera.ESPERANDO);
+        }
+
+        @Test
+        @DisplayName("No debe ofrecer un horario que ya tomó una reserva común")
+        void noDebeOfrecerHorarioYaReservado() {
+            // Given
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(box));
+            when(turnoRepository.existsActivoSuperpuesto(box, inicio, fin)).thenReturn(true);
+
+            // When
+            Optional<ListaEspera> resultado = listaEsperaService.ofrecer(liberado);
+
+            // Then
+            assertThat(resultado).isEmpty();
+            verifyNoInteractions(listaEsperaRepository);
+            verify(turnoRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("No debe ofrecer un horario que termina antes del margen mínimo")
+        void noDebeOfrecerHorarioPorTerminar() {
+            // Given
+            LocalDateTime ahora = LocalDateTime.now();
+            TurnoLiberadoEvent ausente = new TurnoLiberadoEvent(10L, TipoTurno.APTO_MEDICO,
+                TipoRecurso.CONSULTORIO_MEDICO, 1L, ahora.minusMinutes(10), ahora.plusMinutes(10));
+
+            // When
+            Optional<ListaEspera> resultado = listaEsperaService.ofrecer(ausente);
+
+            // Then
+            assertThat(resultado).isEmpty();
+            verifyNoInteractions(recursoRepository, listaEsperaRepository);
+        }
+
+        @Test
+        @DisplayName("No debe propagar un error de bloqueo a la operación que liberó el turno")
+        void noDebePropagarErrorDeBloqueo() {
+            // Given
+            when(recursoRepository.findByIdParaReserva(1L)).thenThrow(new CannotAcquireLockException("Lock wait timeout"));
+
+            // When & Then
+            assertThatCode(() -> listaEsperaService.onTurnoLiberado(liberado)).doesNotThrowAnyException();
+        }
+    }
+
+    @Nested
+    @DisplayName("Aceptación y vencimiento de ofertas")
+    class AceptacionOfertas {
+
+        @Test
+        @DisplayName("Debe confirmar el turno ofrecido y cancelar el turno que se adelanta")
+        void debeAceptarOferta() {
+            // Given
+            Turno ofrecido = turno(20L, EstadoTurno.RESERVADO);
+            Turno actual = turno(30L, EstadoTurno.CONFIRMADO);
+            ListaEspera entrada = inscripcion(1L, 100L);
+            entrada.setTurnoActual(actual);
+            entrada.ofertar(ofrecido, LocalDateTime.now().plusMinutes(10));
+            when(listaEsperaRepository.findByIdParaActualizar(1L)).thenReturn(Optional.of(entrada));
+            when(turnoRepository.save(ofrecido)).thenReturn(ofrecido);
+
+            // When
+            Turno resultado = listaEsperaService.aceptarOferta(1L);
+
+            // Then
+            assertThat(resultado.getEstado()).isEqualTo(EstadoTurno.CONFIRMADO);
+            assertThat(entrada.getEstado()).isEqualTo(EstadoListaEspera.ASIGNADO);
+            verify(turnoService).cancelarTurno(30L, "Adelantado desde la lista de espera");
+        }
+
+        @Test
+        @DisplayName("Debe fallar al aceptar una oferta vencida")
+        void debeFallarAlAceptarOfertaVencida() {
+            // Given
+            ListaEspera entrada = inscripcion(1L, 100L);
+            entrada.ofertar(turno(20L, EstadoTurno.RESERVADO), LocalDateTime.now().minusMinutes(1));
+            when(listaEsperaRepository.findByIdParaActualizar(1L)).thenReturn(Optional.of(entrada));
+
+            // When & Then
+            assertThatThrownBy(() -> listaEsperaService.aceptarOferta(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("La oferta de turno venció");
+
+            verifyNoInteractions(turnoService);
+        }
+
+        @Test
+        @DisplayName("Debe vencer las ofertas no aceptadas y liberar el turno retenido")
+        void debeVencerOfertasNoAceptadas() {
+            // Given
+            ListaEspera entrada = inscripcion(1L, 100L);
+            entrada.ofertar(turno(20L, EstadoTurno.RESERVADO), LocalDateTime.now().minusMinutes(1));
+            when(listaEsperaRepository.findOfertasVencidas(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+            when(listaEsperaRepository.findByIdParaActualizar(1L)).thenReturn(Optional.of(entrada));
+
+            // When
+            int vencidas = listaEsperaService.vencerOfertas();
+
+            // Then
+            assertThat(vencidas).isOne();
+            assertThat(entrada.getEstado()).isEqualTo(EstadoListaEspera.VENCIDO);
+            verify(turnoService).cancelarTurno(20L, "Oferta de lista de espera vencida");
+            verify(listaEsperaRepository).save(entrada);
+        }
+
+        @Test
+        @DisplayName("No debe vencer una oferta aceptada mientras tanto")
+        void noDebeVencerOfertaAceptada() {
+            // Given
+            ListaEspera entrada = inscripcion(1L, 100L);
+            entrada.ofertar(turno(20L, EstadoTurno.CONFIRMADO), LocalDateTime.now().minusMinutes(1));
+            entrada.asignar();
+            when(listaEsperaRepository.findOfertasVencidas(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+            when(listaEsperaRepository.findByIdParaActualizar(1L)).thenReturn(Optional.of(entrada));
+
+            // When
+            int vencidas = listaEsperaService.vencerOfertas();
+
+            // Then
+            assertThat(vencidas).isZero();
+            assertThat(entrada.getEstado()).isEqualTo(EstadoListaEspera.ASIGNADO);
+            verify(turnoService, never()).cancelarTurno(anyLong(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Inscripción")
+    class Inscripcion {
+
+        @Test
+        @DisplayName("Debe fallar si el titular ya está en la lista para el mismo tipo de turno")
+        void debeFallarConInscripcionDuplicada() {
+            // Given
+            Titular titular = new Titular();
+            titular.setId(100L);
+            when(titularService.findById(100L)).thenReturn(Optional.of(titular));
+            when(listaEsperaRepository.existsActivaDelTitular(titular, TipoTurno.APTO_MEDICO)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> listaEsperaService.inscribir(100L, TipoTurno.APTO_MEDICO,
+                    TipoRecurso.CONSULTORIO_MEDICO, null, null, null, 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("El titular ya está en la lista de espera para ese tipo de turno");
+
+            verify(listaEsperaRepository, never()).save(any());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.TipoRecurso;
+import com.example.sigelic.service.OptimizadorAgenda.Asignacion;
+import com.example.sigelic.service.OptimizadorAgenda.Examen;
+import com.example.sigelic.service.OptimizadorAgenda.Resultado;
+import com.example.sigelic.service.OptimizadorAgenda.Sala;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tests de OptimizadorAgenda")
+class OptimizadorAgendaTest {
+
+    private static final LocalDate DIA = LocalDate.of(2026, 10, 20);
+    private static final Duration LIMITE = Duration.ofMillis(500);
+
+    @Test
+    @DisplayName("Debe respetar la capacidad simultánea de la pista")
+    void debeRespetarCapacidadDePista() {
+        // Given
+        List<Examen> examenes = List.of(
+            practico(1, "09:00", "09:30"),
+            practico(2, "09:00", "09:30"),
+            practico(3, "09:15", "09:45"),
+            practico(4, "09:30", "10:00"));
+        List<Sala> salas = List.of(pista(10, 2));
+
+        // When
+        Resultado resultado = new OptimizadorAgenda(examenes, salas, List.of("ana", "beto", "carla"))
+            .resolver(LIMITE);
+
+        // Then
+        assertThat(resultado.asignaciones()).hasSize(3);
+        assertThat(resultado.sinAsignar()).containsExactly(3L);
+        verificarRestricciones(examenes, salas, resultado);
+    }
+
+    @Test
+    @DisplayName("Debe repartir los minutos de examen entre pistas y examinadores")
+    void debeBalancearCarga() {
+        // Given
+        List<Examen> examenes = List.of(
+            practico(1, "09:00", "09:30"),
+            practico(2, "10:00", "10:30"),
+            practico(3, "11:00", "11:30"),
+            practico(4, "12:00", "12:30"));
+
+        // When
+        Resultado resultado = new OptimizadorAgenda(examenes, List.of(pista(10, 1), pista(11, 1)),
+            List.of("ana", "beto")).resolver(LIMITE);
+
+        // Then
+        assertThat(resultado.minutosPorSala()).containsExactly(Map.entry(10L, 60L), Map.entry(11L, 60L));
+        assertThat(resultado.minutosPorExaminador()).containsExactly(Map.entry("ana", 60L), Map.entry("beto", 60L));
+    }
+
+    @Test
+    @DisplayName("Debe asignar un examinador por examen práctico y compartirlo solo entre teóricos de la misma aula")
+    void debeNoSuperponerExaminador() {
+        // Given
+        List<Examen> examenes = List.of(
+            practico(1, "09:00", "09:30"),
+            practico(2, "09:00", "09:30"),
+            teorico(3, "11:00", "12:00"),
+            teorico(4, "11:00", "12:00"));
+        List<Sala> salas = List.of(pista(10, 1), pista(11, 1), aula(20, 30));
+
+        // When
+        Resultado resultado = new OptimizadorAgenda(examenes, salas, List.of("ana")).resolver(LIMITE);
+
+        // Then
+        assertThat(resultado.sinAsignar()).containsExactly(2L);
+        Map<Long, Asignacion> porTurno = porTurno(resultado);
+        assertThat(porTurno.get(3L).recursoId()).isEqualTo(20L);
+        assertThat(porTurno.get(4L).recursoId()).isEqualTo(20L);
+        assertThat(porTurno.get(3L).examinador()).isEqualTo("ana");
+        assertThat(porTurno.get(4L).examinador()).isEqualTo("ana");
+    }
+
+    @Test
+    @DisplayName("Debe dejar los turnos fijos en su pista y con su examinador")
+    void debeRespetarTurnosFijos() {
+        // Given
+        List<Examen> examenes = List.of(
+            new Examen(1, TipoRecurso.PISTA, hora("09:00"), hora("09:30"), 10L, "ana", true),
+            practico(2, "09:00", "09:30"));
+
+        // When
+        Resultado resultado = new OptimizadorAgenda(examenes, List.of(pista(10, 1), pista(11, 1)),
+            List.of("ana", "beto")).resolver(LIMITE);
+
+        // Then
+        assertThat(resultado.asignaciones())
+            .containsExactly(new Asignacion(2, 11L, "beto", true));
+        assertThat(resultado.minutosPorSala()).containsEntry(10L, 30L);
+    }
+
+    @Test
+    @DisplayName("Debe conservar la asignación previa cuando no empeora el balance")
+    void debeConservarAsignacionPrevia() {
+        // Given
+        List<Examen> examenes = List.of(
+            new Examen(1, TipoRecurso.PISTA, hora("09:00"), hora("09:30"), 11L, "beto", false));
+
+        // When
+        Resultado resultado = new OptimizadorAgenda(examenes, List.of(pista(10, 1), pista(11, 1)),
+            List.of("ana", "beto")).resolver(LIMITE);
+
+        // Then
+        assertThat(resultado.asignaciones()).containsExactly(new Asignacion(1, 11L, "beto", false));
+    }
+
+    @Test
+    @DisplayName("Debe liberar lugar moviendo otro examen cuando la asignación golosa no alcanza")
+    void debeInsertarMoviendoBloqueante() {
+        // Given: la pista 11 cierra a las 10:00, el examen 2 solo entra en la 10
+        List<Examen> examenes = List.of(
+            practico(1, "09:00", "10:00"),
+            practico(2, "09:30", "10:30"));
+        List<Sala> salas = List.of(
+            pista(10, 1),
+            new Sala(11, TipoRecurso.PISTA, 1, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+        // When
+        Resultado resultado = new OptimizadorAgenda(examenes, salas, List.of("ana", "beto")).resolver(LIMITE);
+
+        // Then
+        assertThat(resultado.sinAsignar()).isEmpty();
+        Map<Long, Asignacion> porTurno = porTurno(resultado);
+        assertThat(porTurno.get(1L).recursoId()).isEqualTo(11L);
+        assertThat(porTurno.get(2L).recursoId()).isEqualTo(10L);
+        verificarRestricciones(examenes, salas, resultado);
+    }
+
+    @Test
+    @DisplayName("Debe resolver una agenda diaria completa en menos de un segundo")
+    void debeResolverAgendaCompletaEnMenosDeUnSegundo() {
+        // Given: 450 prácticos de 30 minutos y 50 teóricos de una hora entre las 8 y las 18,
+        // 20 pistas de a dos vehículos, 2 aulas y 40 examinadores
+        List<Examen> examenes = new ArrayList<>();
+        for (int k = 0; k < 450; k++) {
+            LocalDateTime inicio = DIA.atTime(8, 0).plusMinutes(30L * (k % 20));
+            examenes.add(new Examen(k, TipoRecurso.PISTA, inicio, inicio.plusMinutes(30), null, null, false));
+        }
+        for (int k = 450; k < 500; k++) {
+            LocalDateTime inicio = DIA.atTime(9, 0).plusHours(k % 5);
+            examenes.add(new Examen(k, TipoRecurso.AULA_TEORICO, inicio, inicio.plusHours(1), null, null, false));
+        }
+        List<Sala> salas = new ArrayList<>();
+        for (long s = 1; s <= 20; s++) {
+            salas.add(new Sala(s, TipoRecurso.PISTA, 2, LocalTime.of(8, 0), LocalTime.of(18, 0)));
+        }
+        salas.add(aula(100, 30));
+        salas.add(aula(101, 30));
+        List<String> examinadores = new ArrayList<>();
+        for (int e = 1; e <= 40; e++) {
+            examinadores.add("examinador" + e);
+        }
+
+        // When
+        long inicio = System.nanoTime();
+        Resultado resultado = new OptimizadorAgenda(examenes, salas, examinadores).resolver(LIMITE);
+        Duration duracion = Duration.ofNanos(System.nanoTime() - inicio);
+
+        // Then
+        assertThat(duracion).isLessThan(Duration.ofSeconds(1));
+        assertThat(resultado.sinAsignar()).isEmpty();
+        verificarRestricciones(examenes, salas, resultado);
+        long minimo = resultado.minutosPorSala().entrySet().stream()
+            .filter(entrada -> entrada.getKey() <= 20).mapToLong(Map.Entry::getValue).min().orElseThrow();
+        long maximo = resultado.minutosPorSala().entrySet().stream()
+            .filter(entrada -> entrada.getKey() <= 20).mapToLong(Map.Entry::getValue).max().orElseThrow();
+        assertThat(maximo - minimo).isLessThanOrEqualTo(60);
+    }
+
+    /**
+     * Ninguna sala supera su capacidad y ningún examinador toma dos exámenes a la
+     * vez salvo teóricos en la misma aula
+     */
+    private static void verificarRestricciones(List<Examen> examenes, List<Sala> salas, Resultado resultado) {
+        Map<Long, Examen> examenPorTurno = examenes.stream()
+            .collect(Collectors.toMap(Examen::turnoId, Function.identity()));
+        Map<Long, Sala> salaPorRecurso = salas.stream()
+            .collect(Collectors.toMap(Sala::recursoId, Function.identity()));
+        List<Asignacion> asignaciones = resultado.asignaciones();
+
+        for (Asignacion a : asignaciones) {
+            Examen examen = examenPorTurno.get(a.turnoId());
+            Sala sala = salaPorRecurso.get(a.recursoId());
+            assertThat(sala.tipo()).isEqualTo(examen.tipoRecurso());
+            assertThat(sala.abierta(examen.inicio(), examen.fin())).isTrue();
+
+            long simultaneos = asignaciones.stream()
+                .filter(b -> b.recursoId() == a.recursoId())
+                .filter(b -> examenPorTurno.get(b.turnoId()).inicio().isBefore(examen.fin())
+                    && examen.inicio().isBefore(examenPorTurno.get(b.turnoId()).fin())
+                    && !examenPorTurno.get(b.turnoId()).inicio().isAfter(examen.inicio()))
+                .count();
+            assertThat(simultaneos).as("ocupación de la sala %d", a.recursoId()).isLessThanOrEqualTo(sala.capacidad());
+
+            for (Asignacion b : asignaciones) {
+                Examen otro = examenPorTurno.get(b.turnoId());
+                boolean superpuestos = b.turnoId() != a.turnoId()
+                    && otro.inicio().isBefore(examen.fin()) && examen.inicio().isBefore(otro.fin());
+                boolean mismaAula = b.recursoId() == a.recursoId() && sala.tipo() == TipoRecurso.AULA_TEORICO;
+                if (superpuestos && !mismaAula) {
+                    assertThat(b.examinador()).as("examinador de los turnos %d y %d", a.turnoId(), b.turnoId())
+                        .isNotEqualTo(a.examinador());
+                }
+            }
+        }
+    }
+
+    private static Map<Long, Asignacion> porTurno(Resultado resultado) {
+        return resultado.asignaciones().stream()
+            .collect(Collectors.toMap(Asignacion::turnoId, Function.identity()));
+    }
+
+    private static Examen practico(long turnoId, String desde, String hasta) {
+        return new Examen(turnoId, TipoRecurso.PISTA, hora(desde), hora(hasta), null, null, false);
+    }
+
+    private static Examen teorico(long turnoId, String desde, String hasta) {
+        return new Examen(turnoId, TipoRecurso.AULA_TEORICO, hora(desde), hora(hasta), null, null, false);
+    }
+
+    private static Sala pista(long recursoId, int capacidad) {
+        return new Sala(recursoId, TipoRecurso.PISTA, capacidad, null, null);
+    }
+
+    private static Sala aula(long recursoId, int capacidad) {
+        return new Sala(recursoId, TipoRecurso.AULA_TEORICO, capacidad, null, null);
+    }
+
+    private static LocalDateTime hora(String hora) {
+        return DIA.atTime(LocalTime.parse(hora));
+    }
+}
@@ -22,7 +22,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.example.sigelic.event.PagoModificadoEvent;
 import com.example.sigelic.model.ClaseLicencia;
 import com.example.sigelic.model.CostoTramite;
 import com.example.sigelic.model.EstadoPago;
@@ -43,6 +45,12 @@ class PagoServiceTest {
     @Mock
     private CostoTramiteRepository costoTramiteRepository;
 
+    @Mock
+    private VencimientoPagosService vencimientoPagosService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PagoService pagoService;
 
@@ -235,6 +243,7 @@ class PagoServiceTest {
             assertThat(resultado.getNumeroComprobante()).isEqualTo("COMP-123");
             assertThat(resultado.getCajero()).isEqualTo("Juan Cajero");
             verify(pagoRepository).save(pago);
+            verify(eventPublisher).publishEvent(new PagoModificadoEvent(pago.getId(), EstadoPago.ACREDITADO));
         }
 
         @Test
@@ -250,6 +259,7 @@ class PagoServiceTest {
                     .hasMessage("Solo se pueden acreditar pagos en estado PENDIENTE");
 
             verify(pagoRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
         }
 
         @Test
@@ -346,6 +356,22 @@ class PagoServiceTest {
             verify(pagoRepository).save(pago);
         }
 
+        @Test
+        @DisplayName("Debe ignorar el aviso repetido de un pago online ya procesado")
+        void debeIgnorarAvisoRepetidoDePagoOnlineProcesado() {
+            // Given
+            pago.setMedio(MedioPago.PASARELA_ONLINE);
+            pago.setEstado(EstadoPago.ACREDITADO);
+            when(pagoRepository.findById(1L)).thenReturn(Optional.of(pago));
+
+            // When
+            Pago resultado = pagoService.procesarPagoOnline(1L, "EXT-TXN-123", false);
+
+            // Then
+            assertThat(resultado.getEstado()).isEqualTo(EstadoPago.ACREDITADO);
+            verify(pagoRepository, never()).save(any());
+        }
+
         @Test
         @DisplayName("Debe fallar al procesar pago online que no es de pasarela")
         void debeFallarAlProcesarPagoOnlineQueNoEsDePasarela() {
@@ -492,16 +518,15 @@ class PagoServiceTest {
         @DisplayName("Debe procesar pagos vencidos")
         void debeProcesarPagosVencidos() {
             // Given
-            List<Pago> pagosVencidos = Arrays.asList(pago);
-            when(pagoRepository.findPagosVencidos(any(LocalDateTime.class))).thenReturn(pagosVencidos);
-            when(pagoRepository.save(pago)).thenReturn(pago);
+            when(vencimientoPagosService.vencerPendientes()).thenReturn(3);
 
             // When
-            pagoService.procesarPagosVencidos();
+            int vencidos = pagoService.procesarPagosVencidos();
 
             // Then
-            verify(pagoRepository).findPagosVencidos(any(LocalDateTime.class));
-            verify(pagoRepository).save(pago);
+            assertThat(vencidos).isEqualTo(3);
+            verify(vencimientoPagosService).vencerPendientes();
+            verify(pagoRepository, never()).save(any());
         }
     }
 
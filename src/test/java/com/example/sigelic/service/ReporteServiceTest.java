@@ -1,5 +1,6 @@
 package com.example.sigelic.service;
 
+import com.example.sigelic.dto.response.DashboardSnapshotDTO;
 import com.example.sigelic.model.*;
 import com.example.sigelic.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -311,8 +312,6 @@ class ReporteServiceTest {
         @DisplayName("Debe generar dashboard con estadísticas generales")
         void debeGenerarDashboardConEstadisticasGenerales() {
             // Given
-            Licencia licencia = new Licencia();
-            Inhabilitacion inhabilitacion = new Inhabilitacion();
             BigDecimal recaudacionMes = new BigDecimal("25000.00");
 
             when(tramiteRepository.countByEstado(EstadoTramite.INICIADO)).thenReturn(10L);
@@ -324,10 +323,10 @@ class ReporteServiceTest {
             when(tramiteRepository.countByEstado(EstadoTramite.EMITIDA)).thenReturn(20L);
             when(tramiteRepository.countByEstado(EstadoTramite.RECHAZADA)).thenReturn(2L);
 
-            when(licenciaRepository.findLicenciasProximasAVencer(any(LocalDate.class), any(LocalDate.class)))
-                    .thenReturn(Arrays.asList(licencia));
-            when(licenciaRepository.findLicenciasVencidas(any(LocalDate.class))).thenReturn(Arrays.asList());
-            when(inhabilitacionRepository.findInhabilitacionesActivas()).thenReturn(Arrays.asList(inhabilitacion));
+            when(licenciaRepository.countLicenciasProximasAVencer(any(LocalDate.class), any(LocalDate.class)))
+                    .thenReturn(1L);
+            when(licenciaRepository.countLicenciasVencidas(any(LocalDate.class))).thenReturn(0L);
+            when(inhabilitacionRepository.countInhabilitacionesActivas()).thenReturn(1L);
             when(pagoRepository.sumMontoAcreditadoEnPeriodo(any(LocalDateTime.class), any(LocalDateTime.class)))
                     .thenReturn(recaudacionMes);
 
@@ -347,10 +346,14 @@ class ReporteServiceTest {
 
             @SuppressWarnings("unchecked")
             Map<String, Object> licencias = (Map<String, Object>) dashboard.get("licencias");
-            assertThat(licencias.get("proximasVencer")).isEqualTo(1);
-            assertThat(licencias.get("vencidas")).isEqualTo(0);
+            assertThat(licencias.get("proximasVencer")).isEqualTo(1L);
+            assertThat(licencias.get("vencidas")).isEqualTo(0L);
+
+            assertThat(dashboard.get("inhabilitacionesActivas")).isEqualTo(1L);
 
-            assertThat(dashboard.get("inhabilitacionesActivas")).isEqualTo(1);
+            verify(licenciaRepository, never()).findLicenciasProximasAVencer(any(LocalDate.class), any(LocalDate.class));
+            verify(licenciaRepository, never()).findLicenciasVencidas(any(LocalDate.class));
+            verify(inhabilitacionRepository, never()).findInhabilitacionesActivas();
             assertThat(dashboard.get("recaudacionMesActual")).isEqualTo(recaudacionMes);
         }
 
@@ -359,10 +362,10 @@ class ReporteServiceTest {
         void debeManejarRecaudacionNulaEnDashboard() {
             // Given
             when(tramiteRepository.countByEstado(any(EstadoTramite.class))).thenReturn(0L);
-            when(licenciaRepository.findLicenciasProximasAVencer(any(LocalDate.class), any(LocalDate.class)))
-                    .thenReturn(Arrays.asList());
-            when(licenciaRepository.findLicenciasVencidas(any(LocalDate.class))).thenReturn(Arrays.asList());
-            when(inhabilitacionRepository.findInhabilitacionesActivas()).thenReturn(Arrays.asList());
+            when(licenciaRepository.countLicenciasProximasAVencer(any(LocalDate.class), any(LocalDate.class)))
+                    .thenReturn(0L);
+            when(licenciaRepository.countLicenciasVencidas(any(LocalDate.class))).thenReturn(0L);
+            when(inhabilitacionRepository.countInhabilitacionesActivas()).thenReturn(0L);
             when(pagoRepository.sumMontoAcreditadoEnPeriodo(any(LocalDateTime.class), any(LocalDateTime.class)))
                     .thenReturn(null);
 
@@ -372,6 +375,44 @@ class ReporteServiceTest {
             // Then
             assertThat(dashboard.get("recaudacionMesActual")).isEqualTo(BigDecimal.ZERO);
         }
+
+        @Test
+        @DisplayName("Debe armar el dashboard desde la instantánea sin consultar la base")
+        void debeArmarDashboardDesdeInstantanea() {
+            // Given
+            LocalDateTime generadoEn = LocalDateTime.of(2026, 3, 10, 9, 30);
+            DashboardSnapshotDTO snapshot = DashboardSnapshotDTO.builder()
+                    .secuencia(7)
+                    .generadoEn(generadoEn)
+                    .tramitesPorEstado(Map.of(EstadoTramite.INICIADO, 10L, EstadoTramite.DOCS_OK, 5L,
+                            EstadoTramite.PAGO_OK, 7L, EstadoTramite.EMITIDA, 20L))
+                    .tramitesActivos(22)
+                    .licenciasVigentes(30)
+                    .licenciasProximasAVencer(1)
+                    .licenciasVencidas(4)
+                    .inhabilitacionesActivas(2)
+                    .recaudacionMesActual(new BigDecimal("45000.00"))
+                    .build();
+
+            // When
+            Map<String, Object> dashboard = reporteService.getDashboard(snapshot);
+
+            // Then
+            @SuppressWarnings("unchecked")
+            Map<String, Object> tramites = (Map<String, Object>) dashboard.get("tramites");
+            assertThat(tramites).containsEntry("iniciados", 10L).containsEntry("enProceso", 12L)
+                    .containsEntry("emitidos", 20L).containsEntry("rechazados", 0L);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> licencias = (Map<String, Object>) dashboard.get("licencias");
+            assertThat(licencias).containsEntry("vigentesActuales", 30L).containsEntry("proximasVencer", 1L)
+                    .containsEntry("vencidas", 4L);
+
+            assertThat(dashboard).containsEntry("inhabilitacionesActivas", 2L)
+                    .containsEntry("recaudacionMesActual", new BigDecimal("45000.00"))
+                    .containsEntry("fechaGeneracion", generadoEn);
+            verifyNoInteractions(tramiteRepository, licenciaRepository, pagoRepository, inhabilitacionRepository);
+        }
     }
 
     @Nested
@@ -420,25 +461,13 @@ class ReporteServiceTest {
     class ReportesRendimiento {
 
         @Test
-        @DisplayName("Debe generar reporte de rendimiento por examinadores")
+        @DisplayName("Debe generar reporte de rendimiento por examinadores con los totales agrupados en la base")
         void debeGenerarReporteRendimientoPorExaminadores() {
             // Given
-            ExamenTeorico exTeorico1 = new ExamenTeorico();
-            exTeorico1.setExaminador("Dr. García");
-            exTeorico1.setAprobado(true);
-
-            ExamenTeorico exTeorico2 = new ExamenTeorico();
-            exTeorico2.setExaminador("Dr. García");
-            exTeorico2.setAprobado(false);
-
-            ExamenPractico exPractico1 = new ExamenPractico();
-            exPractico1.setExaminador("Insp. López");
-            exPractico1.setAprobado(true);
-
-            when(examenTeoricoRepository.findExamenesEnPeriodo(fechaDesde, fechaHasta))
-                    .thenReturn(Arrays.asList(exTeorico1, exTeorico2));
-            when(examenPracticoRepository.findExamenesEnPeriodo(fechaDesde, fechaHasta))
-                    .thenReturn(Arrays.asList(exPractico1));
+            when(examenTeoricoRepository.findRendimientoPorExaminador(fechaDesde, fechaHasta))
+                    .thenReturn(List.of(new FilaTeorica("Dr. García", null, 2L, 1L, 150L)));
+            when(examenPracticoRepository.findRendimientoPorExaminador(fechaDesde, fechaHasta))
+                    .thenReturn(List.of(new FilaPractica("Insp. López", null, 1L, 1L, 2L, 0L)));
 
             // When
             Map<String, Object> reporte = reporteService.getReporteRendimientoExaminadores(fechaDesde, fechaHasta);
@@ -446,6 +475,7 @@ class ReporteServiceTest {
             // Then
             assertThat(reporte).isNotNull();
             assertThat(reporte).containsKeys("rendimientoPorExaminador", "fechaDesde", "fechaHasta");
+            assertThat(reporte).doesNotContainKey("rendimientoPorPeriodo");
 
             @SuppressWarnings("unchecked")
             Map<String, Map<String, Object>> rendimiento = (Map<String, Map<String, Object>>) reporte.get("rendimientoPorExaminador");
@@ -455,26 +485,29 @@ class ReporteServiceTest {
             Map<String, Object> statsGarcia = rendimiento.get("Dr. García");
             assertThat(statsGarcia.get("totalTeoricos")).isEqualTo(2L);
             assertThat(statsGarcia.get("aprobadosTeoricos")).isEqualTo(1L);
+            assertThat(statsGarcia.get("puntajePromedioTeoricos")).isEqualTo(75.0);
+            assertThat(statsGarcia).doesNotContainKey("totalPracticos");
 
             Map<String, Object> statsLopez = rendimiento.get("Insp. López");
             assertThat(statsLopez.get("totalPracticos")).isEqualTo(1L);
             assertThat(statsLopez.get("aprobadosPracticos")).isEqualTo(1L);
+            assertThat(statsLopez.get("faltasLevesPromedio")).isEqualTo(2.0);
+            assertThat(statsLopez.get("faltasGravesPromedio")).isEqualTo(0.0);
 
-            verify(examenTeoricoRepository).findExamenesEnPeriodo(fechaDesde, fechaHasta);
-            verify(examenPracticoRepository).findExamenesEnPeriodo(fechaDesde, fechaHasta);
+            verify(examenTeoricoRepository).findRendimientoPorExaminador(fechaDesde, fechaHasta);
+            verify(examenPracticoRepository).findRendimientoPorExaminador(fechaDesde, fechaHasta);
+            verify(examenTeoricoRepository, never()).findExamenesEnPeriodo(any(), any());
+            verify(examenPracticoRepository, never()).findExamenesEnPeriodo(any(), any());
         }
 
         @Test
-        @DisplayName("Debe manejar exámenes sin examinador")
+        @DisplayName("Debe devolver un reporte vacío si no hay exámenes con examinador")
         void debeManejarExamenesSinExaminador() {
-            // Given
-            ExamenTeorico exTeorico = new ExamenTeorico();
-            exTeorico.setExaminador(null);
-
-            when(examenTeoricoRepository.findExamenesEnPeriodo(fechaDesde, fechaHasta))
-                    .thenReturn(Arrays.asList(exTeorico));
-            when(examenPracticoRepository.findExamenesEnPeriodo(fechaDesde, fechaHasta))
-                    .thenReturn(Arrays.asList());
+            // Given - la consulta agrupada descarta los exámenes sin examinador
+            when(examenTeoricoRepository.findRendimientoPorExaminador(fechaDesde, fechaHasta))
+                    .thenReturn(List.of());
+            when(examenPracticoRepository.findRendimientoPorExaminador(fechaDesde, fechaHasta))
+                    .thenReturn(List.of());
 
             // When
             Map<String, Object> reporte = reporteService.getReporteRendimientoExaminadores(fechaDesde, fechaHasta);
@@ -482,7 +515,76 @@ class ReporteServiceTest {
             // Then
             @SuppressWarnings("unchecked")
             Map<String, Map<String, Object>> rendimiento = (Map<String, Map<String, Object>>) reporte.get("rendimientoPorExaminador");
-            assertThat(rendimiento).isEmpty(); // No debe incluir exámenes sin examinador
+            assertThat(rendimiento).isEmpty();
         }
+
+        @Test
+        @DisplayName("Debe separar el rendimiento por semana sumando los días")
+        void debeAgruparRendimientoPorSemana() {
+            // Given - lunes 5, miércoles 7 y lunes 12 de octubre de 2026
+            LocalDate lunes = LocalDate.of(2026, 10, 5);
+            when(examenTeoricoRepository.findRendimientoPorExaminadorYDia(fechaDesde, fechaHasta))
+                    .thenReturn(List.of(
+                        new FilaTeorica("Dr. García", lunes, 2L, 2L, 180L),
+                        new FilaTeorica("Dr. García", lunes.plusDays(2), 1L, 0L, 40L),
+                        new FilaTeorica("Dr. García", lunes.plusDays(7), 1L, 1L, 70L)));
+            when(examenPracticoRepository.findRendimientoPorExaminadorYDia(fechaDesde, fechaHasta))
+                    .thenReturn(List.of(
+                        new FilaPractica("Insp. López", lunes.plusDays(8), 2L, 1L, 3L, 1L)));
+
+            // When
+            Map<String, Object> reporte = reporteService.getReporteRendimientoExaminadores(
+                    fechaDesde, fechaHasta, ReporteService.AgrupacionTemporal.SEMANAL);
+
+            // Then
+            @SuppressWarnings("unchecked")
+            Map<LocalDate, Map<String, Map<String, Object>>> porPeriodo =
+                    (Map<LocalDate, Map<String, Map<String, Object>>>) reporte.get("rendimientoPorPeriodo");
+            assertThat(porPeriodo).containsOnlyKeys(lunes, lunes.plusDays(7));
+
+            Map<String, Object> primeraSemana = porPeriodo.get(lunes).get("Dr. García");
+            assertThat(primeraSemana.get("totalTeoricos")).isEqualTo(3L);
+            assertThat(primeraSemana.get("aprobadosTeoricos")).isEqualTo(2L);
+            assertThat(primeraSemana.get("puntajePromedioTeoricos")).isEqualTo(220.0 / 3);
+            assertThat(porPeriodo.get(lunes.plusDays(7))).containsOnlyKeys("Dr. García", "Insp. López");
+            assertThat(porPeriodo.get(lunes.plusDays(7)).get("Insp. López").get("faltasLevesPromedio")).isEqualTo(1.5);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Map<String, Object>> rendimiento = (Map<String, Map<String, Object>>) reporte.get("rendimientoPorExaminador");
+            assertThat(rendimiento.get("Dr. García").get("totalTeoricos")).isEqualTo(4L);
+            assertThat(rendimiento.get("Dr. García").get("puntajePromedioTeoricos")).isEqualTo(72.5);
+            assertThat(rendimiento.get("Insp. López").get("faltasGravesPromedio")).isEqualTo(0.5);
+
+            verify(examenTeoricoRepository, never()).findRendimientoPorExaminador(any(), any());
+            verify(examenPracticoRepository, never()).findRendimientoPorExaminador(any(), any());
+        }
+    }
+
+    /**
+     * Fila de la consulta agrupada de exámenes teóricos
+     */
+    private record FilaTeorica(String examinador, LocalDate dia, Long total, Long aprobados, Long sumaPuntaje)
+            implements ExamenTeoricoRepository.RendimientoTeoricoDiario {
+
+        @Override public String getExaminador() { return examinador; }
+        @Override public LocalDate getDia() { return dia; }
+        @Override public Long getTotal() { return total; }
+        @Override public Long getAprobados() { return aprobados; }
+        @Override public Long getSumaPuntaje() { return sumaPuntaje; }
+    }
+
+    /**
+     * Fila de la consulta agrupada de exámenes prácticos
+     */
+    private record FilaPractica(String examinador, LocalDate dia, Long total, Long aprobados,
+                                Long sumaFaltasLeves, Long sumaFaltasGraves)
+            implements ExamenPracticoRepository.RendimientoPracticoDiario {
+
+        @Override public String getExaminador() { return examinador; }
+        @Override public LocalDate getDia() { return dia; }
+        @Override public Long getTotal() { return total; }
+        @Override public Long getAprobados() { return aprobados; }
+        @Override public Long getSumaFaltasLeves() { return sumaFaltasLeves; }
+        @Override public Long getSumaFaltasGraves() { return sumaFaltasGraves; }
     }
 }
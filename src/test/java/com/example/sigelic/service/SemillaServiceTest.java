@@ -0,0 +1,97 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.Configuracion;
+import com.example.sigelic.repository.ConfiguracionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Siembra idempotente de datos iniciales sobre H2
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests de SemillaService")
+class SemillaServiceTest {
+
+    @Autowired
+    private SemillaService semillaService;
+
+    @Autowired
+    private ConfiguracionService configuracionService;
+
+    @Autowired
+    private ConfiguracionRepository configuracionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Debe sembrar una sola vez por checksum y volver a sembrar cuando cambia")
+    void debeSembrarUnaSolaVezPorChecksum() {
+        // Given
+        String nombre = "prueba-" + UUID.randomUUID();
+        AtomicInteger siembras = new AtomicInteger();
+
+        // When
+        boolean primera = semillaService.aplicar(nombre, "v1", siembras::incrementAndGet);
+        boolean repetida = semillaService.aplicar(nombre, "v1", siembras::incrementAndGet);
+        boolean cambiada = semillaService.aplicar(nombre, "v2", siembras::incrementAndGet);
+
+        // Then
+        assertThat(primera).isTrue();
+        assertThat(repetida).isFalse();
+        assertThat(cambiada).isTrue();
+        assertThat(siembras).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("No debe registrar el checksum si la siembra falla")
+    void noDebeRegistrarElChecksumSiLaSiembraFalla() {
+        // Given
+        String nombre = "prueba-" + UUID.randomUUID();
+        AtomicInteger siembras = new AtomicInteger();
+
+        // When
+        assertThatThrownBy(() -> semillaService.aplicar(nombre, "v1", () -> {
+            throw new IllegalStateException("Falla de siembra");
+        })).isInstanceOf(IllegalStateException.class);
+        boolean reintento = semillaService.aplicar(nombre, "v1", siembras::incrementAndGet);
+
+        // Then
+        assertThat(reintento).isTrue();
+        assertThat(siembras).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Debe omitir las configuraciones sin cambios y crear solo las faltantes al cambiar la semilla")
+    void debeCrearSoloLasConfiguracionesFaltantes() {
+        // Given
+        configuracionService.inicializarConfiguracionesPorDefecto();
+        long sembradas = configuracionRepository.count();
+        jdbcTemplate.update("DELETE FROM configuracion WHERE clave = 'contacto.telefono'");
+
+        // When
+        configuracionService.inicializarConfiguracionesPorDefecto();
+        Integer telefonos = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM configuracion WHERE clave = 'contacto.telefono'", Integer.class);
+        jdbcTemplate.update("DELETE FROM semillas_aplicadas WHERE nombre = ?", ConfiguracionService.SEMILLA);
+        configuracionService.inicializarConfiguracionesPorDefecto();
+
+        // Then
+        assertThat(telefonos).isZero();
+        assertThat(configuracionRepository.findByClave("contacto.telefono"))
+                .get()
+                .extracting(Configuracion::getValor)
+                .isEqualTo("+54 342 4573000");
+        assertThat(configuracionRepository.count()).isEqualTo(sembradas);
+    }
+}
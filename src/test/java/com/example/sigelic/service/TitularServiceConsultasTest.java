@@ -0,0 +1,246 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.request.PaginaSolicitada;
+import com.example.sigelic.dto.response.Pagina;
+import com.example.sigelic.dto.response.Versionado;
+import com.example.sigelic.model.Inhabilitacion;
+import com.example.sigelic.model.Titular;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifica con las estadísticas de Hibernate que las consultas de titulares
+ * con inhabilitaciones ejecutan una cantidad constante de sentencias SQL,
+ * independientemente de la cantidad de titulares devueltos
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Tests de consultas de TitularService")
+class TitularServiceConsultasTest {
+
+    @Autowired
+    private TitularService titularService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @ParameterizedTest(name = "con {0} titulares")
+    @ValueSource(ints = {5, 50})
+    @DisplayName("findAllWithInhabilitaciones debe ejecutar una única sentencia")
+    void debeCargarTodosLosTitularesConUnaSolaSentencia(int cantidad) {
+        // Given
+        crearTitulares(cantidad, "Gomez");
+        Statistics statistics = prepararEstadisticas();
+
+        // When
+        List<Titular> resultado = titularService.findAllWithInhabilitaciones();
+        long inhabilitaciones = contarInhabilitaciones(resultado);
+
+        // Then
+        assertThat(resultado).hasSizeGreaterThanOrEqualTo(cantidad);
+        assertThat(inhabilitaciones).isGreaterThanOrEqualTo(cantidad * 2L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest(name = "con {0} titulares")
+    @ValueSource(ints = {5, 50})
+    @DisplayName("findByNombreWithInhabilitaciones debe ejecutar una única sentencia")
+    void debeBuscarPorNombreConUnaSolaSentencia(int cantidad) {
+        // Given
+        crearTitulares(cantidad, "Fernandez");
+        Statistics statistics = prepararEstadisticas();
+
+        // When
+        List<Titular> resultado = titularService.findByNombreWithInhabilitaciones("Fernandez");
+        long inhabilitaciones = contarInhabilitaciones(resultado);
+
+        // Then
+        assertThat(resultado).hasSize(cantidad);
+        assertThat(inhabilitaciones).isEqualTo(cantidad * 2L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest(name = "con {0} titulares")
+    @ValueSource(ints = {5, 50})
+    @DisplayName("findByDniWithInhabilitaciones debe ejecutar una única sentencia")
+    void debeBuscarPorDniConUnaSolaSentencia(int cantidad) {
+        // Given
+        crearTitulares(cantidad, "Lopez");
+        Statistics statistics = prepararEstadisticas();
+
+        // When
+        List<Titular> resultado = titularService.findByDniWithInhabilitaciones("77");
+        long inhabilitaciones = contarInhabilitaciones(resultado);
+
+        // Then
+        assertThat(resultado).hasSize(cantidad);
+        assertThat(inhabilitaciones).isEqualTo(cantidad * 2L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getTitularesConInhabilitacionesActivas debe excluir titulares con inhabilitaciones terminadas")
+    void debeDevolverSoloTitularesConInhabilitacionesActivas() {
+        // Given
+        Titular cumplida = crearTitular("66000001", crearInhabilitacion(null, LocalDate.now().minusDays(1)));
+        Titular activa = crearTitular("66000002", crearInhabilitacion(null, LocalDate.now()));
+        Titular indeterminada = crearTitular("66000003", crearInhabilitacion(null, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Long> resultado = titularService.getTitularesConInhabilitacionesActivas().stream()
+                .map(Titular::getId)
+                .toList();
+
+        // Then
+        assertThat(resultado)
+                .contains(activa.getId(), indeterminada.getId())
+                .doesNotContain(cumplida.getId());
+    }
+
+    @Test
+    @DisplayName("findPagina debe recorrer todos los titulares por cursor sin repetir ni saltear")
+    void debeRecorrerTodosLosTitularesPorCursor() {
+        // Given
+        crearTitulares(7, "Paginado");
+        List<Long> esperados = titularService.findAll().stream()
+                .map(Titular::getId)
+                .sorted()
+                .toList();
+
+        // When
+        List<Long> recorridos = new ArrayList<>();
+        int paginas = 0;
+        Pagina<Titular> pagina = titularService.findPagina(PaginaSolicitada.primera(3));
+        while (true) {
+            paginas++;
+            pagina.elementos().forEach(titular -> recorridos.add(titular.getId()));
+            if (pagina.siguienteCursor() == null) {
+                break;
+            }
+            pagina = titularService.findPagina(PaginaSolicitada.desde(pagina.siguienteCursor(), 3));
+        }
+
+        // Then
+        assertThat(recorridos).containsExactlyElementsOf(esperados);
+        assertThat(paginas).isEqualTo((esperados.size() + 2) / 3);
+    }
+
+    @Test
+    @DisplayName("findVersionado debe decidir con una única sentencia si el cliente tiene la ficha vigente")
+    void debeResolverLaVersionDeLaFichaSinCargarla() {
+        // Given
+        Titular titular = crearTitular("66000001", crearInhabilitacion(null, null));
+        entityManager.flush();
+        entityManager.clear();
+        String version = titularService.findVersionado(titular.getId(), cliente -> false, Titular::getDni)
+                .orElseThrow().version();
+        entityManager.clear();
+        Statistics statistics = prepararEstadisticas();
+
+        // When
+        Versionado<String> vigente = titularService.findVersionado(titular.getId(), version::equals, Titular::getDni)
+                .orElseThrow();
+
+        // Then
+        assertThat(vigente.modificado()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findVersionado debe cambiar de versión al modificarse una inhabilitación del titular")
+    void debeCambiarLaVersionAlModificarUnaInhabilitacion() {
+        // Given
+        Titular titular = crearTitular("66000002", crearInhabilitacion(null, null));
+        entityManager.flush();
+        entityManager.clear();
+        Versionado<String> anterior = titularService.findVersionado(titular.getId(), cliente -> false, Titular::getDni)
+                .orElseThrow();
+
+        // When
+        Titular cargado = entityManager.find(Titular.class, titular.getId());
+        cargado.getInhabilitaciones().get(0).setFechaFin(LocalDate.now().minusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+        Versionado<String> actual = titularService.findVersionado(titular.getId(), anterior.version()::equals,
+                Titular::getDni).orElseThrow();
+
+        // Then
+        assertThat(anterior.valor()).isEqualTo("66000002");
+        assertThat(actual.version()).isNotEqualTo(anterior.version());
+        assertThat(actual.valor()).isEqualTo("66000002");
+        assertThat(titularService.findVersionado(-1L, cliente -> false, Titular::getDni)).isEmpty();
+    }
+
+    private Titular crearTitular(String dni, Inhabilitacion inhabilitacion) {
+        Titular titular = new Titular();
+        titular.setNombre("Titular");
+        titular.setApellido("Vigencia");
+        titular.setDni(dni);
+        titular.setFechaNacimiento(LocalDate.of(1985, 1, 1));
+        titular.setDomicilio("Calle 1");
+        inhabilitacion.setTitular(titular);
+        titular.getInhabilitaciones().add(inhabilitacion);
+        entityManager.persist(titular);
+        return titular;
+    }
+
+    private void crearTitulares(int cantidad, String apellido) {
+        for (int i = 0; i < cantidad; i++) {
+            Titular titular = new Titular();
+            titular.setNombre("Titular" + i);
+            titular.setApellido(apellido);
+            titular.setDni(String.format("77%06d", i));
+            titular.setFechaNacimiento(LocalDate.of(1985, 1, 1));
+            titular.setDomicilio("Calle " + i);
+            titular.getInhabilitaciones().add(crearInhabilitacion(titular, null));
+            titular.getInhabilitaciones().add(crearInhabilitacion(titular, LocalDate.now().minusDays(1)));
+            entityManager.persist(titular);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Inhabilitacion crearInhabilitacion(Titular titular, LocalDate fechaFin) {
+        Inhabilitacion inhabilitacion = new Inhabilitacion();
+        inhabilitacion.setTitular(titular);
+        inhabilitacion.setMotivo("Motivo de prueba");
+        inhabilitacion.setFechaInicio(LocalDate.now().minusMonths(1));
+        inhabilitacion.setFechaFin(fechaFin);
+        inhabilitacion.setAutoridad("Juzgado de Faltas");
+        return inhabilitacion;
+    }
+
+    private Statistics prepararEstadisticas() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private long contarInhabilitaciones(List<Titular> titulares) {
+        return titulares.stream()
+                .mapToLong(titular -> titular.getInhabilitaciones().size())
+                .sum();
+    }
+}
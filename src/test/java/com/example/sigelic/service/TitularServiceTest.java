@@ -35,6 +35,9 @@ class TitularServiceTest {
     @Mock
     private InhabilitacionRepository inhabilitacionRepository;
 
+    @Mock
+    private IndiceInhabilitaciones indiceInhabilitaciones;
+
     @InjectMocks
     private TitularService titularService;
 
@@ -372,6 +375,22 @@ class TitularServiceTest {
             // Then
             assertThat(resultado).isTrue();
             verify(titularRepository).findById(1L);
+            verify(indiceInhabilitaciones).estaInhabilitado(1L);
+        }
+
+        @Test
+        @DisplayName("No debe permitir iniciar trámite a un titular inhabilitado")
+        void noDebePermitirIniciarTramiteATitularInhabilitado() {
+            // Given
+            when(titularRepository.findById(1L)).thenReturn(Optional.of(titular));
+            when(indiceInhabilitaciones.estaInhabilitado(1L)).thenReturn(true);
+
+            // When
+            boolean resultado = titularService.puedeIniciarTramite(1L);
+
+            // Then
+            assertThat(resultado).isFalse();
+            verifyNoInteractions(inhabilitacionRepository);
         }
 
         @Test
@@ -411,6 +430,7 @@ class TitularServiceTest {
             assertThat(resultado.getTitular()).isEqualTo(titular);
             assertThat(resultado.getMotivo()).isEqualTo("Exceso de velocidad");
             verify(inhabilitacionRepository).save(nuevaInhabilitacion);
+            verify(indiceInhabilitaciones).registrar(nuevaInhabilitacion);
         }
 
         @Test
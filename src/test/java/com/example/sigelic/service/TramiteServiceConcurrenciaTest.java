@@ -0,0 +1,175 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.AptoMedico;
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.ExamenPractico;
+import com.example.sigelic.model.ExamenTeorico;
+import com.example.sigelic.model.MedioPago;
+import com.example.sigelic.model.Pago;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.repository.TitularRepository;
+import com.example.sigelic.repository.TramiteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifica que los pasos concurrentes sobre un mismo trámite no pisen
+ * los cambios de otros usuarios (control de concurrencia optimista)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests de concurrencia de TramiteService")
+class TramiteServiceConcurrenciaTest {
+
+    @Autowired
+    private TramiteService tramiteService;
+
+    @Autowired
+    private TramiteRepository tramiteRepository;
+
+    @Autowired
+    private TitularRepository titularRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long titularId;
+    private Long tramiteId;
+
+    @BeforeEach
+    void setUp() {
+        Titular titular = new Titular();
+        titular.setNombre("Concurrencia");
+        titular.setApellido("Prueba");
+        titular.setDni("45612309");
+        titular.setFechaNacimiento(LocalDate.of(1990, 5, 10));
+        titular.setDomicilio("Calle Falsa 123");
+        titular = titularRepository.save(titular);
+        titularId = titular.getId();
+
+        Tramite tramite = new Tramite();
+        tramite.setTitular(titular);
+        tramite.setTipo(TipoTramite.EMISION);
+        tramite.setClaseSolicitada(ClaseLicencia.B);
+        tramite.setEstado(EstadoTramite.DOCS_OK);
+        tramite.setDocumentacionValidada(true);
+        tramiteId = tramiteRepository.save(tramite).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> titularRepository.deleteById(titularId));
+    }
+
+    @Test
+    @DisplayName("Debe conservar todos los requisitos registrados concurrentemente")
+    void debeConservarRequisitosRegistradosConcurrentemente() throws Exception {
+        // Given
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Callable<Tramite>> pasos = List.of(
+            () -> esperarYEjecutar(largada, () -> tramiteService.registrarAptoMedico(tramiteId, crearAptoMedico())),
+            () -> esperarYEjecutar(largada, () -> tramiteService.registrarExamenTeorico(tramiteId, crearExamenTeorico())),
+            () -> esperarYEjecutar(largada, () -> tramiteService.registrarExamenPractico(tramiteId, crearExamenPractico())),
+            () -> esperarYEjecutar(largada, () -> tramiteService.registrarPago(tramiteId, crearPagoAcreditado()))
+        );
+        ExecutorService executor = Executors.newFixedThreadPool(pasos.size());
+
+        // When
+        List<Future<Tramite>> resultados = new ArrayList<>();
+        try {
+            pasos.forEach(paso -> resultados.add(executor.submit(paso)));
+            largada.countDown();
+            for (Future<Tramite> resultado : resultados) {
+                resultado.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        Tramite tramite = tramiteRepository.findById(tramiteId).orElseThrow();
+        assertThat(tramite.getAptoMedicoVigente()).isTrue();
+        assertThat(tramite.getExamenTeoricoAprobado()).isTrue();
+        assertThat(tramite.getExamenPracticoAprobado()).isTrue();
+        assertThat(tramite.getPagoAcreditado()).isTrue();
+        assertThat(tramite.todosLosRequisitosCumplidos()).isTrue();
+        assertThat(tramite.getVersion()).isEqualTo(pasos.size());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la escritura de una copia desactualizada del trámite")
+    void debeRechazarEscrituraDeCopiaDesactualizada() {
+        // Given
+        Tramite copiaDesactualizada = tramiteRepository.findById(tramiteId).orElseThrow();
+        tramiteService.registrarPago(tramiteId, crearPagoAcreditado());
+
+        // When
+        copiaDesactualizada.setAptoMedicoVigente(true);
+
+        // Then
+        assertThatThrownBy(() -> tramiteRepository.save(copiaDesactualizada))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        Tramite tramite = tramiteRepository.findById(tramiteId).orElseThrow();
+        assertThat(tramite.getPagoAcreditado()).isTrue();
+        assertThat(tramite.getAptoMedicoVigente()).isFalse();
+    }
+
+    private Tramite esperarYEjecutar(CountDownLatch largada, Callable<Tramite> paso) throws Exception {
+        largada.await();
+        return paso.call();
+    }
+
+    private AptoMedico crearAptoMedico() {
+        AptoMedico apto = new AptoMedico();
+        apto.setProfesional("Dra. Medica");
+        apto.setApto(true);
+        return apto;
+    }
+
+    private ExamenTeorico crearExamenTeorico() {
+        ExamenTeorico examen = new ExamenTeorico();
+        examen.setPuntaje(90);
+        examen.setExaminador("Examinador Teórico");
+        return examen;
+    }
+
+    private ExamenPractico crearExamenPractico() {
+        ExamenPractico examen = new ExamenPractico();
+        examen.setFaltasLeves(0);
+        examen.setFaltasGraves(0);
+        examen.setExaminador("Examinador Práctico");
+        return examen;
+    }
+
+    private Pago crearPagoAcreditado() {
+        Pago pago = new Pago();
+        pago.setMonto(new BigDecimal("5000.00"));
+        pago.setMedio(MedioPago.CAJA);
+        pago.setEstado(EstadoPago.ACREDITADO);
+        return pago;
+    }
+}
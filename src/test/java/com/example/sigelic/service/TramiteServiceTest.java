@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,15 +12,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoPago;
 import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.Pago;
 import com.example.sigelic.model.TipoTramite;
 import com.example.sigelic.model.Titular;
 import com.example.sigelic.model.Tramite;
+import com.example.sigelic.repository.PagoRepository;
 import com.example.sigelic.repository.TramiteRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +41,15 @@ class TramiteServiceTest {
     @Mock
     private TitularService titularService;
 
+    @Mock
+    private PagoRepository pagoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TramiteService tramiteService;
 
@@ -267,4 +285,70 @@ class TramiteServiceTest {
             assertThat(tramite.getEstado()).isEqualTo(EstadoTramite.EMITIDA);
         }
     }
+
+    @Nested
+    @DisplayName("Registro de Pago Acreditado")
+    class RegistroPagoAcreditado {
+
+        private Pago pago;
+
+        @BeforeEach
+        void setUp() {
+            pago = new Pago();
+            pago.setId(10L);
+            pago.setTramite(tramite);
+            pago.setEstado(EstadoPago.ACREDITADO);
+
+            when(transactionTemplate.execute(any()))
+                    .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            when(tramiteRepository.findById(1L)).thenReturn(Optional.of(tramite));
+        }
+
+        @Test
+        @DisplayName("Debe marcar el pago acreditado en el trámite")
+        void debeMarcarPagoAcreditado() {
+            // Given
+            when(pagoRepository.findById(10L)).thenReturn(Optional.of(pago));
+            when(tramiteRepository.save(tramite)).thenReturn(tramite);
+
+            // When
+            Tramite resultado = tramiteService.registrarPagoAcreditado(1L, 10L);
+
+            // Then
+            assertThat(resultado.getPagoAcreditado()).isTrue();
+            verify(tramiteRepository).save(tramite);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar un pago de otro trámite")
+        void debeRechazarPagoDeOtroTramite() {
+            // Given
+            Tramite otroTramite = new Tramite();
+            otroTramite.setId(2L);
+            pago.setTramite(otroTramite);
+            when(pagoRepository.findById(10L)).thenReturn(Optional.of(pago));
+
+            // When & Then
+            assertThatThrownBy(() -> tramiteService.registrarPagoAcreditado(1L, 10L))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("no pertenece al trámite ID: 1");
+            assertThat(tramite.getPagoAcreditado()).isFalse();
+            verify(tramiteRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar un pago no acreditado")
+        void debeRechazarPagoNoAcreditado() {
+            // Given
+            pago.setEstado(EstadoPago.PENDIENTE);
+            when(pagoRepository.findById(10L)).thenReturn(Optional.of(pago));
+
+            // When & Then
+            assertThatThrownBy(() -> tramiteService.registrarPagoAcreditado(1L, 10L))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("no está acreditado");
+            assertThat(tramite.getPagoAcreditado()).isFalse();
+            verify(tramiteRepository, never()).save(any());
+        }
+    }
 }
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -23,7 +24,9 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.example.sigelic.event.TurnoLiberadoEvent;
 import com.example.sigelic.model.EstadoTurno;
 import com.example.sigelic.model.Recurso;
 import com.example.sigelic.model.TipoRecurso;
@@ -46,6 +49,9 @@ class TurnoServiceTest {
     @Mock
     private TitularService titularService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TurnoService turnoService;
 
@@ -185,7 +191,7 @@ class TurnoServiceTest {
         void debeReservarTurnoExitosamente() {
             // Given
             when(titularService.findById(1L)).thenReturn(Optional.of(titular));
-            when(recursoRepository.findById(1L)).thenReturn(Optional.of(recurso));
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(recurso));
             when(turnoRepository.findTurnosSolapadosDelTitular(titular, TipoTurno.DOCUMENTACION, inicioTurno, finTurno))
                     .thenReturn(new ArrayList<>());
             when(turnoRepository.findTurnosConflictivos(recurso, inicioTurno, finTurno))
@@ -198,7 +204,7 @@ class TurnoServiceTest {
             // Then
             assertThat(resultado).isNotNull();
             verify(titularService).findById(1L);
-            verify(recursoRepository).findById(1L);
+            verify(recursoRepository).findByIdParaReserva(1L);
             verify(turnoRepository).save(any(Turno.class));
         }
 
@@ -208,7 +214,7 @@ class TurnoServiceTest {
             // Given
             recurso.setActivo(false);
             when(titularService.findById(1L)).thenReturn(Optional.of(titular));
-            when(recursoRepository.findById(1L)).thenReturn(Optional.of(recurso));
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(recurso));
 
             // When & Then
             assertThatThrownBy(() -> turnoService.reservarTurno(1L, TipoTurno.DOCUMENTACION, inicioTurno, finTurno, 1L, null))
@@ -216,7 +222,7 @@ class TurnoServiceTest {
                     .hasMessage("El recurso no está disponible");
 
             verify(titularService).findById(1L);
-            verify(recursoRepository).findById(1L);
+            verify(recursoRepository).findByIdParaReserva(1L);
             verifyNoMoreInteractions(turnoRepository);
         }
 
@@ -229,7 +235,7 @@ class TurnoServiceTest {
             turnoExistente.setTipo(TipoTurno.DOCUMENTACION);
 
             when(titularService.findById(1L)).thenReturn(Optional.of(titular));
-            when(recursoRepository.findById(1L)).thenReturn(Optional.of(recurso));
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(recurso));
             when(turnoRepository.findTurnosSolapadosDelTitular(titular, TipoTurno.DOCUMENTACION, inicioTurno, finTurno))
                     .thenReturn(Arrays.asList(turnoExistente));
 
@@ -247,7 +253,7 @@ class TurnoServiceTest {
             // Given
             Turno turnoConflictivo = new Turno();
             when(titularService.findById(1L)).thenReturn(Optional.of(titular));
-            when(recursoRepository.findById(1L)).thenReturn(Optional.of(recurso));
+            when(recursoRepository.findByIdParaReserva(1L)).thenReturn(Optional.of(recurso));
             when(turnoRepository.findTurnosSolapadosDelTitular(titular, TipoTurno.DOCUMENTACION, inicioTurno, finTurno))
                     .thenReturn(new ArrayList<>());
             when(turnoRepository.findTurnosConflictivos(recurso, inicioTurno, finTurno))
@@ -328,6 +334,25 @@ class TurnoServiceTest {
             // Then
             assertThat(resultado.getEstado()).isEqualTo(EstadoTurno.CANCELADO);
             verify(turnoRepository).save(turno);
+            ArgumentCaptor<TurnoLiberadoEvent> evento = ArgumentCaptor.forClass(TurnoLiberadoEvent.class);
+            verify(eventPublisher).publishEvent(evento.capture());
+            assertThat(evento.getValue()).isEqualTo(new TurnoLiberadoEvent(1L, TipoTurno.DOCUMENTACION,
+                    TipoRecurso.BOX, 1L, inicioTurno, finTurno));
+        }
+
+        @Test
+        @DisplayName("No debe liberar horario al cancelar turno ya cancelado")
+        void noDebeLiberarHorarioAlCancelarTurnoCancelado() {
+            // Given
+            turno.setEstado(EstadoTurno.CANCELADO);
+            when(turnoRepository.findById(1L)).thenReturn(Optional.of(turno));
+            when(turnoRepository.save(turno)).thenReturn(turno);
+
+            // When
+            turnoService.cancelarTurno(1L, "Cancelado de nuevo");
+
+            // Then
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -359,6 +384,7 @@ class TurnoServiceTest {
             // Then
             assertThat(resultado.getEstado()).isEqualTo(EstadoTurno.AUSENTE);
             verify(turnoRepository).save(turno);
+            verify(eventPublisher).publishEvent(any(TurnoLiberadoEvent.class));
         }
     }
 
@@ -491,7 +517,7 @@ class TurnoServiceTest {
         void debeFallarConRecursoInexistenteAlReservar() {
             // Given
             when(titularService.findById(1L)).thenReturn(Optional.of(titular));
-            when(recursoRepository.findById(999L)).thenReturn(Optional.empty());
+            when(recursoRepository.findByIdParaReserva(999L)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> turnoService.reservarTurno(1L, TipoTurno.DOCUMENTACION, inicioTurno, finTurno, 999L, null))
@@ -499,7 +525,7 @@ class TurnoServiceTest {
                     .hasMessage("Recurso no encontrado con ID: 999");
 
             verify(titularService).findById(1L);
-            verify(recursoRepository).findById(999L);
+            verify(recursoRepository).findByIdParaReserva(999L);
         }
     }
 }
@@ -0,0 +1,165 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoPago;
+import com.example.sigelic.model.EstadoTramite;
+import com.example.sigelic.model.MedioPago;
+import com.example.sigelic.model.Pago;
+import com.example.sigelic.model.TipoTramite;
+import com.example.sigelic.model.Titular;
+import com.example.sigelic.model.Tramite;
+import com.example.sigelic.repository.PagoRepository;
+import com.example.sigelic.repository.TitularRepository;
+import com.example.sigelic.repository.TramiteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Vencimiento por lotes de pagos pendientes y bloqueo entre nodos (H2)
+ */
+@SpringBootTest(properties = "sigelic.pagos.vencimiento.lote=2")
+@ActiveProfiles("test")
+@DisplayName("Tests de VencimientoPagosService")
+class VencimientoPagosServiceTest {
+
+    @Autowired
+    private VencimientoPagosService vencimientoPagosService;
+
+    @Autowired
+    private TitularRepository titularRepository;
+
+    @Autowired
+    private TramiteRepository tramiteRepository;
+
+    @Autowired
+    private PagoRepository pagoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long titularId;
+    private final List<Long> vencidos = new ArrayList<>();
+    private Long vigenteId;
+    private Long acreditadoId;
+
+    @BeforeEach
+    void setUp() {
+        Titular titular = new Titular();
+        titular.setNombre("Vencimiento");
+        titular.setApellido("Prueba");
+        titular.setDni("45612388");
+        titular.setFechaNacimiento(LocalDate.of(1990, 6, 1));
+        titular.setDomicilio("Calle Falsa 789");
+        titular = titularRepository.save(titular);
+        titularId = titular.getId();
+
+        Tramite tramite = new Tramite();
+        tramite.setTitular(titular);
+        tramite.setTipo(TipoTramite.EMISION);
+        tramite.setClaseSolicitada(ClaseLicencia.B);
+        tramite.setEstado(EstadoTramite.INICIADO);
+        tramite = tramiteRepository.save(tramite);
+
+        for (int i = 0; i < 5; i++) {
+            vencidos.add(crearPago(tramite, EstadoPago.PENDIENTE, LocalDateTime.now().minusHours(i + 1)));
+        }
+        vigenteId = crearPago(tramite, EstadoPago.PENDIENTE, LocalDateTime.now().plusDays(1));
+        acreditadoId = crearPago(tramite, EstadoPago.ACREDITADO, LocalDateTime.now().minusDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bloqueos_tareas WHERE nombre = ?", VencimientoPagosService.TAREA);
+        transactionTemplate.executeWithoutResult(status -> titularRepository.deleteById(titularId));
+        vencidos.clear();
+    }
+
+    @Test
+    @DisplayName("Debe vencer por lotes solo los pagos pendientes con plazo cumplido")
+    void debeVencerPorLotesLosPagosPendientesVencidos() {
+        // Given
+        double contadorAnterior = meterRegistry.counter(VencimientoPagosService.METRICA).count();
+
+        // When
+        int resultado = vencimientoPagosService.vencerPendientes();
+
+        // Then
+        assertThat(resultado).isGreaterThanOrEqualTo(5);
+        assertThat(vencidos).allSatisfy(id ->
+                assertThat(pagoRepository.findById(id).orElseThrow().getEstado()).isEqualTo(EstadoPago.VENCIDO));
+        assertThat(pagoRepository.findById(vigenteId).orElseThrow().getEstado()).isEqualTo(EstadoPago.PENDIENTE);
+        assertThat(pagoRepository.findById(acreditadoId).orElseThrow().getEstado()).isEqualTo(EstadoPago.ACREDITADO);
+        assertThat(meterRegistry.counter(VencimientoPagosService.METRICA).count() - contadorAnterior)
+                .isEqualTo(resultado);
+    }
+
+    @Test
+    @DisplayName("No debe ejecutar mientras otro nodo tiene el bloqueo vigente")
+    void noDebeEjecutarConBloqueoDeOtroNodo() {
+        // Given
+        insertarBloqueo("otro-nodo", LocalDateTime.now().plusMinutes(5));
+
+        // When
+        int resultado = vencimientoPagosService.vencerPendientes();
+
+        // Then
+        assertThat(resultado).isZero();
+        assertThat(pagoRepository.findById(vencidos.get(0)).orElseThrow().getEstado()).isEqualTo(EstadoPago.PENDIENTE);
+        assertThat(jdbcTemplate.queryForObject("SELECT propietario FROM bloqueos_tareas WHERE nombre = ?",
+                String.class, VencimientoPagosService.TAREA)).isEqualTo("otro-nodo");
+    }
+
+    @Test
+    @DisplayName("Debe retomar la tarea cuando vence el bloqueo de otro nodo")
+    void debeRetomarTareaConBloqueoVencido() {
+        // Given
+        insertarBloqueo("otro-nodo", LocalDateTime.now().minusMinutes(1));
+
+        // When
+        int resultado = vencimientoPagosService.vencerPendientes();
+
+        // Then
+        assertThat(resultado).isGreaterThanOrEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT propietario FROM bloqueos_tareas WHERE nombre = ?",
+                String.class, VencimientoPagosService.TAREA)).isNotEqualTo("otro-nodo");
+    }
+
+    private Long crearPago(Tramite tramite, EstadoPago estado, LocalDateTime vencimiento) {
+        Pago pago = new Pago();
+        pago.setTramite(tramite);
+        pago.setMonto(new BigDecimal("1500.00"));
+        pago.setMedio(MedioPago.CAJA);
+        pago.setEstado(estado);
+        pago.setFechaVencimiento(vencimiento);
+        return pagoRepository.save(pago).getId();
+    }
+
+    private void insertarBloqueo(String propietario, LocalDateTime hasta) {
+        jdbcTemplate.update(
+            "INSERT INTO bloqueos_tareas (nombre, propietario, bloqueado_hasta, fecha_actualizacion) VALUES (?, ?, ?, ?)",
+            VencimientoPagosService.TAREA, propietario, Timestamp.valueOf(hasta), Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
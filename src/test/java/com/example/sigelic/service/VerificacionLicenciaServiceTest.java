@@ -0,0 +1,116 @@
+package com.example.sigelic.service;
+
+import com.example.sigelic.dto.response.VerificacionLicenciaDTO;
+import com.example.sigelic.event.LicenciaModificadaEvent;
+import com.example.sigelic.model.ClaseLicencia;
+import com.example.sigelic.model.EstadoLicencia;
+import com.example.sigelic.repository.LicenciaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de VerificacionLicenciaService")
+class VerificacionLicenciaServiceTest {
+
+    @Mock
+    private LicenciaRepository licenciaRepository;
+
+    private VerificacionLicenciaService verificacionLicenciaService;
+    private VerificacionLicenciaDTO vigente;
+
+    @BeforeEach
+    void setUp() {
+        verificacionLicenciaService = new VerificacionLicenciaService(licenciaRepository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(2), Duration.ofSeconds(30));
+        vigente = new VerificacionLicenciaDTO("20261019-000123", ClaseLicencia.B, EstadoLicencia.VIGENTE,
+                LocalDate.now().plusYears(3));
+    }
+
+    @Test
+    @DisplayName("Debe atender las consultas repetidas desde la caché")
+    void debeAtenderConsultasRepetidasDesdeCache() {
+        // Given
+        when(licenciaRepository.findVerificacionByNumeroLicencia("20261019-000123")).thenReturn(Optional.of(vigente));
+
+        // When
+        verificacionLicenciaService.verificar("20261019-000123");
+        Optional<VerificacionLicenciaDTO> resultado = verificacionLicenciaService.verificar("20261019-000123");
+
+        // Then
+        assertThat(resultado).contains(vigente);
+        assertThat(resultado.get().isVigente()).isTrue();
+        verify(licenciaRepository, times(1)).findVerificacionByNumeroLicencia("20261019-000123");
+    }
+
+    @Test
+    @DisplayName("Debe guardar en caché los números inexistentes")
+    void debeGuardarEnCacheNumerosInexistentes() {
+        // Given
+        when(licenciaRepository.findVerificacionByNumeroLicencia("NO-EXISTE")).thenReturn(Optional.empty());
+
+        // When
+        verificacionLicenciaService.verificar("NO-EXISTE");
+        Optional<VerificacionLicenciaDTO> resultado = verificacionLicenciaService.verificar("NO-EXISTE");
+
+        // Then
+        assertThat(resultado).isEmpty();
+        verify(licenciaRepository, times(1)).findVerificacionByNumeroLicencia("NO-EXISTE");
+    }
+
+    @Test
+    @DisplayName("Debe volver a consultar la base cuando la licencia cambia de estado")
+    void debeInvalidarCacheAlModificarLicencia() {
+        // Given
+        VerificacionLicenciaDTO suspendida = new VerificacionLicenciaDTO("20261019-000123", ClaseLicencia.B,
+                EstadoLicencia.SUSPENDIDA, vigente.getFechaVencimiento());
+        when(licenciaRepository.findVerificacionByNumeroLicencia("20261019-000123"))
+                .thenReturn(Optional.of(vigente), Optional.of(suspendida));
+        verificacionLicenciaService.verificar("20261019-000123");
+
+        // When
+        verificacionLicenciaService.onLicenciaModificada(
+                new LicenciaModificadaEvent("20261019-000123", EstadoLicencia.SUSPENDIDA));
+        Optional<VerificacionLicenciaDTO> resultado = verificacionLicenciaService.verificar("20261019-000123");
+
+        // Then
+        assertThat(resultado).get()
+                .extracting(VerificacionLicenciaDTO::getEstado)
+                .isEqualTo(EstadoLicencia.SUSPENDIDA);
+        assertThat(resultado.get().isVigente()).isFalse();
+    }
+
+    @Test
+    @DisplayName("No debe informar vigente una licencia con fecha de vencimiento cumplida")
+    void noDebeInformarVigenteLicenciaVencida() {
+        // Given
+        VerificacionLicenciaDTO vencida = new VerificacionLicenciaDTO("20201019-000001", ClaseLicencia.B,
+                EstadoLicencia.VIGENTE, LocalDate.now().minusDays(1));
+
+        // When & Then
+        assertThat(vencida.isVigente()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar números con formato inválido sin consultar la base")
+    void debeRechazarNumerosConFormatoInvalido() {
+        // When & Then
+        assertThatThrownBy(() -> verificacionLicenciaService.verificar("12345' OR '1'='1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> verificacionLicenciaService.verificar(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(licenciaRepository, never()).findVerificacionByNumeroLicencia(anyString());
+    }
+}